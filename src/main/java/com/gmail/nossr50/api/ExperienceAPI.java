@@ -18,10 +18,10 @@ import org.bukkit.block.BlockState;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 public final class ExperienceAPI {
     private ExperienceAPI() {}
@@ -963,6 +963,89 @@ public final class ExperienceAPI {
         return mcMMO.getDatabaseManager().readRank(mcMMO.p.getServer().getOfflinePlayer(uuid).getName()).get(null);
     }
 
+    /**
+     * Get the cached position on the leaderboard of a player.
+     * This never reads from the database, if the cached rank is missing or old it is refreshed in the background.
+     * </br>
+     * This function is designed for API usage.
+     *
+     * @param uuid The uuid of the player to check
+     * @param skillType The skill to check
+     *
+     * @throws InvalidSkillException if the given skill is not valid
+     * @throws UnsupportedOperationException if the given skill is a child skill
+     *
+     * @return the position on the leaderboard, or null if the player is unranked or their rank has not been loaded yet
+     */
+    public static @Nullable Integer getPlayerRankSkillCached(@NotNull UUID uuid, @NotNull String skillType) {
+        return getCachedRank(uuid, getNonChildSkillType(skillType));
+    }
+
+    /**
+     * Get the cached position on the power level leaderboard of a player.
+     * This never reads from the database, if the cached rank is missing or old it is refreshed in the background.
+     * </br>
+     * This function is designed for API usage.
+     *
+     * @param uuid The uuid of the player to check
+     *
+     * @return the position on the power level leaderboard, or null if the player is unranked or their rank has not been loaded yet
+     */
+    public static @Nullable Integer getPlayerRankOverallCached(@NotNull UUID uuid) {
+        return getCachedRank(uuid, null);
+    }
+
+    /**
+     * Get the position on the leaderboard of a player without blocking the calling thread.
+     * </br>
+     * This function is designed for API usage.
+     *
+     * @param uuid The uuid of the player to check
+     * @param skillType The skill to check
+     *
+     * @throws InvalidSkillException if the given skill is not valid
+     * @throws UnsupportedOperationException if the given skill is a child skill
+     *
+     * @return a future completed with the position on the leaderboard, or null if the player is unranked
+     */
+    public static @NotNull CompletableFuture<Integer> getPlayerRankSkillAsync(@NotNull UUID uuid, @NotNull String skillType) {
+        PrimarySkillType primarySkillType = getNonChildSkillType(skillType);
+        return fetchRanks(uuid).thenApply(ranks -> ranks.get(primarySkillType));
+    }
+
+    /**
+     * Get the position on the power level leaderboard of a player without blocking the calling thread.
+     * </br>
+     * This function is designed for API usage.
+     *
+     * @param uuid The uuid of the player to check
+     *
+     * @return a future completed with the position on the power level leaderboard, or null if the player is unranked
+     */
+    public static @NotNull CompletableFuture<Integer> getPlayerRankOverallAsync(@NotNull UUID uuid) {
+        return fetchRanks(uuid).thenApply(ranks -> ranks.get(null));
+    }
+
+    private static @Nullable Integer getCachedRank(@NotNull UUID uuid, @Nullable PrimarySkillType primarySkillType) {
+        String playerName = mcMMO.p.getServer().getOfflinePlayer(uuid).getName();
+
+        if (playerName == null || mcMMO.getPlayerRankCache() == null) {
+            return null;
+        }
+
+        return mcMMO.getPlayerRankCache().getCachedRank(uuid, playerName, primarySkillType);
+    }
+
+    private static @NotNull CompletableFuture<Map<PrimarySkillType, Integer>> fetchRanks(@NotNull UUID uuid) {
+        String playerName = mcMMO.p.getServer().getOfflinePlayer(uuid).getName();
+
+        if (playerName == null || mcMMO.getPlayerRankCache() == null) {
+            return CompletableFuture.completedFuture(new HashMap<>());
+        }
+
+        return mcMMO.getPlayerRankCache().fetchRanks(uuid, playerName);
+    }
+
     /**
      * Sets the level of a player in a specific skill type.
      * </br>
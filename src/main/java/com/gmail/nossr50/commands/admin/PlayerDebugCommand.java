@@ -1,8 +1,14 @@
 package com.gmail.nossr50.commands.admin;
 
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
+import com.gmail.nossr50.locale.LocaleLoader;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.NotificationManager;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.tick.McMMOTickEngine;
+import com.gmail.nossr50.util.tick.TickCategory;
+import com.gmail.nossr50.util.tick.TickTimings;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
@@ -13,6 +19,28 @@ public class PlayerDebugCommand implements CommandExecutor {
 
     @Override
     public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command, @NotNull String label, String[] args) {
+        if (args.length >= 1 && args[0].equalsIgnoreCase("timings")) {
+            if (!Permissions.mmodebugTimings(sender)) {
+                sender.sendMessage(command.getPermissionMessage());
+                return true;
+            }
+
+            McMMOTickEngine tickEngine = mcMMO.getTickEngine();
+
+            if (tickEngine == null) {
+                return true;
+            }
+
+            if (args.length >= 2 && args[1].equalsIgnoreCase("reset")) {
+                tickEngine.resetTimings();
+                sender.sendMessage(LocaleLoader.getString("Commands.Mmodebug.Timings.Reset"));
+                return true;
+            }
+
+            sendTimings(sender, tickEngine);
+            return true;
+        }
+
         if(sender instanceof Player) {
             McMMOPlayer mcMMOPlayer = UserManager.getPlayer((Player) sender);
             mcMMOPlayer.toggleDebugMode(); //Toggle debug mode
@@ -23,4 +51,19 @@ public class PlayerDebugCommand implements CommandExecutor {
         }
     }
 
+    private void sendTimings(@NotNull CommandSender sender, @NotNull McMMOTickEngine tickEngine) {
+        long seconds = (System.currentTimeMillis() - tickEngine.getTimingsSince()) / 1000;
+        sender.sendMessage(LocaleLoader.getString("Commands.Mmodebug.Timings.Header", seconds, tickEngine.getGroupCount()));
+
+        for (TickCategory category : TickCategory.values()) {
+            TickTimings timings = tickEngine.getTimings(category);
+            long runs = timings.getRuns();
+            double averageMillis = runs == 0 ? 0 : timings.getTotalNanos() / (double) runs / 1_000_000D;
+            double maxMillis = timings.getMaxNanos() / 1_000_000D;
+
+            sender.sendMessage(LocaleLoader.getString("Commands.Mmodebug.Timings.Entry", category.name(), timings.getActive(), timings.getScheduled(), runs,
+                    String.format("%.3f", averageMillis), String.format("%.3f", maxMillis)));
+        }
+    }
+
 }
@@ -1,6 +1,7 @@
 package com.gmail.nossr50.commands.database;
 
 import com.gmail.nossr50.database.DatabaseManagerFactory;
+import com.gmail.nossr50.database.ProfileSavePipeline;
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
 import com.google.common.collect.ImmutableList;
@@ -19,15 +20,28 @@ public class MmoshowdbCommand implements TabExecutor {
 
             if (clazz != null) {
                 sender.sendMessage(LocaleLoader.getString("Commands.mmoshowdb", clazz.getName()));
+                sendSaveQueueStats(sender);
                 return true;
             }
 
             sender.sendMessage(LocaleLoader.getString("Commands.mmoshowdb", (mcMMO.p.getGeneralConfig().getUseMySQL() ? "sql" : "flatfile")));
+            sendSaveQueueStats(sender);
             return true;
         }
         return false;
     }
 
+    private void sendSaveQueueStats(@NotNull CommandSender sender) {
+        ProfileSavePipeline profileSavePipeline = mcMMO.getProfileSavePipeline();
+
+        if (profileSavePipeline == null) {
+            return;
+        }
+
+        sender.sendMessage(LocaleLoader.getString("Commands.mmoshowdb.SaveQueue", profileSavePipeline.getQueueDepth(),
+                profileSavePipeline.getLastFlushSize(), profileSavePipeline.getLastFlushMillis(), profileSavePipeline.getMaxFlushMillis()));
+    }
+
     @Override
     public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command, @NotNull String alias, String[] args) {
         return ImmutableList.of();
@@ -40,6 +40,22 @@ public class GeneralConfig extends BukkitConfig {
             reason.add("General.Save_Interval should be greater than 0!");
         }
 
+        if (getSaveBatchSize() <= 0) {
+            reason.add("General.Save_Batch_Size should be greater than 0!");
+        }
+
+        if (getPowerLevelTagsUpdatesPerTick() < 0) {
+            reason.add("Scoreboard.Power_Level_Tags_Updates_Per_Tick should be at least 0!");
+        }
+
+        if (getRankCacheRefreshInterval() <= 0) {
+            reason.add("General.Rank_Cache.Refresh_Interval should be greater than 0!");
+        }
+
+        if (getRankCacheMaxStaleness() < getRankCacheRefreshInterval()) {
+            reason.add("General.Rank_Cache.Max_Staleness should be greater than, or equal to General.Rank_Cache.Refresh_Interval!");
+        }
+
         /* MySQL Settings */
         for (PoolIdentifier identifier : PoolIdentifier.values()) {
             if (getMySQLMaxConnections(identifier) <= 0) {
@@ -50,6 +66,10 @@ public class GeneralConfig extends BukkitConfig {
             }
         }
 
+        if (getMySQLLeaderboardRefreshInterval() < 0) {
+            reason.add("MySQL.Leaderboards.Refresh_Interval should be greater than, or equal to 0!");
+        }
+
         /* Mob Healthbar */
         if (getMobHealthbarTime() == 0) {
             reason.add("Mob_Healthbar.Display_Time cannot be 0! Set to -1 to disable or set a valid value.");
@@ -64,6 +84,11 @@ public class GeneralConfig extends BukkitConfig {
             reason.add("Database_Purging.Old_User_Cutoff should be greater than 0 or -1!");
         }
 
+        /* FlatFile */
+        if (getFlatFileJournalCompactionInterval() <= 0) {
+            reason.add("FlatFile.Journal.Compaction_Interval should be greater than 0!");
+        }
+
         /* Hardcore Mode */
         if (getHardcoreDeathStatPenaltyPercentage() < 0.01 || getHardcoreDeathStatPenaltyPercentage() > 100) {
             reason.add("Hardcore.Death_Stat_Loss.Penalty_Percentage only accepts values from 0.01 to 100!");
@@ -135,6 +160,10 @@ public class GeneralConfig extends BukkitConfig {
             reason.add("Abilities.Limits.Tree_Feller_Threshold should be greater than 0!");
         }
 
+        if (getTreeFellerBlocksPerTick() < 0) {
+            reason.add("Abilities.Limits.Tree_Feller_Blocks_Per_Tick should be at least 0!");
+        }
+
         if (getFishingLureModifier() < 0) {
             reason.add("Abilities.Fishing.Lure_Modifier should be at least 0!");
         }
@@ -188,6 +217,18 @@ public class GeneralConfig extends BukkitConfig {
         return config.getInt("General.Save_Interval", 10);
     }
 
+    public int getSaveBatchSize() {
+        return config.getInt("General.Save_Batch_Size", 100);
+    }
+
+    public int getRankCacheRefreshInterval() {
+        return config.getInt("General.Rank_Cache.Refresh_Interval", 60);
+    }
+
+    public int getRankCacheMaxStaleness() {
+        return config.getInt("General.Rank_Cache.Max_Staleness", 600);
+    }
+
     public boolean getStatsTrackingEnabled() {
         return config.getBoolean("General.Stats_Tracking", true);
     }
@@ -247,6 +288,10 @@ public class GeneralConfig extends BukkitConfig {
         return config.getBoolean("Scoreboard.Power_Level_Tags", false);
     }
 
+    public int getPowerLevelTagsUpdatesPerTick() {
+        return config.getInt("Scoreboard.Power_Level_Tags_Updates_Per_Tick", 1000);
+    }
+
     public boolean getAllowKeepBoard() {
         return config.getBoolean("Scoreboard.Allow_Keep", true);
     }
@@ -352,6 +397,15 @@ public class GeneralConfig extends BukkitConfig {
         return config.getInt("Database_Purging.Old_User_Cutoff", 6);
     }
 
+    /* FlatFile */
+    public boolean getFlatFileJournalEnabled() {
+        return config.getBoolean("FlatFile.Journal.Enabled", false);
+    }
+
+    public int getFlatFileJournalCompactionInterval() {
+        return config.getInt("FlatFile.Journal.Compaction_Interval", 5);
+    }
+
     /* Backups */
     public boolean getBackupsEnabled() {
         return config.getBoolean("Backups.Enabled", true);
@@ -418,6 +472,10 @@ public class GeneralConfig extends BukkitConfig {
         return config.getBoolean("MySQL.Server.allowPublicKeyRetrieval", true);
     }
 
+    public int getMySQLLeaderboardRefreshInterval() {
+        return config.getInt("MySQL.Leaderboards.Refresh_Interval", 10);
+    }
+
     private String getStringIncludingInts(String key) {
         String str = config.getString(key);
 
@@ -699,6 +757,10 @@ public class GeneralConfig extends BukkitConfig {
         return config.getInt("Abilities.Limits.Tree_Feller_Threshold", 1000);
     }
 
+    public int getTreeFellerBlocksPerTick() {
+        return config.getInt("Abilities.Limits.Tree_Feller_Blocks_Per_Tick", 100);
+    }
+
     /*
      * SKILL SETTINGS
      */
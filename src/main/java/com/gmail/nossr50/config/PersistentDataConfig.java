@@ -1,6 +1,12 @@
 package com.gmail.nossr50.config;
 
 import com.gmail.nossr50.metadata.MobMetaFlagType;
+import com.gmail.nossr50.util.blockmeta.ChunkStoreFormat;
+import com.gmail.nossr50.util.blockmeta.RegionFileBackend;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
 
 public class PersistentDataConfig extends BukkitConfig {
     private static PersistentDataConfig instance;
@@ -25,7 +31,17 @@ public class PersistentDataConfig extends BukkitConfig {
 
     @Override
     protected boolean validateKeys() {
-        return true;
+        List<String> reason = new ArrayList<>();
+
+        if (ChunkStoreFormat.getChunkStoreFormat(config.getString("mcMMO_Region_System.Chunk_Store_Format", "BITSET")) == null) {
+            reason.add("mcMMO_Region_System.Chunk_Store_Format should be BITSET or SPARSE!");
+        }
+
+        if (RegionFileBackend.getRegionFileBackend(config.getString("mcMMO_Region_System.Region_File_Backend", "RANDOM_ACCESS")) == null) {
+            reason.add("mcMMO_Region_System.Region_File_Backend should be RANDOM_ACCESS or MEMORY_MAPPED!");
+        }
+
+        return noErrorsInConfig(reason);
     }
 
     //Persistent Data Toggles
@@ -38,5 +54,15 @@ public class PersistentDataConfig extends BukkitConfig {
         return config.getBoolean("mcMMO_Region_System.Enabled", true);
     }
 
+    public @NotNull ChunkStoreFormat getChunkStoreFormat() {
+        ChunkStoreFormat chunkStoreFormat = ChunkStoreFormat.getChunkStoreFormat(config.getString("mcMMO_Region_System.Chunk_Store_Format", "BITSET"));
+        return chunkStoreFormat == null ? ChunkStoreFormat.BITSET : chunkStoreFormat;
+    }
+
+    public @NotNull RegionFileBackend getRegionFileBackend() {
+        RegionFileBackend regionFileBackend = RegionFileBackend.getRegionFileBackend(config.getString("mcMMO_Region_System.Region_File_Backend", "RANDOM_ACCESS"));
+        return regionFileBackend == null ? RegionFileBackend.RANDOM_ACCESS : regionFileBackend;
+    }
+
 
 }
\ No newline at end of file
@@ -9,19 +9,34 @@ import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
+import org.bukkit.block.data.Ageable;
 import org.bukkit.block.data.BlockData;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BarStyle;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.entity.EntityType;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 public class ExperienceConfig extends BukkitConfig {
+    private static final int NO_XP_ENTRY = Integer.MIN_VALUE;
     private static ExperienceConfig instance;
 
+    /* XP values compiled at load, indexed by PrimarySkillType ordinal then Material ordinal */
+    private int[][] materialXp;
+    private int[][] ripeMaterialXp;
+    private int[][] ungrownMaterialXp;
+
+    /* Indexed by EntityType ordinal, combat multipliers that aren't set are NaN */
+    private double[] combatXp;
+    private int[] tamingXp;
+    private double animalsXp;
+
     private ExperienceConfig() {
         super("experience.yml");
+        loadKeys();
         validate();
     }
 
@@ -35,6 +50,87 @@ public class ExperienceConfig extends BukkitConfig {
 
     @Override
     protected void loadKeys() {
+        compileMaterialXp();
+        compileEntityXp();
+    }
+
+    /**
+     * Resolves the XP entry of every material for every skill so lookups don't have to build config paths
+     * Entries are looked up in the same order as the config paths were, explicit name first and the wildcard entry last
+     */
+    private void compileMaterialXp() {
+        Material[] materials = Material.values();
+        String[] explicitKeys = new String[materials.length];
+        String[] wildcardKeys = new String[materials.length];
+
+        for (Material material : materials) {
+            explicitKeys[material.ordinal()] = StringUtils.getExplicitConfigMaterialString(material);
+            wildcardKeys[material.ordinal()] = StringUtils.getWildcardConfigMaterialString(material);
+        }
+
+        int skillCount = PrimarySkillType.values().length;
+        materialXp = new int[skillCount][];
+        ripeMaterialXp = new int[skillCount][];
+        ungrownMaterialXp = new int[skillCount][];
+
+        for (PrimarySkillType skill : PrimarySkillType.values()) {
+            int[] xp = new int[materials.length];
+            int[] ripeXp = xp;
+            int[] ungrownXp = xp;
+            Arrays.fill(xp, NO_XP_ENTRY);
+
+            ConfigurationSection section = config.getConfigurationSection("Experience_Values." + StringUtils.getCapitalized(skill.toString()));
+
+            if (section != null) {
+                for (Material material : materials) {
+                    int explicitXp = getXpEntry(section, explicitKeys[material.ordinal()]);
+                    xp[material.ordinal()] = explicitXp != NO_XP_ENTRY ? explicitXp : getXpEntry(section, wildcardKeys[material.ordinal()]);
+                }
+
+                // Crops can have separate entries for their ripe and ungrown states, skills without them share the plain table
+                for (Material material : materials) {
+                    if (!StringUtils.hasAgeConfigVariants(material) || getXpEntry(section, explicitKeys[material.ordinal()]) != NO_XP_ENTRY) {
+                        continue;
+                    }
+
+                    int ripe = getXpEntry(section, explicitKeys[material.ordinal()] + "_Ripe");
+                    int ungrown = getXpEntry(section, explicitKeys[material.ordinal()] + "_Ungrown");
+
+                    if (ripe != NO_XP_ENTRY) {
+                        ripeXp = ripeXp == xp ? xp.clone() : ripeXp;
+                        ripeXp[material.ordinal()] = ripe;
+                    }
+
+                    if (ungrown != NO_XP_ENTRY) {
+                        ungrownXp = ungrownXp == xp ? xp.clone() : ungrownXp;
+                        ungrownXp[material.ordinal()] = ungrown;
+                    }
+                }
+            }
+
+            materialXp[skill.ordinal()] = xp;
+            ripeMaterialXp[skill.ordinal()] = ripeXp;
+            ungrownMaterialXp[skill.ordinal()] = ungrownXp;
+        }
+    }
+
+    private void compileEntityXp() {
+        EntityType[] entityTypes = EntityType.values();
+        combatXp = new double[entityTypes.length];
+        tamingXp = new int[entityTypes.length];
+        animalsXp = config.getDouble("Experience_Values.Combat.Multiplier.Animals", 1.0);
+
+        for (EntityType entityType : entityTypes) {
+            String prettyName = StringUtils.getPrettyEntityTypeString(entityType);
+            String combatPath = "Experience_Values.Combat.Multiplier." + prettyName.replace(" ", "_");
+
+            combatXp[entityType.ordinal()] = config.contains(combatPath) ? config.getDouble(combatPath) : Double.NaN;
+            tamingXp[entityType.ordinal()] = config.getInt("Experience_Values.Taming.Animal_Taming." + prettyName);
+        }
+    }
+
+    private static int getXpEntry(ConfigurationSection section, String key) {
+        return section.contains(key) ? section.getInt(key) : NO_XP_ENTRY;
     }
 
     @Override
@@ -297,111 +393,69 @@ public class ExperienceConfig extends BukkitConfig {
 
     /* Combat XP Multipliers */
     public double getCombatXP(EntityType entity) {
-        return config.getDouble("Experience_Values.Combat.Multiplier." + StringUtils.getPrettyEntityTypeString(entity).replace(" ", "_"));
+        double xp = combatXp[entity.ordinal()];
+        return Double.isNaN(xp) ? 0 : xp;
     }
 
     public double getAnimalsXP(EntityType entity) {
-        return config.getDouble("Experience_Values.Combat.Multiplier." + StringUtils.getPrettyEntityTypeString(entity).replace(" ", "_"), getAnimalsXP());
+        double xp = combatXp[entity.ordinal()];
+        return Double.isNaN(xp) ? animalsXp : xp;
     }
 
     public double getAnimalsXP() {
-        return config.getDouble("Experience_Values.Combat.Multiplier.Animals", 1.0);
+        return animalsXp;
     }
 
     public boolean hasCombatXP(EntityType entity) {
-        return config.contains("Experience_Values.Combat.Multiplier." + StringUtils.getPrettyEntityTypeString(entity).replace(" ", "_"));
+        return !Double.isNaN(combatXp[entity.ordinal()]);
     }
 
     /* Materials  */
     public int getXp(PrimarySkillType skill, Material material) {
         //TODO: Temporary measure to fix an exploit caused by a yet to be fixed Spigot bug (as of 7/3/2020)
-        if (material.toString().equalsIgnoreCase("LILY_PAD"))
+        if (material == Material.LILY_PAD)
             return 0;
 
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigMaterialString(material);
-        if (config.contains(explicitString))
-            return config.getInt(explicitString);
-        String friendlyString = baseString + StringUtils.getFriendlyConfigMaterialString(material);
-        if (config.contains(friendlyString))
-            return config.getInt(friendlyString);
-        String wildcardString = baseString + StringUtils.getWildcardConfigMaterialString(material);
-        if (config.contains(wildcardString))
-            return config.getInt(wildcardString);
-        return 0;
+        return toXp(materialXp[skill.ordinal()][material.ordinal()]);
     }
 
     /* Materials  */
     public int getXp(PrimarySkillType skill, BlockState blockState) {
-        Material data = blockState.getType();
-
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigMaterialString(data);
-        if (config.contains(explicitString))
-            return config.getInt(explicitString);
-        String friendlyString = baseString + StringUtils.getFriendlyConfigMaterialString(data);
-        if (config.contains(friendlyString))
-            return config.getInt(friendlyString);
-        String wildcardString = baseString + StringUtils.getWildcardConfigMaterialString(data);
-        if (config.contains(wildcardString))
-            return config.getInt(wildcardString);
-        return 0;
+        return toXp(materialXp[skill.ordinal()][blockState.getType().ordinal()]);
     }
 
     /* Materials  */
     public int getXp(PrimarySkillType skill, Block block) {
-        Material data = block.getType();
-
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigMaterialString(data);
-        if (config.contains(explicitString))
-            return config.getInt(explicitString);
-        String friendlyString = baseString + StringUtils.getFriendlyConfigMaterialString(data);
-        if (config.contains(friendlyString))
-            return config.getInt(friendlyString);
-        String wildcardString = baseString + StringUtils.getWildcardConfigMaterialString(data);
-        if (config.contains(wildcardString))
-            return config.getInt(wildcardString);
-        return 0;
+        return toXp(materialXp[skill.ordinal()][block.getType().ordinal()]);
     }
 
     /* Materials  */
     public int getXp(PrimarySkillType skill, BlockData data) {
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigBlockDataString(data);
-        if (config.contains(explicitString))
-            return config.getInt(explicitString);
-        String friendlyString = baseString + StringUtils.getFriendlyConfigBlockDataString(data);
-        if (config.contains(friendlyString))
-            return config.getInt(friendlyString);
-        String wildcardString = baseString + StringUtils.getWildcardConfigBlockDataString(data);
-        if (config.contains(wildcardString))
-            return config.getInt(wildcardString);
-        return 0;
+        return toXp(getXpTable(skill, data)[data.getMaterial().ordinal()]);
     }
 
     public boolean doesBlockGiveSkillXP(PrimarySkillType skill, Material data) {
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigMaterialString(data);
-        if (config.contains(explicitString))
-            return true;
-        String friendlyString = baseString + StringUtils.getFriendlyConfigMaterialString(data);
-        if (config.contains(friendlyString))
-            return true;
-        String wildcardString = baseString + StringUtils.getWildcardConfigMaterialString(data);
-        return config.contains(wildcardString);
+        return materialXp[skill.ordinal()][data.ordinal()] != NO_XP_ENTRY;
     }
 
     public boolean doesBlockGiveSkillXP(PrimarySkillType skill, BlockData data) {
-        String baseString = "Experience_Values." + StringUtils.getCapitalized(skill.toString()) + ".";
-        String explicitString = baseString + StringUtils.getExplicitConfigBlockDataString(data);
-        if (config.contains(explicitString))
-            return true;
-        String friendlyString = baseString + StringUtils.getFriendlyConfigBlockDataString(data);
-        if (config.contains(friendlyString))
-            return true;
-        String wildcardString = baseString + StringUtils.getWildcardConfigBlockDataString(data);
-        return config.contains(wildcardString);
+        return getXpTable(skill, data)[data.getMaterial().ordinal()] != NO_XP_ENTRY;
+    }
+
+    private int[] getXpTable(PrimarySkillType skill, BlockData data) {
+        if (!StringUtils.hasAgeConfigVariants(data.getMaterial())) {
+            return materialXp[skill.ordinal()];
+        }
+
+        if (data instanceof Ageable ageData && ageData.getAge() == ageData.getMaximumAge()) {
+            return ripeMaterialXp[skill.ordinal()];
+        }
+
+        return ungrownMaterialXp[skill.ordinal()];
+    }
+
+    private static int toXp(int xpEntry) {
+        return xpEntry == NO_XP_ENTRY ? 0 : xpEntry;
     }
 
     /*
@@ -505,7 +559,7 @@ public class ExperienceConfig extends BukkitConfig {
 
     /* Taming */
     public int getTamingXP(EntityType type) {
-        return config.getInt("Experience_Values.Taming.Animal_Taming." + StringUtils.getPrettyEntityTypeString(type));
+        return tamingXp[type.ordinal()];
     }
 
     public boolean preventStoneLavaFarming() {
@@ -2,6 +2,7 @@ package com.gmail.nossr50.config.skills.alchemy;
 
 import com.gmail.nossr50.config.LegacyConfigLoader;
 import com.gmail.nossr50.datatypes.skills.alchemy.AlchemyPotion;
+import com.gmail.nossr50.datatypes.skills.alchemy.PotionSignature;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.LogUtils;
 import org.bukkit.ChatColor;
@@ -9,12 +10,11 @@ import org.bukkit.Color;
 import org.bukkit.Material;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.potion.*;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 public class PotionConfig extends LegacyConfigLoader {
     private static PotionConfig instance;
@@ -30,6 +30,15 @@ public class PotionConfig extends LegacyConfigLoader {
 
     private final Map<String, AlchemyPotion> potionMap = new HashMap<>();
 
+    /**
+     * The lowest Concoctions tier every ingredient is unlocked at
+     */
+    private final Map<Material, Integer> ingredientTiers = new EnumMap<>(Material.class);
+    /**
+     * The potions that share a signature, in the order of potionMap
+     */
+    private final Map<PotionSignature, List<AlchemyPotion>> potionsBySignature = new HashMap<>();
+
     private PotionConfig() {
         super("potions.yml");
         loadKeys();
@@ -52,14 +61,14 @@ public class PotionConfig extends LegacyConfigLoader {
     private void loadConcoctions() {
         ConfigurationSection concoctionSection = config.getConfigurationSection("Concoctions");
 
-        loadConcoctionsTier(concoctionsIngredientsTierOne, concoctionSection.getStringList("Tier_One_Ingredients"));
-        loadConcoctionsTier(concoctionsIngredientsTierTwo, concoctionSection.getStringList("Tier_Two_Ingredients"));
-        loadConcoctionsTier(concoctionsIngredientsTierThree, concoctionSection.getStringList("Tier_Three_Ingredients"));
-        loadConcoctionsTier(concoctionsIngredientsTierFour, concoctionSection.getStringList("Tier_Four_Ingredients"));
-        loadConcoctionsTier(concoctionsIngredientsTierFive, concoctionSection.getStringList("Tier_Five_Ingredients"));
-        loadConcoctionsTier(concoctionsIngredientsTierSix, concoctionSection.getStringList("Tier_Six_Ingredients"));
-        loadConcoctionsTier(concoctionsIngredientsTierSeven, concoctionSection.getStringList("Tier_Seven_Ingredients"));
-        loadConcoctionsTier(concoctionsIngredientsTierEight, concoctionSection.getStringList("Tier_Eight_Ingredients"));
+        loadConcoctionsTier(1, concoctionsIngredientsTierOne, concoctionSection.getStringList("Tier_One_Ingredients"));
+        loadConcoctionsTier(2, concoctionsIngredientsTierTwo, concoctionSection.getStringList("Tier_Two_Ingredients"));
+        loadConcoctionsTier(3, concoctionsIngredientsTierThree, concoctionSection.getStringList("Tier_Three_Ingredients"));
+        loadConcoctionsTier(4, concoctionsIngredientsTierFour, concoctionSection.getStringList("Tier_Four_Ingredients"));
+        loadConcoctionsTier(5, concoctionsIngredientsTierFive, concoctionSection.getStringList("Tier_Five_Ingredients"));
+        loadConcoctionsTier(6, concoctionsIngredientsTierSix, concoctionSection.getStringList("Tier_Six_Ingredients"));
+        loadConcoctionsTier(7, concoctionsIngredientsTierSeven, concoctionSection.getStringList("Tier_Seven_Ingredients"));
+        loadConcoctionsTier(8, concoctionsIngredientsTierEight, concoctionSection.getStringList("Tier_Eight_Ingredients"));
 
         concoctionsIngredientsTierTwo.addAll(concoctionsIngredientsTierOne);
         concoctionsIngredientsTierThree.addAll(concoctionsIngredientsTierTwo);
@@ -70,13 +79,14 @@ public class PotionConfig extends LegacyConfigLoader {
         concoctionsIngredientsTierEight.addAll(concoctionsIngredientsTierSeven);
     }
 
-    private void loadConcoctionsTier(List<ItemStack> ingredientList, List<String> ingredientStrings) {
+    private void loadConcoctionsTier(int tier, List<ItemStack> ingredientList, List<String> ingredientStrings) {
         if (ingredientStrings != null && ingredientStrings.size() > 0) {
             for (String ingredientString : ingredientStrings) {
                 ItemStack ingredient = loadIngredient(ingredientString);
 
                 if (ingredient != null) {
                     ingredientList.add(ingredient);
+                    ingredientTiers.merge(ingredient.getType(), tier, Math::min);
                 }
             }
         }
@@ -101,6 +111,10 @@ public class PotionConfig extends LegacyConfigLoader {
             }
         }
 
+        for (AlchemyPotion potion : potionMap.values()) {
+            potionsBySignature.computeIfAbsent(potion.getSignature(), signature -> new ArrayList<>()).add(potion);
+        }
+
         LogUtils.debug(mcMMO.p.getLogger(), "Loaded " + pass + " Alchemy potions, skipped " + fail + ".");
     }
 
@@ -210,6 +224,30 @@ public class PotionConfig extends LegacyConfigLoader {
         return null;
     }
 
+    /**
+     * Check if an item is an ingredient at a Concoctions tier, this is the same as checking if it
+     * {@link ItemStack#isSimilar(ItemStack) is similar} to one of {@link #getIngredients(int)}
+     *
+     * @param item the item to check
+     * @param tier the Concoctions tier
+     * @return true if the item can be brewed with
+     */
+    public boolean isValidIngredient(ItemStack item, int tier) {
+        Integer ingredientTier = ingredientTiers.get(item.getType());
+
+        if (ingredientTier == null) {
+            return false;
+        }
+
+        // Tiers that don't exist get the ingredients of tier one, like getIngredients
+        if (tier < 1 || tier > 8) {
+            tier = 1;
+        }
+
+        // Ingredients are plain items, so an item with any meta is never similar to them
+        return ingredientTier <= tier && !item.hasItemMeta();
+    }
+
     public List<ItemStack> getIngredients(int tier) {
         switch (tier) {
             case 8:
@@ -241,8 +279,24 @@ public class PotionConfig extends LegacyConfigLoader {
     }
 
     public AlchemyPotion getPotion(ItemStack item) {
-        for (AlchemyPotion potion : potionMap.values()) {
-            if (potion.isSimilar(item)) {
+        if (!item.hasItemMeta()) {
+            return null;
+        }
+
+        ItemMeta itemMeta = item.getItemMeta();
+
+        if (!(itemMeta instanceof PotionMeta meta)) {
+            return null;
+        }
+
+        List<AlchemyPotion> potions = potionsBySignature.get(new PotionSignature(item.getType(), meta.getBasePotionData()));
+
+        if (potions == null) {
+            return null;
+        }
+
+        for (AlchemyPotion potion : potions) {
+            if (potion.isSimilar(item.getType(), meta)) {
                 return potion;
             }
         }
@@ -27,11 +27,13 @@ public class FishingTreasureConfig extends BukkitConfig {
     public @NotNull HashMap<Rarity, List<FishingTreasure>> fishingRewards = new HashMap<>();
     public @NotNull HashMap<Rarity, List<EnchantmentTreasure>> fishingEnchantments = new HashMap<>();
     public @NotNull HashMap<EntityType, List<ShakeTreasure>> shakeMap = new HashMap<>();
+    private FishingLootTable lootTable;
 
     private FishingTreasureConfig() {
         super(FILENAME, false);
         loadKeys();
         validate();
+        compileLootTable();
     }
 
     public static FishingTreasureConfig getInstance() {
@@ -380,6 +382,48 @@ public class FishingTreasureConfig extends BukkitConfig {
         return config.getInt("Shake.PLAYER.INVENTORY.Drop_Level");
     }
 
+    private void compileLootTable() {
+        int tiers = Math.max(getHighestTier("Item_Drop_Rates"), getHighestTier("Enchantment_Drop_Rates")) + 1;
+        double[][] itemDropRates = new double[tiers][Rarity.values().length];
+        double[][] enchantmentDropRates = new double[tiers][Rarity.values().length];
+
+        for (int tier = 0; tier < tiers; tier++) {
+            for (Rarity rarity : Rarity.values()) {
+                itemDropRates[tier][rarity.ordinal()] = getItemDropRate(tier, rarity);
+                enchantmentDropRates[tier][rarity.ordinal()] = getEnchantmentDropRate(tier, rarity);
+            }
+        }
+
+        lootTable = new FishingLootTable(fishingRewards, fishingEnchantments, itemDropRates, enchantmentDropRates,
+                mcMMO.p.getGeneralConfig().getFishingLureModifier());
+    }
+
+    private int getHighestTier(@NotNull String path) {
+        ConfigurationSection section = config.getConfigurationSection(path);
+        int highestTier = 0;
+
+        if (section == null) {
+            return highestTier;
+        }
+
+        for (String key : section.getKeys(false)) {
+            try {
+                highestTier = Math.max(highestTier, Integer.parseInt(key.substring("Tier_".length())));
+            } catch (IndexOutOfBoundsException | NumberFormatException ignored) {
+                // Not a tier, validation already complains about those
+            }
+        }
+
+        return highestTier;
+    }
+
+    /**
+     * @return the fishing treasures compiled for sampling
+     */
+    public @NotNull FishingLootTable getLootTable() {
+        return lootTable;
+    }
+
     public double getItemDropRate(int tier, @NotNull Rarity rarity) {
         return config.getDouble("Item_Drop_Rates.Tier_" + tier + "." + rarity);
     }
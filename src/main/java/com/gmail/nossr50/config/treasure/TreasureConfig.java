@@ -1,10 +1,13 @@
 package com.gmail.nossr50.config.treasure;
 
 import com.gmail.nossr50.config.BukkitConfig;
+import com.gmail.nossr50.datatypes.treasure.ExcavationLootTable;
 import com.gmail.nossr50.datatypes.treasure.ExcavationTreasure;
+import com.gmail.nossr50.datatypes.treasure.HylianLootTable;
 import com.gmail.nossr50.datatypes.treasure.HylianTreasure;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.LogUtils;
+import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
@@ -15,11 +18,14 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.inventory.meta.PotionMeta;
 import org.bukkit.potion.PotionData;
 import org.bukkit.potion.PotionType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TreasureConfig extends BukkitConfig {
 
@@ -34,11 +40,14 @@ public class TreasureConfig extends BukkitConfig {
 
     public HashMap<String, List<ExcavationTreasure>> excavationMap = new HashMap<>();
     public HashMap<String, List<HylianTreasure>> hylianMap = new HashMap<>();
+    private final Map<String, ExcavationLootTable> excavationLootTables = new HashMap<>();
+    private final Map<String, HylianLootTable> hylianLootTables = new HashMap<>();
 
     private TreasureConfig() {
         super(FILENAME, false);
         loadKeys();
         validate();
+        compileLootTables();
     }
 
     public static TreasureConfig getInstance() {
@@ -68,6 +77,32 @@ public class TreasureConfig extends BukkitConfig {
         loadTreasures("Hylian_Luck");
     }
 
+    private void compileLootTables() {
+        for (Map.Entry<String, List<ExcavationTreasure>> entry : excavationMap.entrySet()) {
+            excavationLootTables.put(entry.getKey(), new ExcavationLootTable(entry.getValue(), RandomChanceUtil.LUCKY_MODIFIER));
+        }
+
+        for (Map.Entry<String, List<HylianTreasure>> entry : hylianMap.entrySet()) {
+            hylianLootTables.put(entry.getKey(), new HylianLootTable(entry.getValue(), RandomChanceUtil.LUCKY_MODIFIER));
+        }
+    }
+
+    /**
+     * @param blockData the friendly block data string of the block
+     * @return the Excavation treasures of the block, or null if it has none
+     */
+    public @Nullable ExcavationLootTable getExcavationLootTable(@NotNull String blockData) {
+        return excavationLootTables.get(blockData);
+    }
+
+    /**
+     * @param blockData the friendly block data string of the block
+     * @return the Hylian Luck treasures of the block, or null if it has none
+     */
+    public @Nullable HylianLootTable getHylianLootTable(@NotNull String blockData) {
+        return hylianLootTables.get(blockData);
+    }
+
     private void loadTreasures(String type) {
         boolean shouldWeUpdateFile = false;
         boolean isExcavation = type.equals("Excavation");
@@ -10,9 +10,9 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public interface DatabaseManager {
     // During convertUsers, how often to output a status
@@ -52,6 +52,26 @@ public interface DatabaseManager {
      */
     boolean saveUser(PlayerProfile profile);
 
+    /**
+     * Save a batch of users to the database.
+     * Databases should write the whole batch at once where they can, by default each user is saved individually
+     * with {@link #saveUser(PlayerProfile)}.
+     *
+     * @param profiles The profiles of the players to save
+     * @return the profiles which could not be saved, empty if every profile was saved
+     */
+    default @NotNull List<PlayerProfile> saveUsers(@NotNull Collection<PlayerProfile> profiles) {
+        List<PlayerProfile> failed = new ArrayList<>();
+
+        for (PlayerProfile profile : profiles) {
+            if (!saveUser(profile)) {
+                failed.add(profile);
+            }
+        }
+
+        return failed;
+    }
+
     /**
     * Retrieve leaderboard info.
      * Will never be null but it may be empty
@@ -74,6 +94,14 @@ public interface DatabaseManager {
      */
     Map<PrimarySkillType, Integer> readRank(String playerName);
 
+    /**
+     * Update the leaderboard position of a player whose levels have changed.
+     * Databases that don't keep their leaderboards in memory can ignore this.
+     *
+     * @param profile The profile of the player
+     */
+    default void updateLeaderboardEntry(@NotNull PlayerProfile profile) {}
+
     /**
      * Add a new user to the database.
      *  @param playerName The name of the player to be added to the database
@@ -104,9 +132,38 @@ public interface DatabaseManager {
      */
     List<String> getStoredUsers();
 
+    /**
+     * Read every stored user in a single pass, in an order that stays the same as long as no users are added or removed.
+     * By default each user from {@link #getStoredUsers()} is loaded on its own, databases should read them sequentially
+     * where they can.
+     *
+     * @param consumer receives the profile of each user that could be read
+     */
+    default void forEachUser(@NotNull Consumer<PlayerProfile> consumer) {
+        for (String playerName : getStoredUsers()) {
+            PlayerProfile profile = loadPlayerProfile(playerName);
+
+            if (profile.isLoaded()) {
+                consumer.accept(profile);
+            }
+        }
+    }
+
+    /**
+     * Convert every stored user in place with a single rewrite, for databases where every call to
+     * {@link #saveUsers(Collection)} rewrites the whole database.
+     *
+     * @param conversion converts a profile, returning null leaves the stored user as it is
+     * @return how many users were converted, or -1 if the users should be converted through {@link #saveUsers(Collection)}
+     * instead, in which case nothing was changed
+     */
+    default long rewriteUsers(@NotNull Function<PlayerProfile, PlayerProfile> conversion) {
+        return -1;
+    }
+
     /**
      * Convert all users from this database to the provided database using
-     * {@link #saveUser(PlayerProfile)}.
+     * {@link #saveUsers(Collection)}.
      *
      * @param destination The DatabaseManager to save to
      */
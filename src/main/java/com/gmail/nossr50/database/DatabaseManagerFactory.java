@@ -27,7 +27,7 @@ public class DatabaseManagerFactory {
             LogUtils.debug(mcMMO.p.getLogger(), "Falling back on " + (mcMMO.p.getGeneralConfig().getUseMySQL() ? "SQL" : "Flatfile") + " database");
         }
 
-        return mcMMO.p.getGeneralConfig().getUseMySQL() ? new SQLDatabaseManager() : new FlatFileDatabaseManager(userFilePath, logger, purgeTime, startingLevel);
+        return mcMMO.p.getGeneralConfig().getUseMySQL() ? new SQLDatabaseManager() : new FlatFileDatabaseManager(userFilePath, logger, purgeTime, startingLevel, mcMMO.p.getGeneralConfig().getFlatFileJournalEnabled());
     }
 
     /**
@@ -64,7 +64,7 @@ public class DatabaseManagerFactory {
         switch (type) {
             case FLATFILE:
                 LogUtils.debug(mcMMO.p.getLogger(), "Using FlatFile Database");
-                return new FlatFileDatabaseManager(userFilePath, logger, purgeTime, startingLevel);
+                return new FlatFileDatabaseManager(userFilePath, logger, purgeTime, startingLevel, mcMMO.p.getGeneralConfig().getFlatFileJournalEnabled());
 
             case SQL:
                 LogUtils.debug(mcMMO.p.getLogger(), "Using SQL Database");
@@ -1,7 +1,10 @@
 package com.gmail.nossr50.database;
 
 import com.gmail.nossr50.api.exceptions.InvalidSkillException;
+import com.gmail.nossr50.database.flatfile.FlatFileUserJournal;
 import com.gmail.nossr50.database.flatfile.LeaderboardStatus;
+import com.gmail.nossr50.database.leaderboard.LeaderboardEngine;
+import com.gmail.nossr50.database.leaderboard.LeaderboardEntry;
 import com.gmail.nossr50.datatypes.database.DatabaseType;
 import com.gmail.nossr50.datatypes.database.PlayerStat;
 import com.gmail.nossr50.datatypes.player.PlayerProfile;
@@ -18,16 +21,19 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 public final class FlatFileDatabaseManager implements DatabaseManager {
     public static final String IGNORED = "IGNORED";
     public static final String LEGACY_INVALID_OLD_USERNAME = "_INVALID_OLD_USERNAME_'";
-    private final @NotNull EnumMap<PrimarySkillType, List<PlayerStat>> playerStatHash = new EnumMap<>(PrimarySkillType.class);
-    private final @NotNull List<PlayerStat> powerLevels = new ArrayList<>();
+    private final @NotNull LeaderboardEngine leaderboardEngine = new LeaderboardEngine(true);
     private long lastUpdate = 0;
     private final @NotNull String usersFilePath;
     private final @NotNull Logger logger;
@@ -37,6 +43,7 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
 
     private final long UPDATE_WAIT_TIME = 600000L; // 10 minutes
     private final @NotNull File usersFile;
+    private final @Nullable FlatFileUserJournal journal;
     private static final Object fileWritingLock = new Object();
 
     public static final int USERNAME_INDEX = 0;
@@ -84,6 +91,10 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
     public static final int DATA_ENTRY_COUNT = OVERHAUL_LAST_LOGIN + 1; //Update this everytime new data is added
 
     protected FlatFileDatabaseManager(@NotNull File usersFile, @NotNull Logger logger, long purgeTime, int startingLevel, boolean testing) {
+        this(usersFile, logger, purgeTime, startingLevel, testing, false);
+    }
+
+    protected FlatFileDatabaseManager(@NotNull File usersFile, @NotNull Logger logger, long purgeTime, int startingLevel, boolean testing, boolean useJournal) {
         this.usersFile = usersFile;
         this.usersFilePath = usersFile.getPath();
         this.logger = logger;
@@ -95,6 +106,8 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
             initEmptyDB();
         }
 
+        this.journal = useJournal ? openJournal() : null;
+
         if(!testing) {
             List<FlatFileDataFlag> flatFileDataFlags = checkFileHealthAndStructure();
 
@@ -112,11 +125,30 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         this(new File(usersFilePath), logger, purgeTime, startingLevel, false);
     }
 
+    protected FlatFileDatabaseManager(@NotNull String usersFilePath, @NotNull Logger logger, long purgeTime, int startingLevel, boolean useJournal) {
+        this(new File(usersFilePath), logger, purgeTime, startingLevel, false, useJournal);
+    }
+
+    private @Nullable FlatFileUserJournal openJournal() {
+        FlatFileUserJournal userJournal = new FlatFileUserJournal(usersFile, logger);
+
+        try {
+            userJournal.open();
+            return userJournal;
+        } catch (IOException e) {
+            logger.severe("Could not open " + userJournal.getJournalFile().getPath() + ", falling back to rewriting " + usersFilePath + " on every save");
+            e.printStackTrace();
+            userJournal.close();
+            return null;
+        }
+    }
+
 
     public int purgePowerlessUsers() {
         int purgedUsers = 0;
 
         LogUtils.debug(logger, "Purging powerless users...");
+        compactJournal();
 
         BufferedReader in = null;
         FileWriter out = null;
@@ -175,6 +207,10 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
             }
         }
 
+        if (purgedUsers > 0) {
+            invalidateLeaderboards();
+        }
+
         logger.info("Purged " + purgedUsers + " users from the database.");
         return purgedUsers;
     }
@@ -185,6 +221,7 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         long currentTime = System.currentTimeMillis();
 
         LogUtils.debug(logger, "Purging old users...");
+        compactJournal();
 
         BufferedReader in = null;
         FileWriter out = null;
@@ -263,12 +300,17 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
             }
         }
 
+        if (removedPlayers > 0) {
+            invalidateLeaderboards();
+        }
+
         logger.info("Purged " + removedPlayers + " users from the database.");
     }
 
     public boolean removeUser(String playerName, UUID uuid) {
         //NOTE: UUID is unused for FlatFile for this interface implementation
         boolean worked = false;
+        compactJournal();
 
         BufferedReader in = null;
         FileWriter out = null;
@@ -316,6 +358,10 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
             }
         }
 
+        if (worked) {
+            leaderboardEngine.remove(playerName);
+        }
+
         Misc.profileCleanup(playerName);
 
         return worked;
@@ -327,8 +373,55 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
     }
 
     public boolean saveUser(@NotNull PlayerProfile profile) {
-        String playerName = profile.getPlayerName();
-        UUID uuid = profile.getUniqueId();
+        return saveUsers(Collections.singletonList(profile)).isEmpty();
+    }
+
+    @Override
+    public @NotNull List<PlayerProfile> saveUsers(@NotNull Collection<PlayerProfile> profiles) {
+        List<PlayerProfile> failed = writeUsers(profiles);
+
+        if (failed.size() < profiles.size()) {
+            Set<PlayerProfile> failedProfiles = Collections.newSetFromMap(new IdentityHashMap<>());
+            failedProfiles.addAll(failed);
+
+            for (PlayerProfile profile : profiles) {
+                if (!failedProfiles.contains(profile)) {
+                    updateLeaderboardEntry(profile);
+                }
+            }
+        }
+
+        return failed;
+    }
+
+    @Override
+    public void updateLeaderboardEntry(@NotNull PlayerProfile profile) {
+        leaderboardEngine.update(new LeaderboardEntry(profile));
+    }
+
+    private @NotNull List<PlayerProfile> writeUsers(@NotNull Collection<PlayerProfile> profiles) {
+        if (journal != null) {
+            List<PlayerProfile> failed = new ArrayList<>();
+
+            for (PlayerProfile profile : profiles) {
+                if (!appendToJournal(profile)) {
+                    failed.add(profile);
+                }
+            }
+
+            return failed;
+        }
+
+        Map<String, PlayerProfile> profilesByUUID = new HashMap<>();
+        Map<String, PlayerProfile> profilesByName = new HashMap<>();
+
+        for (PlayerProfile profile : profiles) {
+            if (profile.getUniqueId() != null) {
+                profilesByUUID.put(profile.getUniqueId().toString().toLowerCase(Locale.ENGLISH), profile);
+            }
+
+            profilesByName.put(profile.getPlayerName().toLowerCase(Locale.ENGLISH), profile);
+        }
 
         BufferedReader in = null;
         FileWriter out = null;
@@ -341,7 +434,7 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
                 StringBuilder writer = new StringBuilder();
                 String line;
 
-                boolean wroteUser = false;
+                Set<PlayerProfile> wroteUsers = Collections.newSetFromMap(new IdentityHashMap<>());
                 // While not at the end of the file
                 while ((line = in.readLine()) != null) {
                     if(line.startsWith("#")) {
@@ -373,32 +466,38 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
                         continue;
                     }
 
-                    if (!(uuid != null
-                                    && splitData[UUID_INDEX].equalsIgnoreCase(uuid.toString()))
-                                    && !splitData[USERNAME_INDEX].equalsIgnoreCase(playerName)) {
-                        writer.append(line).append("\r\n"); //Not the user so write it to file and move on
+                    PlayerProfile profile = splitData.length > UUID_INDEX ? profilesByUUID.get(splitData[UUID_INDEX].toLowerCase(Locale.ENGLISH)) : null;
+
+                    if (profile == null) {
+                        profile = profilesByName.get(splitData[USERNAME_INDEX].toLowerCase(Locale.ENGLISH));
+                    }
+
+                    if (profile == null) {
+                        writer.append(line).append("\r\n"); //Not one of the users so write it to file and move on
                     } else {
                         //User found
                         writeUserToLine(profile, writer);
-                        wroteUser = true;
+                        wroteUsers.add(profile);
                     }
                 }
 
                 /*
                  * If we couldn't find the user in the DB we need to add him
                  */
-                if(!wroteUser) {
-                    writeUserToLine(profile, writer);
+                for (PlayerProfile profile : profiles) {
+                    if (wroteUsers.add(profile)) {
+                        writeUserToLine(profile, writer);
+                    }
                 }
 
                 // Write the new file
                 out = new FileWriter(usersFilePath);
                 out.write(writer.toString());
-                return true;
+                return new ArrayList<>();
             }
             catch (Exception e) {
                 e.printStackTrace();
-                return false;
+                return new ArrayList<>(profiles);
             }
             finally {
                 if (in != null) {
@@ -421,6 +520,107 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         }
     }
 
+    private boolean appendToJournal(@NotNull PlayerProfile profile) {
+        try {
+            StringBuilder record = new StringBuilder();
+            writeUserToLine(profile, record);
+            journal.append(record.toString());
+            return true;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Merges the records saved to the journal back into mcmmo.users
+     * This is one rewrite of the file no matter how many saves happened since the last merge
+     *
+     * @return the number of records merged
+     */
+    public int compactJournal() {
+        if (journal == null || journal.isEmpty()) {
+            return 0;
+        }
+
+        synchronized (fileWritingLock) {
+            Map<Long, String[]> snapshot = journal.snapshot();
+
+            if (snapshot.isEmpty()) {
+                return 0;
+            }
+
+            Map<UUID, String[]> recordsByUUID = new HashMap<>();
+            Map<String, String[]> recordsByName = new HashMap<>();
+
+            for (String[] record : snapshot.values()) {
+                recordsByName.put(record[USERNAME_INDEX].toLowerCase(Locale.ENGLISH), record);
+
+                if (record.length > UUID_INDEX) {
+                    try {
+                        recordsByUUID.put(UUID.fromString(record[UUID_INDEX]), record);
+                    } catch (IllegalArgumentException e) {
+                        // Can only be matched by name
+                    }
+                }
+            }
+
+            Set<String[]> merged = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            try (BufferedReader in = new BufferedReader(new FileReader(usersFilePath))) {
+                StringBuilder writer = new StringBuilder();
+                String line;
+
+                while ((line = in.readLine()) != null) {
+                    if (line.startsWith("#") || !line.contains(":")) {
+                        writer.append(line).append("\r\n");
+                        continue;
+                    }
+
+                    String[] splitData = line.split(":");
+                    String[] record = null;
+
+                    if (splitData.length > UUID_INDEX) {
+                        try {
+                            record = recordsByUUID.get(UUID.fromString(splitData[UUID_INDEX]));
+                        } catch (IllegalArgumentException e) {
+                            // Fall back to the name
+                        }
+                    }
+
+                    if (record == null) {
+                        record = recordsByName.get(splitData[USERNAME_INDEX].toLowerCase(Locale.ENGLISH));
+                    }
+
+                    if (record == null) {
+                        writer.append(line).append("\r\n"); //Not a saved user so write it to file and move on
+                    } else if (merged.add(record)) {
+                        writer.append(String.join(":", record)).append(":").append("\r\n");
+                    }
+                }
+
+                // Users who were not in the file yet
+                for (String[] record : snapshot.values()) {
+                    if (merged.add(record)) {
+                        writer.append(String.join(":", record)).append(":").append("\r\n");
+                    }
+                }
+
+                try (FileWriter out = new FileWriter(usersFilePath)) {
+                    out.write(writer.toString());
+                }
+
+                journal.release(snapshot);
+            } catch (IOException e) {
+                logger.severe("Exception while merging " + journal.getJournalFile().getPath() + " into " + usersFilePath + " " + e);
+                return 0;
+            }
+
+            LogUtils.debug(logger, "Merged " + snapshot.size() + " journaled users into " + usersFilePath);
+            return snapshot.size();
+        }
+    }
+
     public void writeUserToLine(@NotNull PlayerProfile profile, @NotNull Appendable appendable) throws IOException {
         appendable.append(profile.getPlayerName()).append(":");
         appendable.append(String.valueOf(profile.getSkillLevel(PrimarySkillType.MINING))).append(":");
@@ -477,26 +677,19 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
             throw new InvalidSkillException("A plugin hooking into mcMMO that you are using is attempting to read leaderboard skills for child skills, child skills do not have leaderboards! This is NOT an mcMMO error!");
         }
 
-        updateLeaderboards();
-        List<PlayerStat> statsList = primarySkillType == null ? powerLevels : playerStatHash.get(primarySkillType);
-        int fromIndex = (Math.max(pageNumber, 1) - 1) * statsPerPage;
+        if (!leaderboardEngine.isSeeded()) {
+            updateLeaderboards();
+        }
 
-        return statsList.subList(Math.min(fromIndex, statsList.size()), Math.min(fromIndex + statsPerPage, statsList.size()));
+        return leaderboardEngine.readLeaderboard(primarySkillType, pageNumber, statsPerPage);
     }
 
     public @NotNull HashMap<PrimarySkillType, Integer> readRank(String playerName) {
-        updateLeaderboards();
-
-        HashMap<PrimarySkillType, Integer> skills = new HashMap<>();
-
-        for (PrimarySkillType skill : SkillTools.NON_CHILD_SKILLS) {
-            skills.put(skill, getPlayerRank(playerName, playerStatHash.get(skill)));
+        if (!leaderboardEngine.isSeeded()) {
+            updateLeaderboards();
         }
 
-        //TODO: Gross
-        skills.put(null, getPlayerRank(playerName, powerLevels));
-
-        return skills;
+        return leaderboardEngine.readRank(playerName);
     }
 
     public @NotNull PlayerProfile newUser(@NotNull Player player) {
@@ -505,6 +698,12 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
 
     public @NotNull PlayerProfile newUser(@NotNull String playerName, @NotNull UUID uuid) {
         PlayerProfile playerProfile = new PlayerProfile(playerName, uuid, true, startingLevel);
+        updateLeaderboardEntry(playerProfile);
+
+        if (journal != null) {
+            appendToJournal(playerProfile);
+            return playerProfile;
+        }
 
         synchronized (fileWritingLock) {
             try(BufferedReader bufferedReader = new BufferedReader(new FileReader(usersFilePath))) {
@@ -581,6 +780,14 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         String playerName = userQuery.getName();
         BufferedReader in = null;
 
+        if (journal != null) {
+            String[] journalData = journal.getByName(playerName);
+
+            if (journalData != null) {
+                return loadFromLine(journalData);
+            }
+        }
+
         synchronized (fileWritingLock) {
             try {
                 // Open the user file
@@ -606,6 +813,11 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
 
                     //If we couldn't find anyone
                     if(playerName.equalsIgnoreCase(rawSplitData[USERNAME_INDEX])) {
+                        //This user has saved under a different name since the last journal merge
+                        if (journal != null && rawSplitData.length > UUID_INDEX && isJournaled(rawSplitData[UUID_INDEX])) {
+                            continue;
+                        }
+
                         return loadFromLine(rawSplitData);
                     }
                 }
@@ -633,6 +845,14 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         BufferedReader in = null;
         UUID uuid = userQuery.getUUID();
 
+        if (journal != null) {
+            String[] journalData = journal.getByUUID(uuid);
+
+            if (journalData != null) {
+                return loadFromLine(journalData);
+            }
+        }
+
         synchronized (fileWritingLock) {
             try {
                 // Open the user file
@@ -689,6 +909,14 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         String playerName = userQuery.getName();
         UUID uuid = userQuery.getUUID();
 
+        if (journal != null) {
+            String[] journalData = journal.getByUUID(uuid);
+
+            if (journalData != null) {
+                return loadFromLine(replaceMismatchedName(journalData, playerName, uuid));
+            }
+        }
+
         synchronized (fileWritingLock) {
             try {
                 // Open the user file
@@ -710,20 +938,8 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
                     try {
                         UUID fromDataUUID = UUID.fromString(rawSplitData[UUID_INDEX]);
                         if(fromDataUUID.equals(uuid)) {
-                            //Matched UUID, now check if name matches
-                            String dbPlayerName = rawSplitData[USERNAME_INDEX];
-
-                            boolean matchingName = dbPlayerName.equalsIgnoreCase(playerName);
-
-                            if (!matchingName) {
-                                logger.warning("When loading user: "+playerName +" with UUID of (" + uuid.toString()
-                                        +") we found a mismatched name, the name in the DB will be replaced (DB name: "+dbPlayerName+")");
-                                //logger.info("Name updated for player: " + rawSplitData[USERNAME_INDEX] + " => " + playerName);
-                                rawSplitData[USERNAME_INDEX] = playerName;
-                            }
-
                             //TODO: Logic to replace name here
-                            return loadFromLine(rawSplitData);
+                            return loadFromLine(replaceMismatchedName(rawSplitData, playerName, uuid));
                         }
                     } catch (Exception e) {
                         if(testing) {
@@ -753,6 +969,32 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         return grabUnloadedProfile(uuid, playerName); //Create an empty new profile and return
     }
 
+    /**
+     * Matched UUID, now check if name matches
+     */
+    private @NotNull String[] replaceMismatchedName(@NotNull String[] rawSplitData, @NotNull String playerName, @NotNull UUID uuid) {
+        String dbPlayerName = rawSplitData[USERNAME_INDEX];
+
+        boolean matchingName = dbPlayerName.equalsIgnoreCase(playerName);
+
+        if (!matchingName) {
+            logger.warning("When loading user: "+playerName +" with UUID of (" + uuid.toString()
+                    +") we found a mismatched name, the name in the DB will be replaced (DB name: "+dbPlayerName+")");
+            //logger.info("Name updated for player: " + rawSplitData[USERNAME_INDEX] + " => " + playerName);
+            rawSplitData[USERNAME_INDEX] = playerName;
+        }
+
+        return rawSplitData;
+    }
+
+    private boolean isJournaled(@NotNull String uuidString) {
+        try {
+            return journal != null && journal.containsUUID(UUID.fromString(uuidString));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     private @NotNull PlayerProfile grabUnloadedProfile(@NotNull UUID uuid, @Nullable String playerName) {
         if(playerName == null) {
             playerName = ""; //No name for you boy!
@@ -762,46 +1004,123 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
     }
 
     public void convertUsers(DatabaseManager destination) {
-        BufferedReader in = null;
-        int convertedUsers = 0;
-        long startMillis = System.currentTimeMillis();
+        new UserConversion(this, destination, profile -> profile, mcMMO.p.getGeneralConfig().getSaveBatchSize(), logger).run();
+    }
+
+    /**
+     * Copy the user file while holding the lock and stream the users from the copy once the lock is released, so saves
+     * aren't held up while the consumer works through them and never more than one line is held in memory.
+     */
+    @Override
+    public void forEachUser(@NotNull Consumer<PlayerProfile> consumer) {
+        File snapshot;
+        compactJournal();
 
         synchronized (fileWritingLock) {
             try {
-                // Open the user file
-                in = new BufferedReader(new FileReader(usersFilePath));
+                snapshot = File.createTempFile("mcmmo.users.", ".snapshot", usersFile.getAbsoluteFile().getParentFile());
+                Files.copy(usersFile.toPath(), snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            catch (IOException e) {
+                e.printStackTrace();
+                return;
+            }
+        }
+
+        try (BufferedReader in = new BufferedReader(new FileReader(snapshot))) {
+            String line;
+
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("#") || line.isEmpty()) {
+                    continue;
+                }
+
+                PlayerProfile profile;
+
+                try {
+                    profile = loadFromLine(line.split(":"));
+                }
+                catch (Exception e) {
+                    logger.warning("Skipping unreadable user entry: " + e.getMessage());
+                    continue;
+                }
+
+                consumer.accept(profile);
+            }
+        }
+        catch (IOException e) {
+            e.printStackTrace();
+        }
+        finally {
+            if (!snapshot.delete()) {
+                snapshot.deleteOnExit();
+            }
+        }
+    }
+
+    /**
+     * Convert every user with a single rewrite of the user file, without the journal every batch passed to
+     * {@link #saveUsers(Collection)} would rewrite the whole file.
+     */
+    @Override
+    public long rewriteUsers(@NotNull Function<PlayerProfile, PlayerProfile> conversion) {
+        // Batches are appended to the journal, which is cheap enough
+        if (journal != null) {
+            return -1;
+        }
+
+        List<LeaderboardEntry> leaderboardEntries = new ArrayList<>();
+        File tempFile = new File(usersFilePath + ".tmp");
+
+        synchronized (fileWritingLock) {
+            try (BufferedReader in = new BufferedReader(new FileReader(usersFile));
+                 Writer out = new BufferedWriter(new FileWriter(tempFile))) {
                 String line;
 
                 while ((line = in.readLine()) != null) {
-                    if(line.startsWith("#")) {
-                        continue;
-                    }
+                    PlayerProfile converted = null;
 
-                    String[] character = line.split(":");
+                    if (!line.startsWith("#") && line.contains(":")) {
+                        try {
+                            converted = conversion.apply(loadFromLine(line.split(":")));
+                        }
+                        catch (Exception e) {
+                            logger.warning("Skipping unreadable user entry: " + e.getMessage());
+                        }
+                    }
 
-                    try {
-                        destination.saveUser(loadFromLine(character));
-                    } catch (Exception e) {
-                        e.printStackTrace();
+                    // Users left out by the conversion are kept as they are
+                    if (converted == null) {
+                        out.write(line);
+                        out.write("\r\n");
+                        continue;
                     }
-                    convertedUsers++;
-                    Misc.printProgress(convertedUsers, progressInterval, startMillis);
+
+                    writeUserToLine(converted, out);
+                    leaderboardEntries.add(new LeaderboardEntry(converted));
                 }
             }
             catch (Exception e) {
-                e.printStackTrace();
+                logger.severe("Could not convert " + usersFilePath + " in a single pass, " + e);
+                tempFile.delete();
+                return -1;
             }
-            finally {
-                if (in != null) {
-                    try {
-                        in.close();
-                    }
-                    catch (IOException e) {
-                        // Ignore
-                    }
-                }
+
+            try {
+                Files.move(tempFile.toPath(), usersFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
             }
+            catch (IOException e) {
+                logger.severe("Could not replace " + usersFilePath + " with the converted users, " + e);
+                tempFile.delete();
+                return -1;
+            }
+        }
+
+        for (LeaderboardEntry leaderboardEntry : leaderboardEntries) {
+            leaderboardEngine.update(leaderboardEntry);
         }
+
+        return leaderboardEntries.size();
     }
 
     public boolean saveUserUUID(String userName, UUID uuid) {
@@ -810,6 +1129,7 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         int i = 0;
         BufferedReader in = null;
         FileWriter out = null;
+        compactJournal();
 
         synchronized (fileWritingLock) {
             try {
@@ -868,6 +1188,7 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         BufferedReader in = null;
         FileWriter out = null;
         int i = 0;
+        compactJournal();
 
         synchronized (fileWritingLock) {
             try {
@@ -925,6 +1246,7 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
     public List<String> getStoredUsers() {
         ArrayList<String> users = new ArrayList<>();
         BufferedReader in = null;
+        compactJournal();
 
         synchronized (fileWritingLock) {
             try {
@@ -955,35 +1277,23 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
     }
 
     /**
-     * Update the leader boards.
+     * Reload the leader boards from the database file.
+     * After this the leader boards are kept up to date as players are saved, so this only needs to happen once.
      */
     public @NotNull LeaderboardStatus updateLeaderboards() {
-        // Only update FFS leaderboards every 10 minutes.. this puts a lot of strain on the server (depending on the size of the database) and should not be done frequently
+        // Only reload FFS leaderboards every 10 minutes.. this puts a lot of strain on the server (depending on the size of the database) and should not be done frequently
         if (System.currentTimeMillis() < lastUpdate + UPDATE_WAIT_TIME) {
             return LeaderboardStatus.TOO_SOON_TO_UPDATE;
         }
 
         lastUpdate = System.currentTimeMillis(); // Log when the last update was run
-        powerLevels.clear(); // Clear old values from the power levels
-
-        // Initialize lists
-        List<PlayerStat> mining = new ArrayList<>();
-        List<PlayerStat> woodcutting = new ArrayList<>();
-        List<PlayerStat> herbalism = new ArrayList<>();
-        List<PlayerStat> excavation = new ArrayList<>();
-        List<PlayerStat> acrobatics = new ArrayList<>();
-        List<PlayerStat> repair = new ArrayList<>();
-        List<PlayerStat> swords = new ArrayList<>();
-        List<PlayerStat> axes = new ArrayList<>();
-        List<PlayerStat> archery = new ArrayList<>();
-        List<PlayerStat> unarmed = new ArrayList<>();
-        List<PlayerStat> taming = new ArrayList<>();
-        List<PlayerStat> fishing = new ArrayList<>();
-        List<PlayerStat> alchemy = new ArrayList<>();
+        leaderboardEngine.beginSeeding(); // Players saved while the file is being read are added afterwards
+        compactJournal();
 
+        List<LeaderboardEntry> entries = new ArrayList<>();
         BufferedReader in = null;
         String playerName = null;
-        // Read from the FlatFile database and fill our arrays with information
+        // Read from the FlatFile database and fill our leaderboards with information
         synchronized (fileWritingLock) {
             try {
                 in = new BufferedReader(new FileReader(usersFilePath));
@@ -996,29 +1306,22 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
 
                     String[] data = line.split(":");
                     playerName = data[USERNAME_INDEX];
-                    int powerLevel = 0;
-
-                    Map<PrimarySkillType, Integer> skills = getSkillMapFromLine(data);
-
-                    powerLevel += putStat(acrobatics, playerName, skills.get(PrimarySkillType.ACROBATICS));
-                    powerLevel += putStat(alchemy, playerName, skills.get(PrimarySkillType.ALCHEMY));
-                    powerLevel += putStat(archery, playerName, skills.get(PrimarySkillType.ARCHERY));
-                    powerLevel += putStat(axes, playerName, skills.get(PrimarySkillType.AXES));
-                    powerLevel += putStat(excavation, playerName, skills.get(PrimarySkillType.EXCAVATION));
-                    powerLevel += putStat(fishing, playerName, skills.get(PrimarySkillType.FISHING));
-                    powerLevel += putStat(herbalism, playerName, skills.get(PrimarySkillType.HERBALISM));
-                    powerLevel += putStat(mining, playerName, skills.get(PrimarySkillType.MINING));
-                    powerLevel += putStat(repair, playerName, skills.get(PrimarySkillType.REPAIR));
-                    powerLevel += putStat(swords, playerName, skills.get(PrimarySkillType.SWORDS));
-                    powerLevel += putStat(taming, playerName, skills.get(PrimarySkillType.TAMING));
-                    powerLevel += putStat(unarmed, playerName, skills.get(PrimarySkillType.UNARMED));
-                    powerLevel += putStat(woodcutting, playerName, skills.get(PrimarySkillType.WOODCUTTING));
-
-                    putStat(powerLevels, playerName, powerLevel);
+                    UUID uuid = null;
+
+                    if (data.length > UUID_INDEX) {
+                        try {
+                            uuid = UUID.fromString(data[UUID_INDEX]);
+                        } catch (IllegalArgumentException e) {
+                            // Players without a valid UUID are ranked by name only
+                        }
+                    }
+
+                    entries.add(new LeaderboardEntry(playerName, uuid, getSkillMapFromLine(data)));
                 }
             }
             catch (Exception e) {
                 logger.severe("Exception while reading " + usersFilePath + " during user " + playerName + " (Are you sure you formatted it correctly?) " + e);
+                leaderboardEngine.abortSeeding();
                 return LeaderboardStatus.FAILED;
             } finally {
                 if (in != null) {
@@ -1031,42 +1334,20 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
                 }
             }
 
+            leaderboardEngine.finishSeeding(entries);
         }
 
-        SkillComparator c = new SkillComparator();
-
-        mining.sort(c);
-        woodcutting.sort(c);
-        repair.sort(c);
-        unarmed.sort(c);
-        herbalism.sort(c);
-        excavation.sort(c);
-        archery.sort(c);
-        swords.sort(c);
-        axes.sort(c);
-        acrobatics.sort(c);
-        taming.sort(c);
-        fishing.sort(c);
-        alchemy.sort(c);
-        powerLevels.sort(c);
-
-        playerStatHash.put(PrimarySkillType.MINING, mining);
-        playerStatHash.put(PrimarySkillType.WOODCUTTING, woodcutting);
-        playerStatHash.put(PrimarySkillType.REPAIR, repair);
-        playerStatHash.put(PrimarySkillType.UNARMED, unarmed);
-        playerStatHash.put(PrimarySkillType.HERBALISM, herbalism);
-        playerStatHash.put(PrimarySkillType.EXCAVATION, excavation);
-        playerStatHash.put(PrimarySkillType.ARCHERY, archery);
-        playerStatHash.put(PrimarySkillType.SWORDS, swords);
-        playerStatHash.put(PrimarySkillType.AXES, axes);
-        playerStatHash.put(PrimarySkillType.ACROBATICS, acrobatics);
-        playerStatHash.put(PrimarySkillType.TAMING, taming);
-        playerStatHash.put(PrimarySkillType.FISHING, fishing);
-        playerStatHash.put(PrimarySkillType.ALCHEMY, alchemy);
-
         return LeaderboardStatus.UPDATED;
     }
 
+    /**
+     * Drop the leader boards so they are reloaded from the database file by the next read
+     */
+    private void invalidateLeaderboards() {
+        leaderboardEngine.invalidate();
+        lastUpdate = 0;
+    }
+
     private void initEmptyDB() {
         BufferedWriter bufferedWriter = null;
         synchronized (fileWritingLock) {
@@ -1094,6 +1375,7 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
     public @Nullable List<FlatFileDataFlag> checkFileHealthAndStructure() {
         ArrayList<FlatFileDataFlag> flagsFound = null;
         LogUtils.debug(logger, "(" + usersFile.getPath() + ") Validating database file..");
+        compactJournal();
         FlatFileDataProcessor dataProcessor = null;
 
         if (usersFile.exists()) {
@@ -1171,36 +1453,6 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         }
     }
 
-    private Integer getPlayerRank(String playerName, List<PlayerStat> statsList) {
-        if (statsList == null) {
-            return null;
-        }
-
-        int currentPos = 1;
-
-        for (PlayerStat stat : statsList) {
-            if (stat.name.equalsIgnoreCase(playerName)) {
-                return currentPos;
-            }
-
-            currentPos++;
-        }
-
-        return null;
-    }
-
-    private int putStat(List<PlayerStat> statList, String playerName, int statValue) {
-        statList.add(new PlayerStat(playerName, statValue));
-        return statValue;
-    }
-
-    private static class SkillComparator implements Comparator<PlayerStat> {
-        @Override
-        public int compare(PlayerStat o1, PlayerStat o2) {
-            return (o2.statVal - o1.statVal);
-        }
-    }
-
     private PlayerProfile loadFromLine(@NotNull String[] character) {
         Map<PrimarySkillType, Integer>   skills     = getSkillMapFromLine(character);      // Skill levels
         Map<PrimarySkillType, Float>     skillsXp   = new EnumMap<>(PrimarySkillType.class);     // Skill & XP
@@ -1329,6 +1581,15 @@ public final class FlatFileDatabaseManager implements DatabaseManager {
         return usersFile;
     }
 
+    public boolean isJournalEnabled() {
+        return journal != null;
+    }
+
     @Override
-    public void onDisable() { }
+    public void onDisable() {
+        if (journal != null) {
+            compactJournal();
+            journal.close();
+        }
+    }
 }
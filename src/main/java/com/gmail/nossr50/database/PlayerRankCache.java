@@ -0,0 +1,123 @@
+package com.gmail.nossr50.database;
+
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.mcMMO;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Leaderboard positions of players, refreshed in the background so callers on the server thread never wait on the database
+ * <p>
+ * Reading a rank that is older than the refresh interval schedules an async refresh and returns the cached rank,
+ * ranks older than the max staleness are not returned at all.
+ */
+public class PlayerRankCache {
+    private static final int PRUNE_THRESHOLD = 1000;
+
+    private final @NotNull ConcurrentHashMap<UUID, CachedRanks> cachedRanks = new ConcurrentHashMap<>();
+    private final @NotNull Set<UUID> refreshing = ConcurrentHashMap.newKeySet();
+    private final long refreshIntervalMillis;
+    private final long maxStalenessMillis;
+
+    /**
+     * @param refreshInterval seconds before a cached rank is refreshed
+     * @param maxStaleness seconds before a cached rank is too old to be returned
+     */
+    public PlayerRankCache(int refreshInterval, int maxStaleness) {
+        this.refreshIntervalMillis = refreshInterval * 1000L;
+        this.maxStalenessMillis = Math.max(refreshInterval, maxStaleness) * 1000L;
+    }
+
+    /**
+     * Get the cached rank of a player, this never reads from the database
+     *
+     * @param uuid the player
+     * @param playerName the name of the player
+     * @param primarySkillType the skill, or null for power level
+     * @return the rank, or null if the player is unranked or their ranks have not been loaded yet
+     */
+    public @Nullable Integer getCachedRank(@NotNull UUID uuid, @NotNull String playerName, @Nullable PrimarySkillType primarySkillType) {
+        CachedRanks ranks = cachedRanks.get(uuid);
+        long age = ranks == null ? Long.MAX_VALUE : System.currentTimeMillis() - ranks.fetchTime;
+
+        if (age >= refreshIntervalMillis) {
+            scheduleRefresh(uuid, playerName);
+        }
+
+        if (age >= maxStalenessMillis) {
+            return null;
+        }
+
+        return ranks.ranks.get(primarySkillType);
+    }
+
+    /**
+     * Read the ranks of a player from the database off the server thread
+     *
+     * @param uuid the player
+     * @param playerName the name of the player
+     * @return the ranks of the player, power level is stored under the null key
+     */
+    public @NotNull CompletableFuture<Map<PrimarySkillType, Integer>> fetchRanks(@NotNull UUID uuid, @NotNull String playerName) {
+        CompletableFuture<Map<PrimarySkillType, Integer>> future = new CompletableFuture<>();
+
+        mcMMO.p.getFoliaLib().getImpl().runAsync(task -> {
+            try {
+                future.complete(refresh(uuid, playerName));
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+
+        return future;
+    }
+
+    public void remove(@NotNull UUID uuid) {
+        cachedRanks.remove(uuid);
+    }
+
+    private void scheduleRefresh(@NotNull UUID uuid, @NotNull String playerName) {
+        // Only one refresh per player at a time
+        if (!refreshing.add(uuid)) {
+            return;
+        }
+
+        mcMMO.p.getFoliaLib().getImpl().runAsync(task -> {
+            try {
+                refresh(uuid, playerName);
+            } finally {
+                refreshing.remove(uuid);
+            }
+        });
+    }
+
+    private @NotNull Map<PrimarySkillType, Integer> refresh(@NotNull UUID uuid, @NotNull String playerName) {
+        Map<PrimarySkillType, Integer> ranks = Collections.unmodifiableMap(new HashMap<>(mcMMO.getDatabaseManager().readRank(playerName)));
+
+        if (cachedRanks.size() >= PRUNE_THRESHOLD) {
+            long currentTime = System.currentTimeMillis();
+            cachedRanks.values().removeIf(cached -> currentTime - cached.fetchTime >= maxStalenessMillis);
+        }
+
+        cachedRanks.put(uuid, new CachedRanks(ranks, System.currentTimeMillis()));
+        return ranks;
+    }
+
+    private static class CachedRanks {
+        private final @NotNull Map<PrimarySkillType, Integer> ranks;
+        private final long fetchTime;
+
+        private CachedRanks(@NotNull Map<PrimarySkillType, Integer> ranks, long fetchTime) {
+            this.ranks = ranks;
+            this.fetchTime = fetchTime;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.gmail.nossr50.database;
+
+import com.gmail.nossr50.datatypes.player.PlayerProfile;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.LogUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Coalescing queue of profiles waiting to be saved
+ * <p>
+ * Queueing a profile takes a snapshot of it, queueing the same player again before the next flush replaces the older
+ * snapshot so every player is written at most once per flush. A single writer drains the queue in batches through
+ * {@link DatabaseManager#saveUsers(Collection)}, which lets the database write a whole batch at once.
+ */
+public class ProfileSavePipeline {
+    private static final int MAX_SAVE_ATTEMPTS = 10;
+
+    private final @NotNull Logger logger;
+    private final int batchSize;
+    private final @NotNull Supplier<DatabaseManager> databaseManager;
+    private final @NotNull LinkedHashMap<String, PendingSave> pendingSaves = new LinkedHashMap<>();
+    /**
+     * Players whose batch was taken off the queue and is being written, guarded by pendingSaves
+     */
+    private final @NotNull Set<String> inFlightSaves = new HashSet<>();
+    private final @NotNull ReentrantLock writerLock = new ReentrantLock();
+
+    /* Stats */
+    private volatile long lastFlushMillis = 0;
+    private volatile long maxFlushMillis = 0;
+    private volatile int lastFlushSize = 0;
+    private volatile long totalSaved = 0;
+
+    public ProfileSavePipeline(@NotNull Logger logger, int batchSize) {
+        this(logger, batchSize, mcMMO::getDatabaseManager);
+    }
+
+    /**
+     * @param databaseManager supplies the database to write to, it is asked again for every batch
+     */
+    public ProfileSavePipeline(@NotNull Logger logger, int batchSize, @NotNull Supplier<DatabaseManager> databaseManager) {
+        this.logger = logger;
+        this.batchSize = Math.max(1, batchSize);
+        this.databaseManager = databaseManager;
+    }
+
+    /**
+     * Queue a profile to be saved by the next flush, profiles without changes are ignored
+     *
+     * @param profile the profile to save
+     */
+    public void enqueue(@NotNull PlayerProfile profile) {
+        PlayerProfile snapshot = profile.createSaveSnapshot();
+
+        if (snapshot == null) {
+            return;
+        }
+
+        synchronized (pendingSaves) {
+            PendingSave previous = pendingSaves.remove(getKey(profile));
+            pendingSaves.put(getKey(profile), new PendingSave(profile, snapshot, previous == null ? 0 : previous.attempts));
+        }
+    }
+
+    /**
+     * Saves every profile that is currently queued, blocking until all batches have been written
+     * Profiles that fail to save are queued again for the next flush
+     */
+    public void flush() {
+        writerLock.lock();
+
+        try {
+            int queued = getQueueDepth();
+            int processed = 0;
+
+            if (queued == 0) {
+                return;
+            }
+
+            long startTime = System.currentTimeMillis();
+            int batches = 0;
+
+            while (processed < queued) {
+                List<PendingSave> batch = pollBatch();
+
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                writeBatch(batch);
+                processed += batch.size();
+                batches++;
+            }
+
+            lastFlushMillis = System.currentTimeMillis() - startTime;
+            maxFlushMillis = Math.max(maxFlushMillis, lastFlushMillis);
+            lastFlushSize = processed;
+
+            LogUtils.debug(logger, "[User Data] Saved " + processed + " profiles in " + batches + " batches ("
+                    + lastFlushMillis + "ms), " + getQueueDepth() + " profiles still queued");
+        } finally {
+            writerLock.unlock();
+        }
+    }
+
+    /**
+     * Makes sure a queued save for this player has been written before their data is read back from the database
+     *
+     * @param uuid the player
+     */
+    public void awaitPendingSave(@Nullable UUID uuid) {
+        if (uuid == null) {
+            return;
+        }
+
+        boolean pending;
+
+        synchronized (pendingSaves) {
+            String key = uuid.toString();
+            pending = pendingSaves.containsKey(key) || inFlightSaves.contains(key);
+        }
+
+        // A batch that is being written holds the writer lock, so this also waits for it to finish
+        if (pending) {
+            flush();
+        }
+    }
+
+    private @NotNull List<PendingSave> pollBatch() {
+        List<PendingSave> batch = new ArrayList<>(batchSize);
+
+        synchronized (pendingSaves) {
+            Iterator<PendingSave> iterator = pendingSaves.values().iterator();
+
+            while (iterator.hasNext() && batch.size() < batchSize) {
+                PendingSave pendingSave = iterator.next();
+                batch.add(pendingSave);
+                inFlightSaves.add(getKey(pendingSave.profile));
+                iterator.remove();
+            }
+        }
+
+        return batch;
+    }
+
+    private void writeBatch(@NotNull List<PendingSave> batch) {
+        try {
+            saveBatch(batch);
+        } finally {
+            synchronized (pendingSaves) {
+                for (PendingSave pendingSave : batch) {
+                    inFlightSaves.remove(getKey(pendingSave.profile));
+                }
+            }
+        }
+    }
+
+    private void saveBatch(@NotNull List<PendingSave> batch) {
+        List<PlayerProfile> snapshots = new ArrayList<>(batch.size());
+
+        for (PendingSave pendingSave : batch) {
+            snapshots.add(pendingSave.snapshot);
+        }
+
+        Collection<PlayerProfile> failed;
+
+        try {
+            failed = databaseManager.get().saveUsers(snapshots);
+        } catch (Exception e) {
+            e.printStackTrace();
+            failed = snapshots;
+        }
+
+        totalSaved += snapshots.size() - failed.size();
+
+        if (failed.isEmpty()) {
+            return;
+        }
+
+        Set<PlayerProfile> failedSnapshots = Collections.newSetFromMap(new IdentityHashMap<>());
+        failedSnapshots.addAll(failed);
+
+        for (PendingSave pendingSave : batch) {
+            if (failedSnapshots.contains(pendingSave.snapshot)) {
+                retry(pendingSave);
+            }
+        }
+    }
+
+    private void retry(@NotNull PendingSave pendingSave) {
+        PlayerProfile profile = pendingSave.profile;
+        int attempts = pendingSave.attempts + 1;
+
+        logger.severe("PlayerProfile saving failed for player: " + profile.getPlayerName() + " " + profile.getUniqueId());
+
+        if (attempts >= MAX_SAVE_ATTEMPTS) {
+            logger.severe("mcMMO has failed to save the profile for "
+                    + profile.getPlayerName() + " numerous times." +
+                    " mcMMO will now stop attempting to save this profile." +
+                    " Check your console for errors and inspect your DB for issues.");
+            return;
+        }
+
+        synchronized (pendingSaves) {
+            // A newer snapshot was queued while this one was being written
+            if (pendingSaves.containsKey(getKey(profile))) {
+                return;
+            }
+
+            pendingSaves.put(getKey(profile), new PendingSave(profile, pendingSave.snapshot, attempts));
+        }
+
+        profile.markProfileDirty();
+    }
+
+    private static @NotNull String getKey(@NotNull PlayerProfile profile) {
+        return profile.getUniqueId() != null ? profile.getUniqueId().toString() : "name:" + profile.getPlayerName().toLowerCase(Locale.ENGLISH);
+    }
+
+    public int getQueueDepth() {
+        synchronized (pendingSaves) {
+            return pendingSaves.size();
+        }
+    }
+
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+
+    public long getMaxFlushMillis() {
+        return maxFlushMillis;
+    }
+
+    public int getLastFlushSize() {
+        return lastFlushSize;
+    }
+
+    public long getTotalSaved() {
+        return totalSaved;
+    }
+
+    private static class PendingSave {
+        private final @NotNull PlayerProfile profile;
+        private final @NotNull PlayerProfile snapshot;
+        private final int attempts;
+
+        private PendingSave(@NotNull PlayerProfile profile, @NotNull PlayerProfile snapshot, int attempts) {
+            this.profile = profile;
+            this.snapshot = snapshot;
+            this.attempts = attempts;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.gmail.nossr50.database;
 
 import com.gmail.nossr50.api.exceptions.InvalidSkillException;
+import com.gmail.nossr50.database.leaderboard.LeaderboardEngine;
+import com.gmail.nossr50.database.leaderboard.LeaderboardEntry;
 import com.gmail.nossr50.datatypes.MobHealthbarType;
 import com.gmail.nossr50.datatypes.database.DatabaseType;
 import com.gmail.nossr50.datatypes.database.PlayerStat;
@@ -23,7 +25,9 @@ import org.jetbrains.annotations.Nullable;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 
 public final class SQLDatabaseManager implements DatabaseManager {
     private static final String ALL_QUERY_VERSION = "total";
@@ -32,9 +36,13 @@ public final class SQLDatabaseManager implements DatabaseManager {
     public static final String USER_VARCHAR = "VARCHAR(40)";
     public static final int CHILD_SKILLS_SIZE = 2;
     public static final String LEGACY_DRIVER_PATH = "com.mysql.jdbc.Driver";
+    private static final long RANK_CACHE_TTL = 30000L; // 30 seconds
+    private static final int MAX_CACHED_RANKS = 1000;
     private final String tablePrefix = mcMMO.p.getGeneralConfig().getMySQLTablePrefix();
 
-    private final Map<UUID, Integer> cachedUserIDs = new HashMap<>();
+    private final Map<UUID, Integer> cachedUserIDs = new ConcurrentHashMap<>();
+    private final @Nullable LeaderboardEngine leaderboardEngine = mcMMO.p.getGeneralConfig().getMySQLLeaderboardRefreshInterval() > 0 ? new LeaderboardEngine(false) : null;
+    private final Map<String, CachedRanks> rankCache = new ConcurrentHashMap<>();
 
     private DataSource miscPool;
     private DataSource loadPool;
@@ -165,6 +173,10 @@ public final class SQLDatabaseManager implements DatabaseManager {
             massUpdateLock.unlock();
         }
 
+        if (purged > 0) {
+            invalidateLeaderboards();
+        }
+
         mcMMO.p.getLogger().info("Purged " + purged + " users from the database.");
         return purged;
     }
@@ -196,6 +208,10 @@ public final class SQLDatabaseManager implements DatabaseManager {
             massUpdateLock.unlock();
         }
 
+        if (purged > 0) {
+            invalidateLeaderboards();
+        }
+
         mcMMO.p.getLogger().info("Purged " + purged + " users from the database.");
     }
 
@@ -230,6 +246,12 @@ public final class SQLDatabaseManager implements DatabaseManager {
             if(uuid != null)
                 cleanupUser(uuid);
 
+            if (leaderboardEngine != null) {
+                leaderboardEngine.remove(playerName);
+            }
+
+            rankCache.remove(playerName.toLowerCase(Locale.ENGLISH));
+
             Misc.profileCleanup(playerName);
         }
 
@@ -258,8 +280,8 @@ public final class SQLDatabaseManager implements DatabaseManager {
                 }
             }
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "users SET lastlogin = UNIX_TIMESTAMP() WHERE id = ?");
-            statement.setInt(1, id);
+            statement = connection.prepareStatement(getSaveLastLoginQuery());
+            bindSaveLastLogin(statement, id);
             success &= (statement.executeUpdate() != 0);
             statement.close();
             if (!success) {
@@ -267,29 +289,8 @@ public final class SQLDatabaseManager implements DatabaseManager {
                 return false;
             }
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "skills SET "
-                    + " taming = ?, mining = ?, repair = ?, woodcutting = ?"
-                    + ", unarmed = ?, herbalism = ?, excavation = ?"
-                    + ", archery = ?, swords = ?, axes = ?, acrobatics = ?"
-                    + ", fishing = ?, alchemy = ?, total = ? WHERE user_id = ?");
-            statement.setInt(1, profile.getSkillLevel(PrimarySkillType.TAMING));
-            statement.setInt(2, profile.getSkillLevel(PrimarySkillType.MINING));
-            statement.setInt(3, profile.getSkillLevel(PrimarySkillType.REPAIR));
-            statement.setInt(4, profile.getSkillLevel(PrimarySkillType.WOODCUTTING));
-            statement.setInt(5, profile.getSkillLevel(PrimarySkillType.UNARMED));
-            statement.setInt(6, profile.getSkillLevel(PrimarySkillType.HERBALISM));
-            statement.setInt(7, profile.getSkillLevel(PrimarySkillType.EXCAVATION));
-            statement.setInt(8, profile.getSkillLevel(PrimarySkillType.ARCHERY));
-            statement.setInt(9, profile.getSkillLevel(PrimarySkillType.SWORDS));
-            statement.setInt(10, profile.getSkillLevel(PrimarySkillType.AXES));
-            statement.setInt(11, profile.getSkillLevel(PrimarySkillType.ACROBATICS));
-            statement.setInt(12, profile.getSkillLevel(PrimarySkillType.FISHING));
-            statement.setInt(13, profile.getSkillLevel(PrimarySkillType.ALCHEMY));
-            int total = 0;
-            for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS)
-                total += profile.getSkillLevel(primarySkillType);
-            statement.setInt(14, total);
-            statement.setInt(15, id);
+            statement = connection.prepareStatement(getSaveSkillsQuery());
+            bindSaveSkills(statement, profile, id);
             success &= (statement.executeUpdate() != 0);
             statement.close();
             if (!success) {
@@ -297,25 +298,8 @@ public final class SQLDatabaseManager implements DatabaseManager {
                 return false;
             }
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "experience SET "
-                    + " taming = ?, mining = ?, repair = ?, woodcutting = ?"
-                    + ", unarmed = ?, herbalism = ?, excavation = ?"
-                    + ", archery = ?, swords = ?, axes = ?, acrobatics = ?"
-                    + ", fishing = ?, alchemy = ? WHERE user_id = ?");
-            statement.setInt(1, profile.getSkillXpLevel(PrimarySkillType.TAMING));
-            statement.setInt(2, profile.getSkillXpLevel(PrimarySkillType.MINING));
-            statement.setInt(3, profile.getSkillXpLevel(PrimarySkillType.REPAIR));
-            statement.setInt(4, profile.getSkillXpLevel(PrimarySkillType.WOODCUTTING));
-            statement.setInt(5, profile.getSkillXpLevel(PrimarySkillType.UNARMED));
-            statement.setInt(6, profile.getSkillXpLevel(PrimarySkillType.HERBALISM));
-            statement.setInt(7, profile.getSkillXpLevel(PrimarySkillType.EXCAVATION));
-            statement.setInt(8, profile.getSkillXpLevel(PrimarySkillType.ARCHERY));
-            statement.setInt(9, profile.getSkillXpLevel(PrimarySkillType.SWORDS));
-            statement.setInt(10, profile.getSkillXpLevel(PrimarySkillType.AXES));
-            statement.setInt(11, profile.getSkillXpLevel(PrimarySkillType.ACROBATICS));
-            statement.setInt(12, profile.getSkillXpLevel(PrimarySkillType.FISHING));
-            statement.setInt(13, profile.getSkillXpLevel(PrimarySkillType.ALCHEMY));
-            statement.setInt(14, id);
+            statement = connection.prepareStatement(getSaveExperienceQuery());
+            bindSaveExperience(statement, profile, id);
             success &= (statement.executeUpdate() != 0);
             statement.close();
             if (!success) {
@@ -323,20 +307,8 @@ public final class SQLDatabaseManager implements DatabaseManager {
                 return false;
             }
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "cooldowns SET "
-                    + "  mining = ?, woodcutting = ?, unarmed = ?"
-                    + ", herbalism = ?, excavation = ?, swords = ?"
-                    + ", axes = ?, blast_mining = ?, chimaera_wing = ? WHERE user_id = ?");
-            statement.setLong(1, profile.getAbilityDATS(SuperAbilityType.SUPER_BREAKER));
-            statement.setLong(2, profile.getAbilityDATS(SuperAbilityType.TREE_FELLER));
-            statement.setLong(3, profile.getAbilityDATS(SuperAbilityType.BERSERK));
-            statement.setLong(4, profile.getAbilityDATS(SuperAbilityType.GREEN_TERRA));
-            statement.setLong(5, profile.getAbilityDATS(SuperAbilityType.GIGA_DRILL_BREAKER));
-            statement.setLong(6, profile.getAbilityDATS(SuperAbilityType.SERRATED_STRIKES));
-            statement.setLong(7, profile.getAbilityDATS(SuperAbilityType.SKULL_SPLITTER));
-            statement.setLong(8, profile.getAbilityDATS(SuperAbilityType.BLAST_MINING));
-            statement.setLong(9, profile.getUniqueData(UniqueDataType.CHIMAERA_WING_DATS));
-            statement.setInt(10, id);
+            statement = connection.prepareStatement(getSaveCooldownsQuery());
+            bindSaveCooldowns(statement, profile, id);
             success = (statement.executeUpdate() != 0);
             statement.close();
             if (!success) {
@@ -344,16 +316,16 @@ public final class SQLDatabaseManager implements DatabaseManager {
                 return false;
             }
 
-            statement = connection.prepareStatement("UPDATE " + tablePrefix + "huds SET mobhealthbar = ?, scoreboardtips = ? WHERE user_id = ?");
-            statement.setString(1, MobHealthbarType.HEARTS.name());
-            statement.setInt(2, profile.getScoreboardTipsShown());
-            statement.setInt(3, id);
+            statement = connection.prepareStatement(getSaveHudsQuery());
+            bindSaveHuds(statement, profile, id);
             success = (statement.executeUpdate() != 0);
             statement.close();
             if (!success) {
                 mcMMO.p.getLogger().severe("Failed to update hud settings for " + profile.getPlayerName());
                 return false;
             }
+
+            updateLeaderboardEntry(profile);
         }
         catch (SQLException ex) {
             printErrors(ex);
@@ -366,6 +338,228 @@ public final class SQLDatabaseManager implements DatabaseManager {
         return success;
     }
 
+    /**
+     * Saves the batch with one JDBC batch per table inside a single transaction
+     */
+    @Override
+    public @NotNull List<PlayerProfile> saveUsers(@NotNull Collection<PlayerProfile> profiles) {
+        List<PlayerProfile> failed = new ArrayList<>();
+
+        if (profiles.isEmpty()) {
+            return failed;
+        }
+
+        List<PlayerProfile> batchProfiles = new ArrayList<>(profiles.size());
+        List<Integer> batchIds = new ArrayList<>(profiles.size());
+        Connection connection = null;
+        PreparedStatement lastLoginStatement = null;
+        PreparedStatement skillsStatement = null;
+        PreparedStatement experienceStatement = null;
+        PreparedStatement cooldownsStatement = null;
+        PreparedStatement hudsStatement = null;
+
+        try {
+            connection = getConnection(PoolIdentifier.SAVE);
+            cacheUserIDs(connection, profiles);
+
+            for (PlayerProfile profile : profiles) {
+                int id = getUserID(connection, profile.getPlayerName(), profile.getUniqueId());
+
+                if (id == -1) {
+                    id = newUser(connection, profile.getPlayerName(), profile.getUniqueId());
+                }
+
+                if (id == -1) {
+                    mcMMO.p.getLogger().severe("Failed to create new account for " + profile.getPlayerName());
+                    failed.add(profile);
+                    continue;
+                }
+
+                batchProfiles.add(profile);
+                batchIds.add(id);
+            }
+
+            if (batchProfiles.isEmpty()) {
+                return failed;
+            }
+
+            connection.setAutoCommit(false);
+            lastLoginStatement = connection.prepareStatement(getSaveLastLoginQuery());
+            skillsStatement = connection.prepareStatement(getSaveSkillsQuery());
+            experienceStatement = connection.prepareStatement(getSaveExperienceQuery());
+            cooldownsStatement = connection.prepareStatement(getSaveCooldownsQuery());
+            hudsStatement = connection.prepareStatement(getSaveHudsQuery());
+
+            for (int i = 0; i < batchProfiles.size(); i++) {
+                PlayerProfile profile = batchProfiles.get(i);
+                int id = batchIds.get(i);
+
+                bindSaveLastLogin(lastLoginStatement, id);
+                lastLoginStatement.addBatch();
+                bindSaveSkills(skillsStatement, profile, id);
+                skillsStatement.addBatch();
+                bindSaveExperience(experienceStatement, profile, id);
+                experienceStatement.addBatch();
+                bindSaveCooldowns(cooldownsStatement, profile, id);
+                cooldownsStatement.addBatch();
+                bindSaveHuds(hudsStatement, profile, id);
+                hudsStatement.addBatch();
+            }
+
+            boolean[] rowFailed = new boolean[batchProfiles.size()];
+            markFailedRows(lastLoginStatement.executeBatch(), rowFailed);
+            markFailedRows(skillsStatement.executeBatch(), rowFailed);
+            markFailedRows(experienceStatement.executeBatch(), rowFailed);
+            markFailedRows(cooldownsStatement.executeBatch(), rowFailed);
+            markFailedRows(hudsStatement.executeBatch(), rowFailed);
+            connection.commit();
+
+            for (int i = 0; i < rowFailed.length; i++) {
+                if (rowFailed[i]) {
+                    mcMMO.p.getLogger().severe("Failed to update data for " + batchProfiles.get(i).getPlayerName());
+                    failed.add(batchProfiles.get(i));
+                } else {
+                    updateLeaderboardEntry(batchProfiles.get(i));
+                }
+            }
+        }
+        catch (SQLException ex) {
+            printErrors(ex);
+
+            try {
+                if (connection != null) {
+                    connection.rollback();
+                }
+            }
+            catch (SQLException rollbackEx) {
+                printErrors(rollbackEx);
+            }
+
+            failed.addAll(batchProfiles);
+        }
+        finally {
+            tryClose(lastLoginStatement);
+            tryClose(skillsStatement);
+            tryClose(experienceStatement);
+            tryClose(cooldownsStatement);
+            tryClose(hudsStatement);
+
+            if (connection != null) {
+                try {
+                    connection.setAutoCommit(true);
+                }
+                catch (SQLException ex) {
+                    // Ignore
+                }
+            }
+
+            tryClose(connection);
+        }
+
+        return failed;
+    }
+
+    private void markFailedRows(int[] updateCounts, boolean[] rowFailed) {
+        for (int i = 0; i < updateCounts.length && i < rowFailed.length; i++) {
+            // Statement.SUCCESS_NO_INFO is reported as a negative count
+            if (updateCounts[i] == 0 || updateCounts[i] == Statement.EXECUTE_FAILED) {
+                rowFailed[i] = true;
+            }
+        }
+    }
+
+    private @NotNull String getSaveLastLoginQuery() {
+        return "UPDATE " + tablePrefix + "users SET lastlogin = UNIX_TIMESTAMP() WHERE id = ?";
+    }
+
+    private @NotNull String getSaveSkillsQuery() {
+        return "UPDATE " + tablePrefix + "skills SET "
+                + " taming = ?, mining = ?, repair = ?, woodcutting = ?"
+                + ", unarmed = ?, herbalism = ?, excavation = ?"
+                + ", archery = ?, swords = ?, axes = ?, acrobatics = ?"
+                + ", fishing = ?, alchemy = ?, total = ? WHERE user_id = ?";
+    }
+
+    private @NotNull String getSaveExperienceQuery() {
+        return "UPDATE " + tablePrefix + "experience SET "
+                + " taming = ?, mining = ?, repair = ?, woodcutting = ?"
+                + ", unarmed = ?, herbalism = ?, excavation = ?"
+                + ", archery = ?, swords = ?, axes = ?, acrobatics = ?"
+                + ", fishing = ?, alchemy = ? WHERE user_id = ?";
+    }
+
+    private @NotNull String getSaveCooldownsQuery() {
+        return "UPDATE " + tablePrefix + "cooldowns SET "
+                + "  mining = ?, woodcutting = ?, unarmed = ?"
+                + ", herbalism = ?, excavation = ?, swords = ?"
+                + ", axes = ?, blast_mining = ?, chimaera_wing = ? WHERE user_id = ?";
+    }
+
+    private @NotNull String getSaveHudsQuery() {
+        return "UPDATE " + tablePrefix + "huds SET mobhealthbar = ?, scoreboardtips = ? WHERE user_id = ?";
+    }
+
+    private void bindSaveLastLogin(@NotNull PreparedStatement statement, int id) throws SQLException {
+        statement.setInt(1, id);
+    }
+
+    private void bindSaveSkills(@NotNull PreparedStatement statement, @NotNull PlayerProfile profile, int id) throws SQLException {
+        statement.setInt(1, profile.getSkillLevel(PrimarySkillType.TAMING));
+        statement.setInt(2, profile.getSkillLevel(PrimarySkillType.MINING));
+        statement.setInt(3, profile.getSkillLevel(PrimarySkillType.REPAIR));
+        statement.setInt(4, profile.getSkillLevel(PrimarySkillType.WOODCUTTING));
+        statement.setInt(5, profile.getSkillLevel(PrimarySkillType.UNARMED));
+        statement.setInt(6, profile.getSkillLevel(PrimarySkillType.HERBALISM));
+        statement.setInt(7, profile.getSkillLevel(PrimarySkillType.EXCAVATION));
+        statement.setInt(8, profile.getSkillLevel(PrimarySkillType.ARCHERY));
+        statement.setInt(9, profile.getSkillLevel(PrimarySkillType.SWORDS));
+        statement.setInt(10, profile.getSkillLevel(PrimarySkillType.AXES));
+        statement.setInt(11, profile.getSkillLevel(PrimarySkillType.ACROBATICS));
+        statement.setInt(12, profile.getSkillLevel(PrimarySkillType.FISHING));
+        statement.setInt(13, profile.getSkillLevel(PrimarySkillType.ALCHEMY));
+        int total = 0;
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS)
+            total += profile.getSkillLevel(primarySkillType);
+        statement.setInt(14, total);
+        statement.setInt(15, id);
+    }
+
+    private void bindSaveExperience(@NotNull PreparedStatement statement, @NotNull PlayerProfile profile, int id) throws SQLException {
+        statement.setInt(1, profile.getSkillXpLevel(PrimarySkillType.TAMING));
+        statement.setInt(2, profile.getSkillXpLevel(PrimarySkillType.MINING));
+        statement.setInt(3, profile.getSkillXpLevel(PrimarySkillType.REPAIR));
+        statement.setInt(4, profile.getSkillXpLevel(PrimarySkillType.WOODCUTTING));
+        statement.setInt(5, profile.getSkillXpLevel(PrimarySkillType.UNARMED));
+        statement.setInt(6, profile.getSkillXpLevel(PrimarySkillType.HERBALISM));
+        statement.setInt(7, profile.getSkillXpLevel(PrimarySkillType.EXCAVATION));
+        statement.setInt(8, profile.getSkillXpLevel(PrimarySkillType.ARCHERY));
+        statement.setInt(9, profile.getSkillXpLevel(PrimarySkillType.SWORDS));
+        statement.setInt(10, profile.getSkillXpLevel(PrimarySkillType.AXES));
+        statement.setInt(11, profile.getSkillXpLevel(PrimarySkillType.ACROBATICS));
+        statement.setInt(12, profile.getSkillXpLevel(PrimarySkillType.FISHING));
+        statement.setInt(13, profile.getSkillXpLevel(PrimarySkillType.ALCHEMY));
+        statement.setInt(14, id);
+    }
+
+    private void bindSaveCooldowns(@NotNull PreparedStatement statement, @NotNull PlayerProfile profile, int id) throws SQLException {
+        statement.setLong(1, profile.getAbilityDATS(SuperAbilityType.SUPER_BREAKER));
+        statement.setLong(2, profile.getAbilityDATS(SuperAbilityType.TREE_FELLER));
+        statement.setLong(3, profile.getAbilityDATS(SuperAbilityType.BERSERK));
+        statement.setLong(4, profile.getAbilityDATS(SuperAbilityType.GREEN_TERRA));
+        statement.setLong(5, profile.getAbilityDATS(SuperAbilityType.GIGA_DRILL_BREAKER));
+        statement.setLong(6, profile.getAbilityDATS(SuperAbilityType.SERRATED_STRIKES));
+        statement.setLong(7, profile.getAbilityDATS(SuperAbilityType.SKULL_SPLITTER));
+        statement.setLong(8, profile.getAbilityDATS(SuperAbilityType.BLAST_MINING));
+        statement.setLong(9, profile.getUniqueData(UniqueDataType.CHIMAERA_WING_DATS));
+        statement.setInt(10, id);
+    }
+
+    private void bindSaveHuds(@NotNull PreparedStatement statement, @NotNull PlayerProfile profile, int id) throws SQLException {
+        statement.setString(1, MobHealthbarType.HEARTS.name());
+        statement.setInt(2, profile.getScoreboardTipsShown());
+        statement.setInt(3, id);
+    }
+
     public @NotNull List<PlayerStat> readLeaderboard(@Nullable PrimarySkillType skill, int pageNumber, int statsPerPage) throws InvalidSkillException {
         List<PlayerStat> stats = new ArrayList<>();
 
@@ -375,6 +569,9 @@ public final class SQLDatabaseManager implements DatabaseManager {
             throw new InvalidSkillException("A plugin hooking into mcMMO that you are using is attempting to read leaderboard skills for child skills, child skills do not have leaderboards! This is NOT an mcMMO error!");
         }
 
+        if (leaderboardEngine != null && leaderboardEngine.isSeeded()) {
+            return leaderboardEngine.readLeaderboard(skill, pageNumber, statsPerPage);
+        }
 
         String query = skill == null ? ALL_QUERY_VERSION : skill.name().toLowerCase(Locale.ENGLISH);
         ResultSet resultSet = null;
@@ -411,6 +608,17 @@ public final class SQLDatabaseManager implements DatabaseManager {
     }
 
     public Map<PrimarySkillType, Integer> readRank(String playerName) {
+        if (leaderboardEngine != null && leaderboardEngine.isSeeded()) {
+            return leaderboardEngine.readRank(playerName);
+        }
+
+        String key = playerName.toLowerCase(Locale.ENGLISH);
+        CachedRanks cachedRanks = rankCache.get(key);
+
+        if (cachedRanks != null && cachedRanks.expiration > System.currentTimeMillis()) {
+            return new HashMap<>(cachedRanks.ranks);
+        }
+
         Map<PrimarySkillType, Integer> skills = new HashMap<>();
 
         ResultSet resultSet = null;
@@ -419,82 +627,148 @@ public final class SQLDatabaseManager implements DatabaseManager {
 
         try {
             connection = getConnection(PoolIdentifier.MISC);
-            for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
-                String skillName = primarySkillType.name().toLowerCase(Locale.ENGLISH);
-                // Get count of all users with higher skill level than player
-                String sql = "SELECT COUNT(*) AS 'rank' FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id WHERE " + skillName + " > 0 " +
-                        "AND " + skillName + " > (SELECT " + skillName + " FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id " +
-                        "WHERE user = ?)";
-
-                statement = connection.prepareStatement(sql);
-                statement.setString(1, playerName);
-                resultSet = statement.executeQuery();
+            statement = connection.prepareStatement(getRankQuery());
+            statement.setString(1, playerName);
+            resultSet = statement.executeQuery();
 
-                resultSet.next();
+            if (resultSet.next()) {
+                for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+                    putRank(skills, primarySkillType, resultSet.getInt(primarySkillType.name().toLowerCase(Locale.ENGLISH)));
+                }
 
-                int rank = resultSet.getInt("rank");
+                putRank(skills, null, resultSet.getInt(ALL_QUERY_VERSION));
+            }
 
-                // Ties are settled by alphabetical order
-                sql = "SELECT user, " + skillName + " FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id WHERE " + skillName + " > 0 " +
-                        "AND " + skillName + " = (SELECT " + skillName + " FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id " +
-                        "WHERE user = '" + playerName + "') ORDER BY user";
+            pruneRankCache();
+            rankCache.put(key, new CachedRanks(skills, System.currentTimeMillis() + RANK_CACHE_TTL));
+        }
+        catch (SQLException ex) {
+            printErrors(ex);
+        }
+        finally {
+            tryClose(resultSet);
+            tryClose(statement);
+            tryClose(connection);
+        }
 
-                resultSet.close();
-                statement.close();
+        return skills;
+    }
 
-                statement = connection.prepareStatement(sql);
-                resultSet = statement.executeQuery();
+    /**
+     * Players with a rank of 0 are unranked in that skill
+     */
+    private void putRank(@NotNull Map<PrimarySkillType, Integer> skills, @Nullable PrimarySkillType primarySkillType, int rank) {
+        if (rank > 0) {
+            skills.put(primarySkillType, rank);
+        }
+    }
 
-                while (resultSet.next()) {
-                    if (resultSet.getString("user").equalsIgnoreCase(playerName)) {
-                        skills.put(primarySkillType, rank + resultSet.getRow());
-                        break;
-                    }
-                }
+    /**
+     * Every rank of a player in one query, each rank is the number of players at or above the player in that skill
+     * counted with a conditional sum, so the table is scanned once for all skills instead of sorted once per skill
+     * Ties are settled by alphabetical order and players with level 0 are unranked, the same as {@link #readLeaderboard(PrimarySkillType, int, int)}
+     */
+    private @NotNull String getRankQuery() {
+        StringBuilder ranks = new StringBuilder();
 
-                resultSet.close();
-                statement.close();
+        for (String column : getRankColumns()) {
+            if (ranks.length() > 0) {
+                ranks.append(", ");
             }
 
-            String sql = "SELECT COUNT(*) AS 'rank' FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id " +
-                    "WHERE " + ALL_QUERY_VERSION + " > 0 " +
-                    "AND " + ALL_QUERY_VERSION + " > " +
-                    "(SELECT " + ALL_QUERY_VERSION + " " +
-                    "FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id WHERE user = ?)";
+            ranks.append("SUM(CASE WHEN p.").append(column).append(" > 0 AND (s.").append(column).append(" > p.").append(column)
+                    .append(" OR (s.").append(column).append(" = p.").append(column).append(" AND u.user <= p.user)) THEN 1 ELSE 0 END) AS ").append(column);
+        }
 
-            statement = connection.prepareStatement(sql);
-            statement.setString(1, playerName);
-            resultSet = statement.executeQuery();
+        return "SELECT " + ranks + " FROM (SELECT pu.user, ps.* FROM " + tablePrefix + "users pu JOIN " + tablePrefix + "skills ps ON (ps.user_id = pu.id) WHERE pu.user = ?) p "
+                + "CROSS JOIN " + tablePrefix + "users u JOIN " + tablePrefix + "skills s ON (s.user_id = u.id) "
+                + "WHERE NOT u.user = '\\_INVALID\\_OLD\\_USERNAME\\_' GROUP BY p.user_id";
+    }
 
-            resultSet.next();
+    private @NotNull List<String> getRankColumns() {
+        List<String> columns = new ArrayList<>();
 
-            int rank = resultSet.getInt("rank");
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+            columns.add(primarySkillType.name().toLowerCase(Locale.ENGLISH));
+        }
 
-            resultSet.close();
-            statement.close();
+        columns.add(ALL_QUERY_VERSION);
+        return columns;
+    }
 
-            sql = "SELECT user, " + ALL_QUERY_VERSION + " " +
-                    "FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id " +
-                    "WHERE " + ALL_QUERY_VERSION + " > 0 " +
-                    "AND " + ALL_QUERY_VERSION + " = " +
-                    "(SELECT " + ALL_QUERY_VERSION + " " +
-                    "FROM " + tablePrefix + "users JOIN " + tablePrefix + "skills ON user_id = id WHERE user = ?) ORDER BY user";
+    private void pruneRankCache() {
+        if (rankCache.size() < MAX_CACHED_RANKS) {
+            return;
+        }
 
-            statement = connection.prepareStatement(sql);
-            statement.setString(1, playerName);
-            resultSet = statement.executeQuery();
+        long currentTime = System.currentTimeMillis();
+        rankCache.values().removeIf(cachedRanks -> cachedRanks.expiration <= currentTime);
+
+        if (rankCache.size() >= MAX_CACHED_RANKS) {
+            rankCache.clear();
+        }
+    }
+
+    @Override
+    public void updateLeaderboardEntry(@NotNull PlayerProfile profile) {
+        if (leaderboardEngine != null) {
+            leaderboardEngine.update(new LeaderboardEntry(profile));
+        }
+    }
+
+    /**
+     * Reload the in memory leaderboards from the database, this picks up changes made by other servers sharing the database.
+     * Until the leaderboards have been loaded once, leaderboard reads query the database directly.
+     */
+    public void refreshLeaderboards() {
+        if (leaderboardEngine == null) {
+            return;
+        }
+
+        StringBuilder columns = new StringBuilder();
+
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+            columns.append(", s.").append(primarySkillType.name().toLowerCase(Locale.ENGLISH));
+        }
+
+        List<LeaderboardEntry> entries = new ArrayList<>();
+        Statement statement = null;
+        ResultSet resultSet = null;
+        Connection connection = null;
+
+        leaderboardEngine.beginSeeding(); // Players saved while the database is being read are added afterwards
+
+        try {
+            connection = getConnection(PoolIdentifier.MISC);
+            statement = connection.createStatement();
+            resultSet = statement.executeQuery("SELECT u.user, u.uuid" + columns + " FROM " + tablePrefix + "users u JOIN " + tablePrefix + "skills s ON (s.user_id = u.id) WHERE NOT u.user = '\\_INVALID\\_OLD\\_USERNAME\\_'");
 
             while (resultSet.next()) {
-                if (resultSet.getString("user").equalsIgnoreCase(playerName)) {
-                    skills.put(null, rank + resultSet.getRow());
-                    break;
+                Map<PrimarySkillType, Integer> skills = new EnumMap<>(PrimarySkillType.class);
+
+                for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+                    skills.put(primarySkillType, resultSet.getInt(primarySkillType.name().toLowerCase(Locale.ENGLISH)));
+                }
+
+                String uuidString = resultSet.getString("uuid");
+                UUID uuid = null;
+
+                if (uuidString != null) {
+                    try {
+                        uuid = UUID.fromString(uuidString);
+                    } catch (IllegalArgumentException e) {
+                        // Ranked by name only
+                    }
                 }
+
+                entries.add(new LeaderboardEntry(resultSet.getString("user"), uuid, skills));
             }
 
-            resultSet.close();
-            statement.close();
+            leaderboardEngine.finishSeeding(entries);
+            LogUtils.debug(mcMMO.p.getLogger(), "Loaded " + entries.size() + " players into the leaderboards");
         }
         catch (SQLException ex) {
+            leaderboardEngine.abortSeeding();
             printErrors(ex);
         }
         finally {
@@ -502,8 +776,18 @@ public final class SQLDatabaseManager implements DatabaseManager {
             tryClose(statement);
             tryClose(connection);
         }
+    }
 
-        return skills;
+    public boolean isLeaderboardIndexEnabled() {
+        return leaderboardEngine != null;
+    }
+
+    private void invalidateLeaderboards() {
+        rankCache.clear();
+
+        if (leaderboardEngine != null) {
+            leaderboardEngine.invalidate();
+        }
     }
 
     public @NotNull PlayerProfile newUser(String playerName, UUID uuid) {
@@ -689,52 +973,65 @@ public final class SQLDatabaseManager implements DatabaseManager {
     }
 
     public void convertUsers(DatabaseManager destination) {
-        PreparedStatement statement = null;
-        Connection connection = null;
-        ResultSet resultSet = null;
+        new UserConversion(this, destination, profile -> profile, mcMMO.p.getGeneralConfig().getSaveBatchSize(), mcMMO.p.getLogger()).run();
+    }
 
-        try {
-            connection = getConnection(PoolIdentifier.MISC);
-            statement = connection.prepareStatement(
-                    "SELECT "
-                            + "s.taming, s.mining, s.repair, s.woodcutting, s.unarmed, s.herbalism, s.excavation, s.archery, s.swords, s.axes, s.acrobatics, s.fishing, s.alchemy, "
-                            + "e.taming, e.mining, e.repair, e.woodcutting, e.unarmed, e.herbalism, e.excavation, e.archery, e.swords, e.axes, e.acrobatics, e.fishing, e.alchemy, "
-                            + "c.taming, c.mining, c.repair, c.woodcutting, c.unarmed, c.herbalism, c.excavation, c.archery, c.swords, c.axes, c.acrobatics, c.blast_mining, c.chimaera_wing, "
-                            + "h.mobhealthbar, h.scoreboardtips, u.uuid "
-                            + "FROM " + tablePrefix + "users u "
-                            + "JOIN " + tablePrefix + "skills s ON (u.id = s.user_id) "
-                            + "JOIN " + tablePrefix + "experience e ON (u.id = e.user_id) "
-                            + "JOIN " + tablePrefix + "cooldowns c ON (u.id = c.user_id) "
-                            + "JOIN " + tablePrefix + "huds h ON (u.id = h.user_id) "
-                            + "WHERE u.user = ?");
-            List<String> usernames = getStoredUsers();
-            int convertedUsers = 0;
-            long startMillis = System.currentTimeMillis();
-            for (String playerName : usernames) {
-                statement.setString(1, playerName);
-                try {
-                    resultSet = statement.executeQuery();
-                    resultSet.next();
-                    destination.saveUser(loadFromResult(playerName, resultSet));
-                    resultSet.close();
-                }
-                catch (SQLException e) {
-                    printErrors(e);
-                    // Ignore
+    /**
+     * Page through the users by id, each page is read with its own query so no connection is held while the consumer
+     * works through the users.
+     */
+    @Override
+    public void forEachUser(@NotNull Consumer<PlayerProfile> consumer) {
+        int pageSize = Math.max(1, mcMMO.p.getGeneralConfig().getSaveBatchSize());
+        int lastId = 0;
+
+        while (true) {
+            List<PlayerProfile> page = new ArrayList<>(pageSize);
+            PreparedStatement statement = null;
+            Connection connection = null;
+            ResultSet resultSet = null;
+
+            try {
+                connection = getConnection(PoolIdentifier.MISC);
+                statement = connection.prepareStatement(
+                        "SELECT "
+                                + "s.taming, s.mining, s.repair, s.woodcutting, s.unarmed, s.herbalism, s.excavation, s.archery, s.swords, s.axes, s.acrobatics, s.fishing, s.alchemy, "
+                                + "e.taming, e.mining, e.repair, e.woodcutting, e.unarmed, e.herbalism, e.excavation, e.archery, e.swords, e.axes, e.acrobatics, e.fishing, e.alchemy, "
+                                + "c.taming, c.mining, c.repair, c.woodcutting, c.unarmed, c.herbalism, c.excavation, c.archery, c.swords, c.axes, c.acrobatics, c.blast_mining, c.chimaera_wing, "
+                                + "h.mobhealthbar, h.scoreboardtips, u.uuid, u.user, u.id "
+                                + "FROM " + tablePrefix + "users u "
+                                + "JOIN " + tablePrefix + "skills s ON (u.id = s.user_id) "
+                                + "JOIN " + tablePrefix + "experience e ON (u.id = e.user_id) "
+                                + "JOIN " + tablePrefix + "cooldowns c ON (u.id = c.user_id) "
+                                + "JOIN " + tablePrefix + "huds h ON (u.id = h.user_id) "
+                                + "WHERE u.id > ? ORDER BY u.id LIMIT ?");
+                statement.setInt(1, lastId);
+                statement.setInt(2, pageSize);
+                resultSet = statement.executeQuery();
+
+                while (resultSet.next()) {
+                    lastId = resultSet.getInt(44);
+                    page.add(loadFromResult(resultSet.getString(43), resultSet));
                 }
-                convertedUsers++;
-                Misc.printProgress(convertedUsers, progressInterval, startMillis);
             }
-        }
-        catch (SQLException e) {
-            printErrors(e);
-        }
-        finally {
-            tryClose(resultSet);
-            tryClose(statement);
-            tryClose(connection);
-        }
+            catch (SQLException ex) {
+                printErrors(ex);
+                return;
+            }
+            finally {
+                tryClose(resultSet);
+                tryClose(statement);
+                tryClose(connection);
+            }
+
+            for (PlayerProfile profile : page) {
+                consumer.accept(profile);
+            }
 
+            if (page.size() < pageSize) {
+                return;
+            }
+        }
     }
 
     public boolean saveUserUUID(String userName, UUID uuid) {
@@ -1504,6 +1801,56 @@ public final class SQLDatabaseManager implements DatabaseManager {
         }
     }
 
+    /**
+     * Look up the ids of every profile that isn't cached yet with a single query, so a batch doesn't query them one
+     * at a time. Profiles that aren't found by UUID are left to {@link #getUserID(Connection, String, UUID)}.
+     */
+    private void cacheUserIDs(final Connection connection, final Collection<PlayerProfile> profiles) {
+        List<UUID> uuids = new ArrayList<>();
+
+        for (PlayerProfile profile : profiles) {
+            UUID uuid = profile.getUniqueId();
+
+            if (uuid != null && !cachedUserIDs.containsKey(uuid)) {
+                uuids.add(uuid);
+            }
+        }
+
+        if (uuids.isEmpty()) {
+            return;
+        }
+
+        ResultSet resultSet = null;
+        PreparedStatement statement = null;
+
+        try {
+            statement = connection.prepareStatement("SELECT id, uuid FROM " + tablePrefix + "users WHERE uuid IN ("
+                    + String.join(", ", Collections.nCopies(uuids.size(), "?")) + ")");
+
+            for (int i = 0; i < uuids.size(); i++) {
+                statement.setString(i + 1, uuids.get(i).toString());
+            }
+
+            resultSet = statement.executeQuery();
+
+            while (resultSet.next()) {
+                try {
+                    cachedUserIDs.put(UUID.fromString(resultSet.getString("uuid")), resultSet.getInt("id"));
+                }
+                catch (IllegalArgumentException ignored) {
+                    // Not a valid UUID, getUserID looks this user up on its own
+                }
+            }
+        }
+        catch (SQLException ex) {
+            printErrors(ex);
+        }
+        finally {
+            tryClose(resultSet);
+            tryClose(statement);
+        }
+    }
+
     private int getUserID(final Connection connection, final String playerName, final UUID uuid) {
         if (uuid == null)
             return getUserIDByName(connection, playerName);
@@ -1670,4 +2017,14 @@ public final class SQLDatabaseManager implements DatabaseManager {
                 "    CHARACTER SET utf8mb4\n" +
                 "    COLLATE utf8mb4_unicode_ci;";
     }
+
+    private static class CachedRanks {
+        private final @NotNull Map<PrimarySkillType, Integer> ranks;
+        private final long expiration;
+
+        private CachedRanks(@NotNull Map<PrimarySkillType, Integer> ranks, long expiration) {
+            this.ranks = ranks;
+            this.expiration = expiration;
+        }
+    }
 }
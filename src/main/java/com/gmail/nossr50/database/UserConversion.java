@@ -0,0 +1,214 @@
+package com.gmail.nossr50.database;
+
+import com.gmail.nossr50.datatypes.player.PlayerProfile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Converts every user of a database in one pass
+ * <p>
+ * Users are read from the source with {@link DatabaseManager#forEachUser(java.util.function.Consumer)}, passed through
+ * a conversion function and written to the destination in batches with {@link DatabaseManager#saveUsers(java.util.Collection)}.
+ * With a checkpoint file the last user read is recorded after every batch, so a conversion that was interrupted picks up
+ * after that user instead of converting the same users twice, even if users were added or removed in the meantime.
+ * <p>
+ * A database converted into itself is given the chance to convert in a single rewrite with
+ * {@link DatabaseManager#rewriteUsers(Function)}, as long as there is no checkpoint to resume from. If that rewrite
+ * fails every user is read again, so a conversion that changes anything besides the profile it is given has to make
+ * sure it doesn't do that twice for the same user.
+ */
+public final class UserConversion {
+    public static final String CHECKPOINT_FILE_NAME = "conversion.checkpoint";
+
+    private final @NotNull DatabaseManager source;
+    private final @NotNull DatabaseManager destination;
+    private final @NotNull Function<PlayerProfile, PlayerProfile> conversion;
+    private final int batchSize;
+    private final @NotNull Logger logger;
+    private @Nullable File checkpointFile;
+    private @Nullable String conversionId;
+
+    private final List<PlayerProfile> batch = new ArrayList<>();
+    private @Nullable String resumeAfter;
+    private @Nullable String lastReadKey;
+    private long writtenUsers;
+    private long failedUsers;
+    private long startMillis;
+
+    /**
+     * @param source the database to read from
+     * @param destination the database to write to, can be the source
+     * @param conversion converts a profile, returning null leaves the user out of the destination
+     * @param batchSize how many users are written at once
+     * @param logger where progress is reported
+     */
+    public UserConversion(@NotNull DatabaseManager source, @NotNull DatabaseManager destination,
+                          @NotNull Function<PlayerProfile, PlayerProfile> conversion, int batchSize, @NotNull Logger logger) {
+        this.source = source;
+        this.destination = destination;
+        this.conversion = conversion;
+        this.batchSize = Math.max(1, batchSize);
+        this.logger = logger;
+    }
+
+    /**
+     * Record progress in a file so the conversion can be resumed, the file is removed once the conversion finishes
+     *
+     * @param checkpointFile the file to record progress in
+     * @param conversionId identifies the conversion, a checkpoint left by a different conversion is ignored
+     * @return this conversion
+     */
+    public @NotNull UserConversion withCheckpoint(@NotNull File checkpointFile, @NotNull String conversionId) {
+        this.checkpointFile = checkpointFile;
+        this.conversionId = conversionId;
+        return this;
+    }
+
+    /**
+     * Run the conversion on the current thread
+     *
+     * @return how many users were converted and written
+     */
+    public long run() {
+        resumeAfter = readCheckpoint();
+        startMillis = System.currentTimeMillis();
+
+        if (resumeAfter != null) {
+            logger.info("Resuming conversion after user " + resumeAfter);
+        } else if (source == destination) {
+            long rewrittenUsers = source.rewriteUsers(conversion);
+
+            if (rewrittenUsers >= 0) {
+                writtenUsers = rewrittenUsers;
+                return finish();
+            }
+        }
+
+        source.forEachUser(this::accept);
+        flush();
+
+        if (resumeAfter != null) {
+            // Nothing was converted, the checkpoint is kept so no user is converted twice
+            logger.severe("The user the conversion stopped at (" + resumeAfter + ") no longer exists, remove "
+                    + checkpointFile.getPath() + " to convert every user again");
+            return 0;
+        }
+
+        return finish();
+    }
+
+    private long finish() {
+        double seconds = Math.max(1, System.currentTimeMillis() - startMillis) / 1000D;
+        logger.info(String.format("Conversion finished: %d users written in %.2f seconds (%.2f users/second), %d could not be saved",
+                writtenUsers, seconds, writtenUsers / seconds, failedUsers));
+
+        if (checkpointFile != null && !checkpointFile.delete() && checkpointFile.exists()) {
+            logger.warning("Could not remove the conversion checkpoint " + checkpointFile.getPath());
+        }
+
+        return writtenUsers;
+    }
+
+    private void accept(@NotNull PlayerProfile profile) {
+        String key = getCheckpointKey(profile);
+
+        // Already written before the conversion was interrupted
+        if (resumeAfter != null) {
+            if (resumeAfter.equals(key)) {
+                resumeAfter = null;
+            }
+
+            return;
+        }
+
+        lastReadKey = key;
+        PlayerProfile converted = conversion.apply(profile);
+
+        if (converted != null) {
+            batch.add(converted);
+        }
+
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (!batch.isEmpty()) {
+            List<PlayerProfile> failed = destination.saveUsers(batch);
+
+            for (PlayerProfile profile : failed) {
+                logger.warning("Could not save " + profile.getPlayerName() + " during conversion");
+            }
+
+            failedUsers += failed.size();
+            writtenUsers += batch.size() - failed.size();
+            batch.clear();
+
+            double seconds = Math.max(1, System.currentTimeMillis() - startMillis) / 1000D;
+            logger.info(String.format("Conversion progress: %d users at %.2f users/second", writtenUsers, writtenUsers / seconds));
+        }
+
+        // Everything read so far is written now, users left out by the conversion included
+        if (lastReadKey != null) {
+            writeCheckpoint(lastReadKey);
+        }
+    }
+
+    /**
+     * Users are told apart by UUID, users that were never given one by name
+     */
+    private static @NotNull String getCheckpointKey(@NotNull PlayerProfile profile) {
+        UUID uuid = profile.getUniqueId();
+        return uuid != null ? uuid.toString() : "name:" + profile.getPlayerName();
+    }
+
+    private @Nullable String readCheckpoint() {
+        if (checkpointFile == null || !checkpointFile.exists()) {
+            return null;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(checkpointFile.toPath(), StandardCharsets.UTF_8)) {
+            String id = reader.readLine();
+            String lastUser = reader.readLine();
+
+            if (conversionId.equals(id) && lastUser != null && !lastUser.isBlank()) {
+                return lastUser.trim();
+            }
+        }
+        catch (IOException e) {
+            logger.warning("Ignoring unreadable conversion checkpoint " + checkpointFile.getPath());
+        }
+
+        return null;
+    }
+
+    private void writeCheckpoint(@NotNull String lastUser) {
+        if (checkpointFile == null) {
+            return;
+        }
+
+        File tempFile = new File(checkpointFile.getPath() + ".tmp");
+
+        try {
+            try (Writer writer = Files.newBufferedWriter(tempFile.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(conversionId + "\n" + lastUser + "\n");
+            }
+
+            Files.move(tempFile.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e) {
+            logger.warning("Could not write the conversion checkpoint " + checkpointFile.getPath() + ": " + e.getMessage());
+        }
+    }
+}
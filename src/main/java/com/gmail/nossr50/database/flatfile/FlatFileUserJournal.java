@@ -0,0 +1,280 @@
+package com.gmail.nossr50.database.flatfile;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.logging.Logger;
+
+import static com.gmail.nossr50.database.FlatFileDatabaseManager.USERNAME_INDEX;
+import static com.gmail.nossr50.database.FlatFileDatabaseManager.UUID_INDEX;
+
+/**
+ * Append-only log of user records that have changed since the last time they were merged into mcmmo.users
+ * <p>
+ * Records are stored in the same colon delimited format as mcmmo.users, a save is a single append to the end of the
+ * journal and the newest record for a user always wins. An in-memory index maps UUIDs and lowercase names to the offset
+ * of the newest record so loads never have to scan the journal.
+ * <p>
+ * The journal is merged back into mcmmo.users by {@link com.gmail.nossr50.database.FlatFileDatabaseManager#compactJournal()}
+ */
+public class FlatFileUserJournal {
+    public static final @NotNull String JOURNAL_SUFFIX = ".journal";
+
+    private final @NotNull File journalFile;
+    private final @NotNull Logger logger;
+    private final @NotNull HashMap<UUID, Long> uuidIndex = new HashMap<>();
+    private final @NotNull HashMap<String, Long> nameIndex = new HashMap<>();
+    private @Nullable RandomAccessFile journal;
+
+    public FlatFileUserJournal(@NotNull File usersFile, @NotNull Logger logger) {
+        this.journalFile = new File(usersFile.getPath() + JOURNAL_SUFFIX);
+        this.logger = logger;
+    }
+
+    /**
+     * Opens the journal and rebuilds the index from any records left over from a previous run
+     *
+     * @throws IOException if the journal could not be opened
+     */
+    public synchronized void open() throws IOException {
+        RandomAccessFile raf = getJournal();
+        uuidIndex.clear();
+        nameIndex.clear();
+
+        long offset = 0;
+
+        try (BufferedInputStream in = new BufferedInputStream(new FileInputStream(journalFile))) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            long position = 0;
+            int read;
+
+            while ((read = in.read()) != -1) {
+                position++;
+
+                if (read == '\n') {
+                    String line = bytes.toString(StandardCharsets.UTF_8).trim();
+
+                    if (!line.isEmpty()) {
+                        indexRecord(line.split(":"), offset);
+                    }
+
+                    bytes.reset();
+                    offset = position;
+                } else {
+                    bytes.write(read);
+                }
+            }
+        }
+
+        // Drop a torn write from a crash, the last complete record is kept
+        raf.setLength(offset);
+
+        if (!isEmpty()) {
+            logger.info("Recovered " + currentOffsets().size() + " unmerged records from " + journalFile.getName());
+        }
+    }
+
+    /**
+     * Appends a record to the end of the journal, this supersedes any earlier record for the same user
+     *
+     * @param record a complete line in mcmmo.users format, including the trailing line break
+     * @throws IOException if the record could not be written
+     */
+    public synchronized void append(@NotNull String record) throws IOException {
+        RandomAccessFile raf = getJournal();
+        long offset = raf.length();
+
+        raf.seek(offset);
+        raf.write(record.getBytes(StandardCharsets.UTF_8));
+        indexRecord(record.trim().split(":"), offset);
+    }
+
+    public synchronized @Nullable String[] getByUUID(@NotNull UUID uuid) {
+        Long offset = uuidIndex.get(uuid);
+        return offset == null ? null : readRecord(offset);
+    }
+
+    public synchronized @Nullable String[] getByName(@NotNull String playerName) {
+        Long offset = nameIndex.get(playerName.toLowerCase(Locale.ENGLISH));
+
+        if (offset == null) {
+            return null;
+        }
+
+        String[] record = readRecord(offset);
+
+        // The player has since been renamed, this record is stale
+        if (record != null && record.length > UUID_INDEX) {
+            UUID uuid = parseUUID(record[UUID_INDEX]);
+
+            if (uuid != null && !offset.equals(uuidIndex.get(uuid))) {
+                return null;
+            }
+        }
+
+        return record;
+    }
+
+    public synchronized boolean containsUUID(@Nullable UUID uuid) {
+        return uuid != null && uuidIndex.containsKey(uuid);
+    }
+
+    public synchronized boolean isEmpty() {
+        return uuidIndex.isEmpty() && nameIndex.isEmpty();
+    }
+
+    /**
+     * Returns the newest record of every user in the journal, these are the records that need to be merged into mcmmo.users
+     *
+     * @return the current records keyed by their journal offset
+     */
+    public synchronized @NotNull Map<Long, String[]> snapshot() {
+        LinkedHashMap<Long, String[]> records = new LinkedHashMap<>();
+
+        for (long offset : currentOffsets()) {
+            String[] record = readRecord(offset);
+
+            if (record != null) {
+                records.put(offset, record);
+            }
+        }
+
+        return records;
+    }
+
+    /**
+     * Removes the records from a {@link #snapshot()} that have been merged into mcmmo.users
+     * Records appended after the snapshot was taken are kept and moved to the start of the journal
+     *
+     * @param merged the snapshot that was merged
+     * @throws IOException if the journal could not be rewritten
+     */
+    public synchronized void release(@NotNull Map<Long, String[]> merged) throws IOException {
+        List<String> retained = new ArrayList<>();
+
+        for (long offset : currentOffsets()) {
+            if (!merged.containsKey(offset)) {
+                String line = readLine(offset);
+
+                if (line != null) {
+                    retained.add(line);
+                }
+            }
+        }
+
+        uuidIndex.clear();
+        nameIndex.clear();
+        getJournal().setLength(0);
+
+        for (String line : retained) {
+            append(line + "\r\n");
+        }
+    }
+
+    public synchronized void close() {
+        if (journal == null) {
+            return;
+        }
+
+        try {
+            journal.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+
+        journal = null;
+    }
+
+    public @NotNull File getJournalFile() {
+        return journalFile;
+    }
+
+    private void indexRecord(@NotNull String[] record, long offset) {
+        if (record.length <= USERNAME_INDEX || record[USERNAME_INDEX].isEmpty()) {
+            return;
+        }
+
+        nameIndex.put(record[USERNAME_INDEX].toLowerCase(Locale.ENGLISH), offset);
+
+        if (record.length > UUID_INDEX) {
+            UUID uuid = parseUUID(record[UUID_INDEX]);
+
+            if (uuid != null) {
+                uuidIndex.put(uuid, offset);
+            }
+        }
+    }
+
+    private @Nullable String[] readRecord(long offset) {
+        String line = readLine(offset);
+        return line == null ? null : line.split(":");
+    }
+
+    private @Nullable String readLine(long offset) {
+        try {
+            RandomAccessFile raf = getJournal();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+            byte[] buffer = new byte[256];
+
+            raf.seek(offset);
+
+            int read;
+            while ((read = raf.read(buffer)) != -1) {
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        bytes.write(buffer, 0, i);
+                        return bytes.toString(StandardCharsets.UTF_8).trim();
+                    }
+                }
+
+                bytes.write(buffer, 0, read);
+            }
+
+            // Incomplete record at the end of the file
+            return null;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Offsets of the newest record of every user, records without a valid UUID can only be found by name
+     */
+    private @NotNull TreeSet<Long> currentOffsets() {
+        TreeSet<Long> offsets = new TreeSet<>(uuidIndex.values());
+
+        for (Long offset : nameIndex.values()) {
+            if (offsets.contains(offset)) {
+                continue;
+            }
+
+            String[] record = readRecord(offset);
+
+            if (record != null && (record.length <= UUID_INDEX || parseUUID(record[UUID_INDEX]) == null)) {
+                offsets.add(offset);
+            }
+        }
+
+        return offsets;
+    }
+
+    private @NotNull RandomAccessFile getJournal() throws IOException {
+        if (journal == null) {
+            journal = new RandomAccessFile(journalFile, "rw");
+        }
+
+        return journal;
+    }
+
+    private static @Nullable UUID parseUUID(@NotNull String uuidString) {
+        try {
+            return UUID.fromString(uuidString);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.gmail.nossr50.database.leaderboard;
+
+import com.gmail.nossr50.datatypes.database.PlayerStat;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.util.skills.SkillTools;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory leaderboards for every skill and for power level, kept up to date as players level up and are saved
+ * <p>
+ * The leaderboards are seeded once from the database with {@link #beginSeeding()} and {@link #finishSeeding(Collection)},
+ * after that every {@link #update(LeaderboardEntry)} moves the player to their new position in O(log n).
+ * Updates made while the database is being read are replayed on top of the seed so they are never lost.
+ * Reads are served from the leaderboards in O(log n + page size) and do not touch the database.
+ */
+public class LeaderboardEngine {
+    private final @NotNull ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final @NotNull EnumMap<PrimarySkillType, RankedLeaderboard> skillLeaderboards = new EnumMap<>(PrimarySkillType.class);
+    private final @NotNull RankedLeaderboard powerLeaderboard = new RankedLeaderboard();
+    private final @NotNull HashMap<String, LeaderboardEntry> entries = new HashMap<>();
+    private final @NotNull HashMap<UUID, String> keysByUUID = new HashMap<>();
+    private final boolean rankUnleveled;
+
+    private boolean seeded = false;
+    private @Nullable List<PendingChange> changesWhileSeeding;
+
+    /**
+     * @param rankUnleveled whether players with level 0 in a skill are placed on that skill's leaderboard
+     */
+    public LeaderboardEngine(boolean rankUnleveled) {
+        this.rankUnleveled = rankUnleveled;
+
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+            skillLeaderboards.put(primarySkillType, new RankedLeaderboard());
+        }
+    }
+
+    public boolean isSeeded() {
+        lock.readLock().lock();
+
+        try {
+            return seeded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Call before reading the database to seed the leaderboards, changes from this point on are kept and replayed by
+     * {@link #finishSeeding(Collection)}
+     */
+    public void beginSeeding() {
+        lock.writeLock().lock();
+
+        try {
+            changesWhileSeeding = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the leaderboards with the players read from the database
+     *
+     * @param seed every player in the database
+     */
+    public void finishSeeding(@NotNull Collection<LeaderboardEntry> seed) {
+        lock.writeLock().lock();
+
+        try {
+            clear();
+
+            for (LeaderboardEntry entry : seed) {
+                insert(entry);
+            }
+
+            if (changesWhileSeeding != null) {
+                for (PendingChange change : changesWhileSeeding) {
+                    apply(change);
+                }
+            }
+
+            changesWhileSeeding = null;
+            seeded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Call instead of {@link #finishSeeding(Collection)} if the database could not be read
+     */
+    public void abortSeeding() {
+        lock.writeLock().lock();
+
+        try {
+            changesWhileSeeding = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops the leaderboards, they will need to be seeded again before they can be read
+     */
+    public void invalidate() {
+        lock.writeLock().lock();
+
+        try {
+            clear();
+            seeded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a player to their current position on every leaderboard
+     *
+     * @param entry the current levels of the player
+     */
+    public void update(@NotNull LeaderboardEntry entry) {
+        change(new PendingChange(entry.getKey(), entry));
+    }
+
+    /**
+     * Takes a player off every leaderboard
+     *
+     * @param playerName the name of the player
+     */
+    public void remove(@NotNull String playerName) {
+        change(new PendingChange(playerName.toLowerCase(Locale.ENGLISH), null));
+    }
+
+    /**
+     * Reads a page of a leaderboard
+     *
+     * @param primarySkillType the skill, or null for power level
+     * @param pageNumber the page, starting at 1
+     * @param statsPerPage the amount of players on a page
+     * @return the players on the page, highest level first
+     */
+    public @NotNull List<PlayerStat> readLeaderboard(@Nullable PrimarySkillType primarySkillType, int pageNumber, int statsPerPage) {
+        lock.readLock().lock();
+
+        try {
+            RankedLeaderboard leaderboard = primarySkillType == null ? powerLeaderboard : skillLeaderboards.get(primarySkillType);
+
+            if (leaderboard == null) {
+                return new ArrayList<>();
+            }
+
+            return leaderboard.page((Math.max(pageNumber, 1) - 1) * statsPerPage, statsPerPage);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the position of a player on every leaderboard, leaderboards the player is not on are left out
+     *
+     * @param playerName the name of the player
+     * @return the rank of the player for each skill, power level is stored under the null key
+     */
+    public @NotNull HashMap<PrimarySkillType, Integer> readRank(@NotNull String playerName) {
+        HashMap<PrimarySkillType, Integer> skills = new HashMap<>();
+        String key = playerName.toLowerCase(Locale.ENGLISH);
+
+        lock.readLock().lock();
+
+        try {
+            LeaderboardEntry entry = entries.get(key);
+
+            if (entry == null) {
+                return skills;
+            }
+
+            for (Map.Entry<PrimarySkillType, RankedLeaderboard> leaderboard : skillLeaderboards.entrySet()) {
+                int rank = leaderboard.getValue().rank(entry.getSkillLevel(leaderboard.getKey()), key);
+
+                if (rank != -1) {
+                    skills.put(leaderboard.getKey(), rank);
+                }
+            }
+
+            int powerRank = powerLeaderboard.rank(entry.getPowerLevel(), key);
+
+            if (powerRank != -1) {
+                skills.put(null, powerRank);
+            }
+
+            return skills;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void change(@NotNull PendingChange change) {
+        lock.writeLock().lock();
+
+        try {
+            if (changesWhileSeeding != null) {
+                changesWhileSeeding.add(change);
+            }
+
+            if (seeded) {
+                apply(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void apply(@NotNull PendingChange change) {
+        if (change.entry == null) {
+            delete(change.key);
+        } else {
+            insert(change.entry);
+        }
+    }
+
+    private void insert(@NotNull LeaderboardEntry entry) {
+        String key = entry.getKey();
+        delete(key);
+
+        // The player was renamed, drop the entry under their old name
+        if (entry.getUniqueId() != null) {
+            String oldKey = keysByUUID.put(entry.getUniqueId(), key);
+
+            if (oldKey != null && !oldKey.equals(key)) {
+                delete(oldKey);
+            }
+        }
+
+        entries.put(key, entry);
+
+        for (Map.Entry<PrimarySkillType, RankedLeaderboard> leaderboard : skillLeaderboards.entrySet()) {
+            int level = entry.getSkillLevel(leaderboard.getKey());
+
+            if (level > 0 || rankUnleveled) {
+                leaderboard.getValue().add(level, key, entry.getPlayerName());
+            }
+        }
+
+        if (entry.getPowerLevel() > 0 || rankUnleveled) {
+            powerLeaderboard.add(entry.getPowerLevel(), key, entry.getPlayerName());
+        }
+    }
+
+    private void delete(@NotNull String key) {
+        LeaderboardEntry entry = entries.remove(key);
+
+        if (entry == null) {
+            return;
+        }
+
+        if (entry.getUniqueId() != null && key.equals(keysByUUID.get(entry.getUniqueId()))) {
+            keysByUUID.remove(entry.getUniqueId());
+        }
+
+        for (Map.Entry<PrimarySkillType, RankedLeaderboard> leaderboard : skillLeaderboards.entrySet()) {
+            leaderboard.getValue().remove(entry.getSkillLevel(leaderboard.getKey()), key);
+        }
+
+        powerLeaderboard.remove(entry.getPowerLevel(), key);
+    }
+
+    private void clear() {
+        entries.clear();
+        keysByUUID.clear();
+        powerLeaderboard.clear();
+
+        for (RankedLeaderboard leaderboard : skillLeaderboards.values()) {
+            leaderboard.clear();
+        }
+    }
+
+    private static class PendingChange {
+        private final @NotNull String key;
+        private final @Nullable LeaderboardEntry entry;
+
+        private PendingChange(@NotNull String key, @Nullable LeaderboardEntry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+    }
+}
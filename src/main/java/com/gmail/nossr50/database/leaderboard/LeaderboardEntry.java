@@ -0,0 +1,70 @@
+package com.gmail.nossr50.database.leaderboard;
+
+import com.gmail.nossr50.datatypes.player.PlayerProfile;
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.util.skills.SkillTools;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The skill levels of a single player as they appear on the leaderboards
+ */
+public final class LeaderboardEntry {
+    private final @NotNull String playerName;
+    private final @Nullable UUID uuid;
+    private final int[] levels = new int[PrimarySkillType.values().length];
+    private final int powerLevel;
+
+    public LeaderboardEntry(@NotNull String playerName, @Nullable UUID uuid, @NotNull Map<PrimarySkillType, Integer> skills) {
+        this.playerName = playerName;
+        this.uuid = uuid;
+
+        int total = 0;
+
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+            Integer level = skills.get(primarySkillType);
+            levels[primarySkillType.ordinal()] = level == null ? 0 : level;
+            total += levels[primarySkillType.ordinal()];
+        }
+
+        this.powerLevel = total;
+    }
+
+    public LeaderboardEntry(@NotNull PlayerProfile profile) {
+        this.playerName = profile.getPlayerName();
+        this.uuid = profile.getUniqueId();
+
+        int total = 0;
+
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+            levels[primarySkillType.ordinal()] = profile.getSkillLevel(primarySkillType);
+            total += levels[primarySkillType.ordinal()];
+        }
+
+        this.powerLevel = total;
+    }
+
+    public @NotNull String getPlayerName() {
+        return playerName;
+    }
+
+    public @Nullable UUID getUniqueId() {
+        return uuid;
+    }
+
+    public int getSkillLevel(@NotNull PrimarySkillType primarySkillType) {
+        return levels[primarySkillType.ordinal()];
+    }
+
+    public int getPowerLevel() {
+        return powerLevel;
+    }
+
+    @NotNull String getKey() {
+        return playerName.toLowerCase(Locale.ENGLISH);
+    }
+}
@@ -0,0 +1,189 @@
+package com.gmail.nossr50.database.leaderboard;
+
+import com.gmail.nossr50.datatypes.database.PlayerStat;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Order statistic tree (a treap with subtree sizes) of players sorted by level, highest first
+ * Ties are settled by alphabetical order of the lowercase name, the same as the SQL leaderboards
+ * <p>
+ * Inserts, removals, rank lookups and finding the start of a page are all O(log n)
+ * This class is not thread safe, {@link LeaderboardEngine} guards it
+ */
+class RankedLeaderboard {
+    private final @NotNull SplittableRandom random = new SplittableRandom();
+    private @Nullable Node root;
+
+    int size() {
+        return size(root);
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    void add(int level, @NotNull String key, @NotNull String name) {
+        Node node = new Node(level, key, name, random.nextInt());
+        Node[] parts = split(root, level, key);
+        root = merge(merge(parts[0], node), parts[1]);
+    }
+
+    void remove(int level, @NotNull String key) {
+        root = remove(root, level, key);
+    }
+
+    /**
+     * @return the 1 based position of the player, or -1 if they are not on this leaderboard
+     */
+    int rank(int level, @NotNull String key) {
+        Node node = root;
+        int before = 0;
+
+        while (node != null) {
+            int cmp = compare(level, key, node.level, node.key);
+
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+
+        return -1;
+    }
+
+    @NotNull List<PlayerStat> page(int fromIndex, int count) {
+        List<PlayerStat> stats = new ArrayList<>(Math.max(0, count));
+
+        if (count > 0) {
+            collect(root, fromIndex, fromIndex + count, 0, stats);
+        }
+
+        return stats;
+    }
+
+    private void collect(@Nullable Node node, int from, int to, int offset, @NotNull List<PlayerStat> stats) {
+        if (node == null) {
+            return;
+        }
+
+        int nodeIndex = offset + size(node.left);
+
+        if (from < nodeIndex) {
+            collect(node.left, from, to, offset, stats);
+        }
+
+        if (nodeIndex >= from && nodeIndex < to) {
+            stats.add(new PlayerStat(node.name, node.level));
+        }
+
+        if (to > nodeIndex + 1) {
+            collect(node.right, from, to, nodeIndex + 1, stats);
+        }
+    }
+
+    /**
+     * Splits the tree into the players ranked before the given player and everyone else
+     */
+    private @NotNull Node[] split(@Nullable Node node, int level, @NotNull String key) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+
+        if (compare(node.level, node.key, level, key) < 0) {
+            Node[] parts = split(node.right, level, key);
+            node.right = parts[0];
+            node.updateSize();
+            return new Node[] { node, parts[1] };
+        } else {
+            Node[] parts = split(node.left, level, key);
+            node.left = parts[1];
+            node.updateSize();
+            return new Node[] { parts[0], node };
+        }
+    }
+
+    private @Nullable Node merge(@Nullable Node left, @Nullable Node right) {
+        if (left == null) {
+            return right;
+        }
+
+        if (right == null) {
+            return left;
+        }
+
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.updateSize();
+            return left;
+        } else {
+            right.left = merge(left, right.left);
+            right.updateSize();
+            return right;
+        }
+    }
+
+    private @Nullable Node remove(@Nullable Node node, int level, @NotNull String key) {
+        if (node == null) {
+            return null;
+        }
+
+        int cmp = compare(level, key, node.level, node.key);
+
+        if (cmp == 0) {
+            return merge(node.left, node.right);
+        }
+
+        if (cmp < 0) {
+            node.left = remove(node.left, level, key);
+        } else {
+            node.right = remove(node.right, level, key);
+        }
+
+        node.updateSize();
+        return node;
+    }
+
+    private static int compare(int levelA, @NotNull String keyA, int levelB, @NotNull String keyB) {
+        if (levelA != levelB) {
+            return Integer.compare(levelB, levelA); // Highest level first
+        }
+
+        return keyA.compareTo(keyB);
+    }
+
+    private static int size(@Nullable Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static class Node {
+        private final int level;
+        private final @NotNull String key;
+        private final @NotNull String name;
+        private final int priority;
+        private int size = 1;
+        private @Nullable Node left;
+        private @Nullable Node right;
+
+        private Node(int level, @NotNull String key, @NotNull String name, int priority) {
+            this.level = level;
+            this.key = key;
+            this.name = name;
+            this.priority = priority;
+        }
+
+        private void updateSize() {
+            size = 1 + RankedLeaderboard.size(left) + RankedLeaderboard.size(right);
+        }
+    }
+}
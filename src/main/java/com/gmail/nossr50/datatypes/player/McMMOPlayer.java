@@ -52,6 +52,7 @@ import com.gmail.nossr50.util.skills.SkillTools;
 import com.gmail.nossr50.util.skills.SkillUtils;
 import com.gmail.nossr50.util.sounds.SoundManager;
 import com.gmail.nossr50.util.sounds.SoundType;
+import com.gmail.nossr50.util.tick.TickCategory;
 import net.kyori.adventure.identity.Identified;
 import net.kyori.adventure.identity.Identity;
 import org.bukkit.Bukkit;
@@ -71,6 +72,8 @@ import java.util.Set;
 import java.util.UUID;
 
 public class McMMOPlayer implements Identified {
+    private static final long NON_CHILD_SKILL_MASK = buildNonChildSkillMask();
+
     private final @NotNull Identity identity;
 
     //Hacky fix for now, redesign later
@@ -117,6 +120,13 @@ public class McMMOPlayer implements Identified {
 
     private PrimarySkillType lastSkillShownScoreboard = PrimarySkillType.values()[0];
 
+    private volatile PermissionSnapshot permissionSnapshot;
+
+    // Power level for players missing some skill permissions, valid while the skill levels and skill permissions stay the same
+    private int cachedPowerLevel;
+    private int cachedPowerLevelRevision = -1;
+    private long cachedPowerLevelSkillMask;
+
     public McMMOPlayer(Player player, PlayerProfile profile) {
         this.playerName = player.getName();
         UUID uuid = player.getUniqueId();
@@ -155,6 +165,16 @@ public class McMMOPlayer implements Identified {
         }
     }
 
+    private static long buildNonChildSkillMask() {
+        long mask = 0;
+
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+            mask |= 1L << primarySkillType.ordinal();
+        }
+
+        return mask;
+    }
+
     private void initSkillManagers() {
         for(PrimarySkillType primarySkillType : PrimarySkillType.values()) {
             try {
@@ -565,15 +585,30 @@ public class McMMOPlayer implements Identified {
      * @return the power level of the player
      */
     public int getPowerLevel() {
-        int powerLevel = 0;
+        long skillEnabledMask = getPermissionSnapshot().getSkillEnabledMask();
 
-        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
-            if (mcMMO.p.getSkillTools().doesPlayerHaveSkillPermission(player, primarySkillType)) {
-                powerLevel += getSkillLevel(primarySkillType);
+        // Most players have every skill, the profile keeps that total up to date
+        if ((skillEnabledMask & NON_CHILD_SKILL_MASK) == NON_CHILD_SKILL_MASK) {
+            return profile.getTotalSkillLevel();
+        }
+
+        int revision = profile.getSkillLevelRevision();
+
+        if (cachedPowerLevelRevision != revision || cachedPowerLevelSkillMask != skillEnabledMask) {
+            int powerLevel = 0;
+
+            for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+                if ((skillEnabledMask & (1L << primarySkillType.ordinal())) != 0) {
+                    powerLevel += getSkillLevel(primarySkillType);
+                }
             }
+
+            cachedPowerLevel = powerLevel;
+            cachedPowerLevelSkillMask = skillEnabledMask;
+            cachedPowerLevelRevision = revision;
         }
 
-        return powerLevel;
+        return cachedPowerLevel;
     }
 
     /**
@@ -715,6 +750,8 @@ public class McMMOPlayer implements Identified {
             return;
         }
 
+        mcMMO.getDatabaseManager().updateLeaderboardEntry(profile);
+
         if (mcMMO.p.getGeneralConfig().getLevelUpSoundsEnabled()) {
             SoundManager.sendSound(player, player.getLocation(), SoundType.LEVEL_UP);
         }
@@ -850,7 +887,41 @@ public class McMMOPlayer implements Identified {
             }
         }
 
-        return PerksUtils.handleXpPerks(player, xp, primarySkillType);
+        return PerksUtils.handleXpPerks(this, xp, primarySkillType);
+    }
+
+    /**
+     * Get the skill and perk permissions of this player, resolving them again if the last snapshot has expired
+     *
+     * @return the current permission snapshot
+     */
+    public @NotNull PermissionSnapshot getPermissionSnapshot() {
+        PermissionSnapshot snapshot = permissionSnapshot;
+
+        if (snapshot == null || snapshot.isExpired(System.currentTimeMillis())) {
+            snapshot = refreshPermissionSnapshot();
+        }
+
+        return snapshot;
+    }
+
+    /**
+     * Resolve the skill and perk permissions of this player right away
+     *
+     * @return the new permission snapshot
+     */
+    public @NotNull PermissionSnapshot refreshPermissionSnapshot() {
+        PermissionSnapshot snapshot = PermissionSnapshot.of(player);
+        permissionSnapshot = snapshot;
+        return snapshot;
+    }
+
+    /**
+     * Drop the permission snapshot of this player, permissions are resolved again on the next check
+     * Call this after changing the permissions of a player so the change applies right away
+     */
+    public void invalidatePermissionSnapshot() {
+        permissionSnapshot = null;
     }
 
     public void checkGodMode() {
@@ -951,7 +1022,7 @@ public class McMMOPlayer implements Identified {
         }
 
         setToolPreparationMode(tool, false);
-        mcMMO.p.getFoliaLib().getImpl().runAtEntityLater(player, new AbilityDisableTask(this, superAbilityType), (long) ticks * Misc.TICK_CONVERSION_FACTOR);
+        mcMMO.getTickEngine().schedule(TickCategory.ABILITY_DISABLE, player, new AbilityDisableTask(this, superAbilityType), (long) ticks * Misc.TICK_CONVERSION_FACTOR, 0);
     }
 
     public void processAbilityActivation(@NotNull PrimarySkillType primarySkillType) {
@@ -0,0 +1,129 @@
+package com.gmail.nossr50.datatypes.player;
+
+import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.util.Permissions;
+import com.gmail.nossr50.util.skills.PerksUtils;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The skill and perk permissions of a player, resolved once instead of on every XP gain and skill check
+ * <p>
+ * Snapshots are immutable and expire after {@link #TTL_MILLIS}, Bukkit has no event for permission changes so a
+ * short lifetime is what keeps them in line with permission plugins. {@link McMMOPlayer} also drops its snapshot when
+ * the player changes worlds, since per world permissions are common.
+ */
+public final class PermissionSnapshot {
+    public static final long TTL_MILLIS = 5000;
+
+    private final long skillEnabledMask;
+    private final long luckyMask;
+    private final long customXpBoostMask;
+    private final double[] xpPerkMultipliers;
+    private final int activationBonusTicks;
+    private final double cooldownMultiplier;
+    private final long expiresAt;
+
+    private PermissionSnapshot(long skillEnabledMask, long luckyMask, long customXpBoostMask, double[] xpPerkMultipliers,
+                               int activationBonusTicks, double cooldownMultiplier, long expiresAt) {
+        this.skillEnabledMask = skillEnabledMask;
+        this.luckyMask = luckyMask;
+        this.customXpBoostMask = customXpBoostMask;
+        this.xpPerkMultipliers = xpPerkMultipliers;
+        this.activationBonusTicks = activationBonusTicks;
+        this.cooldownMultiplier = cooldownMultiplier;
+        this.expiresAt = expiresAt;
+    }
+
+    /**
+     * Resolve every permission held in a snapshot
+     *
+     * @param player the player to check
+     * @return a new snapshot valid for {@link #TTL_MILLIS}
+     */
+    public static @NotNull PermissionSnapshot of(@NotNull Player player) {
+        PrimarySkillType[] skills = PrimarySkillType.values();
+        long skillEnabledMask = 0;
+        long luckyMask = 0;
+        long customXpBoostMask = 0;
+        double[] xpPerkMultipliers = new double[skills.length];
+
+        for (PrimarySkillType skill : skills) {
+            long bit = 1L << skill.ordinal();
+
+            if (Permissions.skillEnabled(player, skill))
+                skillEnabledMask |= bit;
+
+            if (Permissions.lucky(player, skill))
+                luckyMask |= bit;
+
+            if (Permissions.customXpBoost(player, skill))
+                customXpBoostMask |= bit;
+
+            xpPerkMultipliers[skill.ordinal()] = PerksUtils.getXpPerkMultiplier(player, skill);
+        }
+
+        int activationBonusTicks = 0;
+        if (Permissions.twelveSecondActivationBoost(player)) {
+            activationBonusTicks = 12;
+        }
+        else if (Permissions.eightSecondActivationBoost(player)) {
+            activationBonusTicks = 8;
+        }
+        else if (Permissions.fourSecondActivationBoost(player)) {
+            activationBonusTicks = 4;
+        }
+
+        double cooldownMultiplier = 1.0;
+        if (Permissions.halvedCooldowns(player)) {
+            cooldownMultiplier = 0.5;
+        }
+        else if (Permissions.thirdedCooldowns(player)) {
+            cooldownMultiplier = 2.0 / 3.0;
+        }
+        else if (Permissions.quarteredCooldowns(player)) {
+            cooldownMultiplier = 0.75;
+        }
+
+        return new PermissionSnapshot(skillEnabledMask, luckyMask, customXpBoostMask, xpPerkMultipliers,
+                activationBonusTicks, cooldownMultiplier, System.currentTimeMillis() + TTL_MILLIS);
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    public boolean isSkillEnabled(@NotNull PrimarySkillType skill) {
+        return (skillEnabledMask & (1L << skill.ordinal())) != 0;
+    }
+
+    /**
+     * @return a mask of the skills this player has permission for, bits are set by {@link PrimarySkillType} ordinal
+     */
+    public long getSkillEnabledMask() {
+        return skillEnabledMask;
+    }
+
+    public boolean isLucky(@NotNull PrimarySkillType skill) {
+        return (luckyMask & (1L << skill.ordinal())) != 0;
+    }
+
+    public boolean hasCustomXpBoost(@NotNull PrimarySkillType skill) {
+        return (customXpBoostMask & (1L << skill.ordinal())) != 0;
+    }
+
+    /**
+     * @return the XP multiplier from perks for a skill
+     */
+    public double getXpPerkMultiplier(@NotNull PrimarySkillType skill) {
+        return xpPerkMultipliers[skill.ordinal()];
+    }
+
+    public int getActivationBonusTicks() {
+        return activationBonusTicks;
+    }
+
+    public double getCooldownMultiplier() {
+        return cooldownMultiplier;
+    }
+}
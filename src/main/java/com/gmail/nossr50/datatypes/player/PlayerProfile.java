@@ -34,6 +34,8 @@ public class PlayerProfile {
     private final Map<PrimarySkillType, Float>     skillsXp   = new EnumMap<>(PrimarySkillType.class);     // Skill & XP
     private final Map<SuperAbilityType, Integer> abilityDATS = new EnumMap<>(SuperAbilityType.class); // Ability & Cooldown
     private final Map<UniqueDataType, Integer> uniquePlayerData = new EnumMap<>(UniqueDataType.class); //Misc data that doesn't fit into other categories (chimaera wing, etc..)
+    private int totalSkillLevel; // Sum of all non-child skill levels, kept up to date as levels change
+    private int skillLevelRevision; // Bumped every time a skill level changes
 
     // Store previous XP gains for diminished returns
     private final DelayQueue<SkillXpGain> gainedSkillsXp = new DelayQueue<>();
@@ -69,6 +71,8 @@ public class PlayerProfile {
             skillsXp.put(primarySkillType, 0F);
         }
 
+        totalSkillLevel = startingLevel * SkillTools.NON_CHILD_SKILLS.size();
+
         //Misc Cooldowns
         uniquePlayerData.put(UniqueDataType.CHIMAERA_WING_DATS, 0); //Chimaera wing
         lastLogin = System.currentTimeMillis();
@@ -95,6 +99,10 @@ public class PlayerProfile {
         abilityDATS.putAll(cooldownData);
         uniquePlayerData.putAll(uniqueProfileData);
 
+        for (PrimarySkillType primarySkillType : SkillTools.NON_CHILD_SKILLS) {
+            totalSkillLevel += skills.getOrDefault(primarySkillType, 0);
+        }
+
         loaded = true;
 
         if(lastLogin != null)
@@ -102,6 +110,11 @@ public class PlayerProfile {
     }
 
     public void scheduleAsyncSave() {
+        if (mcMMO.getProfileSavePipeline() != null) {
+            mcMMO.getProfileSavePipeline().enqueue(this);
+            return;
+        }
+
         mcMMO.p.getFoliaLib().getImpl().runAsync(new PlayerProfileSaveTask(this, false));
     }
 
@@ -121,7 +134,7 @@ public class PlayerProfile {
         }
 
         // TODO should this part be synchronized?
-        PlayerProfile profileCopy = new PlayerProfile(playerName, uuid, ImmutableMap.copyOf(skills), ImmutableMap.copyOf(skillsXp), ImmutableMap.copyOf(abilityDATS), scoreboardTipsShown, ImmutableMap.copyOf(uniquePlayerData), lastLogin);
+        PlayerProfile profileCopy = copyForSave();
         changed = !mcMMO.getDatabaseManager().saveUser(profileCopy);
 
         if (changed) {
@@ -154,6 +167,25 @@ public class PlayerProfile {
         }
     }
 
+    /**
+     * Clears the dirty flag and takes a copy of this profile to be written to the database
+     * If the write fails the profile has to be marked dirty again with {@link #markProfileDirty()}
+     *
+     * @return a copy of this profile, or null if there are no changes to save
+     */
+    public @Nullable PlayerProfile createSaveSnapshot() {
+        if (!changed || !loaded) {
+            return null;
+        }
+
+        changed = false;
+        return copyForSave();
+    }
+
+    private @NotNull PlayerProfile copyForSave() {
+        return new PlayerProfile(playerName, uuid, ImmutableMap.copyOf(skills), ImmutableMap.copyOf(skillsXp), ImmutableMap.copyOf(abilityDATS), scoreboardTipsShown, ImmutableMap.copyOf(uniquePlayerData), lastLogin);
+    }
+
     /**
      * Get this users last login, will return current java.lang.System#currentTimeMillis() if it doesn't exist
      * @return the last login
@@ -263,6 +295,26 @@ public class PlayerProfile {
         return SkillTools.isChildSkill(skill) ? getChildSkillLevel(skill) : skills.get(skill);
     }
 
+    /**
+     * Get the sum of the levels of every non-child skill, without checking any permissions
+     * This is kept up to date as levels change, so it's cheap to call
+     *
+     * @return the total of all non-child skill levels
+     */
+    public int getTotalSkillLevel() {
+        return totalSkillLevel;
+    }
+
+    /**
+     * Get a number that changes every time a skill level of this profile changes
+     * Used to tell whether values computed from the skill levels are still valid
+     *
+     * @return the current skill level revision
+     */
+    public int getSkillLevelRevision() {
+        return skillLevelRevision;
+    }
+
     public float getSkillXpLevelRaw(PrimarySkillType skill) {
         return skillsXp.get(skill);
     }
@@ -292,6 +344,8 @@ public class PlayerProfile {
 
         skills.put(skill, skills.get(skill) + 1);
         skillsXp.put(skill, skillsXp.get(skill) - xpRemoved);
+        totalSkillLevel++;
+        skillLevelRevision++;
 
         return xpRemoved;
     }
@@ -339,6 +393,8 @@ public class PlayerProfile {
         if(level < 0)
             level = 0;
 
+        totalSkillLevel += level - skills.get(skill);
+        skillLevelRevision++;
         skills.put(skill, level);
         skillsXp.put(skill, 0F);
     }
@@ -110,6 +110,7 @@ public enum SubSkillType {
     WOODCUTTING_TREE_FELLER(1);
 
     private final int numRanks;
+    private String permissionNodeAddress;
     //TODO: SuperAbilityType should also contain flags for active by default? Not sure if it should work that way.
 
     /**
@@ -160,8 +161,12 @@ public enum SubSkillType {
      */
     public String getPermissionNodeAddress()
     {
-        //TODO: This could be optimized
-        return "mcmmo.ability." + getParentSkill().toString().toLowerCase(Locale.ENGLISH) + "." + getConfigName(toString()).toLowerCase(Locale.ENGLISH);
+        // Built on first use, the parent skill lookup can't run while the enum constants are being created
+        if (permissionNodeAddress == null) {
+            permissionNodeAddress = ("mcmmo.ability." + getParentSkill().toString().toLowerCase(Locale.ENGLISH) + "." + getConfigName(toString()).toLowerCase(Locale.ENGLISH)).intern();
+        }
+
+        return permissionNodeAddress;
     }
 
     /**
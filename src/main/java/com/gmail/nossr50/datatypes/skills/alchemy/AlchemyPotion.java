@@ -67,6 +67,10 @@ public class AlchemyPotion {
         return material;
     }
 
+    public PotionSignature getSignature() {
+        return new PotionSignature(material, data);
+    }
+
     public Potion toPotion(int amount) {
         return Potion.fromItemStack(this.toItemStack(amount));
     }
@@ -137,7 +141,20 @@ public class AlchemyPotion {
         if (!item.hasItemMeta()) {
             return false;
         }
-        PotionMeta meta = (PotionMeta) item.getItemMeta();
+        return isSimilar(item.getType(), (PotionMeta) item.getItemMeta());
+    }
+
+    /**
+     * Check a potion whose meta was already read, so several potions can be compared without copying the meta again
+     *
+     * @param type the material of the potion
+     * @param meta the meta of the potion
+     * @return true if the potion is this AlchemyPotion
+     */
+    public boolean isSimilar(Material type, PotionMeta meta) {
+        if (type != material) {
+            return false;
+        }
         PotionData that = meta.getBasePotionData();
         if (data.getType() != that.getType()) {
             return false;
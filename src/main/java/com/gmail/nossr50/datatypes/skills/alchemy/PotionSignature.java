@@ -0,0 +1,42 @@
+package com.gmail.nossr50.datatypes.skills.alchemy;
+
+import org.bukkit.Material;
+import org.bukkit.inventory.meta.PotionMeta;
+import org.bukkit.potion.PotionData;
+import org.bukkit.potion.PotionType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * The part of a potion that has to match exactly for it to be an {@link AlchemyPotion}, the material and the base
+ * potion data. Potions with the same signature are told apart by {@link AlchemyPotion#isSimilar(Material, PotionMeta)}.
+ */
+public final class PotionSignature {
+    private final @NotNull Material material;
+    private final PotionType type;
+    private final boolean extended;
+    private final boolean upgraded;
+
+    public PotionSignature(@NotNull Material material, @NotNull PotionData data) {
+        this.material = material;
+        this.type = data.getType();
+        this.extended = data.isExtended();
+        this.upgraded = data.isUpgraded();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PotionSignature that)) return false;
+        return extended == that.extended && upgraded == that.upgraded && material == that.material && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = material.hashCode();
+        result = 31 * result + Objects.hashCode(type);
+        result = 31 * result + (extended ? 1 : 0);
+        return 31 * result + (upgraded ? 1 : 0);
+    }
+}
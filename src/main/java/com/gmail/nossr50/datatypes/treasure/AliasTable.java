@@ -0,0 +1,153 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import com.gmail.nossr50.util.random.McMMORandom;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Picks one of a fixed set of outcomes with fixed weights, using Vose's alias method
+ * <p>
+ * Building the table takes linear time, after that every sample takes one random column and one random number to
+ * pick between the column and its alias, no matter how many outcomes there are. Outcomes may be null, which is how
+ * loot tables represent "nothing dropped".
+ *
+ * @param <T> the type of the outcomes
+ */
+public final class AliasTable<T> {
+    private final @NotNull Object[] outcomes;
+    private final @NotNull double[] weights;
+    private final @NotNull double[] probabilities;
+    private final @NotNull int[] aliases;
+
+    /**
+     * @param outcomes the outcomes, null outcomes are allowed
+     * @param weights the weight of every outcome, they don't have to add up to anything
+     * @throws IllegalArgumentException if the sizes don't match, a weight is negative or all weights are 0
+     */
+    public AliasTable(@NotNull List<? extends T> outcomes, @NotNull double[] weights) {
+        int size = outcomes.size();
+
+        if (size == 0 || size != weights.length) {
+            throw new IllegalArgumentException("An alias table needs one weight for every outcome");
+        }
+
+        double totalWeight = 0;
+
+        for (double weight : weights) {
+            if (!(weight >= 0) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("Invalid weight for an alias table: " + weight);
+            }
+
+            totalWeight += weight;
+        }
+
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("An alias table needs at least one outcome with a weight above 0");
+        }
+
+        this.outcomes = outcomes.toArray();
+        this.weights = new double[size];
+        this.probabilities = new double[size];
+        this.aliases = new int[size];
+
+        // Scale the weights so the average column is exactly full
+        double[] scaled = new double[size];
+        int[] small = new int[size];
+        int[] large = new int[size];
+        int smallCount = 0;
+        int largeCount = 0;
+
+        for (int i = 0; i < size; i++) {
+            this.weights[i] = weights[i] / totalWeight;
+            scaled[i] = this.weights[i] * size;
+
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+
+        // Fill every column that is too small with the rest of a column that is too large
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+
+            probabilities[less] = scaled[less];
+            aliases[less] = more;
+
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+
+        // Whatever is left is only off from a full column by rounding errors
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probabilities[index] = 1;
+            aliases[index] = index;
+        }
+    }
+
+    /**
+     * Pick an outcome with the random numbers of the current thread
+     *
+     * @return the picked outcome
+     */
+    public @Nullable T sample() {
+        return sample(McMMORandom.current());
+    }
+
+    /**
+     * Pick an outcome
+     *
+     * @param random the random numbers to use
+     * @return the picked outcome
+     */
+    public @Nullable T sample(@NotNull SplittableRandom random) {
+        return getOutcome(sampleIndex(random));
+    }
+
+    /**
+     * Pick the index of an outcome
+     *
+     * @param random the random numbers to use
+     * @return the index of the picked outcome
+     */
+    public int sampleIndex(@NotNull SplittableRandom random) {
+        int column = random.nextInt(probabilities.length);
+        return random.nextDouble() < probabilities[column] ? column : aliases[column];
+    }
+
+    /**
+     * @return how many outcomes this table has
+     */
+    public int size() {
+        return outcomes.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public @Nullable T getOutcome(int index) {
+        return (T) outcomes[index];
+    }
+
+    /**
+     * @return the chance of an outcome being picked, from 0 to 1
+     */
+    public double getProbability(int index) {
+        return weights[index];
+    }
+}
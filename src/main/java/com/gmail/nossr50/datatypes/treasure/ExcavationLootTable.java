@@ -0,0 +1,84 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import com.gmail.nossr50.util.random.McMMORandom;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The Excavation treasures of one block, compiled by skill level bracket
+ * <p>
+ * Every treasure is rolled on its own, so unlike fishing this can't be a single {@link AliasTable}. Instead the
+ * treasures a skill level can find and their chances are worked out once, a block broken only rolls the treasures
+ * of its bracket against precomputed thresholds.
+ */
+public final class ExcavationLootTable {
+    /**
+     * Treasure chances go from 0.01 to 100, so they're rolled out of 10000
+     */
+    private static final int BOUND = 10000;
+
+    private final @NotNull int[] levels;
+    private final @NotNull Bracket[] brackets;
+
+    /**
+     * @param treasures the treasures of the block
+     * @param luckyModifier what the chances of lucky players are multiplied by
+     */
+    public ExcavationLootTable(@NotNull List<ExcavationTreasure> treasures, double luckyModifier) {
+        levels = LootBrackets.getLevels(treasures);
+        brackets = new Bracket[levels.length];
+
+        for (int i = 0; i < levels.length; i++) {
+            brackets[i] = new Bracket(LootBrackets.getAvailable(treasures, levels[i]), luckyModifier);
+        }
+    }
+
+    /**
+     * @param skillLevel the Excavation level of the player
+     * @return the treasures the player can find, or null if there are none
+     */
+    public @Nullable Bracket getBracket(int skillLevel) {
+        int index = LootBrackets.find(levels, skillLevel);
+        return index < 0 ? null : brackets[index];
+    }
+
+    /**
+     * The treasures of a skill level bracket
+     */
+    public static final class Bracket {
+        private final @NotNull ExcavationTreasure[] treasures;
+        private final @NotNull int[] thresholds;
+        private final @NotNull int[] luckyThresholds;
+
+        private Bracket(@NotNull List<ExcavationTreasure> treasures, double luckyModifier) {
+            this.treasures = treasures.toArray(new ExcavationTreasure[0]);
+            this.thresholds = new int[this.treasures.length];
+            this.luckyThresholds = new int[this.treasures.length];
+
+            for (int i = 0; i < this.treasures.length; i++) {
+                double chance = this.treasures[i].getDropChance() * 100;
+                thresholds[i] = McMMORandom.toThreshold(chance, BOUND, 1.0);
+                luckyThresholds[i] = McMMORandom.toThreshold(chance * luckyModifier, BOUND, 1.0);
+            }
+        }
+
+        public int size() {
+            return treasures.length;
+        }
+
+        public @NotNull ExcavationTreasure getTreasure(int index) {
+            return treasures[index];
+        }
+
+        /**
+         * @param index the index of the treasure
+         * @param lucky whether the player is lucky
+         * @return true if the treasure was found
+         */
+        public boolean roll(int index, boolean lucky) {
+            return McMMORandom.rollThreshold(lucky ? luckyThresholds[index] : thresholds[index], BOUND);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import org.bukkit.Material;
+import org.bukkit.enchantments.Enchantment;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * The fishing treasures and Magic Hunter enchantments compiled into alias tables
+ * <p>
+ * A fishing roll used to walk the rarities and subtract their drop rates, then pick a treasure of the rarity it
+ * landed on. The same distribution is flattened here into one weight per treasure (plus one for catching nothing)
+ * for every loot tier and Luck of the Sea level, so a catch is a single {@link AliasTable#sample()}.
+ */
+public final class FishingLootTable {
+    /**
+     * Luck of the Sea levels that are compiled right away, higher levels are compiled the first time they're fished with
+     */
+    private static final int PRECOMPILED_LUCK_LEVELS = 3;
+    private static final Rarity[] RARITIES = Rarity.values();
+
+    private final @NotNull Map<Rarity, List<FishingTreasure>> fishingRewards;
+    private final @NotNull Map<Rarity, List<EnchantmentTreasure>> fishingEnchantments;
+    private final @NotNull double[][] itemDropRates;
+    private final @NotNull double[][] enchantmentDropRates;
+    private final double lureModifier;
+
+    private final @NotNull AliasTable<FishingTreasure>[][] treasureTables;
+    private final @NotNull Map<Long, AliasTable<FishingTreasure>> extraTreasureTables = new ConcurrentHashMap<>();
+    private final @NotNull AliasTable<Rarity>[] enchantmentRarityTables;
+    private final @NotNull Map<Material, EnchantmentTreasure[][]> enchantmentsByMaterial = new ConcurrentHashMap<>();
+
+    /**
+     * @param fishingRewards the treasures of every rarity
+     * @param fishingEnchantments the Magic Hunter enchantments of every rarity
+     * @param itemDropRates the item drop rates by loot tier and {@link Rarity#ordinal()}, from 0 to 100
+     * @param enchantmentDropRates the enchantment drop rates by loot tier and {@link Rarity#ordinal()}, from 0 to 100
+     * @param lureModifier how much every level of Luck of the Sea shortens the roll, in percent
+     */
+    @SuppressWarnings("unchecked")
+    public FishingLootTable(@NotNull Map<Rarity, List<FishingTreasure>> fishingRewards,
+                            @NotNull Map<Rarity, List<EnchantmentTreasure>> fishingEnchantments,
+                            @NotNull double[][] itemDropRates, @NotNull double[][] enchantmentDropRates, double lureModifier) {
+        this.fishingRewards = copy(fishingRewards);
+        this.fishingEnchantments = copy(fishingEnchantments);
+        this.itemDropRates = itemDropRates;
+        this.enchantmentDropRates = enchantmentDropRates;
+        this.lureModifier = lureModifier;
+
+        treasureTables = new AliasTable[itemDropRates.length][PRECOMPILED_LUCK_LEVELS + 1];
+
+        for (int tier = 0; tier < treasureTables.length; tier++) {
+            for (int luck = 0; luck <= PRECOMPILED_LUCK_LEVELS; luck++) {
+                treasureTables[tier][luck] = compileTreasureTable(tier, luck);
+            }
+        }
+
+        enchantmentRarityTables = new AliasTable[enchantmentDropRates.length];
+
+        for (int tier = 0; tier < enchantmentRarityTables.length; tier++) {
+            enchantmentRarityTables[tier] = compileEnchantmentRarityTable(tier);
+        }
+    }
+
+    private static <T> @NotNull Map<Rarity, List<T>> copy(@NotNull Map<Rarity, List<T>> map) {
+        Map<Rarity, List<T>> copy = new EnumMap<>(Rarity.class);
+
+        for (Map.Entry<Rarity, List<T>> entry : map.entrySet()) {
+            copy.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+
+        return copy;
+    }
+
+    /**
+     * Pick a fishing treasure
+     *
+     * @param tier the loot tier of the player
+     * @param luck the Luck of the Sea level of the fishing rod
+     * @return the treasure, or null if nothing was found
+     */
+    public @Nullable FishingTreasure sampleTreasure(int tier, int luck) {
+        if (tier >= 0 && tier < treasureTables.length && luck >= 0 && luck <= PRECOMPILED_LUCK_LEVELS) {
+            return treasureTables[tier][luck].sample();
+        }
+
+        long key = ((long) tier << 32) | (luck & 0xFFFFFFFFL);
+        return extraTreasureTables.computeIfAbsent(key, ignored -> compileTreasureTable(tier, luck)).sample();
+    }
+
+    /**
+     * Pick the rarity of the enchantments Magic Hunter adds to a treasure
+     *
+     * @param tier the loot tier of the player
+     * @return the rarity, or null if no enchantments should be added
+     */
+    public @Nullable Rarity sampleEnchantmentRarity(int tier) {
+        if (tier < 0 || tier >= enchantmentRarityTables.length) {
+            return null;
+        }
+
+        return enchantmentRarityTables[tier].sample();
+    }
+
+    /**
+     * Get the enchantments of a rarity that can be applied to a material, the result is cached per material
+     *
+     * @param rarity the rarity of the enchantments
+     * @param material the material of the treasure
+     * @param possibleEnchantments the enchantments that can be applied to a material
+     * @return the enchantments, this array is shared and must not be modified
+     */
+    public @NotNull EnchantmentTreasure[] getEnchantments(@NotNull Rarity rarity, @NotNull Material material,
+                                                          @NotNull Function<Material, List<Enchantment>> possibleEnchantments) {
+        EnchantmentTreasure[][] enchantments = enchantmentsByMaterial.get(material);
+
+        if (enchantments == null) {
+            enchantments = enchantmentsByMaterial.computeIfAbsent(material, key -> filterEnchantments(possibleEnchantments.apply(key)));
+        }
+
+        return enchantments[rarity.ordinal()];
+    }
+
+    private @NotNull EnchantmentTreasure[][] filterEnchantments(@NotNull List<Enchantment> validEnchantments) {
+        EnchantmentTreasure[][] enchantments = new EnchantmentTreasure[RARITIES.length][];
+
+        for (Rarity rarity : RARITIES) {
+            List<EnchantmentTreasure> possibleEnchants = new ArrayList<>();
+
+            for (EnchantmentTreasure enchantmentTreasure : fishingEnchantments.getOrDefault(rarity, Collections.emptyList())) {
+                if (validEnchantments.contains(enchantmentTreasure.getEnchantment())) {
+                    possibleEnchants.add(enchantmentTreasure);
+                }
+            }
+
+            enchantments[rarity.ordinal()] = possibleEnchants.toArray(new EnchantmentTreasure[0]);
+        }
+
+        return enchantments;
+    }
+
+    private @NotNull AliasTable<FishingTreasure> compileTreasureTable(int tier, int luck) {
+        // Rather than subtracting luck (and causing a minimum 3% chance for every drop), the roll is scaled by luck
+        double rollRange = 100 * (1.0 - luck * lureModifier / 100);
+        double[] rarityWeights = getRarityWeights(getDropRates(itemDropRates, tier), rollRange);
+        double nothingWeight = rarityWeights[RARITIES.length];
+
+        List<FishingTreasure> outcomes = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+
+        for (Rarity rarity : RARITIES) {
+            double rarityWeight = rarityWeights[rarity.ordinal()];
+
+            if (rarityWeight <= 0) {
+                continue;
+            }
+
+            List<FishingTreasure> treasures = fishingRewards.getOrDefault(rarity, Collections.emptyList());
+
+            // Landing on a rarity without treasures catches nothing
+            if (treasures.isEmpty()) {
+                nothingWeight += rarityWeight;
+                continue;
+            }
+
+            for (FishingTreasure treasure : treasures) {
+                outcomes.add(treasure);
+                weights.add(rarityWeight / treasures.size());
+            }
+        }
+
+        outcomes.add(null);
+        weights.add(nothingWeight);
+
+        return new AliasTable<>(outcomes, toArray(weights));
+    }
+
+    private @NotNull AliasTable<Rarity> compileEnchantmentRarityTable(int tier) {
+        double[] rarityWeights = getRarityWeights(getDropRates(enchantmentDropRates, tier), 100);
+        List<Rarity> outcomes = new ArrayList<>(Arrays.asList(RARITIES));
+        outcomes.add(null);
+
+        return new AliasTable<>(outcomes, rarityWeights);
+    }
+
+    private static @NotNull double[] getDropRates(@NotNull double[][] dropRates, int tier) {
+        // Tiers that aren't in the config have no drops
+        return tier >= 0 && tier < dropRates.length ? dropRates[tier] : new double[RARITIES.length];
+    }
+
+    /**
+     * Turn the drop rates into how much of a roll from 0 to rollRange lands on every rarity, the last weight is the
+     * part of the roll that lands past all of them
+     */
+    private static @NotNull double[] getRarityWeights(@NotNull double[] dropRates, double rollRange) {
+        double[] weights = new double[RARITIES.length + 1];
+
+        // A roll of 0 or below always lands on the first rarity
+        if (rollRange <= 0) {
+            weights[0] = 1;
+            return weights;
+        }
+
+        double start = 0;
+
+        for (int i = 0; i < RARITIES.length; i++) {
+            double end = start + dropRates[i];
+            weights[i] = Math.max(0, Math.min(end, rollRange) - Math.min(start, rollRange));
+            start = end;
+        }
+
+        weights[RARITIES.length] = Math.max(0, rollRange - start);
+        return weights;
+    }
+
+    private static @NotNull double[] toArray(@NotNull List<Double> list) {
+        double[] array = new double[list.size()];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+
+        return array;
+    }
+}
@@ -0,0 +1,77 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import com.gmail.nossr50.util.random.McMMORandom;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Hylian Luck treasures of one block, compiled into an {@link AliasTable} per skill level bracket
+ * <p>
+ * Hylian Luck drops the first treasure in config order whose roll succeeds. The chance of every treasure being that
+ * first one is known up front, so the whole scan is a single sample.
+ */
+public final class HylianLootTable {
+    /**
+     * Hylian Luck chances are whole percentages
+     */
+    private static final int BOUND = 100;
+
+    private final @NotNull int[] levels;
+    private final @NotNull AliasTable<HylianTreasure>[] tables;
+    private final @NotNull AliasTable<HylianTreasure>[] luckyTables;
+
+    /**
+     * @param treasures the treasures of the block, in config order
+     * @param luckyModifier what the chances of lucky players are multiplied by
+     */
+    @SuppressWarnings("unchecked")
+    public HylianLootTable(@NotNull List<HylianTreasure> treasures, double luckyModifier) {
+        levels = LootBrackets.getLevels(treasures);
+        tables = new AliasTable[levels.length];
+        luckyTables = new AliasTable[levels.length];
+
+        for (int i = 0; i < levels.length; i++) {
+            List<HylianTreasure> available = LootBrackets.getAvailable(treasures, levels[i]);
+            tables[i] = compile(available, 1.0);
+            luckyTables[i] = compile(available, luckyModifier);
+        }
+    }
+
+    private static @NotNull AliasTable<HylianTreasure> compile(@NotNull List<HylianTreasure> treasures, double luckModifier) {
+        List<HylianTreasure> outcomes = new ArrayList<>(treasures);
+        double[] weights = new double[treasures.size() + 1];
+        double noneSucceeded = 1;
+
+        for (int i = 0; i < treasures.size(); i++) {
+            // Drop chances are cut to whole percentages before luck is added
+            int chance = (int) (100 * (treasures.get(i).getDropChance() / 100));
+            double probability = (double) McMMORandom.toThreshold(chance * luckModifier, BOUND, 1.0) / BOUND;
+
+            weights[i] = noneSucceeded * probability;
+            noneSucceeded *= 1 - probability;
+        }
+
+        outcomes.add(null);
+        weights[treasures.size()] = noneSucceeded;
+
+        return new AliasTable<>(outcomes, weights);
+    }
+
+    /**
+     * @param skillLevel the Herbalism level of the player
+     * @param lucky whether the player is lucky
+     * @return the treasure found, or null if there is none
+     */
+    public @Nullable HylianTreasure sample(int skillLevel, boolean lucky) {
+        int index = LootBrackets.find(levels, skillLevel);
+
+        if (index < 0) {
+            return null;
+        }
+
+        return (lucky ? luckyTables : tables)[index].sample();
+    }
+}
@@ -0,0 +1,44 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits treasures into skill level brackets, a bracket starts at every distinct drop level
+ */
+final class LootBrackets {
+    private LootBrackets() {}
+
+    /**
+     * @return the distinct drop levels of the treasures, sorted from low to high
+     */
+    static @NotNull int[] getLevels(@NotNull List<? extends Treasure> treasures) {
+        return treasures.stream().mapToInt(Treasure::getDropLevel).distinct().sorted().toArray();
+    }
+
+    /**
+     * @return the treasures that can drop at a level, in their original order
+     */
+    static <T extends Treasure> @NotNull List<T> getAvailable(@NotNull List<T> treasures, int level) {
+        List<T> available = new ArrayList<>();
+
+        for (T treasure : treasures) {
+            if (level >= treasure.getDropLevel()) {
+                available.add(treasure);
+            }
+        }
+
+        return available;
+    }
+
+    /**
+     * @return the index of the bracket a skill level is in, or -1 if it is below every drop level
+     */
+    static int find(@NotNull int[] levels, int skillLevel) {
+        int index = Arrays.binarySearch(levels, skillLevel);
+        return index >= 0 ? index : -index - 2;
+    }
+}
@@ -0,0 +1,122 @@
+package com.gmail.nossr50.events.items;
+
+import com.gmail.nossr50.api.ItemSpawnReason;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Called when mcMMO is preparing to drop all the items of one skill activation, such as a Blast Mining explosion.
+ * Identical items dropped at the same location are already merged into stacks.
+ * <p>
+ * Cancelling this event drops none of the items, single items can be left out with {@link Entry#setCancelled(boolean)}.
+ * A {@link McMMOItemSpawnEvent} is still called for every stack that is left afterwards.
+ */
+public class McMMOItemBatchSpawnEvent extends Event implements Cancellable {
+    private final List<Entry> entries;
+    private final Player player;
+    private boolean cancelled;
+
+    public McMMOItemBatchSpawnEvent(@NotNull List<Entry> entries, @Nullable Player player) {
+        this.entries = Collections.unmodifiableList(entries);
+        this.player = player;
+        this.cancelled = false;
+    }
+
+    /**
+     * Get the associated player
+     * This can be null
+     * @return the associated player if one exists null otherwise
+     */
+    public @Nullable Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * @return the stacks that will be dropped
+     */
+    public @NotNull List<Entry> getEntries() {
+        return entries;
+    }
+
+    /** Following are required for Cancellable **/
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * A stack of items that will be dropped
+     */
+    public static class Entry {
+        private final Location location;
+        private final ItemStack itemStack;
+        private final ItemSpawnReason itemSpawnReason;
+        private boolean cancelled;
+
+        public Entry(@NotNull Location location, @NotNull ItemStack itemStack, @NotNull ItemSpawnReason itemSpawnReason) {
+            this.location = location;
+            this.itemStack = itemStack;
+            this.itemSpawnReason = itemSpawnReason;
+        }
+
+        /**
+         * @return Location where the item will be dropped
+         */
+        public @NotNull Location getLocation() {
+            return location;
+        }
+
+        /**
+         * @return ItemStack that will be dropped
+         */
+        public @NotNull ItemStack getItemStack() {
+            return itemStack;
+        }
+
+        /**
+         * The reason an item is being spawned by mcMMO
+         * @see ItemSpawnReason
+         * @return the item drop reason
+         */
+        public @NotNull ItemSpawnReason getItemSpawnReason() {
+            return itemSpawnReason;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * @param cancelled true to leave this stack out of the drops
+         */
+        public void setCancelled(boolean cancelled) {
+            this.cancelled = cancelled;
+        }
+    }
+
+    /** Rest of file is required boilerplate for custom events **/
+    private static final @NotNull HandlerList handlers = new HandlerList();
+
+    @Override
+    public @NotNull HandlerList getHandlers() {
+        return handlers;
+    }
+
+    public static @NotNull HandlerList getHandlerList() {
+        return handlers;
+    }
+}
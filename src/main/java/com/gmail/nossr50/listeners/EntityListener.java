@@ -26,6 +26,7 @@ import com.gmail.nossr50.util.player.UserManager;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.skills.CombatUtils;
 import com.gmail.nossr50.util.skills.SkillActivationType;
+import com.gmail.nossr50.util.tick.TickCategory;
 import com.gmail.nossr50.worldguard.WorldGuardManager;
 import com.gmail.nossr50.worldguard.WorldGuardUtils;
 import org.bukkit.ChatColor;
@@ -242,7 +243,7 @@ public class EntityListener implements Listener {
 
                 entity.setMetadata(MetadataConstants.METADATA_KEY_TRAVELING_BLOCK, MetadataConstants.MCMMO_METADATA_VALUE);
                 TravelingBlockMetaCleanup metaCleanupTask = new TravelingBlockMetaCleanup(entity, pluginRef);
-                mcMMO.p.getFoliaLib().getImpl().runAtEntityTimer(entity, metaCleanupTask, 20, 20*60); //6000 ticks is 5 minutes
+                mcMMO.getTickEngine().schedule(TickCategory.METADATA_CLEANUP, entity, metaCleanupTask, 20, 20*60); //6000 ticks is 5 minutes
             }
             else if (isTracked) {
                 BlockUtils.setUnnaturalBlock(block);
@@ -708,6 +709,20 @@ public class EntityListener implements Listener {
         mcMMO.getTransientMetadataTools().cleanLivingEntityMetadata(event.getEntity());
     }
 
+    /**
+     * Monitor EntityTeleport events.
+     * Call of the Wild summons are kept indexed by the chunk they are in.
+     *
+     * @param event
+     *            The event to watch
+     */
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityTeleport(EntityTeleportEvent event) {
+        if (event.getTo() != null && event.getEntity() instanceof LivingEntity livingEntity) {
+            mcMMO.getTransientEntityTracker().updateSummonLocation(livingEntity, event.getTo());
+        }
+    }
+
     /**
      * Monitor EntityDeath events.
      *
@@ -176,7 +176,7 @@ public class PlayerListener implements Listener {
 
         Player killedPlayer = event.getEntity();
 
-        if (!killedPlayer.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA) || Permissions.hardcoreBypass(killedPlayer)) {
+        if (!UserManager.hasPlayerDataKey(killedPlayer) || Permissions.hardcoreBypass(killedPlayer)) {
             return;
         }
 
@@ -234,6 +234,7 @@ public class PlayerListener implements Listener {
 
         McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
 
+        mcMMOPlayer.invalidatePermissionSnapshot(); // Permissions are often set per world
         mcMMOPlayer.checkGodMode();
         mcMMOPlayer.checkParty();
     }
@@ -7,6 +7,7 @@ import org.bukkit.block.BlockState;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.event.world.StructureGrowEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
@@ -51,6 +52,28 @@ public class WorldListener implements Listener {
         mcMMO.getPlaceStore().unloadWorld(event.getWorld());
     }
 
+    /**
+     * Monitor ChunkLoad events.
+     *
+     * @param event The event to watch
+     */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChunkLoad(ChunkLoadEvent event) {
+        /* WORLD BLACKLIST CHECK */
+        if(WorldBlacklist.isWorldBlacklisted(event.getWorld()))
+            return;
+
+        Chunk chunk = event.getChunk();
+
+        // Newly generated chunks can't have any placed blocks stored yet, there is nothing to read
+        if (event.isNewChunk()) {
+            mcMMO.getPlaceStore().chunkGenerated(chunk.getX(), chunk.getZ(), event.getWorld());
+            return;
+        }
+
+        mcMMO.getPlaceStore().chunkLoaded(chunk.getX(), chunk.getZ(), event.getWorld());
+    }
+
     /**
      * Monitor ChunkUnload events.
      *
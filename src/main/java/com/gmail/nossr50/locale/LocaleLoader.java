@@ -11,22 +11,55 @@ import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.MessageFormat;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public final class LocaleLoader {
     private static final String BUNDLE_ROOT = "com.gmail.nossr50.locale.locale";
     private static final String OVERRIDE_FILE_NAME = "locale_override.properties";
-    private static Map<String, String> bundleCache = new HashMap<>();
+    private static final Map<String, String> BRACKET_COLOR_CODES = new HashMap<>();
+    private static final String[] AMPERSAND_COLOR_CODES = new String[128];
+    // Locale strings parsed into templates the first time they are used
+    private static Map<String, LocaleTemplate> templateCache = new ConcurrentHashMap<>();
     private static ResourceBundle bundle = null;
     private static ResourceBundle filesystemBundle = null;
     private static ResourceBundle enBundle = null;
 
+    static {
+        addColorCode("BLACK", '0', ChatColor.BLACK);
+        addColorCode("DARK_BLUE", '1', ChatColor.DARK_BLUE);
+        addColorCode("DARK_GREEN", '2', ChatColor.DARK_GREEN);
+        addColorCode("DARK_AQUA", '3', ChatColor.DARK_AQUA);
+        addColorCode("DARK_RED", '4', ChatColor.DARK_RED);
+        addColorCode("DARK_PURPLE", '5', ChatColor.DARK_PURPLE);
+        addColorCode("GOLD", '6', ChatColor.GOLD);
+        addColorCode("GRAY", '7', ChatColor.GRAY);
+        addColorCode("DARK_GRAY", '8', ChatColor.DARK_GRAY);
+        addColorCode("BLUE", '9', ChatColor.BLUE);
+        addColorCode("GREEN", 'a', ChatColor.GREEN);
+        addColorCode("AQUA", 'b', ChatColor.AQUA);
+        addColorCode("RED", 'c', ChatColor.RED);
+        addColorCode("LIGHT_PURPLE", 'd', ChatColor.LIGHT_PURPLE);
+        addColorCode("YELLOW", 'e', ChatColor.YELLOW);
+        addColorCode("WHITE", 'f', ChatColor.WHITE);
+        addColorCode("BOLD", 'l', ChatColor.BOLD);
+        addColorCode("UNDERLINE", 'n', ChatColor.UNDERLINE);
+        addColorCode("ITALIC", 'o', ChatColor.ITALIC);
+        addColorCode("STRIKE", 'm', ChatColor.STRIKETHROUGH);
+        addColorCode("MAGIC", '?', ChatColor.MAGIC);
+        addColorCode("RESET", 'r', ChatColor.RESET);
+    }
+
     private LocaleLoader() {}
 
+    private static void addColorCode(String bracketName, char ampersandCode, ChatColor chatColor) {
+        BRACKET_COLOR_CODES.put(bracketName, chatColor.toString());
+        AMPERSAND_COLOR_CODES[ampersandCode] = chatColor.toString();
+    }
+
     public static String getString(String key) {
         return getString(key, (Object[]) null);
     }
@@ -44,8 +77,7 @@ public final class LocaleLoader {
             initialize();
         }
 
-        String rawMessage = bundleCache.computeIfAbsent(key, LocaleLoader::getRawString);
-        return formatString(rawMessage, messageArguments);
+        return getTemplate(key).render(messageArguments);
     }
 
     //TODO: Remove this hacky crap with something better later
@@ -63,8 +95,7 @@ public final class LocaleLoader {
             initialize();
         }
 
-        String rawMessage = bundleCache.computeIfAbsent(key, LocaleLoader::getRawString);
-        return formatComponent(rawMessage, messageArguments);
+        return TextUtils.colorizeText(getTemplate(key).renderUncolored(messageArguments));
     }
 
     /**
@@ -74,10 +105,14 @@ public final class LocaleLoader {
         bundle = null;
         filesystemBundle = null;
         enBundle = null;
-        bundleCache = new HashMap<>(); // Cheaper to replace than clear()
+        templateCache = new ConcurrentHashMap<>(); // Cheaper to replace than clear()
         initialize();
     }
 
+    private static @NotNull LocaleTemplate getTemplate(@NotNull String key) {
+        return templateCache.computeIfAbsent(key, k -> LocaleTemplate.compile(getRawString(k)));
+    }
+
     private static String getRawString(String key) {
         if (filesystemBundle != null) {
             try {
@@ -103,25 +138,11 @@ public final class LocaleLoader {
     }
 
     public static String formatString(String string, Object... messageArguments) {
-        if (messageArguments != null) {
-            MessageFormat formatter = new MessageFormat("");
-            formatter.applyPattern(string.replace("'", "''"));
-            string = formatter.format(messageArguments);
-        }
-
-        string = addColors(string);
-
-        return string;
+        return LocaleTemplate.compile(string).render(messageArguments);
     }
 
     public static @NotNull TextComponent formatComponent(@NotNull String string, Object... messageArguments) {
-        if (messageArguments != null) {
-            MessageFormat formatter = new MessageFormat("");
-            formatter.applyPattern(string.replace("'", "''"));
-            string = formatter.format(messageArguments);
-        }
-
-        return TextUtils.colorizeText(string);
+        return TextUtils.colorizeText(LocaleTemplate.compile(string).renderUncolored(messageArguments));
     }
 
     public static Locale getCurrentLocale() {
@@ -216,6 +237,7 @@ public final class LocaleLoader {
         }
 
         enBundle = ResourceBundle.getBundle(BUNDLE_ROOT, Locale.US);
+        LocaleTemplate.resetNumberFormat();
     }
 
     @NotNull
@@ -303,53 +325,52 @@ public final class LocaleLoader {
         return localeExplanation;
     }
 
+    /**
+     * Translate [[COLOR]] and &amp; color codes, in a single pass over the string
+     */
     public static String addColors(String input) {
-        input = input.replaceAll("\\Q[[BLACK]]\\E", ChatColor.BLACK.toString());
-        input = input.replaceAll("\\Q[[DARK_BLUE]]\\E", ChatColor.DARK_BLUE.toString());
-        input = input.replaceAll("\\Q[[DARK_GREEN]]\\E", ChatColor.DARK_GREEN.toString());
-        input = input.replaceAll("\\Q[[DARK_AQUA]]\\E", ChatColor.DARK_AQUA.toString());
-        input = input.replaceAll("\\Q[[DARK_RED]]\\E", ChatColor.DARK_RED.toString());
-        input = input.replaceAll("\\Q[[DARK_PURPLE]]\\E", ChatColor.DARK_PURPLE.toString());
-        input = input.replaceAll("\\Q[[GOLD]]\\E", ChatColor.GOLD.toString());
-        input = input.replaceAll("\\Q[[GRAY]]\\E", ChatColor.GRAY.toString());
-        input = input.replaceAll("\\Q[[DARK_GRAY]]\\E", ChatColor.DARK_GRAY.toString());
-        input = input.replaceAll("\\Q[[BLUE]]\\E", ChatColor.BLUE.toString());
-        input = input.replaceAll("\\Q[[GREEN]]\\E", ChatColor.GREEN.toString());
-        input = input.replaceAll("\\Q[[AQUA]]\\E", ChatColor.AQUA.toString());
-        input = input.replaceAll("\\Q[[RED]]\\E", ChatColor.RED.toString());
-        input = input.replaceAll("\\Q[[LIGHT_PURPLE]]\\E", ChatColor.LIGHT_PURPLE.toString());
-        input = input.replaceAll("\\Q[[YELLOW]]\\E", ChatColor.YELLOW.toString());
-        input = input.replaceAll("\\Q[[WHITE]]\\E", ChatColor.WHITE.toString());
-        input = input.replaceAll("\\Q[[BOLD]]\\E", ChatColor.BOLD.toString());
-        input = input.replaceAll("\\Q[[UNDERLINE]]\\E", ChatColor.UNDERLINE.toString());
-        input = input.replaceAll("\\Q[[ITALIC]]\\E", ChatColor.ITALIC.toString());
-        input = input.replaceAll("\\Q[[STRIKE]]\\E", ChatColor.STRIKETHROUGH.toString());
-        input = input.replaceAll("\\Q[[MAGIC]]\\E", ChatColor.MAGIC.toString());
-        input = input.replaceAll("\\Q[[RESET]]\\E", ChatColor.RESET.toString());
-
-        input = input.replaceAll("\\Q&0\\E", ChatColor.BLACK.toString());
-        input = input.replaceAll("\\Q&1\\E", ChatColor.DARK_BLUE.toString());
-        input = input.replaceAll("\\Q&2\\E", ChatColor.DARK_GREEN.toString());
-        input = input.replaceAll("\\Q&3\\E", ChatColor.DARK_AQUA.toString());
-        input = input.replaceAll("\\Q&4\\E", ChatColor.DARK_RED.toString());
-        input = input.replaceAll("\\Q&5\\E", ChatColor.DARK_PURPLE.toString());
-        input = input.replaceAll("\\Q&6\\E", ChatColor.GOLD.toString());
-        input = input.replaceAll("\\Q&7\\E", ChatColor.GRAY.toString());
-        input = input.replaceAll("\\Q&8\\E", ChatColor.DARK_GRAY.toString());
-        input = input.replaceAll("\\Q&9\\E", ChatColor.BLUE.toString());
-        input = input.replaceAll("\\Q&a\\E", ChatColor.GREEN.toString());
-        input = input.replaceAll("\\Q&b\\E", ChatColor.AQUA.toString());
-        input = input.replaceAll("\\Q&c\\E", ChatColor.RED.toString());
-        input = input.replaceAll("\\Q&d\\E", ChatColor.LIGHT_PURPLE.toString());
-        input = input.replaceAll("\\Q&e\\E", ChatColor.YELLOW.toString());
-        input = input.replaceAll("\\Q&f\\E", ChatColor.WHITE.toString());
-        input = input.replaceAll("\\Q&l\\E", ChatColor.BOLD.toString());
-        input = input.replaceAll("\\Q&n\\E", ChatColor.UNDERLINE.toString());
-        input = input.replaceAll("\\Q&o\\E", ChatColor.ITALIC.toString());
-        input = input.replaceAll("\\Q&m\\E", ChatColor.STRIKETHROUGH.toString());
-        input = input.replaceAll("\\Q&?\\E", ChatColor.MAGIC.toString());
-        input = input.replaceAll("\\Q&r\\E", ChatColor.RESET.toString());
-
-        return input;
+        int length = input.length();
+        int i = 0;
+
+        // Most strings are fully colored already or have no codes at all
+        while (i < length && input.charAt(i) != '&' && input.charAt(i) != '[') {
+            i++;
+        }
+
+        if (i == length) {
+            return input;
+        }
+
+        StringBuilder builder = new StringBuilder(length).append(input, 0, i);
+
+        while (i < length) {
+            char c = input.charAt(i);
+
+            if (c == '&' && i + 1 < length) {
+                char code = input.charAt(i + 1);
+                String color = code < AMPERSAND_COLOR_CODES.length ? AMPERSAND_COLOR_CODES[code] : null;
+
+                if (color != null) {
+                    builder.append(color);
+                    i += 2;
+                    continue;
+                }
+            }
+            else if (c == '[' && input.startsWith("[[", i)) {
+                int end = input.indexOf("]]", i + 2);
+                String color = end == -1 ? null : BRACKET_COLOR_CODES.get(input.substring(i + 2, end));
+
+                if (color != null) {
+                    builder.append(color);
+                    i = end + 2;
+                    continue;
+                }
+            }
+
+            builder.append(c);
+            i++;
+        }
+
+        return builder.toString();
     }
 }
@@ -0,0 +1,263 @@
+package com.gmail.nossr50.locale;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A locale string parsed once into colored text and argument slots
+ * <p>
+ * Rendering gives the same result as formatting the string with {@link MessageFormat} and then calling
+ * {@link LocaleLoader#addColors(String)}, but without building a new format or scanning for colors every time. Strings
+ * using anything besides plain {@code {0}} arguments, and arguments that contain color codes themselves, are still
+ * rendered the old way.
+ */
+final class LocaleTemplate {
+    private static final int MAX_ARGUMENT_DIGITS = 4; // MessageFormat rejects argument indexes of 10000 and up
+
+    private static ThreadLocal<NumberFormat> numberFormat = createNumberFormat();
+
+    private final @NotNull String raw;
+    private final @NotNull String colored;
+    // Text around the argument slots, there is always one more literal than slots. Null if MessageFormat is needed
+    private final @Nullable String[] literals;
+    private final @Nullable String[] coloredLiterals;
+    private final int[] slots;
+
+    private LocaleTemplate(@NotNull String raw, @Nullable String[] literals, int[] slots) {
+        this.raw = raw;
+        this.colored = LocaleLoader.addColors(raw);
+        this.literals = literals;
+        this.slots = slots;
+
+        if (literals != null) {
+            coloredLiterals = new String[literals.length];
+
+            for (int i = 0; i < literals.length; i++) {
+                coloredLiterals[i] = LocaleLoader.addColors(literals[i]);
+            }
+        }
+        else {
+            coloredLiterals = null;
+        }
+    }
+
+    static @NotNull LocaleTemplate compile(@NotNull String raw) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int length = raw.length();
+        int i = 0;
+
+        while (i < length) {
+            char c = raw.charAt(i);
+
+            if (c != '{') {
+                // Quotes are escaped before formatting so they are always literal, a lone } is literal as well
+                literal.append(c);
+                i++;
+                continue;
+            }
+
+            int end = raw.indexOf('}', i + 1);
+            int index = end == -1 ? -1 : parseArgumentIndex(raw, i + 1, end);
+
+            if (index == -1 || !canSplitColorsAt(literal)) {
+                return new LocaleTemplate(raw, null, null);
+            }
+
+            literals.add(literal.toString());
+            slots.add(index);
+            literal.setLength(0);
+            i = end + 1;
+        }
+
+        literals.add(literal.toString());
+
+        int[] slotArray = new int[slots.size()];
+        for (int j = 0; j < slotArray.length; j++) {
+            slotArray[j] = slots.get(j);
+        }
+
+        return new LocaleTemplate(raw, literals.toArray(new String[0]), slotArray);
+    }
+
+    /**
+     * @return the argument index between the braces, or -1 if it isn't a plain argument
+     */
+    private static int parseArgumentIndex(@NotNull String raw, int start, int end) {
+        if (start == end || end - start > MAX_ARGUMENT_DIGITS) {
+            return -1;
+        }
+
+        int index = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = raw.charAt(i);
+
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+
+            index = index * 10 + (c - '0');
+        }
+
+        return index;
+    }
+
+    /**
+     * A color code can't be cut in half by an argument, otherwise the colors are no longer the same when they are
+     * added to each part on its own
+     */
+    private static boolean canSplitColorsAt(@NotNull CharSequence literal) {
+        if (literal.length() == 0) {
+            return true;
+        }
+
+        char last = literal.charAt(literal.length() - 1);
+        return last != '&' && last != '[';
+    }
+
+    @NotNull String getRaw() {
+        return raw;
+    }
+
+    /**
+     * Render with colors, like {@link LocaleLoader#formatString(String, Object...)}
+     */
+    @NotNull String render(@Nullable Object[] arguments) {
+        if (arguments == null) {
+            return colored;
+        }
+
+        if (coloredLiterals == null) {
+            return LocaleLoader.addColors(formatWithMessageFormat(arguments));
+        }
+
+        String[] renderedArguments = renderArguments(arguments);
+
+        // Color codes in arguments are translated too, and may mix with the text around them
+        if (renderedArguments == null || containsColorCharacters(renderedArguments)) {
+            return LocaleLoader.addColors(formatWithMessageFormat(arguments));
+        }
+
+        return join(coloredLiterals, renderedArguments);
+    }
+
+    /**
+     * Render without translating colors, the text component path colors the result itself
+     */
+    @NotNull String renderUncolored(@Nullable Object[] arguments) {
+        if (arguments == null) {
+            return raw;
+        }
+
+        if (literals == null) {
+            return formatWithMessageFormat(arguments);
+        }
+
+        String[] renderedArguments = renderArguments(arguments);
+
+        if (renderedArguments == null) {
+            return formatWithMessageFormat(arguments);
+        }
+
+        return join(literals, renderedArguments);
+    }
+
+    private @NotNull String formatWithMessageFormat(@NotNull Object[] arguments) {
+        MessageFormat formatter = new MessageFormat("");
+        formatter.applyPattern(raw.replace("'", "''"));
+        return formatter.format(arguments);
+    }
+
+    /**
+     * Turn every slot into text the way MessageFormat does for an argument without a format
+     *
+     * @return the text of each slot, or null if an argument needs MessageFormat
+     */
+    private @Nullable String[] renderArguments(@NotNull Object[] arguments) {
+        String[] rendered = new String[slots.length];
+
+        for (int i = 0; i < slots.length; i++) {
+            int index = slots[i];
+
+            if (index >= arguments.length) {
+                rendered[i] = "{" + index + "}";
+                continue;
+            }
+
+            Object argument = arguments[index];
+
+            if (argument == null) {
+                rendered[i] = "null";
+            }
+            else if (argument instanceof String string) {
+                rendered[i] = string;
+            }
+            else if (argument instanceof Number number) {
+                rendered[i] = numberFormat.get().format(number);
+            }
+            else if (argument instanceof Date) {
+                return null;
+            }
+            else {
+                rendered[i] = String.valueOf(argument.toString());
+            }
+        }
+
+        return rendered;
+    }
+
+    private static boolean containsColorCharacters(@NotNull String[] renderedArguments) {
+        for (String argument : renderedArguments) {
+            for (int i = 0; i < argument.length(); i++) {
+                char c = argument.charAt(i);
+
+                if (c == '&' || c == '[' || c == ']') {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static @NotNull String join(@NotNull String[] literals, @NotNull String[] renderedArguments) {
+        int length = 0;
+
+        for (String literal : literals) {
+            length += literal.length();
+        }
+
+        for (String argument : renderedArguments) {
+            length += argument.length();
+        }
+
+        StringBuilder builder = new StringBuilder(length);
+
+        for (int i = 0; i < renderedArguments.length; i++) {
+            builder.append(literals[i]).append(renderedArguments[i]);
+        }
+
+        return builder.append(literals[literals.length - 1]).toString();
+    }
+
+    /**
+     * Pick up the current default locale for numbers, called when the locale is reloaded
+     */
+    static void resetNumberFormat() {
+        numberFormat = createNumberFormat();
+    }
+
+    private static @NotNull ThreadLocal<NumberFormat> createNumberFormat() {
+        Locale locale = Locale.getDefault(Locale.Category.FORMAT);
+        return ThreadLocal.withInitial(() -> NumberFormat.getInstance(locale));
+    }
+}
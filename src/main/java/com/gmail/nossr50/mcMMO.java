@@ -15,6 +15,10 @@ import com.gmail.nossr50.config.treasure.FishingTreasureConfig;
 import com.gmail.nossr50.config.treasure.TreasureConfig;
 import com.gmail.nossr50.database.DatabaseManager;
 import com.gmail.nossr50.database.DatabaseManagerFactory;
+import com.gmail.nossr50.database.FlatFileDatabaseManager;
+import com.gmail.nossr50.database.PlayerRankCache;
+import com.gmail.nossr50.database.ProfileSavePipeline;
+import com.gmail.nossr50.database.SQLDatabaseManager;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.subskills.acrobatics.Roll;
 import com.gmail.nossr50.listeners.*;
@@ -24,11 +28,14 @@ import com.gmail.nossr50.placeholders.PapiExpansion;
 import com.gmail.nossr50.runnables.SaveTimerTask;
 import com.gmail.nossr50.runnables.backups.CleanBackupsTask;
 import com.gmail.nossr50.runnables.commands.NotifySquelchReminderTask;
+import com.gmail.nossr50.runnables.database.FlatFileJournalCompactionTask;
+import com.gmail.nossr50.runnables.database.LeaderboardRefreshTask;
 import com.gmail.nossr50.runnables.database.UserPurgeTask;
 import com.gmail.nossr50.runnables.party.PartyAutoKickTask;
 import com.gmail.nossr50.runnables.player.ClearRegisteredXPGainTask;
 import com.gmail.nossr50.runnables.player.PlayerProfileLoadingTask;
 import com.gmail.nossr50.runnables.player.PowerLevelUpdatingTask;
+import com.gmail.nossr50.runnables.player.ProfileSavePipelineTask;
 import com.gmail.nossr50.skills.alchemy.Alchemy;
 import com.gmail.nossr50.skills.child.ChildConfig;
 import com.gmail.nossr50.skills.repair.repairables.Repairable;
@@ -51,6 +58,7 @@ import com.gmail.nossr50.util.scoreboards.ScoreboardManager;
 import com.gmail.nossr50.util.skills.RankUtils;
 import com.gmail.nossr50.util.skills.SkillTools;
 import com.gmail.nossr50.util.skills.SmeltingTracker;
+import com.gmail.nossr50.util.tick.McMMOTickEngine;
 import com.gmail.nossr50.util.upgrade.UpgradeManager;
 import com.gmail.nossr50.worldguard.WorldGuardManager;
 import com.tcoded.folialib.FoliaLib;
@@ -88,6 +96,9 @@ public class mcMMO extends JavaPlugin {
     private static SalvageableManager salvageableManager;
     private static ModManager         modManager;
     private static DatabaseManager    databaseManager;
+    private static ProfileSavePipeline profileSavePipeline;
+    private static PlayerRankCache playerRankCache;
+    private static McMMOTickEngine tickEngine;
     private static FormulaManager     formulaManager;
     private static UpgradeManager     upgradeManager;
     private static MaterialMapStore materialMapStore;
@@ -175,6 +186,7 @@ public class mcMMO extends JavaPlugin {
             //Folia lib plugin instance
             foliaLib = new FoliaLib(this);
             InvalidTickDelayNotifier.disableNotifications = true;
+            tickEngine = new McMMOTickEngine(foliaLib, getLogger());
 
             setupFilePaths();
             generalConfig = new GeneralConfig(getDataFolder()); //Load before skillTools
@@ -232,6 +244,8 @@ public class mcMMO extends JavaPlugin {
             this.purgeTime = 2630000000L * generalConfig.getOldUsersCutoff();
 
             databaseManager = DatabaseManagerFactory.getDatabaseManager(mcMMO.getUsersFilePath(), getLogger(), purgeTime, mcMMO.p.getAdvancedConfig().getStartingLevel());
+            profileSavePipeline = new ProfileSavePipeline(getLogger(), generalConfig.getSaveBatchSize());
+            playerRankCache = new PlayerRankCache(generalConfig.getRankCacheRefreshInterval(), generalConfig.getRankCacheMaxStaleness());
 
             //Check for the newer API and tell them what to do if its missing
             checkForOutdatedAPI();
@@ -375,9 +389,11 @@ public class mcMMO extends JavaPlugin {
 
         try {
             UserManager.saveAll();      // Make sure to save player information if the server shuts down
+            profileSavePipeline.flush(); // Write saves queued for offline players by commands or the API
             UserManager.clearAll();
             Alchemy.finishAllBrews();   // Finish all partially complete AlchemyBrewTasks to prevent vanilla brewing continuation on restart
             PartyManager.saveParties(); // Save our parties
+            modManager.writeDiscoveredEntities(); // Write entity types that are still waiting for the background write
 
             //TODO: Needed?
             if(generalConfig.getScoreboardsEnabled())
@@ -404,6 +420,9 @@ public class mcMMO extends JavaPlugin {
 
         LogUtils.debug(mcMMO.p.getLogger(), "Canceling all tasks...");
         getFoliaLib().getImpl().cancelAllTasks(); // This removes our tasks
+        if (tickEngine != null) {
+            tickEngine.shutdown();
+        }
         LogUtils.debug(mcMMO.p.getLogger(), "Unregister all events...");
         HandlerList.unregisterAll(this); // Cancel event registrations
 
@@ -463,6 +482,33 @@ public class mcMMO extends JavaPlugin {
         return databaseManager;
     }
 
+    /**
+     * Get the queue that writes player profiles to the database in batches
+     *
+     * @return the save pipeline, or null if mcMMO has not finished enabling
+     */
+    public static @Nullable ProfileSavePipeline getProfileSavePipeline() {
+        return profileSavePipeline;
+    }
+
+    /**
+     * Get the engine that drives Rupture, brewing and other short lived tasks
+     *
+     * @return the tick engine, or null if mcMMO has not started enabling
+     */
+    public static McMMOTickEngine getTickEngine() {
+        return tickEngine;
+    }
+
+    /**
+     * Get the cache of leaderboard ranks used by placeholders and the API
+     *
+     * @return the rank cache, or null if mcMMO has not finished enabling
+     */
+    public static @Nullable PlayerRankCache getPlayerRankCache() {
+        return playerRankCache;
+    }
+
     public static ModManager getModManager() {
         return modManager;
     }
@@ -649,6 +695,21 @@ public class mcMMO extends JavaPlugin {
 
         getFoliaLib().getImpl().runTimer(new SaveTimerTask(), saveIntervalTicks, saveIntervalTicks);
 
+        // Write queued profile saves in batches
+        getFoliaLib().getImpl().runTimerAsync(new ProfileSavePipelineTask(profileSavePipeline), second, second);
+
+        // Merge the FlatFile journal back into mcmmo.users
+        if (databaseManager instanceof FlatFileDatabaseManager flatFileDatabaseManager && flatFileDatabaseManager.isJournalEnabled()) {
+            long compactionIntervalTicks = generalConfig.getFlatFileJournalCompactionInterval() * minute;
+            getFoliaLib().getImpl().runTimerAsync(new FlatFileJournalCompactionTask(), compactionIntervalTicks, compactionIntervalTicks);
+        }
+
+        // Load the SQL leaderboards into memory and keep them in sync with other servers sharing the database
+        if (databaseManager instanceof SQLDatabaseManager sqlDatabaseManager && sqlDatabaseManager.isLeaderboardIndexEnabled()) {
+            long leaderboardRefreshTicks = generalConfig.getMySQLLeaderboardRefreshInterval() * minute;
+            getFoliaLib().getImpl().runTimerAsync(new LeaderboardRefreshTask(), second, leaderboardRefreshTicks);
+        }
+
         // Cleanup the backups folder
         getFoliaLib().getImpl().runAsync(new CleanBackupsTask());
 
@@ -672,8 +733,8 @@ public class mcMMO extends JavaPlugin {
             getFoliaLib().getImpl().runTimer(new PartyAutoKickTask(), kickIntervalTicks, kickIntervalTicks);
         }
 
-        // Update power level tag scoreboards
-        getFoliaLib().getImpl().runTimer(new PowerLevelUpdatingTask(), 2 * Misc.TICK_CONVERSION_FACTOR, 2 * Misc.TICK_CONVERSION_FACTOR);
+        // Update power level tag scoreboards, changes are resolved every 2 seconds and sent a few at a time every tick
+        getFoliaLib().getImpl().runTimer(new PowerLevelUpdatingTask(), 2 * Misc.TICK_CONVERSION_FACTOR, 1);
 
         // Clear the registered XP data so players can earn XP again
         if (ExperienceConfig.getInstance().getDiminishedReturnsEnabled()) {
@@ -9,8 +9,8 @@ import com.gmail.nossr50.datatypes.party.ShareMode;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.mcMMO;
-import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.random.McMMORandom;
 import org.bukkit.entity.Item;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
@@ -119,7 +119,7 @@ public final class ShareHandler {
                         }
 
                         int itemShareModifier = mcMMOMember.getItemShareModifier();
-                        int diceRoll = Misc.getRandom().nextInt(itemShareModifier);
+                        int diceRoll = McMMORandom.nextInt(itemShareModifier);
 
                         if (diceRoll <= highestRoll) {
                             mcMMOMember.setItemShareModifier(itemShareModifier + itemWeight);
@@ -145,7 +145,7 @@ public final class ShareHandler {
 
             case RANDOM:
                 for (int i = 0; i < itemStack.getAmount(); i++) {
-                    winningPlayer = nearMembers.get(Misc.getRandom().nextInt(partySize));
+                    winningPlayer = nearMembers.get(McMMORandom.nextInt(partySize));
                     awardDrop(winningPlayer, newStack);
                 }
 
@@ -100,7 +100,7 @@ public class PapiExpansion extends PlaceholderExpansion {
 
     public Integer getRank(PrimarySkillType skill, Player player) {
         try {
-            return ExperienceAPI.getPlayerRankSkill(player.getUniqueId(), StringUtils.getCapitalized(skill.toString()));
+            return ExperienceAPI.getPlayerRankSkillCached(player.getUniqueId(), StringUtils.getCapitalized(skill.toString()));
         } catch (Exception ex) {
             return null;
         }
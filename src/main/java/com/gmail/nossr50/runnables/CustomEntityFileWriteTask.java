@@ -0,0 +1,14 @@
+package com.gmail.nossr50.runnables;
+
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.CancellableRunnable;
+
+/**
+ * Writes the entity types found since the last write to entities.default.yml
+ */
+public class CustomEntityFileWriteTask extends CancellableRunnable {
+    @Override
+    public void run() {
+        mcMMO.getModManager().writeDiscoveredEntities();
+    }
+}
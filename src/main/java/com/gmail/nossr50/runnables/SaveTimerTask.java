@@ -3,7 +3,6 @@ package com.gmail.nossr50.runnables;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.party.PartyManager;
-import com.gmail.nossr50.runnables.player.PlayerProfileSaveTask;
 import com.gmail.nossr50.util.CancellableRunnable;
 import com.gmail.nossr50.util.LogUtils;
 import com.gmail.nossr50.util.player.UserManager;
@@ -12,12 +11,9 @@ public class SaveTimerTask extends CancellableRunnable {
     @Override
     public void run() {
         LogUtils.debug(mcMMO.p.getLogger(), "[User Data] Saving...");
-        // All player data will be saved periodically through this
-        int count = 1;
-
+        // All player data will be saved periodically through this, the save pipeline writes them in batches
         for (McMMOPlayer mcMMOPlayer : UserManager.getPlayers()) {
-            mcMMO.p.getFoliaLib().getImpl().runLaterAsync(new PlayerProfileSaveTask(mcMMOPlayer.getProfile(), false), count);
-            count++;
+            mcMMO.getProfileSavePipeline().enqueue(mcMMOPlayer.getProfile());
         }
 
 
@@ -1,25 +1,34 @@
 package com.gmail.nossr50.runnables.database;
 
 import com.gmail.nossr50.database.DatabaseManager;
+import com.gmail.nossr50.database.UserConversion;
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.CancellableRunnable;
 import org.bukkit.command.CommandSender;
 
+import java.io.File;
+
 public class DatabaseConversionTask extends CancellableRunnable {
     private final DatabaseManager sourceDatabase;
     private final CommandSender sender;
     private final String message;
+    private final String conversionId;
 
     public DatabaseConversionTask(DatabaseManager sourceDatabase, CommandSender sender, String oldType, String newType) {
         this.sourceDatabase = sourceDatabase;
         this.sender = sender;
+        conversionId = "database:" + oldType + ":" + newType;
         message = LocaleLoader.getString("Commands.mcconvert.Database.Finish", oldType, newType);
     }
 
     @Override
     public void run() {
-        sourceDatabase.convertUsers(mcMMO.getDatabaseManager());
+        File checkpointFile = new File(mcMMO.p.getDataFolder(), UserConversion.CHECKPOINT_FILE_NAME);
+
+        new UserConversion(sourceDatabase, mcMMO.getDatabaseManager(), profile -> profile, mcMMO.p.getGeneralConfig().getSaveBatchSize(), mcMMO.p.getLogger())
+                .withCheckpoint(checkpointFile, conversionId)
+                .run();
 
         mcMMO.p.getFoliaLib().getImpl().runNextTick(t -> sender.sendMessage(message));
     }
@@ -0,0 +1,14 @@
+package com.gmail.nossr50.runnables.database;
+
+import com.gmail.nossr50.database.FlatFileDatabaseManager;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.CancellableRunnable;
+
+public class FlatFileJournalCompactionTask extends CancellableRunnable {
+    @Override
+    public void run() {
+        if (mcMMO.getDatabaseManager() instanceof FlatFileDatabaseManager flatFileDatabaseManager) {
+            flatFileDatabaseManager.compactJournal();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.gmail.nossr50.runnables.database;
 
 import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.database.DatabaseManager;
+import com.gmail.nossr50.database.UserConversion;
 import com.gmail.nossr50.datatypes.experience.FormulaType;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.player.PlayerProfile;
@@ -10,14 +11,20 @@ import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.CancellableRunnable;
 import com.gmail.nossr50.util.LogUtils;
-import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.player.UserManager;
 import com.gmail.nossr50.util.skills.SkillTools;
 import org.bukkit.command.CommandSender;
 
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
 public class FormulaConversionTask extends CancellableRunnable {
     private final CommandSender sender;
     private final FormulaType formulaType;
+    // Online players whose live profile was converted, users can be read more than once if a rewrite fails halfway
+    private final Set<String> convertedOnlinePlayers = new HashSet<>();
 
     public FormulaConversionTask(CommandSender sender, FormulaType formulaType) {
         this.sender = sender;
@@ -26,37 +33,40 @@ public class FormulaConversionTask extends CancellableRunnable {
 
     @Override
     public void run() {
-        int convertedUsers = 0;
-        long startMillis = System.currentTimeMillis();
-        for (String playerName : mcMMO.getDatabaseManager().getStoredUsers()) {
-            McMMOPlayer mcMMOPlayer = UserManager.getOfflinePlayer(playerName);
-            PlayerProfile profile;
-
-            // If the mcMMOPlayer doesn't exist, create a temporary profile and check if it's present in the database. If it's not, abort the process.
-            if (mcMMOPlayer == null) {
-                profile = mcMMO.getDatabaseManager().loadPlayerProfile(playerName);
-
-                if (!profile.isLoaded()) {
-                    LogUtils.debug(mcMMO.p.getLogger(), "Profile not loaded.");
-                    continue;
-                }
-
-                editValues(profile);
-                // Since this is a temporary profile, we save it here.
-                profile.scheduleAsyncSave();
-            }
-            else {
-                profile = mcMMOPlayer.getProfile();
-                editValues(profile);
-            }
-            convertedUsers++;
-            Misc.printProgress(convertedUsers, DatabaseManager.progressInterval, startMillis);
-        }
+        DatabaseManager databaseManager = mcMMO.getDatabaseManager();
+        File checkpointFile = new File(mcMMO.p.getDataFolder(), UserConversion.CHECKPOINT_FILE_NAME);
+
+        new UserConversion(databaseManager, databaseManager, this::convert, mcMMO.p.getGeneralConfig().getSaveBatchSize(), mcMMO.p.getLogger())
+                .withCheckpoint(checkpointFile, "experience:" + formulaType)
+                .run();
+
         mcMMO.getFormulaManager().setPreviousFormulaType(formulaType);
 
         sender.sendMessage(LocaleLoader.getString("Commands.mcconvert.Experience.Finish", formulaType.toString()));
     }
 
+    private PlayerProfile convert(PlayerProfile profile) {
+        UUID uuid = profile.getUniqueId();
+        String key = uuid != null ? uuid.toString() : profile.getPlayerName();
+
+        // Already converted and saved from their own profile, even if they have logged off since
+        if (convertedOnlinePlayers.contains(key)) {
+            return null;
+        }
+
+        McMMOPlayer mcMMOPlayer = UserManager.getOfflinePlayer(profile.getPlayerName());
+
+        // Online players are saved from their own profile, so the stored copy is left alone
+        if (mcMMOPlayer != null) {
+            editValues(mcMMOPlayer.getProfile());
+            convertedOnlinePlayers.add(key);
+            return null;
+        }
+
+        editValues(profile);
+        return profile;
+    }
+
     private void editValues(PlayerProfile profile) {
         LogUtils.debug(mcMMO.p.getLogger(), "========================================================================");
         LogUtils.debug(mcMMO.p.getLogger(), "Conversion report for " + profile.getPlayerName() + ":");
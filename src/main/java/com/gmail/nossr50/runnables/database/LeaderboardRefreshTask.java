@@ -0,0 +1,14 @@
+package com.gmail.nossr50.runnables.database;
+
+import com.gmail.nossr50.database.SQLDatabaseManager;
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.CancellableRunnable;
+
+public class LeaderboardRefreshTask extends CancellableRunnable {
+    @Override
+    public void run() {
+        if (mcMMO.getDatabaseManager() instanceof SQLDatabaseManager sqlDatabaseManager) {
+            sqlDatabaseManager.refreshLeaderboards();
+        }
+    }
+}
@@ -42,6 +42,11 @@ public class PlayerProfileLoadingTask extends CancellableRunnable {
             return;
         }
 
+        // Make sure a save queued when they last logged out has been written
+        if (mcMMO.getProfileSavePipeline() != null) {
+            mcMMO.getProfileSavePipeline().awaitPendingSave(player.getUniqueId());
+        }
+
         PlayerProfile profile = mcMMO.getDatabaseManager().loadPlayerProfile(player);
 
         if(!profile.isLoaded()) {
@@ -97,6 +102,7 @@ public class PlayerProfileLoadingTask extends CancellableRunnable {
 
             mcMMOPlayer.setupPartyData();
             UserManager.track(mcMMOPlayer);
+            mcMMOPlayer.refreshPermissionSnapshot();
             mcMMOPlayer.actualizeRespawnATS();
 
             if (mcMMO.p.getGeneralConfig().getScoreboardsEnabled()) {
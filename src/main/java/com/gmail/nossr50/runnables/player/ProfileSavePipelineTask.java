@@ -0,0 +1,18 @@
+package com.gmail.nossr50.runnables.player;
+
+import com.gmail.nossr50.database.ProfileSavePipeline;
+import com.gmail.nossr50.util.CancellableRunnable;
+import org.jetbrains.annotations.NotNull;
+
+public class ProfileSavePipelineTask extends CancellableRunnable {
+    private final @NotNull ProfileSavePipeline profileSavePipeline;
+
+    public ProfileSavePipelineTask(@NotNull ProfileSavePipeline profileSavePipeline) {
+        this.profileSavePipeline = profileSavePipeline;
+    }
+
+    @Override
+    public void run() {
+        profileSavePipeline.flush();
+    }
+}
@@ -11,6 +11,7 @@ import com.gmail.nossr50.util.CancellableRunnable;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.tick.TickCategory;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.BlockState;
@@ -62,7 +63,7 @@ public class AlchemyBrewTask extends CancellableRunnable {
             fuel--;
 
         Alchemy.brewingStandMap.put(location, this);
-        mcMMO.p.getFoliaLib().getImpl().runAtLocationTimer(location, this, 1, 1);
+        mcMMO.getTickEngine().schedule(TickCategory.ALCHEMY_BREWING, location, this, 1, 1);
     }
 
     @Override
@@ -0,0 +1,27 @@
+package com.gmail.nossr50.runnables.skills;
+
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.CancellableRunnable;
+import org.bukkit.entity.LivingEntity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Keeps the chunk a Call of the Wild summon is indexed in up to date, runs on the thread that owns the summon
+ */
+public class SummonChunkIndexTask extends CancellableRunnable {
+    private final @NotNull LivingEntity livingEntity;
+
+    public SummonChunkIndexTask(@NotNull LivingEntity livingEntity) {
+        this.livingEntity = livingEntity;
+    }
+
+    @Override
+    public void run() {
+        if (!livingEntity.isValid() || !mcMMO.getTransientEntityTracker().isTransientSummon(livingEntity)) {
+            this.cancel();
+            return;
+        }
+
+        mcMMO.getTransientEntityTracker().updateSummonLocation(livingEntity, livingEntity.getLocation());
+    }
+}
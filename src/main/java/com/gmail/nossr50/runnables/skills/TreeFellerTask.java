@@ -0,0 +1,36 @@
+package com.gmail.nossr50.runnables.skills;
+
+import com.gmail.nossr50.skills.woodcutting.TreeFellerTree;
+import com.gmail.nossr50.skills.woodcutting.WoodcuttingManager;
+import com.gmail.nossr50.util.CancellableRunnable;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Breaks the rest of a tree a few blocks every tick, so big trees don't all drop in the tick they were cut
+ */
+public class TreeFellerTask extends CancellableRunnable {
+    private final @NotNull WoodcuttingManager woodcuttingManager;
+    private final @NotNull TreeFellerTree tree;
+    private final int blocksPerTick;
+
+    public TreeFellerTask(@NotNull WoodcuttingManager woodcuttingManager, @NotNull TreeFellerTree tree, int blocksPerTick) {
+        this.woodcuttingManager = woodcuttingManager;
+        this.tree = tree;
+        this.blocksPerTick = blocksPerTick;
+    }
+
+    @Override
+    public void run() {
+        // The rest of the tree is left standing, and isn't charged to the axe, if the player is gone
+        if (tree.isFinished() || !woodcuttingManager.getPlayer().isOnline()) {
+            this.cancel();
+            return;
+        }
+
+        woodcuttingManager.dropTreeFellerLootFromBlocks(tree, blocksPerTick);
+
+        if (tree.isFinished()) {
+            this.cancel();
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.gmail.nossr50.skills.alchemy;
 
 import com.gmail.nossr50.config.skills.alchemy.PotionConfig;
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.alchemy.AlchemyPotion;
 import com.gmail.nossr50.datatypes.skills.alchemy.PotionStage;
@@ -84,22 +85,21 @@ public final class AlchemyPotionBrewer {
             return false;
         }
 
-        for (ItemStack ingredient : getValidIngredients(player)) {
-            if (item.isSimilar(ingredient)) {
-                return true;
-            }
+        return PotionConfig.getInstance().isValidIngredient(item, getConcoctionsTier(player));
+    }
+
+    private static int getConcoctionsTier(Player player) {
+        if (player == null) {
+            return 1;
         }
 
-        return false;
-    }
+        McMMOPlayer mcMMOPlayer = UserManager.getPlayer(player);
 
-    private static List<ItemStack> getValidIngredients(Player player) {
-        if(player == null || UserManager.getPlayer(player) == null)
-        {
-            return PotionConfig.getInstance().getIngredients(1);
+        if (mcMMOPlayer == null || !Permissions.isSubSkillEnabled(player, SubSkillType.ALCHEMY_CONCOCTIONS)) {
+            return 1;
         }
 
-        return PotionConfig.getInstance().getIngredients(!Permissions.isSubSkillEnabled(player, SubSkillType.ALCHEMY_CONCOCTIONS) ? 1 : UserManager.getPlayer(player).getAlchemyManager().getTier());
+        return mcMMOPlayer.getAlchemyManager().getTier();
     }
 
     public static void finishBrewing(BlockState brewingStand, Player player, boolean forced) {
@@ -7,9 +7,9 @@ import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.MetadataConstants;
-import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.NotificationManager;
+import com.gmail.nossr50.util.random.McMMORandom;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.skills.RankUtils;
 import com.gmail.nossr50.util.skills.SkillActivationType;
@@ -94,7 +94,7 @@ public class ArcheryManager extends SkillManager {
         }
 
         Location dazedLocation = defender.getLocation();
-        dazedLocation.setPitch(90 - Misc.getRandom().nextInt(181));
+        dazedLocation.setPitch(90 - McMMORandom.nextInt(181));
 
 //        defender.teleport(dazedLocation);
         mcMMO.p.getFoliaLib().getImpl().teleportAsync(defender, dazedLocation);
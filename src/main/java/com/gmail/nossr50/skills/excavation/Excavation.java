@@ -3,10 +3,12 @@ package com.gmail.nossr50.skills.excavation;
 import com.gmail.nossr50.config.experience.ExperienceConfig;
 import com.gmail.nossr50.config.treasure.TreasureConfig;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
+import com.gmail.nossr50.datatypes.treasure.ExcavationLootTable;
 import com.gmail.nossr50.datatypes.treasure.ExcavationTreasure;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.block.BlockState;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -25,6 +27,16 @@ public class Excavation {
         return new ArrayList<>();
     }
 
+    /**
+     * Get the compiled {@link ExcavationLootTable} of a given block.
+     *
+     * @param blockState The {@link BlockState} of the block to check.
+     * @return the treasures that could be found, or null if the block has none
+     */
+    protected static @Nullable ExcavationLootTable getLootTable(BlockState blockState) {
+        return TreasureConfig.getInstance().getExcavationLootTable(StringUtils.getFriendlyConfigBlockDataString(blockState.getBlockData()));
+    }
+
     protected static int getBlockXP(BlockState blockState) {
         int xp = ExperienceConfig.getInstance().getXp(PrimarySkillType.EXCAVATION, blockState.getType());
 
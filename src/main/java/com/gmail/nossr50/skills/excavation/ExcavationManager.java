@@ -5,9 +5,11 @@ import com.gmail.nossr50.datatypes.experience.XPGainReason;
 import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
+import com.gmail.nossr50.datatypes.treasure.ExcavationLootTable;
 import com.gmail.nossr50.datatypes.treasure.ExcavationTreasure;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.skills.SkillManager;
+import com.gmail.nossr50.util.ItemDropBatch;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
@@ -33,15 +35,17 @@ public class ExcavationManager extends SkillManager {
         int xp = Excavation.getBlockXP(blockState);
 
         if (Permissions.isSubSkillEnabled(getPlayer(), SubSkillType.EXCAVATION_ARCHAEOLOGY)) {
-            List<ExcavationTreasure> treasures = Excavation.getTreasures(blockState);
+            ExcavationLootTable lootTable = Excavation.getLootTable(blockState);
+            ExcavationLootTable.Bracket treasures = lootTable == null ? null : lootTable.getBracket(getSkillLevel());
 
-            if (!treasures.isEmpty()) {
-                int skillLevel = getSkillLevel();
+            if (treasures != null) {
+                boolean lucky = Permissions.lucky(getPlayer(), PrimarySkillType.EXCAVATION);
                 Location location = Misc.getBlockCenter(blockState);
+                ItemDropBatch dropBatch = new ItemDropBatch(getPlayer());
 
-                for (ExcavationTreasure treasure : treasures) {
-                    if (skillLevel >= treasure.getDropLevel()
-                            && RandomChanceUtil.checkRandomChanceExecutionSuccess(getPlayer(), PrimarySkillType.EXCAVATION, treasure.getDropChance())) {
+                for (int i = 0; i < treasures.size(); i++) {
+                    if (treasures.roll(i, lucky)) {
+                        ExcavationTreasure treasure = treasures.getTreasure(i);
 
                         //Spawn Vanilla XP orbs if a dice roll succeeds
                         if(RandomChanceUtil.rollDice(getArchaelogyExperienceOrbChance(), 100)) {
@@ -49,9 +53,11 @@ public class ExcavationManager extends SkillManager {
                         }
 
                         xp += treasure.getXp();
-                        Misc.spawnItem(getPlayer(), location, treasure.getDrop(), ItemSpawnReason.EXCAVATION_TREASURE);
+                        dropBatch.add(location, treasure.getDrop(), ItemSpawnReason.EXCAVATION_TREASURE);
                     }
                 }
+
+                dropBatch.spawn();
             }
         }
 
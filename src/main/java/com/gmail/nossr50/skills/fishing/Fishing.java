@@ -2,8 +2,8 @@ package com.gmail.nossr50.skills.fishing;
 
 import com.gmail.nossr50.config.treasure.FishingTreasureConfig;
 import com.gmail.nossr50.datatypes.treasure.ShakeTreasure;
-import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.adapter.BiomeAdapter;
+import com.gmail.nossr50.util.random.McMMORandom;
 import org.bukkit.Material;
 import org.bukkit.block.Biome;
 import org.bukkit.enchantments.Enchantment;
@@ -45,7 +45,7 @@ public final class Fishing {
      * @return Chosen ItemStack
      */
     protected static ItemStack chooseDrop(List<ShakeTreasure> possibleDrops) {
-        int dropProbability = Misc.getRandom().nextInt(100);
+        int dropProbability = McMMORandom.nextInt(100);
         double cumulatedProbability = 0;
 
         for (ShakeTreasure treasure : possibleDrops) {
@@ -18,6 +18,7 @@ import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.*;
 import com.gmail.nossr50.util.compat.layers.skills.MasterAnglerCompatibilityLayer;
 import com.gmail.nossr50.util.player.NotificationManager;
+import com.gmail.nossr50.util.random.McMMORandom;
 import com.gmail.nossr50.util.random.RandomChanceSkillStatic;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.skills.CombatUtils;
@@ -392,12 +393,7 @@ public class FishingManager extends SkillManager {
         }
 
         if (treasure != null) {
-            if(treasure instanceof FishingTreasureBook) {
-                treasureDrop = ItemUtils.createEnchantBook((FishingTreasureBook) treasure);
-            } else {
-                treasureDrop = treasure.getDrop().clone(); // Not cloning is bad, m'kay?
-
-            }
+            treasureDrop = createTreasureDrop(treasure);
             Map<Enchantment, Integer> enchants = new HashMap<>();
             McMMOPlayerFishingTreasureEvent event;
 
@@ -509,7 +505,7 @@ public class FishingManager extends SkillManager {
                             if (FishingTreasureConfig.getInstance().getInventoryStealEnabled()) {
                                 PlayerInventory inventory = targetPlayer.getInventory();
                                 int length = inventory.getContents().length;
-                                int slot = Misc.getRandom().nextInt(length);
+                                int slot = McMMORandom.nextInt(length);
                                 drop = inventory.getItem(slot);
 
                                 if (drop == null) {
@@ -567,7 +563,6 @@ public class FishingManager extends SkillManager {
      * @return The {@link FishingTreasure} found, or null if no treasure was found.
      */
     private @Nullable FishingTreasure getFishingTreasure() {
-        double diceRoll = Misc.getRandom().nextDouble() * 100;
         int luck;
 
         if (getPlayer().getInventory().getItemInMainHand().getType() == Material.FISHING_ROD) {
@@ -578,48 +573,33 @@ public class FishingManager extends SkillManager {
             luck = getPlayer().getInventory().getItemInOffHand().getEnchantmentLevel(Enchantment.LUCK);
         }
 
-        // Rather than subtracting luck (and causing a minimum 3% chance for every drop), scale by luck.
-        diceRoll *= (1.0 - luck * mcMMO.p.getGeneralConfig().getFishingLureModifier() / 100);
-
-        FishingTreasure treasure = null;
-
-        for (Rarity rarity : Rarity.values()) {
-            double dropRate = FishingTreasureConfig.getInstance().getItemDropRate(getLootTier(), rarity);
-
-            if (diceRoll <= dropRate) {
-
-                List<FishingTreasure> fishingTreasures = FishingTreasureConfig.getInstance().fishingRewards.get(rarity);
-
-                if (fishingTreasures.isEmpty()) {
-                    return null;
-                }
-
-                treasure = fishingTreasures.get(Misc.getRandom().nextInt(fishingTreasures.size()));
-                break;
-            }
-
-            diceRoll -= dropRate;
-        }
+        return FishingTreasureConfig.getInstance().getLootTable().sampleTreasure(getLootTier(), luck);
+    }
 
-        if (treasure == null) {
-            return null;
+    /**
+     * Create the item for a fishing treasure, the treasure itself is shared and never changed
+     *
+     * @param treasure the {@link FishingTreasure} that was found
+     * @return a new {@link ItemStack} for the treasure
+     */
+    private @NotNull ItemStack createTreasureDrop(@NotNull FishingTreasure treasure) {
+        if (treasure instanceof FishingTreasureBook) {
+            return ItemUtils.createEnchantBook((FishingTreasureBook) treasure);
         }
 
-        ItemStack treasureDrop = treasure.getDrop().clone();
+        ItemStack treasureDrop = treasure.getDrop().clone(); // Not cloning is bad, m'kay?
         short maxDurability = treasureDrop.getType().getMaxDurability();
 
         if (maxDurability > 0) {
-            treasureDrop.setDurability((short) (Misc.getRandom().nextInt(maxDurability)));
+            treasureDrop.setDurability((short) (McMMORandom.nextInt(maxDurability)));
         }
 
         //TODO: Add option to randomize the amount rewarded
         /*if (treasureDrop.getAmount() > 1) {
-            treasureDrop.setAmount(Misc.getRandom().nextInt(treasureDrop.getAmount()) + 1);
+            treasureDrop.setAmount(McMMORandom.nextInt(treasureDrop.getAmount()) + 1);
         }*/
 
-        treasure.setDrop(treasureDrop);
-
-        return treasure;
+        return treasureDrop;
     }
 
     /**
@@ -629,54 +609,35 @@ public class FishingManager extends SkillManager {
      */
     private Map<Enchantment, Integer> processMagicHunter(@NotNull ItemStack treasureDrop) {
         Map<Enchantment, Integer> enchants = new HashMap<>();
-        List<EnchantmentTreasure> fishingEnchantments = null;
-
-        double diceRoll = Misc.getRandom().nextDouble() * 100;
-
-        for (Rarity rarity : Rarity.values()) {
-
-            double dropRate = FishingTreasureConfig.getInstance().getEnchantmentDropRate(getLootTier(), rarity);
-
-            if (diceRoll <= dropRate) {
-                // Make sure enchanted books always get some kind of enchantment.  --hoorigan
-                if (treasureDrop.getType() == Material.ENCHANTED_BOOK) {
-                    diceRoll = dropRate + 1;
-                    continue;
-                }
 
-                fishingEnchantments = FishingTreasureConfig.getInstance().fishingEnchantments.get(rarity);
-                break;
-            }
-
-            diceRoll -= dropRate;
-        }
-
-        if (fishingEnchantments == null) {
+        // The rarity roll used to skip every rarity it landed on for enchanted books, so they never got enchantments here
+        if (treasureDrop.getType() == Material.ENCHANTED_BOOK) {
             return enchants;
         }
 
-        List<Enchantment> validEnchantments = getPossibleEnchantments(treasureDrop);
-        List<EnchantmentTreasure> possibleEnchants = new ArrayList<>();
+        FishingLootTable lootTable = FishingTreasureConfig.getInstance().getLootTable();
+        Rarity rarity = lootTable.sampleEnchantmentRarity(getLootTier());
 
-        for (EnchantmentTreasure enchantmentTreasure : fishingEnchantments) {
-            if (validEnchantments.contains(enchantmentTreasure.getEnchantment())) {
-                possibleEnchants.add(enchantmentTreasure);
-            }
+        if (rarity == null) {
+            return enchants;
         }
 
-        if (possibleEnchants.isEmpty()) {
+        EnchantmentTreasure[] fishingEnchantments = lootTable.getEnchantments(rarity, treasureDrop.getType(), FishingManager::getPossibleEnchantments);
+
+        if (fishingEnchantments.length == 0) {
             return enchants;
         }
 
         // This make sure that the order isn't always the same, for example previously Unbreaking had a lot more chance to be used than any other enchant
-        Collections.shuffle(possibleEnchants, Misc.getRandom());
+        List<EnchantmentTreasure> possibleEnchants = Arrays.asList(fishingEnchantments.clone());
+        McMMORandom.shuffle(possibleEnchants);
 
         int specificChance = 1;
 
         for (EnchantmentTreasure enchantmentTreasure : possibleEnchants) {
             Enchantment possibleEnchantment = enchantmentTreasure.getEnchantment();
 
-            if (treasureDrop.getItemMeta().hasConflictingEnchant(possibleEnchantment) || Misc.getRandom().nextInt(specificChance) != 0) {
+            if (treasureDrop.getItemMeta().hasConflictingEnchant(possibleEnchantment) || McMMORandom.nextInt(specificChance) != 0) {
                 continue;
             }
 
@@ -688,14 +649,13 @@ public class FishingManager extends SkillManager {
         return enchants;
     }
 
-    private List<Enchantment> getPossibleEnchantments(ItemStack treasureDrop) {
-        Material dropType = treasureDrop.getType();
-
+    private static List<Enchantment> getPossibleEnchantments(Material dropType) {
         if (Fishing.ENCHANTABLE_CACHE.containsKey(dropType)) {
             return Fishing.ENCHANTABLE_CACHE.get(dropType);
         }
 
         List<Enchantment> possibleEnchantments = new ArrayList<>();
+        ItemStack treasureDrop = new ItemStack(dropType);
 
         for (Enchantment enchantment : Enchantment.values()) {
             if (enchantment.canEnchantItem(treasureDrop)) {
@@ -13,6 +13,7 @@ import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
 import com.gmail.nossr50.datatypes.skills.ToolType;
+import com.gmail.nossr50.datatypes.treasure.HylianLootTable;
 import com.gmail.nossr50.datatypes.treasure.HylianTreasure;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.runnables.skills.DelayedCropReplant;
@@ -20,7 +21,6 @@ import com.gmail.nossr50.runnables.skills.DelayedHerbalismXPCheckTask;
 import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.*;
 import com.gmail.nossr50.util.player.NotificationManager;
-import com.gmail.nossr50.util.random.RandomChanceSkillStatic;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.skills.RankUtils;
 import com.gmail.nossr50.util.skills.SkillActivationType;
@@ -28,7 +28,6 @@ import com.gmail.nossr50.util.skills.SkillUtils;
 import com.gmail.nossr50.util.sounds.SoundManager;
 import com.gmail.nossr50.util.sounds.SoundType;
 import com.gmail.nossr50.util.text.StringUtils;
-import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
@@ -670,31 +669,27 @@ public class HerbalismManager extends SkillManager {
         }
 
         String friendly = StringUtils.getFriendlyConfigBlockDataString(blockState.getBlockData());
-        if (!TreasureConfig.getInstance().hylianMap.containsKey(friendly))
+        HylianLootTable lootTable = TreasureConfig.getInstance().getHylianLootTable(friendly);
+
+        if (lootTable == null) {
             return false;
-        List<HylianTreasure> treasures = TreasureConfig.getInstance().hylianMap.get(friendly);
+        }
 
         Player player = getPlayer();
+        HylianTreasure treasure = lootTable.sample(getSkillLevel(), Permissions.lucky(player, PrimarySkillType.HERBALISM));
 
-        if (treasures.isEmpty()) {
+        if (treasure == null) {
             return false;
         }
-        int skillLevel = getSkillLevel();
-        Location location = Misc.getBlockCenter(blockState);
 
-        for (HylianTreasure treasure : treasures) {
-            if (skillLevel >= treasure.getDropLevel()
-                    && RandomChanceUtil.checkRandomChanceExecutionSuccess(new RandomChanceSkillStatic(treasure.getDropChance(), getPlayer(), SubSkillType.HERBALISM_HYLIAN_LUCK))) {
-                if (!EventUtils.simulateBlockBreak(blockState.getBlock(), player)) {
-                    return false;
-                }
-                blockState.setType(Material.AIR);
-                Misc.spawnItem(getPlayer(), location, treasure.getDrop(), ItemSpawnReason.HYLIAN_LUCK_TREASURE);
-                NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE, "Herbalism.HylianLuck");
-                return true;
-            }
+        if (!EventUtils.simulateBlockBreak(blockState.getBlock(), player)) {
+            return false;
         }
-        return false;
+
+        blockState.setType(Material.AIR);
+        Misc.spawnItem(getPlayer(), Misc.getBlockCenter(blockState), treasure.getDrop(), ItemSpawnReason.HYLIAN_LUCK_TREASURE);
+        NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE, "Herbalism.HylianLuck");
+        return true;
     }
 
     /**
@@ -13,10 +13,11 @@ import com.gmail.nossr50.runnables.skills.AbilityCooldownTask;
 import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.*;
 import com.gmail.nossr50.util.player.NotificationManager;
+import com.gmail.nossr50.util.random.McMMORandom;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.skills.RankUtils;
 import com.gmail.nossr50.util.skills.SkillUtils;
-import org.apache.commons.lang.math.RandomUtils;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockState;
@@ -168,14 +169,17 @@ public class MiningManager extends SkillManager {
         float debrisReduction = (float) (getDebrisReduction() / 100);
         int dropMultiplier = getDropMultiplier();
         float debrisYield = yield - debrisReduction;
+        // Everything is dropped from the center of the explosion so identical drops end up in the same stacks
+        Location dropLocation = event.getLocation();
+        ItemDropBatch dropBatch = new ItemDropBatch(getPlayer());
 
         //Drop "debris" based on skill modifiers
         for(BlockState blockState : notOres) {
             if(isDropIllegal(blockState.getType()))
                 continue;
 
-            if(RandomUtils.nextFloat() < debrisYield) {
-                Misc.spawnItem(getPlayer(), Misc.getBlockCenter(blockState), new ItemStack(blockState.getType()), ItemSpawnReason.BLAST_MINING_DEBRIS_NON_ORES); // Initial block that would have been dropped
+            if(McMMORandom.nextFloat() < debrisYield) {
+                dropBatch.add(dropLocation, new ItemStack(blockState.getType()), ItemSpawnReason.BLAST_MINING_DEBRIS_NON_ORES); // Initial block that would have been dropped
             }
         }
 
@@ -183,20 +187,19 @@ public class MiningManager extends SkillManager {
             if(isDropIllegal(blockState.getType()))
                 continue;
 
-            if (RandomUtils.nextFloat() < (yield + oreBonus)) {
+            if (McMMORandom.nextFloat() < (yield + oreBonus)) {
                 xp += Mining.getBlockXp(blockState);
 
-                Misc.spawnItem(getPlayer(), Misc.getBlockCenter(blockState), new ItemStack(blockState.getType()), ItemSpawnReason.BLAST_MINING_ORES); // Initial block that would have been dropped
+                dropBatch.add(dropLocation, new ItemStack(blockState.getType()), ItemSpawnReason.BLAST_MINING_ORES); // Initial block that would have been dropped
 
                 if (mcMMO.p.getAdvancedConfig().isBlastMiningBonusDropsEnabled() && !mcMMO.getPlaceStore().isTrue(blockState)) {
-                    for (int i = 1; i < dropMultiplier; i++) {
-//                        Bukkit.broadcastMessage("Bonus Drop on Ore: "+blockState.getType().toString());
-                        Misc.spawnItem(getPlayer(), Misc.getBlockCenter(blockState), new ItemStack(blockState.getType()), ItemSpawnReason.BLAST_MINING_ORES_BONUS_DROP); // Initial block that would have been dropped
-                    }
+                    dropBatch.add(dropLocation, new ItemStack(blockState.getType()), dropMultiplier - 1, ItemSpawnReason.BLAST_MINING_ORES_BONUS_DROP);
                 }
             }
         }
 
+        dropBatch.spawn();
+
         //Replace the event blocklist with the newYield list
         event.setYield(0F);
 //        event.blockList().clear();
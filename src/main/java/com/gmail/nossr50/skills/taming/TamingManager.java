@@ -15,6 +15,7 @@ import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.Permissions;
 import com.gmail.nossr50.util.player.NotificationManager;
+import com.gmail.nossr50.util.random.McMMORandom;
 import com.gmail.nossr50.util.random.RandomChanceSkillStatic;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.skills.ParticleEffectUtils;
@@ -425,11 +426,11 @@ public class TamingManager extends SkillManager {
         //Randomize the cat
         if(callOfWildEntity instanceof Ocelot) {
             int numberOfTypes = Ocelot.Type.values().length;
-            ((Ocelot) callOfWildEntity).setCatType(Ocelot.Type.values()[Misc.getRandom().nextInt(numberOfTypes)]);
+            ((Ocelot) callOfWildEntity).setCatType(Ocelot.Type.values()[McMMORandom.nextInt(numberOfTypes)]);
             ((Ocelot) callOfWildEntity).setAdult();
         } else if(callOfWildEntity instanceof Cat) {
             int numberOfTypes = Cat.Type.values().length;
-            ((Cat) callOfWildEntity).setCatType(Cat.Type.values()[Misc.getRandom().nextInt(numberOfTypes)]);
+            ((Cat) callOfWildEntity).setCatType(Cat.Type.values()[McMMORandom.nextInt(numberOfTypes)]);
             ((Cat) callOfWildEntity).setAdult();
         }
 
@@ -450,11 +451,11 @@ public class TamingManager extends SkillManager {
         //Randomize Horse
         Horse horse = (Horse) callOfWildEntity;
 
-        callOfWildEntity.setMaxHealth(15.0 + (Misc.getRandom().nextDouble() * 15));
+        callOfWildEntity.setMaxHealth(15.0 + (McMMORandom.nextDouble() * 15));
         callOfWildEntity.setHealth(callOfWildEntity.getMaxHealth());
-        horse.setColor(Horse.Color.values()[Misc.getRandom().nextInt(Horse.Color.values().length)]);
-        horse.setStyle(Horse.Style.values()[Misc.getRandom().nextInt(Horse.Style.values().length)]);
-        horse.setJumpStrength(Math.max(mcMMO.p.getAdvancedConfig().getMinHorseJumpStrength(), Math.min(Math.min(Misc.getRandom().nextDouble(), Misc.getRandom().nextDouble()) * 2, mcMMO.p.getAdvancedConfig().getMaxHorseJumpStrength())));
+        horse.setColor(Horse.Color.values()[McMMORandom.nextInt(Horse.Color.values().length)]);
+        horse.setStyle(Horse.Style.values()[McMMORandom.nextInt(Horse.Style.values().length)]);
+        horse.setJumpStrength(Math.max(mcMMO.p.getAdvancedConfig().getMinHorseJumpStrength(), Math.min(Math.min(McMMORandom.nextDouble(), McMMORandom.nextDouble()) * 2, mcMMO.p.getAdvancedConfig().getMaxHorseJumpStrength())));
         horse.setAdult();
 
         //TODO: setSpeed, once available
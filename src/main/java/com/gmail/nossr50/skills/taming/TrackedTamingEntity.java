@@ -2,8 +2,10 @@ package com.gmail.nossr50.skills.taming;
 
 import com.gmail.nossr50.datatypes.skills.subskills.taming.CallOfTheWildType;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.runnables.skills.SummonChunkIndexTask;
 import com.gmail.nossr50.util.CancellableRunnable;
 import com.gmail.nossr50.util.Misc;
+import com.gmail.nossr50.util.tick.TickCategory;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -24,6 +26,9 @@ public class TrackedTamingEntity extends CancellableRunnable {
             int length = tamingCOTWLength * Misc.TICK_CONVERSION_FACTOR;
             mcMMO.p.getFoliaLib().getImpl().runAtEntityLater(livingEntity, this, length);
         }
+
+        // Keep track of the chunks the summon walks into
+        mcMMO.getTickEngine().schedule(TickCategory.SUMMON_CHUNK_INDEX, livingEntity, new SummonChunkIndexTask(livingEntity), Misc.TICK_CONVERSION_FACTOR, Misc.TICK_CONVERSION_FACTOR);
     }
 
     @Override
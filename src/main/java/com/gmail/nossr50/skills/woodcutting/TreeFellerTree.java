@@ -0,0 +1,345 @@
+package com.gmail.nossr50.skills.woodcutting;
+
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.BlockUtils;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * The blocks Tree Feller is going to break, in the order they were found, and how far the felling has gotten
+ * <p>
+ * Blocks are kept as packed coordinates together with the type they had when they were found. The search only reads
+ * block types, nothing is snapshotted until a block is actually broken. The tool the tree was cut with is kept as well, so
+ * every part of the tree drops the same thing no matter what the player holds by the time it is felled.
+ */
+public final class TreeFellerTree {
+    /**
+     * The x/z differences to the blocks in a flat cylinder around the center
+     * block, which is excluded.
+     */
+    private static final int[][] directions = {
+            new int[] {-2, -1}, new int[] {-2, 0}, new int[] {-2, 1},
+            new int[] {-1, -2}, new int[] {-1, -1}, new int[] {-1, 0}, new int[] {-1, 1}, new int[] {-1, 2},
+            new int[] { 0, -2}, new int[] { 0, -1},                    new int[] { 0, 1}, new int[] { 0, 2},
+            new int[] { 1, -2}, new int[] { 1, -1}, new int[] { 1, 0}, new int[] { 1, 1}, new int[] { 1, 2},
+            new int[] { 2, -1}, new int[] { 2, 0}, new int[] { 2, 1},
+    };
+
+    private final @NotNull World world;
+    private final @NotNull Location origin;
+    private final @NotNull ItemStack tool;
+    private final BitSet logs = new BitSet();
+    private long[] blocks = new long[64];
+    private Material[] types = new Material[64];
+    private int size;
+    private int logCount;
+    private boolean reachedThreshold;
+
+    private int nextIndex;
+    private int processedLogCount;
+
+    private TreeFellerTree(@NotNull Block origin, @NotNull ItemStack tool) {
+        this.world = origin.getWorld();
+        this.origin = origin.getLocation();
+        this.tool = tool;
+    }
+
+    /**
+     * Find the tree around a log
+     *
+     * @param origin the log the player broke, it is not part of the tree since the player breaks it
+     * @param threshold how many blocks the tree may have
+     * @param tool the tool the tree is cut with, must not be modified afterwards
+     * @return the tree
+     */
+    /*
+     * Algorithm: Starting from the origin, logs are taken off a queue one at
+     * a time and the blocks around them are checked, the directions array
+     * describes a cylinder with a radius of about 2 - the (0,0) center and all
+     * (+-2, +-2) corners are omitted.
+     *
+     *  [A] There is a new log above this log (TRUNK)
+     *    Only the flat cylinder in the directions array is searched.
+     *  [B] There is no new log above this log (BRANCH AND TOP)
+     *    The cylinder in the directions array is extended up and down by 1
+     *    block in the Y-axis, and the block below this log is checked as
+     *    well.
+     *
+     * Every position is only checked once, whether or not it turned out to be
+     * part of the tree.
+     */
+    public static @NotNull TreeFellerTree search(@NotNull Block origin, int threshold, @NotNull ItemStack tool) {
+        TreeFellerTree tree = new TreeFellerTree(origin, tool);
+        World world = tree.world;
+        VisitedPositions visited = new VisitedPositions();
+        long[] queue = new long[64];
+        int head = 0;
+        int tail = 0;
+
+        long originPosition = pack(origin.getX(), origin.getY(), origin.getZ());
+        visited.add(originPosition);
+        queue[tail++] = originPosition;
+
+        while (head < tail && !tree.reachedThreshold) {
+            long center = queue[head++];
+            int x = unpackX(center);
+            int y = unpackY(center);
+            int z = unpackZ(center);
+            int found = tail;
+
+            // Check the block up and take different behavior (smaller search) if it's a log
+            tail = tree.check(world, visited, x, y + 1, z, queue, tail, threshold);
+
+            if (tail != found) {
+                for (int[] dir : directions) {
+                    tail = tree.check(world, visited, x + dir[0], y, z + dir[1], queue, tail, threshold);
+                }
+            }
+            else {
+                // Cover DOWN
+                tail = tree.check(world, visited, x, y - 1, z, queue, tail, threshold);
+                // Search in a cube
+                for (int dy = -1; dy <= 1; dy++) {
+                    for (int[] dir : directions) {
+                        tail = tree.check(world, visited, x + dir[0], y + dy, z + dir[1], queue, tail, threshold);
+                    }
+                }
+            }
+
+            if (queue.length - tail < 64) {
+                queue = Arrays.copyOf(queue, queue.length * 2);
+            }
+        }
+
+        return tree;
+    }
+
+    /**
+     * Check a position and add it to the tree if it is part of it, logs are queued to be searched around as well
+     *
+     * @return the new end of the queue
+     */
+    private int check(@NotNull World world, @NotNull VisitedPositions visited, int x, int y, int z, long[] queue, int tail, int threshold) {
+        if (reachedThreshold || y < world.getMinHeight() || y >= world.getMaxHeight()) {
+            return tail;
+        }
+
+        long position = pack(x, y, z);
+
+        if (!visited.add(position)) {
+            return tail;
+        }
+
+        Block block = world.getBlockAt(x, y, z);
+        Material type = block.getType();
+        boolean log = BlockUtils.hasWoodcuttingXP(block, type);
+
+        if (!log && !BlockUtils.isNonWoodPartOfTree(type)) {
+            return tail;
+        }
+
+        if (mcMMO.getPlaceStore().isTrue(block)) {
+            return tail;
+        }
+
+        add(position, type);
+
+        if (log) {
+            logs.set(size - 1);
+            logCount++;
+            queue[tail++] = position;
+        }
+
+        // Without this check Tree Feller propagates through leaves until the threshold is hit
+        if (size > threshold) {
+            reachedThreshold = true;
+        }
+
+        return tail;
+    }
+
+    private void add(long position, @NotNull Material type) {
+        if (size == blocks.length) {
+            blocks = Arrays.copyOf(blocks, size * 2);
+            types = Arrays.copyOf(types, size * 2);
+        }
+
+        blocks[size] = position;
+        types[size] = type;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return how many of the blocks are logs
+     */
+    public int getLogCount() {
+        return logCount;
+    }
+
+    /**
+     * @return how many of the blocks from index from (inclusive) to index to (exclusive) are logs
+     */
+    public int getLogCount(int from, int to) {
+        int count = 0;
+
+        for (int i = logs.nextSetBit(from); i >= 0 && i < to; i = logs.nextSetBit(i + 1)) {
+            count++;
+        }
+
+        return count;
+    }
+
+    public boolean hasReachedThreshold() {
+        return reachedThreshold;
+    }
+
+    public @NotNull World getWorld() {
+        return world;
+    }
+
+    public @NotNull Location getOrigin() {
+        return origin.clone();
+    }
+
+    /**
+     * @return the tool the tree was cut with, it must not be modified
+     */
+    public @NotNull ItemStack getTool() {
+        return tool;
+    }
+
+    public @NotNull Block getBlock(int index) {
+        long position = blocks[index];
+        return world.getBlockAt(unpackX(position), unpackY(position), unpackZ(position));
+    }
+
+    /**
+     * @return the type the block had when the tree was searched
+     */
+    public @NotNull Material getType(int index) {
+        return types[index];
+    }
+
+    /**
+     * @return the index of the next block to break
+     */
+    int getNextIndex() {
+        return nextIndex;
+    }
+
+    void setNextIndex(int nextIndex) {
+        this.nextIndex = nextIndex;
+    }
+
+    /**
+     * @return how many logs have given out XP for this tree so far
+     */
+    int getProcessedLogCount() {
+        return processedLogCount;
+    }
+
+    void setProcessedLogCount(int processedLogCount) {
+        this.processedLogCount = processedLogCount;
+    }
+
+    public boolean isFinished() {
+        return nextIndex >= size;
+    }
+
+    /*
+     * Coordinates are packed as 26 bits of x, 26 bits of z and 12 bits of y,
+     * which covers the whole world border and every build height.
+     */
+    static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    static int unpackX(long position) {
+        return (int) (position >> 38);
+    }
+
+    static int unpackY(long position) {
+        return (int) (position << 52 >> 52);
+    }
+
+    static int unpackZ(long position) {
+        return (int) (position << 26 >> 38);
+    }
+
+    /**
+     * Open addressing set of packed positions
+     */
+    private static final class VisitedPositions {
+        // x of -2^25 is outside of the world border, so no position packs to this
+        private static final long EMPTY = Long.MIN_VALUE;
+
+        private long[] table = new long[512];
+        private int size;
+
+        VisitedPositions() {
+            Arrays.fill(table, EMPTY);
+        }
+
+        /**
+         * @return true if the position wasn't in the set yet
+         */
+        boolean add(long position) {
+            int mask = table.length - 1;
+            int slot = hash(position) & mask;
+
+            while (table[slot] != EMPTY) {
+                if (table[slot] == position) {
+                    return false;
+                }
+
+                slot = (slot + 1) & mask;
+            }
+
+            table[slot] = position;
+
+            // Keep the table at most half full
+            if (++size * 2 > table.length) {
+                grow();
+            }
+
+            return true;
+        }
+
+        private void grow() {
+            long[] old = table;
+            table = new long[old.length * 2];
+            Arrays.fill(table, EMPTY);
+            int mask = table.length - 1;
+
+            for (long position : old) {
+                if (position != EMPTY) {
+                    int slot = hash(position) & mask;
+
+                    while (table[slot] != EMPTY) {
+                        slot = (slot + 1) & mask;
+                    }
+
+                    table[slot] = position;
+                }
+            }
+        }
+
+        private static int hash(long position) {
+            position ^= position >>> 33;
+            position *= 0xff51afd7ed558ccdL;
+            position ^= position >>> 33;
+            return (int) position;
+        }
+    }
+}
@@ -11,18 +11,21 @@ import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.runnables.skills.TreeFellerTask;
 import com.gmail.nossr50.skills.SkillManager;
 import com.gmail.nossr50.util.*;
 import com.gmail.nossr50.util.player.NotificationManager;
+import com.gmail.nossr50.util.random.McMMORandom;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
 import com.gmail.nossr50.util.skills.CombatUtils;
 import com.gmail.nossr50.util.skills.RankUtils;
 import com.gmail.nossr50.util.skills.SkillActivationType;
 import com.gmail.nossr50.util.skills.SkillUtils;
+import com.gmail.nossr50.util.tick.TickCategory;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
-import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
 import org.bukkit.entity.Player;
 import org.bukkit.event.player.PlayerItemDamageEvent;
@@ -31,27 +34,12 @@ import org.bukkit.inventory.meta.Damageable;
 import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.HashMap;
+import java.util.Map;
 
 public class WoodcuttingManager extends SkillManager {
-    private boolean treeFellerReachedThreshold = false;
     private static int treeFellerThreshold; //TODO: Shared setting, will be removed in 2.2
 
-    /**
-     * The x/y differences to the blocks in a flat cylinder around the center
-     * block, which is excluded.
-     */
-    private static final int[][] directions = {
-            new int[] {-2, -1}, new int[] {-2, 0}, new int[] {-2, 1},
-            new int[] {-1, -2}, new int[] {-1, -1}, new int[] {-1, 0}, new int[] {-1, 1}, new int[] {-1, 2},
-            new int[] { 0, -2}, new int[] { 0, -1},                    new int[] { 0, 1}, new int[] { 0, 2},
-            new int[] { 1, -2}, new int[] { 1, -1}, new int[] { 1, 0}, new int[] { 1, 1}, new int[] { 1, 2},
-            new int[] { 2, -1}, new int[] { 2, 0}, new int[] { 2, 1},
-    };
-
     public WoodcuttingManager(McMMOPlayer mcMMOPlayer) {
         super(mcMMOPlayer, PrimarySkillType.WOODCUTTING);
         treeFellerThreshold = mcMMO.p.getGeneralConfig().getTreeFellerThreshold();
@@ -101,105 +89,37 @@ public class WoodcuttingManager extends SkillManager {
      */
     public void processTreeFeller(BlockState blockState) {
         Player player = getPlayer();
-        Set<BlockState> treeFellerBlocks = new HashSet<>();
-
-        treeFellerReachedThreshold = false;
-
-        processTree(blockState, treeFellerBlocks);
+        TreeFellerTree tree = TreeFellerTree.search(blockState.getBlock(), treeFellerThreshold, player.getInventory().getItemInMainHand().clone());
+        int blocksPerTick = mcMMO.p.getGeneralConfig().getTreeFellerBlocksPerTick();
 
         // If the tool can't sustain the durability loss
-        if (!handleDurabilityLoss(treeFellerBlocks, player.getInventory().getItemInMainHand(), player)) {
+        if (!dropTreeFellerLootFromBlocks(tree, blocksPerTick > 0 ? blocksPerTick : tree.size())) {
             NotificationManager.sendPlayerInformation(player, NotificationType.SUBSKILL_MESSAGE_FAILED, "Woodcutting.Skills.TreeFeller.Splinter");
 
             double health = player.getHealth();
 
             if (health > 1) {
-                CombatUtils.dealDamage(player, Misc.getRandom().nextInt((int) (health - 1)));
+                CombatUtils.dealDamage(player, McMMORandom.nextInt((int) (health - 1)));
             }
 
             return;
         }
 
-        dropTreeFellerLootFromBlocks(treeFellerBlocks);
-        treeFellerReachedThreshold = false; // Reset the value after we're done with Tree Feller each time.
-    }
-
-    /**
-     * Processes Tree Feller in a recursive manner
-     *
-     * @param blockState Block being checked
-     * @param treeFellerBlocks List of blocks to be removed
-     */
-    /*
-     * Algorithm: An int[][] of X/Z directions is created on static class
-     * initialization, representing a cylinder with radius of about 2 - the
-     * (0,0) center and all (+-2, +-2) corners are omitted.
-     *
-     * processTreeFellerTargetBlock() returns a boolean, which is used for the sole purpose of
-     * switching between these two behaviors:
-     *
-     * (Call blockState "this log" for the below explanation.)
-     *
-     *  [A] There is another log above this log (TRUNK)
-     *    Only the flat cylinder in the directions array is searched.
-     *  [B] There is not another log above this log (BRANCH AND TOP)
-     *    The cylinder in the directions array is extended up and down by 1
-     *    block in the Y-axis, and the block below this log is checked as
-     *    well. Due to the fact that the directions array will catch all
-     *    blocks on a red mushroom, the special method for it is eliminated.
-     *
-     * This algorithm has been shown to achieve a performance of 2-5
-     * milliseconds on regular trees and 10-15 milliseconds on jungle trees
-     * once the JIT has optimized the function (use the ability about 4 times
-     * before taking measurements).
-     */
-    private void processTree(BlockState blockState, Set<BlockState> treeFellerBlocks) {
-        List<BlockState> futureCenterBlocks = new ArrayList<>();
-
-        // Check the block up and take different behavior (smaller search) if it's a log
-        if (processTreeFellerTargetBlock(blockState.getBlock().getRelative(BlockFace.UP).getState(), futureCenterBlocks, treeFellerBlocks)) {
-            for (int[] dir : directions) {
-                processTreeFellerTargetBlock(blockState.getBlock().getRelative(dir[0], 0, dir[1]).getState(), futureCenterBlocks, treeFellerBlocks);
-
-                if (treeFellerReachedThreshold) {
-                    return;
-                }
-            }
-        }
-        else {
-            // Cover DOWN
-            processTreeFellerTargetBlock(blockState.getBlock().getRelative(BlockFace.DOWN).getState(), futureCenterBlocks, treeFellerBlocks);
-            // Search in a cube
-            for (int y = -1; y <= 1; y++) {
-                for (int[] dir : directions) {
-                    processTreeFellerTargetBlock(blockState.getBlock().getRelative(dir[0], y, dir[1]).getState(), futureCenterBlocks, treeFellerBlocks);
-
-                    if (treeFellerReachedThreshold) {
-                        return;
-                    }
-                }
-            }
-        }
-
-        // Recursive call for each log found
-        for (BlockState futureCenterBlock : futureCenterBlocks) {
-            if (treeFellerReachedThreshold) {
-                return;
-            }
-
-            processTree(futureCenterBlock, treeFellerBlocks);
+        // Big trees are felled over several ticks so they don't all drop at once
+        if (!tree.isFinished()) {
+            mcMMO.getTickEngine().schedule(TickCategory.TREE_FELLER, tree.getOrigin(), new TreeFellerTask(this, tree, blocksPerTick), 1, 1);
         }
     }
 
     /**
      * Handles the durability loss
      *
-     * @param treeFellerBlocks List of blocks to be removed
+     * @param logCount how many logs are going to be broken
      * @param inHand tool being used
      * @param player the player holding the item
      * @return True if the tool can sustain the durability loss
      */
-    private static boolean handleDurabilityLoss(@NotNull Set<BlockState> treeFellerBlocks, @NotNull ItemStack inHand, @NotNull Player player) {
+    private static boolean handleDurabilityLoss(int logCount, @NotNull ItemStack inHand, @NotNull Player player) {
         //Treat the NBT tag for unbreakable and the durability enchant differently
         ItemMeta meta = inHand.getItemMeta();
 
@@ -207,15 +127,9 @@ public class WoodcuttingManager extends SkillManager {
             return true;
         }
 
-        int durabilityLoss = 0;
+        int durabilityLoss = logCount * mcMMO.p.getGeneralConfig().getAbilityToolDamage();
         Material type = inHand.getType();
 
-        for (BlockState blockState : treeFellerBlocks) {
-            if (BlockUtils.hasWoodcuttingXP(blockState)) {
-                durabilityLoss += mcMMO.p.getGeneralConfig().getAbilityToolDamage();
-            }
-        }
-
         // Call PlayerItemDamageEvent first to make sure it's not cancelled
         //TODO: Put this event stuff in handleDurabilityChange
         final PlayerItemDamageEvent event = new PlayerItemDamageEvent(player, inHand, durabilityLoss);
@@ -231,58 +145,52 @@ public class WoodcuttingManager extends SkillManager {
     }
 
     /**
-     * Handle a block addition to the list of blocks to be removed and to the
-     * list of blocks used for future recursive calls of
-     * 'processTree()'
+     * Handles the dropping of blocks, picking up where the last call left off.
+     * Drops are gathered at the block the player cut so the same items end up in the same stacks.
+     * The held axe is charged for the logs of these blocks first, so the part of a tree that is never felled costs nothing.
      *
-     * @param blockState Block to be added
-     * @param futureCenterBlocks List of blocks that will be used to call
-     *     'processTree()'
-     * @param treeFellerBlocks List of blocks to be removed
-     * @return true if and only if the given blockState was a Log not already
-     *     in treeFellerBlocks.
+     * @param tree Tree being felled
+     * @param maxBlocks How many blocks to break at most
+     * @return false if the held tool couldn't sustain the durability loss, the rest of the tree is left standing then
      */
-    private boolean processTreeFellerTargetBlock(@NotNull BlockState blockState, @NotNull List<BlockState> futureCenterBlocks, @NotNull Set<BlockState> treeFellerBlocks) {
-        if (treeFellerBlocks.contains(blockState) || mcMMO.getPlaceStore().isTrue(blockState)) {
+    public boolean dropTreeFellerLootFromBlocks(@NotNull TreeFellerTree tree, int maxBlocks) {
+        Player player = getPlayer();
+        int xp = 0;
+        int processedLogCount = tree.getProcessedLogCount();
+        ItemStack itemStack = tree.getTool();
+        int index = tree.getNextIndex();
+        int end = Math.min(tree.size(), index + maxBlocks);
+        int logCount = tree.getLogCount(index, end);
+        ItemStack inHand = player.getInventory().getItemInMainHand();
+
+        if (!ItemUtils.isAxe(inHand) || (logCount > 0 && !handleDurabilityLoss(logCount, inHand, player))) {
+            tree.setNextIndex(tree.size());
             return false;
         }
 
-        // Without this check Tree Feller propagates through leaves until the threshold is hit
-        if (treeFellerBlocks.size() > treeFellerThreshold) {
-            treeFellerReachedThreshold = true;
-        }
+        // Drops of a column of the tree are merged at the first block of it broken in this slice, which is usually
+        // the lowest one since the tree is searched outwards from the block that was chopped
+        Map<Long, Location> columnDropLocations = new HashMap<>();
+        ItemDropBatch dropBatch = new ItemDropBatch(player);
 
-        if (BlockUtils.hasWoodcuttingXP(blockState)) {
-            treeFellerBlocks.add(blockState);
-            futureCenterBlocks.add(blockState);
-            return true;
-        }
-        else if (BlockUtils.isNonWoodPartOfTree(blockState)) {
-            treeFellerBlocks.add(blockState);
-            return false;
-        }
-        return false;
-    }
+        for (; index < end; index++) {
+            int beforeXP = xp;
+            Block block = tree.getBlock(index);
 
-    /**
-     * Handles the dropping of blocks
-     *
-     * @param treeFellerBlocks List of blocks to be dropped
-     */
-    private void dropTreeFellerLootFromBlocks(@NotNull Set<BlockState> treeFellerBlocks) {
-        Player player = getPlayer();
-        int xp = 0;
-        int processedLogCount = 0;
-        ItemStack itemStack = player.getInventory().getItemInMainHand();
+            // Changed since the tree was found, most likely broken by someone else already
+            if (block.getType() != tree.getType(index)) {
+                continue;
+            }
 
-        for (BlockState blockState : treeFellerBlocks) {
-            int beforeXP = xp;
-            Block block = blockState.getBlock();
+            BlockState blockState = block.getState();
 
             if (!EventUtils.simulateBlockBreak(block, player, FakeBlockBreakEventType.TREE_FELLER)) {
                 continue;
             }
 
+            long column = ((long) block.getX() << 32) | (block.getZ() & 0xFFFFFFFFL);
+            Location dropLocation = columnDropLocations.computeIfAbsent(column, key -> Misc.getBlockCenter(blockState));
+
             /*
              * Handle Drops & XP
              */
@@ -292,20 +200,22 @@ public class WoodcuttingManager extends SkillManager {
                 xp += processTreeFellerXPGains(blockState, processedLogCount);
 
                 //Drop displaced block
-                Misc.spawnItemsFromCollection(getPlayer(), Misc.getBlockCenter(blockState), block.getDrops(itemStack), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
+                dropBatch.addAll(dropLocation, block.getDrops(itemStack), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
 
                 //Bonus Drops / Harvest lumber checks
-                processHarvestLumber(blockState);
+                if (checkHarvestLumberActivation(blockState.getType())) {
+                    dropBatch.addAll(dropLocation, block.getDrops(itemStack), ItemSpawnReason.BONUS_DROPS);
+                }
             } else if (BlockUtils.isNonWoodPartOfTree(blockState)) {
                 //Drop displaced non-woodcutting XP blocks
 
                 if(RankUtils.hasUnlockedSubskill(player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
-                    Misc.spawnItemsFromCollection(getPlayer(), Misc.getBlockCenter(blockState), block.getDrops(itemStack), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
+                    dropBatch.addAll(dropLocation, block.getDrops(itemStack), ItemSpawnReason.TREE_FELLER_DISPLACED_BLOCK);
 
                     if(RankUtils.hasReachedRank(2, player, SubSkillType.WOODCUTTING_KNOCK_ON_WOOD)) {
                         if(mcMMO.p.getAdvancedConfig().isKnockOnWoodXPOrbEnabled()) {
                             if(RandomChanceUtil.rollDice(10, 100)) {
-                                int randOrbCount = Math.max(1, Misc.getRandom().nextInt(100));
+                                int randOrbCount = Math.max(1, McMMORandom.nextInt(100));
                                 Misc.spawnExperienceOrb(blockState.getLocation(), randOrbCount);
                             }
                         }
@@ -323,7 +233,11 @@ public class WoodcuttingManager extends SkillManager {
             processedLogCount = updateProcessedLogCount(xp, processedLogCount, beforeXP);
         }
 
+        dropBatch.spawn();
+        tree.setNextIndex(index);
+        tree.setProcessedLogCount(processedLogCount);
         applyXpGain(xp, XPGainReason.PVE, XPGainSource.SELF);
+        return true;
     }
 
     private int updateProcessedLogCount(int xp, int processedLogCount, int beforeXP) {
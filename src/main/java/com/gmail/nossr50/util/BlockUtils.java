@@ -9,6 +9,7 @@ import com.gmail.nossr50.skills.repair.Repair;
 import com.gmail.nossr50.skills.salvage.Salvage;
 import com.gmail.nossr50.util.random.RandomChanceSkill;
 import com.gmail.nossr50.util.random.RandomChanceUtil;
+import com.gmail.nossr50.util.text.StringUtils;
 import org.bukkit.Material;
 import org.bukkit.World;
 import org.bukkit.block.Block;
@@ -199,6 +200,22 @@ public final class BlockUtils {
         return ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.WOODCUTTING, blockState.getBlockData());
     }
 
+    /**
+     * Check if a given block is a log, without taking a snapshot of the block
+     *
+     * @param block The {@link Block} to check
+     * @param type The type of the block
+     * @return true if the block is a log, false otherwise
+     */
+    public static boolean hasWoodcuttingXP(@NotNull Block block, @NotNull Material type) {
+        // Only blocks with ripe variants need their block data to tell which XP entry applies
+        if (StringUtils.hasAgeConfigVariants(type)) {
+            return ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.WOODCUTTING, block.getBlockData());
+        }
+
+        return ExperienceConfig.getInstance().doesBlockGiveSkillXP(PrimarySkillType.WOODCUTTING, type);
+    }
+
     /**
      * Check if a given block is a leaf
      *
@@ -5,12 +5,16 @@ import com.tcoded.folialib.wrapper.task.WrappedTask;
 import java.util.function.Consumer;
 
 public abstract class CancellableRunnable implements Consumer<WrappedTask> {
-    private boolean cancelled = false;
+    private volatile boolean cancelled = false;
 
     public void cancel() {
         cancelled = true;
     }
 
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
     public abstract void run();
 
     @Override
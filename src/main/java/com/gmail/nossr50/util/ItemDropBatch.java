@@ -0,0 +1,186 @@
+package com.gmail.nossr50.util;
+
+import com.gmail.nossr50.api.ItemSpawnReason;
+import com.gmail.nossr50.events.items.McMMOItemBatchSpawnEvent;
+import com.gmail.nossr50.events.items.McMMOItemSpawnEvent;
+import com.gmail.nossr50.mcMMO;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.entity.Item;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Collects the drops of one skill activation and spawns them together
+ * <p>
+ * Identical items dropped at the same location for the same reason are merged into full stacks, so they end up as
+ * as few item entities as possible. One {@link McMMOItemBatchSpawnEvent} is called for the whole batch.
+ */
+public final class ItemDropBatch {
+    private final @Nullable Player player;
+    private final Map<DropKey, List<ItemStack>> drops = new LinkedHashMap<>();
+
+    public ItemDropBatch(@Nullable Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Add an item to the batch, the item is copied
+     *
+     * @param location The location to drop the item at
+     * @param itemStack The item to drop
+     * @param itemSpawnReason the reason for the item drop
+     */
+    public void add(@NotNull Location location, @NotNull ItemStack itemStack, @NotNull ItemSpawnReason itemSpawnReason) {
+        add(location, itemStack, 1, itemSpawnReason);
+    }
+
+    /**
+     * Add several copies of an item to the batch
+     *
+     * @param location The location to drop the items at
+     * @param itemStack The items to drop
+     * @param quantity How many times to drop the items
+     * @param itemSpawnReason the reason for the item drop
+     */
+    public void add(@NotNull Location location, @NotNull ItemStack itemStack, int quantity, @NotNull ItemSpawnReason itemSpawnReason) {
+        if (quantity <= 0 || itemStack.getType() == Material.AIR || location.getWorld() == null) {
+            return;
+        }
+
+        List<ItemStack> stacks = drops.computeIfAbsent(new DropKey(location, itemSpawnReason), key -> new ArrayList<>());
+        int maxStackSize = itemStack.getMaxStackSize();
+
+        // Oversized stacks are dropped the way they were given
+        if (maxStackSize <= 0 || itemStack.getAmount() > maxStackSize) {
+            for (int i = 0; i < quantity; i++) {
+                stacks.add(itemStack.clone());
+            }
+
+            return;
+        }
+
+        int remaining = itemStack.getAmount() * quantity;
+
+        for (ItemStack stack : stacks) {
+            if (stack.getAmount() < maxStackSize && stack.isSimilar(itemStack)) {
+                int added = Math.min(maxStackSize - stack.getAmount(), remaining);
+                stack.setAmount(stack.getAmount() + added);
+                remaining -= added;
+
+                if (remaining == 0) {
+                    return;
+                }
+            }
+        }
+
+        while (remaining > 0) {
+            ItemStack stack = itemStack.clone();
+            stack.setAmount(Math.min(maxStackSize, remaining));
+            remaining -= stack.getAmount();
+            stacks.add(stack);
+        }
+    }
+
+    /**
+     * Add every item of a collection to the batch
+     *
+     * @param location The location to drop the items at
+     * @param itemStacks The items to drop
+     * @param itemSpawnReason the reason for the item drop
+     */
+    public void addAll(@NotNull Location location, @NotNull Collection<ItemStack> itemStacks, @NotNull ItemSpawnReason itemSpawnReason) {
+        for (ItemStack itemStack : itemStacks) {
+            add(location, itemStack, itemSpawnReason);
+        }
+    }
+
+    public boolean isEmpty() {
+        return drops.isEmpty();
+    }
+
+    /**
+     * Drop everything in the batch and empty it
+     *
+     * @return the dropped Item entities
+     */
+    public @NotNull List<Item> spawn() {
+        if (drops.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<McMMOItemBatchSpawnEvent.Entry> entries = new ArrayList<>();
+
+        for (Map.Entry<DropKey, List<ItemStack>> drop : drops.entrySet()) {
+            for (ItemStack stack : drop.getValue()) {
+                entries.add(new McMMOItemBatchSpawnEvent.Entry(drop.getKey().location, stack, drop.getKey().itemSpawnReason));
+            }
+        }
+
+        drops.clear();
+
+        McMMOItemBatchSpawnEvent event = new McMMOItemBatchSpawnEvent(entries, player);
+        mcMMO.p.getServer().getPluginManager().callEvent(event);
+
+        if (event.isCancelled()) {
+            return Collections.emptyList();
+        }
+
+        // Listeners of the single item event can still cancel each stack, the event is skipped when nobody listens
+        boolean callItemSpawnEvents = McMMOItemSpawnEvent.getHandlerList().getRegisteredListeners().length > 0;
+        List<Item> spawned = new ArrayList<>(entries.size());
+
+        for (McMMOItemBatchSpawnEvent.Entry entry : entries) {
+            if (entry.isCancelled()) {
+                continue;
+            }
+
+            Location location = entry.getLocation();
+            ItemStack itemStack = entry.getItemStack();
+
+            if (callItemSpawnEvents) {
+                McMMOItemSpawnEvent itemSpawnEvent = new McMMOItemSpawnEvent(location, itemStack, entry.getItemSpawnReason(), player);
+                mcMMO.p.getServer().getPluginManager().callEvent(itemSpawnEvent);
+
+                if (itemSpawnEvent.isCancelled()) {
+                    continue;
+                }
+            }
+
+            World world = location.getWorld();
+
+            if (world != null) {
+                spawned.add(world.dropItem(location, itemStack));
+            }
+        }
+
+        return spawned;
+    }
+
+    private static final class DropKey {
+        private final @NotNull Location location;
+        private final @NotNull ItemSpawnReason itemSpawnReason;
+
+        private DropKey(@NotNull Location location, @NotNull ItemSpawnReason itemSpawnReason) {
+            this.location = location.clone();
+            this.itemSpawnReason = itemSpawnReason;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DropKey dropKey)) return false;
+            return itemSpawnReason == dropKey.itemSpawnReason && location.equals(dropKey.location);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * location.hashCode() + itemSpawnReason.hashCode();
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.gmail.nossr50.datatypes.treasure.FishingTreasureBook;
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.skills.smelting.Smelting;
+import com.gmail.nossr50.util.random.McMMORandom;
 import org.bukkit.ChatColor;
 import org.bukkit.Material;
 import org.bukkit.NamespacedKey;
@@ -20,7 +21,6 @@ import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.List;
 
 public final class ItemUtils {
@@ -37,11 +37,11 @@ public final class ItemUtils {
      * @return true if the item is a bow, false otherwise
      */
     public static boolean isBow(@NotNull ItemStack item) {
-        return mcMMO.getMaterialMapStore().isBow(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isBow(item.getType());
     }
 
     public static boolean isCrossbow(@NotNull ItemStack item) {
-        return mcMMO.getMaterialMapStore().isCrossbow(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isCrossbow(item.getType());
     }
 
     public static boolean hasItemInEitherHand(@NotNull Player player, Material material) {
@@ -135,7 +135,7 @@ public final class ItemUtils {
      * @return true if the item is a sword, false otherwise
      */
     public static boolean isSword(@NotNull ItemStack item) {
-        return mcMMO.getMaterialMapStore().isSword(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isSword(item.getType());
     }
 
     /**
@@ -145,7 +145,7 @@ public final class ItemUtils {
      * @return true if the item is a hoe, false otherwise
      */
     public static boolean isHoe(@NotNull ItemStack item) {
-        return mcMMO.getMaterialMapStore().isHoe(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isHoe(item.getType());
     }
 
     /**
@@ -155,7 +155,7 @@ public final class ItemUtils {
      * @return true if the item is a shovel, false otherwise
      */
     public static boolean isShovel(@NotNull ItemStack item) {
-        return mcMMO.getMaterialMapStore().isShovel(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isShovel(item.getType());
     }
 
     /**
@@ -165,7 +165,7 @@ public final class ItemUtils {
      * @return true if the item is an axe, false otherwise
      */
     public static boolean isAxe(@NotNull ItemStack item) {
-        return mcMMO.getMaterialMapStore().isAxe(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isAxe(item.getType());
     }
 
     /**
@@ -175,7 +175,7 @@ public final class ItemUtils {
      * @return true if the item is a pickaxe, false otherwise
      */
     public static boolean isPickaxe(@NotNull ItemStack item) {
-        return mcMMO.getMaterialMapStore().isPickAxe(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isPickAxe(item.getType());
     }
 
     /**
@@ -219,7 +219,7 @@ public final class ItemUtils {
      * @return true if the item is gold armor, false otherwise
      */
     public static boolean isGoldArmor(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isGoldArmor(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isGoldArmor(item.getType());
     }
 
     /**
@@ -229,7 +229,7 @@ public final class ItemUtils {
      * @return true if the item is iron armor, false otherwise
      */
     public static boolean isIronArmor(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isIronArmor(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isIronArmor(item.getType());
     }
 
     /**
@@ -239,15 +239,15 @@ public final class ItemUtils {
      * @return true if the item is diamond armor, false otherwise
      */
     public static boolean isDiamondArmor(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isDiamondArmor(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isDiamondArmor(item.getType());
     }
 
     public static boolean isNetheriteArmor(ItemStack itemStack) {
-        return mcMMO.getMaterialMapStore().isNetheriteArmor(itemStack.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isNetheriteArmor(itemStack.getType());
     }
 
     public static boolean isNetheriteTool(ItemStack itemStack) {
-        return mcMMO.getMaterialMapStore().isNetheriteTool(itemStack.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isNetheriteTool(itemStack.getType());
     }
 
     /**
@@ -257,7 +257,7 @@ public final class ItemUtils {
      * @return true if the item is chainmail armor, false otherwise
      */
     public static boolean isChainmailArmor(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isChainmailArmor(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isChainmailArmor(item.getType());
     }
 
     /**
@@ -267,7 +267,7 @@ public final class ItemUtils {
      * @return true if the item is a tool, false otherwise
      */
     public static boolean isMinecraftTool(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isTool(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isTool(item.getType());
     }
 
     /**
@@ -277,7 +277,7 @@ public final class ItemUtils {
      * @return true if the item is a stone tool, false otherwise
      */
     public static boolean isStoneTool(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isStoneTool(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isStoneTool(item.getType());
     }
 
     /**
@@ -287,7 +287,7 @@ public final class ItemUtils {
      * @return true if the item is a wooden tool, false otherwise
      */
     public static boolean isWoodTool(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isWoodTool(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isWoodTool(item.getType());
     }
 
     /**
@@ -297,7 +297,7 @@ public final class ItemUtils {
      * @return true if the item is a string tool, false otherwise
      */
     public static boolean isStringTool(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isStringTool(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isStringTool(item.getType());
     }
 
     /**
@@ -307,7 +307,7 @@ public final class ItemUtils {
      * @return true if the item is a stone tool, false otherwise
      */
     public static boolean isGoldTool(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isGoldTool(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isGoldTool(item.getType());
     }
 
     /**
@@ -317,7 +317,7 @@ public final class ItemUtils {
      * @return true if the item is an iron tool, false otherwise
      */
     public static boolean isIronTool(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isIronTool(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isIronTool(item.getType());
     }
 
     /**
@@ -327,7 +327,7 @@ public final class ItemUtils {
      * @return true if the item is a diamond tool, false otherwise
      */
     public static boolean isDiamondTool(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isDiamondTool(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isDiamondTool(item.getType());
     }
 
     /**
@@ -337,7 +337,7 @@ public final class ItemUtils {
      * @return true if the item is enchantable, false otherwise
      */
     public static boolean isEnchantable(ItemStack item) {
-        return mcMMO.getMaterialMapStore().isEnchantable(item.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().isEnchantable(item.getType());
     }
 
     public static boolean isSmeltable(ItemStack item) {
@@ -649,9 +649,9 @@ public final class ItemUtils {
     }
 
     public static @NotNull EnchantmentWrapper getRandomEnchantment(@NotNull List<EnchantmentWrapper> enchantmentWrappers) {
-        Collections.shuffle(enchantmentWrappers, Misc.getRandom());
+        McMMORandom.shuffle(enchantmentWrappers);
 
-        int randomIndex = Misc.getRandom().nextInt(enchantmentWrappers.size());
+        int randomIndex = McMMORandom.nextInt(enchantmentWrappers.size());
         return enchantmentWrappers.get(randomIndex);
     }
 }
@@ -15,6 +15,43 @@ import java.util.Locale;
  *
  */
 public class MaterialMapStore {
+    /* Material category flags */
+    private static final long MULTI_BLOCK_PLANT = 1L << 0;
+    private static final long MULTI_BLOCK_HANGING_PLANT = 1L << 1;
+    private static final long ABILITY_BLACKLISTED = 1L << 2;
+    private static final long TOOL_BLACKLISTED = 1L << 3;
+    private static final long MOSSY = 1L << 4;
+    private static final long TREE_FELLER_DESTRUCTIBLE = 1L << 5;
+    private static final long HERBALISM_ABILITY = 1L << 6;
+    private static final long BLOCK_CRACKER = 1L << 7;
+    private static final long SHROOMY = 1L << 8;
+    private static final long GLASS = 1L << 9;
+    private static final long FOOD = 1L << 10;
+    private static final long INTENDED_TOOL_PICKAXE = 1L << 11;
+    private static final long ARMOR = 1L << 12;
+    private static final long TOOL = 1L << 13;
+    private static final long ENCHANTABLE = 1L << 14;
+    private static final long ORE = 1L << 15;
+    private static final long BOW = 1L << 16;
+    private static final long CROSSBOW = 1L << 17;
+    private static final long LEATHER_ARMOR = 1L << 18;
+    private static final long IRON_ARMOR = 1L << 19;
+    private static final long GOLD_ARMOR = 1L << 20;
+    private static final long DIAMOND_ARMOR = 1L << 21;
+    private static final long CHAINMAIL_ARMOR = 1L << 22;
+    private static final long NETHERITE_ARMOR = 1L << 23;
+    private static final long WOOD_TOOL = 1L << 24;
+    private static final long STONE_TOOL = 1L << 25;
+    private static final long IRON_TOOL = 1L << 26;
+    private static final long GOLD_TOOL = 1L << 27;
+    private static final long DIAMOND_TOOL = 1L << 28;
+    private static final long SWORD = 1L << 29;
+    private static final long AXE = 1L << 30;
+    private static final long PICKAXE = 1L << 31;
+    private static final long SHOVEL = 1L << 32;
+    private static final long HOE = 1L << 33;
+    private static final long NETHERITE_TOOL = 1L << 34;
+    private static final long STRING_TOOL = 1L << 35;
 
     private final @NotNull HashSet<String> abilityBlackList;
     private final @NotNull HashSet<String> toolBlackList;
@@ -61,6 +98,9 @@ public class MaterialMapStore {
 
     private final @NotNull HashMap<String, Integer> tierValue;
 
+    /* Category flags of every Material, indexed by ordinal, compiled from the sets above */
+    private final long[] materialCategories;
+    private final short[] materialTiers;
 
     public MaterialMapStore()
     {
@@ -111,6 +151,70 @@ public class MaterialMapStore {
         tierValue = new HashMap<>();
 
         fillVanillaMaterialRegisters();
+
+        materialCategories = new long[Material.values().length];
+        materialTiers = new short[Material.values().length];
+        compileMaterialCategories();
+    }
+
+    /**
+     * Flattens the sets into one bitmask per Material so the Material predicates don't have to hash the key of the material
+     * The string based predicates still read from the sets
+     */
+    private void compileMaterialCategories() {
+        for (Material material : Material.values()) {
+            // Legacy materials have no key
+            if (material.isLegacy()) {
+                materialTiers[material.ordinal()] = 1;
+                continue;
+            }
+
+            String id = material.getKey().getKey();
+            long flags = 0;
+            flags |= multiBlockPlant.contains(id) ? MULTI_BLOCK_PLANT : 0;
+            flags |= multiBlockHangingPlant.contains(id) ? MULTI_BLOCK_HANGING_PLANT : 0;
+            flags |= abilityBlackList.contains(id) ? ABILITY_BLACKLISTED : 0;
+            flags |= toolBlackList.contains(id) ? TOOL_BLACKLISTED : 0;
+            flags |= mossyWhiteList.contains(id) ? MOSSY : 0;
+            flags |= treeFellerDestructibleWhiteList.contains(id) ? TREE_FELLER_DESTRUCTIBLE : 0;
+            flags |= herbalismAbilityBlackList.contains(id) ? HERBALISM_ABILITY : 0;
+            flags |= blockCrackerWhiteList.contains(id) ? BLOCK_CRACKER : 0;
+            flags |= canMakeShroomyWhiteList.contains(id) ? SHROOMY : 0;
+            flags |= glassBlocks.contains(id) ? GLASS : 0;
+            flags |= foodItemWhiteList.contains(id) ? FOOD : 0;
+            flags |= intendedToolPickAxe.contains(id) ? INTENDED_TOOL_PICKAXE : 0;
+            flags |= armors.contains(id) ? ARMOR : 0;
+            flags |= tools.contains(id) ? TOOL : 0;
+            flags |= enchantables.contains(id) ? ENCHANTABLE : 0;
+            flags |= ores.contains(id) ? ORE : 0;
+            flags |= bows.contains(id) ? BOW : 0;
+            flags |= crossbows.contains(id) ? CROSSBOW : 0;
+            flags |= leatherArmor.contains(id) ? LEATHER_ARMOR : 0;
+            flags |= ironArmor.contains(id) ? IRON_ARMOR : 0;
+            flags |= goldArmor.contains(id) ? GOLD_ARMOR : 0;
+            flags |= diamondArmor.contains(id) ? DIAMOND_ARMOR : 0;
+            flags |= chainmailArmor.contains(id) ? CHAINMAIL_ARMOR : 0;
+            flags |= netheriteArmor.contains(id) ? NETHERITE_ARMOR : 0;
+            flags |= woodTools.contains(id) ? WOOD_TOOL : 0;
+            flags |= stoneTools.contains(id) ? STONE_TOOL : 0;
+            flags |= ironTools.contains(id) ? IRON_TOOL : 0;
+            flags |= goldTools.contains(id) ? GOLD_TOOL : 0;
+            flags |= diamondTools.contains(id) ? DIAMOND_TOOL : 0;
+            flags |= swords.contains(id) ? SWORD : 0;
+            flags |= axes.contains(id) ? AXE : 0;
+            flags |= pickAxes.contains(id) ? PICKAXE : 0;
+            flags |= shovels.contains(id) ? SHOVEL : 0;
+            flags |= hoes.contains(id) ? HOE : 0;
+            flags |= netheriteTools.contains(id) ? NETHERITE_TOOL : 0;
+            flags |= stringTools.contains(id) ? STRING_TOOL : 0;
+
+            materialCategories[material.ordinal()] = flags;
+            materialTiers[material.ordinal()] = (short) getTier(id);
+        }
+    }
+
+    private boolean hasCategory(@NotNull Material material, long category) {
+        return (materialCategories[material.ordinal()] & category) != 0;
     }
 
     private void fillVanillaMaterialRegisters() {
@@ -137,46 +241,46 @@ public class MaterialMapStore {
 
     public boolean isMultiBlockPlant(@NotNull Material material)
     {
-        return multiBlockPlant.contains(material.getKey().getKey());
+        return hasCategory(material, MULTI_BLOCK_PLANT);
     }
 
     public boolean isMultiBlockHangingPlant(@NotNull Material material) {
-        return multiBlockHangingPlant.contains(material.getKey().getKey());
+        return hasCategory(material, MULTI_BLOCK_HANGING_PLANT);
     }
 
     public boolean isAbilityActivationBlackListed(@NotNull Material material)
     {
-        return abilityBlackList.contains(material.getKey().getKey());
+        return hasCategory(material, ABILITY_BLACKLISTED);
     }
 
     public boolean isToolActivationBlackListed(@NotNull Material material)
     {
-        return toolBlackList.contains(material.getKey().getKey());
+        return hasCategory(material, TOOL_BLACKLISTED);
     }
 
     public boolean isMossyWhiteListed(@NotNull Material material)
     {
-        return mossyWhiteList.contains(material.getKey().getKey());
+        return hasCategory(material, MOSSY);
     }
 
     public boolean isTreeFellerDestructible(@NotNull Material material)
     {
-        return treeFellerDestructibleWhiteList.contains(material.getKey().getKey());
+        return hasCategory(material, TREE_FELLER_DESTRUCTIBLE);
     }
 
     public boolean isHerbalismAbilityWhiteListed(@NotNull Material material)
     {
-        return herbalismAbilityBlackList.contains(material.getKey().getKey());
+        return hasCategory(material, HERBALISM_ABILITY);
     }
 
     public boolean isBlockCrackerWhiteListed(@NotNull Material material)
     {
-        return blockCrackerWhiteList.contains(material.getKey().getKey());
+        return hasCategory(material, BLOCK_CRACKER);
     }
 
     public boolean isShroomyWhiteListed(@NotNull Material material)
     {
-        return canMakeShroomyWhiteList.contains(material.getKey().getKey());
+        return hasCategory(material, SHROOMY);
     }
 
     private void fillTierMap() {
@@ -768,7 +872,7 @@ public class MaterialMapStore {
      * @return true if it is used for armor
      */
     public boolean isArmor(@NotNull Material material) {
-        return isArmor(material.getKey().getKey());
+        return hasCategory(material, ARMOR);
     }
 
     /**
@@ -781,7 +885,7 @@ public class MaterialMapStore {
     }
 
     public boolean isTool(@NotNull Material material) {
-        return isTool(material.getKey().getKey());
+        return hasCategory(material, TOOL);
     }
 
     public boolean isTool(@NotNull String id) {
@@ -789,7 +893,7 @@ public class MaterialMapStore {
     }
 
     public boolean isEnchantable(@NotNull Material material) {
-        return isEnchantable(material.getKey().getKey());
+        return hasCategory(material, ENCHANTABLE);
     }
 
     public boolean isEnchantable(@NotNull String id) {
@@ -797,7 +901,7 @@ public class MaterialMapStore {
     }
 
     public boolean isOre(@NotNull Material material) {
-        return isOre(material.getKey().getKey());
+        return hasCategory(material, ORE);
     }
 
     public boolean isOre(@NotNull String id) {
@@ -805,7 +909,7 @@ public class MaterialMapStore {
     }
 
     public boolean isBow(@NotNull Material material) {
-        return isBow(material.getKey().getKey());
+        return hasCategory(material, BOW);
     }
 
     public boolean isBow(@NotNull String id) {
@@ -813,7 +917,7 @@ public class MaterialMapStore {
     }
 
     public boolean isCrossbow(@NotNull Material material) {
-        return isCrossbow(material.getKey().getKey());
+        return hasCategory(material, CROSSBOW);
     }
 
     public boolean isCrossbow(@NotNull String id) {
@@ -821,7 +925,7 @@ public class MaterialMapStore {
     }
 
     public boolean isLeatherArmor(@NotNull Material material) {
-        return isLeatherArmor(material.getKey().getKey());
+        return hasCategory(material, LEATHER_ARMOR);
     }
 
     public boolean isLeatherArmor(@NotNull String id) {
@@ -829,7 +933,7 @@ public class MaterialMapStore {
     }
 
     public boolean isIronArmor(@NotNull Material material) {
-        return isIronArmor(material.getKey().getKey());
+        return hasCategory(material, IRON_ARMOR);
     }
 
     public boolean isIronArmor(@NotNull String id) {
@@ -837,7 +941,7 @@ public class MaterialMapStore {
     }
 
     public boolean isGoldArmor(@NotNull Material material) {
-        return isGoldArmor(material.getKey().getKey());
+        return hasCategory(material, GOLD_ARMOR);
     }
 
     public boolean isGoldArmor(@NotNull String id) {
@@ -845,7 +949,7 @@ public class MaterialMapStore {
     }
 
     public boolean isDiamondArmor(@NotNull Material material) {
-        return isDiamondArmor(material.getKey().getKey());
+        return hasCategory(material, DIAMOND_ARMOR);
     }
 
     public boolean isDiamondArmor(@NotNull String id) {
@@ -853,7 +957,7 @@ public class MaterialMapStore {
     }
 
     public boolean isChainmailArmor(@NotNull Material material) {
-        return isChainmailArmor(material.getKey().getKey());
+        return hasCategory(material, CHAINMAIL_ARMOR);
     }
 
     public boolean isChainmailArmor(@NotNull String id) {
@@ -861,7 +965,7 @@ public class MaterialMapStore {
     }
 
     public boolean isNetheriteArmor(@NotNull Material material) {
-        return isNetheriteArmor(material.getKey().getKey());
+        return hasCategory(material, NETHERITE_ARMOR);
     }
 
     public boolean isNetheriteArmor(@NotNull String id) {
@@ -869,7 +973,7 @@ public class MaterialMapStore {
     }
 
     public boolean isWoodTool(@NotNull Material material) {
-        return isWoodTool(material.getKey().getKey());
+        return hasCategory(material, WOOD_TOOL);
     }
 
     public boolean isWoodTool(@NotNull String id) {
@@ -877,7 +981,7 @@ public class MaterialMapStore {
     }
 
     public boolean isStoneTool(@NotNull Material material) {
-        return isStoneTool(material.getKey().getKey());
+        return hasCategory(material, STONE_TOOL);
     }
 
     public boolean isStoneTool(@NotNull String id) {
@@ -885,7 +989,7 @@ public class MaterialMapStore {
     }
 
     public boolean isIronTool(@NotNull Material material) {
-        return isIronTool(material.getKey().getKey());
+        return hasCategory(material, IRON_TOOL);
     }
 
     public boolean isIronTool(@NotNull String id) {
@@ -893,7 +997,7 @@ public class MaterialMapStore {
     }
 
     public boolean isGoldTool(@NotNull Material material) {
-        return isGoldTool(material.getKey().getKey());
+        return hasCategory(material, GOLD_TOOL);
     }
 
     public boolean isGoldTool(@NotNull String id) {
@@ -901,7 +1005,7 @@ public class MaterialMapStore {
     }
 
     public boolean isDiamondTool(@NotNull Material material) {
-        return isDiamondTool(material.getKey().getKey());
+        return hasCategory(material, DIAMOND_TOOL);
     }
 
     public boolean isDiamondTool(@NotNull String id) {
@@ -909,7 +1013,7 @@ public class MaterialMapStore {
     }
 
     public boolean isSword(@NotNull Material material) {
-        return isSword(material.getKey().getKey());
+        return hasCategory(material, SWORD);
     }
 
     public boolean isSword(@NotNull String id) {
@@ -917,7 +1021,7 @@ public class MaterialMapStore {
     }
 
     public boolean isAxe(@NotNull Material material) {
-        return isAxe(material.getKey().getKey());
+        return hasCategory(material, AXE);
     }
 
     public boolean isAxe(@NotNull String id) {
@@ -925,7 +1029,7 @@ public class MaterialMapStore {
     }
 
     public boolean isPickAxe(@NotNull Material material) {
-        return isPickAxe(material.getKey().getKey());
+        return hasCategory(material, PICKAXE);
     }
 
     public boolean isPickAxe(@NotNull String id) {
@@ -933,7 +1037,7 @@ public class MaterialMapStore {
     }
 
     public boolean isShovel(@NotNull Material material) {
-        return isShovel(material.getKey().getKey());
+        return hasCategory(material, SHOVEL);
     }
 
     public boolean isShovel(@NotNull String id) {
@@ -941,7 +1045,7 @@ public class MaterialMapStore {
     }
 
     public boolean isHoe(@NotNull Material material) {
-        return isHoe(material.getKey().getKey());
+        return hasCategory(material, HOE);
     }
 
     public boolean isHoe(@NotNull String id) {
@@ -949,7 +1053,7 @@ public class MaterialMapStore {
     }
 
     public boolean isNetheriteTool(@NotNull Material material) {
-        return isNetheriteTool(material.getKey().getKey());
+        return hasCategory(material, NETHERITE_TOOL);
     }
 
     public boolean isNetheriteTool(@NotNull String id) {
@@ -957,7 +1061,7 @@ public class MaterialMapStore {
     }
 
     public boolean isStringTool(@NotNull Material material) {
-        return isStringTool(material.getKey().getKey());
+        return hasCategory(material, STRING_TOOL);
     }
 
     public boolean isStringTool(@NotNull String id) {
@@ -965,11 +1069,11 @@ public class MaterialMapStore {
     }
 
     public boolean isGlass(@NotNull Material material) {
-        return glassBlocks.contains(material.getKey().getKey());
+        return hasCategory(material, GLASS);
     }
 
     public boolean isFood(@NotNull Material material) {
-        return foodItemWhiteList.contains(material.getKey().getKey());
+        return hasCategory(material, FOOD);
     }
 
     private void fillMultiBlockPlantSet()
@@ -1326,7 +1430,7 @@ public class MaterialMapStore {
     }
 
     public boolean isIntendedToolPickaxe(@NotNull Material material) {
-        return intendedToolPickAxe.contains(material.getKey().getKey());
+        return hasCategory(material, INTENDED_TOOL_PICKAXE);
     }
 
     public boolean isIntendedToolPickaxe(@NotNull String string) {
@@ -1343,7 +1447,7 @@ public class MaterialMapStore {
 
 
     public int getTier(@NotNull Material material) {
-        return getTier(material.getKey().getKey());
+        return materialTiers[material.ordinal()];
     }
 
     public int getTier(@NotNull String id) {
@@ -7,6 +7,6 @@ public final class MaterialUtils {
     private MaterialUtils() {}
 
     protected static boolean isOre(Material data) {
-        return mcMMO.getMaterialMapStore().isOre(data.getKey().getKey());
+        return mcMMO.getMaterialMapStore().isOre(data);
     }
 }
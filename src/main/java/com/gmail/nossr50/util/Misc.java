@@ -6,6 +6,7 @@ import com.gmail.nossr50.events.items.McMMOItemSpawnEvent;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.runnables.player.PlayerProfileLoadingTask;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.random.McMMORandom;
 import com.google.common.collect.ImmutableSet;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -107,9 +108,9 @@ public final class Misc {
     }
 
     public static void spawnItemsFromCollection(@NotNull Player player, @NotNull Location location, @NotNull Collection<ItemStack> drops, @NotNull ItemSpawnReason itemSpawnReason) {
-        for (ItemStack drop : drops) {
-            spawnItem(player, location, drop, itemSpawnReason);
-        }
+        ItemDropBatch dropBatch = new ItemDropBatch(player);
+        dropBatch.addAll(location, drops, itemSpawnReason);
+        dropBatch.spawn();
     }
 
     /**
@@ -122,23 +123,26 @@ public final class Misc {
      */
     public static void spawnItemsFromCollection(@Nullable Player player, @NotNull Location location, @NotNull Collection<ItemStack> drops, @NotNull ItemSpawnReason itemSpawnReason, int sizeLimit) {
         ItemStack[] arrayDrops = drops.toArray(new ItemStack[0]);
+        ItemDropBatch dropBatch = new ItemDropBatch(player);
 
-        for(int i = 0; i < sizeLimit-1; i++) {
-            spawnItem(player, location, arrayDrops[i], itemSpawnReason);
+        for(int i = 0; i < Math.min(sizeLimit-1, arrayDrops.length); i++) {
+            dropBatch.add(location, arrayDrops[i], itemSpawnReason);
         }
+
+        dropBatch.spawn();
     }
 
     /**
-     * Drop items at a given location.
+     * Drop items at a given location, merged into as few stacks as possible.
      *
      * @param location The location to drop the items at
      * @param is The items to drop
      * @param quantity The amount of items to drop
      */
     public static void spawnItems(@Nullable Player player, @NotNull Location location, @NotNull ItemStack is, int quantity, @NotNull ItemSpawnReason itemSpawnReason) {
-        for (int i = 0; i < quantity; i++) {
-            spawnItem(player, location, is, itemSpawnReason);
-        }
+        ItemDropBatch dropBatch = new ItemDropBatch(player);
+        dropBatch.add(location, is, quantity, itemSpawnReason);
+        dropBatch.spawn();
     }
 
     /**
@@ -288,15 +292,19 @@ public final class Misc {
         double blockZ = location.getBlockZ();
 
         double distance;
-        distance = strength * random.nextDouble();
-        blockX = (random.nextBoolean()) ? blockX + (distance) : blockX - (distance);
+        distance = strength * McMMORandom.nextDouble();
+        blockX = (McMMORandom.nextBoolean()) ? blockX + (distance) : blockX - (distance);
 
-        distance = strength * random.nextDouble();
-        blockZ = (random.nextBoolean()) ? blockZ + (distance) : blockZ - (distance);
+        distance = strength * McMMORandom.nextDouble();
+        blockZ = (McMMORandom.nextBoolean()) ? blockZ + (distance) : blockZ - (distance);
 
         return new Location(location.getWorld(), blockX, location.getY(), blockZ);
     }
 
+    /**
+     * @deprecated shared by every thread, use {@link McMMORandom} instead
+     */
+    @Deprecated
     public static @NotNull Random getRandom() {
         return random;
     }
@@ -8,19 +8,26 @@ import com.gmail.nossr50.datatypes.mods.CustomBlock;
 import com.gmail.nossr50.datatypes.mods.CustomEntity;
 import com.gmail.nossr50.datatypes.mods.CustomTool;
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.runnables.CustomEntityFileWriteTask;
 import com.gmail.nossr50.skills.repair.repairables.Repairable;
 import org.bukkit.Material;
 import org.bukkit.block.BlockState;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Entity;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.File;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
+import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public class ModManager {
+    private static final long ENTITY_FILE_WRITE_DELAY_TICKS = 100;
+
     private final List<Repairable> repairables = new ArrayList<>();
 
     // Armor Mods
@@ -39,9 +46,16 @@ public class ModManager {
     private final List<Material> customAbilityBlocks     = new ArrayList<>();
     private final HashMap<Material, CustomBlock> customBlockMap = new HashMap<>();
 
-    // Entity Mods
-    private final HashMap<String, CustomEntity> customEntityClassMap = new HashMap<>();
-    private final HashMap<String, CustomEntity> customEntityTypeMap  = new HashMap<>();
+    // Entity Mods, replaced instead of modified so combat on other threads always sees complete maps
+    private volatile HashMap<String, CustomEntity> customEntityClassMap = new HashMap<>();
+    private volatile HashMap<String, CustomEntity> customEntityTypeMap  = new HashMap<>();
+    // How entities of each class are matched to custom entities, redone when the class map is replaced
+    private final Map<Class<?>, EntityClassResolution> entityClassResolutions = new ConcurrentHashMap<>();
+    // Entity types found during this session, waiting to be written to entities.default.yml
+    private final Set<String> discoveredEntityNames = ConcurrentHashMap.newKeySet();
+    private final ConcurrentLinkedQueue<String> pendingEntityNames = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean entityFileWriteScheduled = new AtomicBoolean();
+    private final Object entityFileLock = new Object();
 
     // Tool Mods
     private final List<Material> customAxes     = new ArrayList<>();
@@ -71,9 +85,13 @@ public class ModManager {
         customBlockMap.putAll(config.customBlockMap);
     }
 
-    public void registerCustomEntities(CustomEntityLegacyConfig config) {
-        customEntityClassMap.putAll(config.customEntityClassMap);
-        customEntityTypeMap.putAll(config.customEntityTypeMap);
+    public synchronized void registerCustomEntities(CustomEntityLegacyConfig config) {
+        HashMap<String, CustomEntity> classMap = new HashMap<>(customEntityClassMap);
+        HashMap<String, CustomEntity> typeMap = new HashMap<>(customEntityTypeMap);
+        classMap.putAll(config.customEntityClassMap);
+        typeMap.putAll(config.customEntityTypeMap);
+        customEntityClassMap = classMap;
+        customEntityTypeMap = typeMap;
     }
 
     public void registerCustomTools(CustomToolLegacyConfig config) {
@@ -188,90 +206,171 @@ public class ModManager {
             return false;
         }
 
-        if (customEntityTypeMap.containsKey(entity.getType().toString())) {
-            return true;
-        }
-
-        try {
-            return customEntityClassMap.containsKey(((Class<?>) entity.getClass().getDeclaredField("entityClass").get(entity)).getName());
-        }
-        catch (Exception e) {
-            if (e instanceof NoSuchFieldException || e instanceof IllegalArgumentException || e instanceof IllegalAccessException) {
-                return customEntityClassMap.containsKey(entity.getClass().getName());
-            }
-
-            e.printStackTrace();
-            return false;
-        }
+        return getEntity(entity) != null;
     }
 
     public CustomEntity getEntity(Entity entity) {
         CustomEntity customEntity = customEntityTypeMap.get(entity.getType().toString());
 
         if (customEntity == null) {
-            try {
-                customEntity = customEntityClassMap.get(((Class<?>) entity.getClass().getDeclaredField("entityClass").get(entity)).getName());
-            }
-            catch (Exception e) {
-                if (e instanceof NoSuchFieldException || e instanceof IllegalArgumentException || e instanceof IllegalAccessException) {
-                    customEntity = customEntityClassMap.get(entity.getClass().getName());
-                }
-                else {
-                    e.printStackTrace();
-                }
-            }
+            customEntity = getEntityClassResolution(entity).getCustomEntity(entity);
         }
 
         return customEntity;
     }
 
+    /**
+     * Hybrid servers wrap modded entities in a generic class with an entityClass field pointing to the modded class,
+     * every other entity is matched by its own class. Looking the field up throws for every vanilla entity, so it's
+     * done once per class.
+     */
+    private EntityClassResolution getEntityClassResolution(Entity entity) {
+        Class<?> entityClass = entity.getClass();
+        HashMap<String, CustomEntity> classMap = customEntityClassMap;
+        EntityClassResolution resolution = entityClassResolutions.get(entityClass);
+
+        if (resolution != null && resolution.classMap == classMap) {
+            return resolution;
+        }
+
+        Field entityClassField = null;
+
+        try {
+            entityClassField = entityClass.getDeclaredField("entityClass");
+            entityClassField.get(entity);
+        }
+        catch (NoSuchFieldException | SecurityException | IllegalAccessException ignored) {
+            // Matched by its own class, same as when the field can't be read
+            entityClassField = null;
+        }
+        catch (IllegalArgumentException ignored) {
+            // Can't happen with an instance of the class, but the field is still usable
+        }
+
+        resolution = new EntityClassResolution(classMap, entityClass, entityClassField);
+        entityClassResolutions.put(entityClass, resolution);
+        return resolution;
+    }
+
     public void addCustomEntity(Entity entity) {
         if (!mcMMO.p.getGeneralConfig().getEntityModsEnabled()) {
             return;
         }
 
-        File entityFile = new File(mcMMO.p.getDataFolder(), "mods" + File.separator + "entities.default.yml");
-        YamlConfiguration entitiesFile = YamlConfiguration.loadConfiguration(entityFile);
-
         String entityName = entity.getType().toString();
         String sanitizedEntityName = entityName.replace(".", "_");
 
-        if (entitiesFile.getKeys(false).contains(sanitizedEntityName)) {
+        if (!discoveredEntityNames.add(sanitizedEntityName)) {
             return;
         }
 
-        entitiesFile.set(sanitizedEntityName + ".XP_Multiplier", 1.0D);
-        entitiesFile.set(sanitizedEntityName + ".Tameable", false);
-        entitiesFile.set(sanitizedEntityName + ".Taming_XP", 0);
-        entitiesFile.set(sanitizedEntityName + ".CanBeSummoned", false);
-        entitiesFile.set(sanitizedEntityName + ".COTW_Material", "");
-        entitiesFile.set(sanitizedEntityName + ".COTW_Material_Data", 0);
-        entitiesFile.set(sanitizedEntityName + ".COTW_Material_Amount", 0);
+        String className = getEntityClassResolution(entity).getClassName(entity);
+        CustomEntity customEntity = new CustomEntity(1.0D, false, 0, false, null, 0);
 
-        String className = "";
+        synchronized (this) {
+            HashMap<String, CustomEntity> classMap = new HashMap<>(customEntityClassMap);
+            HashMap<String, CustomEntity> typeMap = new HashMap<>(customEntityTypeMap);
+            typeMap.put(entityName, customEntity);
+            classMap.put(className, customEntity);
+            customEntityClassMap = classMap;
+            customEntityTypeMap = typeMap;
+        }
 
-        try {
-            className = ((Class<?>) entity.getClass().getDeclaredField("entityClass").get(entity)).getName();
+        // Written in the background, entities found close together share one write
+        pendingEntityNames.add(sanitizedEntityName);
+
+        if (entityFileWriteScheduled.compareAndSet(false, true)) {
+            mcMMO.p.getFoliaLib().getImpl().runLaterAsync(new CustomEntityFileWriteTask(), ENTITY_FILE_WRITE_DELAY_TICKS);
         }
-        catch (Exception e) {
-            if (e instanceof NoSuchFieldException || e instanceof IllegalArgumentException || e instanceof IllegalAccessException) {
-                className = entity.getClass().getName();
+    }
+
+    /**
+     * Add the entity types found since the last write to entities.default.yml
+     * Called from the write task and on shutdown
+     */
+    public void writeDiscoveredEntities() {
+        synchronized (entityFileLock) {
+            entityFileWriteScheduled.set(false);
+
+            if (!pendingEntityNames.isEmpty()) {
+                writeEntityFile();
             }
-            else {
-                e.printStackTrace();
+        }
+    }
+
+    private void writeEntityFile() {
+        File entityFile = new File(mcMMO.p.getDataFolder(), "mods" + File.separator + "entities.default.yml");
+        YamlConfiguration entitiesFile = YamlConfiguration.loadConfiguration(entityFile);
+        Set<String> existingKeys = entitiesFile.getKeys(false);
+        boolean changed = false;
+
+        String sanitizedEntityName;
+        while ((sanitizedEntityName = pendingEntityNames.poll()) != null) {
+            if (existingKeys.contains(sanitizedEntityName)) {
+                continue;
             }
+
+            entitiesFile.set(sanitizedEntityName + ".XP_Multiplier", 1.0D);
+            entitiesFile.set(sanitizedEntityName + ".Tameable", false);
+            entitiesFile.set(sanitizedEntityName + ".Taming_XP", 0);
+            entitiesFile.set(sanitizedEntityName + ".CanBeSummoned", false);
+            entitiesFile.set(sanitizedEntityName + ".COTW_Material", "");
+            entitiesFile.set(sanitizedEntityName + ".COTW_Material_Data", 0);
+            entitiesFile.set(sanitizedEntityName + ".COTW_Material_Amount", 0);
+            changed = true;
+            LogUtils.debug(mcMMO.p.getLogger(), sanitizedEntityName + " was added to the custom entities file!");
         }
 
-        CustomEntity customEntity = new CustomEntity(1.0D, false, 0, false, null, 0);
-        customEntityTypeMap.put(entityName, customEntity);
-        customEntityClassMap.put(className, customEntity);
+        if (!changed) {
+            return;
+        }
 
         try {
             entitiesFile.save(entityFile);
-            LogUtils.debug(mcMMO.p.getLogger(), entity.getType().toString() + " was added to the custom entities file!");
         }
         catch (Exception e) {
             e.printStackTrace();
         }
     }
+
+    private static final class EntityClassResolution {
+        private final @NotNull HashMap<String, CustomEntity> classMap; // The class map this was resolved against
+        private final @NotNull String className;
+        private final @Nullable Field entityClassField;
+        private final @Nullable CustomEntity classCustomEntity; // Match for the entity's own class, null if there is none
+
+        private EntityClassResolution(@NotNull HashMap<String, CustomEntity> classMap, @NotNull Class<?> entityClass, @Nullable Field entityClassField) {
+            this.classMap = classMap;
+            this.className = entityClass.getName();
+            this.entityClassField = entityClassField;
+            this.classCustomEntity = classMap.get(className);
+        }
+
+        @Nullable CustomEntity getCustomEntity(@NotNull Entity entity) {
+            if (entityClassField == null) {
+                return classCustomEntity;
+            }
+
+            String moddedClassName = getClassName(entity);
+            return moddedClassName == null ? null : classMap.get(moddedClassName);
+        }
+
+        @Nullable String getClassName(@NotNull Entity entity) {
+            if (entityClassField == null) {
+                return className;
+            }
+
+            try {
+                return ((Class<?>) entityClassField.get(entity)).getName();
+            }
+            catch (Exception e) {
+                if (e instanceof IllegalArgumentException || e instanceof IllegalAccessException) {
+                    return className;
+                }
+
+                e.printStackTrace();
+                return null;
+            }
+        }
+    }
 }
@@ -21,6 +21,32 @@ import java.util.Locale;
 public final class Permissions {
     private Permissions() {}
 
+    /*
+     * Permission nodes for each PrimarySkillType, indexed by ordinal so checks don't build a new string every time
+     */
+    private static final String[] SKILL_ENABLED_NODES = buildSkillNodes("mcmmo.skills.", "");
+    private static final String[] VANILLA_XP_BOOST_NODES = buildSkillNodes("mcmmo.ability.", ".vanillaxpboost");
+    private static final String[] LUCKY_NODES = buildSkillNodes("mcmmo.perks.lucky.", "");
+    private static final String[] QUADRUPLE_XP_NODES = buildSkillNodes("mcmmo.perks.xp.quadruple.", "");
+    private static final String[] TRIPLE_XP_NODES = buildSkillNodes("mcmmo.perks.xp.triple.", "");
+    private static final String[] DOUBLE_AND_ONE_HALF_XP_NODES = buildSkillNodes("mcmmo.perks.xp.150percentboost.", "");
+    private static final String[] DOUBLE_XP_NODES = buildSkillNodes("mcmmo.perks.xp.double.", "");
+    private static final String[] ONE_AND_ONE_HALF_XP_NODES = buildSkillNodes("mcmmo.perks.xp.50percentboost.", "");
+    private static final String[] ONE_AND_A_QUARTER_XP_NODES = buildSkillNodes("mcmmo.perks.xp.25percentboost.", "");
+    private static final String[] ONE_AND_ONE_TENTH_XP_NODES = buildSkillNodes("mcmmo.perks.xp.10percentboost.", "");
+    private static final String[] CUSTOM_XP_BOOST_NODES = buildSkillNodes("mcmmo.perks.xp.customboost.", "");
+
+    private static String[] buildSkillNodes(String prefix, String suffix) {
+        PrimarySkillType[] skills = PrimarySkillType.values();
+        String[] nodes = new String[skills.length];
+
+        for (PrimarySkillType skill : skills) {
+            nodes[skill.ordinal()] = (prefix + skill.toString().toLowerCase(Locale.ENGLISH) + suffix).intern();
+        }
+
+        return nodes;
+    }
+
     /*
      * GENERAL
      */
@@ -79,6 +105,8 @@ public final class Permissions {
 
     public static boolean mctop(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.commands.mctop." + skill.toString().toLowerCase(Locale.ENGLISH)); }
 
+    public static boolean mmodebugTimings(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mmodebug.timings"); }
+
     public static boolean mmoedit(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mmoedit"); }
     public static boolean mmoeditOthers(Permissible permissible) { return permissible.hasPermission("mcmmo.commands.mmoedit.others"); }
 
@@ -106,47 +134,47 @@ public final class Permissions {
     public static boolean hasRepairEnchantBypassPerk(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.bypass.repairenchant"); }
     public static boolean hasSalvageEnchantBypassPerk(Permissible permissible) { return permissible.hasPermission("mcmmo.perks.bypass.salvageenchant"); }
 
-    public static boolean lucky(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.perks.lucky." + skill.toString().toLowerCase(Locale.ENGLISH)); }
+    public static boolean lucky(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission(LUCKY_NODES[skill.ordinal()]); }
 
     /* XP PERKS */
     public static boolean quadrupleXp(Permissible permissible, PrimarySkillType skill) { 
         return permissible.hasPermission("mcmmo.perks.xp.quadruple.all")
-            || permissible.hasPermission("mcmmo.perks.xp.quadruple." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+            || permissible.hasPermission(QUADRUPLE_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean tripleXp(Permissible permissible, PrimarySkillType skill) { 
         return permissible.hasPermission("mcmmo.perks.xp.triple.all")
-            || permissible.hasPermission("mcmmo.perks.xp.triple." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+            || permissible.hasPermission(TRIPLE_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean doubleAndOneHalfXp(Permissible permissible, PrimarySkillType skill) { 
         return permissible.hasPermission("mcmmo.perks.xp.150percentboost.all")
-            || permissible.hasPermission("mcmmo.perks.xp.150percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+            || permissible.hasPermission(DOUBLE_AND_ONE_HALF_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean doubleXp(Permissible permissible, PrimarySkillType skill) { 
         return permissible.hasPermission("mcmmo.perks.xp.double.all")
-            || permissible.hasPermission("mcmmo.perks.xp.double." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+            || permissible.hasPermission(DOUBLE_XP_NODES[skill.ordinal()]); 
     }
     
     public static boolean oneAndOneHalfXp(Permissible permissible, PrimarySkillType skill) { 
         return permissible.hasPermission("mcmmo.perks.xp.50percentboost.all")
-            || permissible.hasPermission("mcmmo.perks.xp.50percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+            || permissible.hasPermission(ONE_AND_ONE_HALF_XP_NODES[skill.ordinal()]); 
     }
 
     public static boolean oneAndAQuarterXp(Permissible permissible, PrimarySkillType skill) {
         return permissible.hasPermission("mcmmo.perks.xp.25percentboost.all")
-                || permissible.hasPermission("mcmmo.perks.xp.25percentboost." + skill.toString().toLowerCase(Locale.ENGLISH));
+                || permissible.hasPermission(ONE_AND_A_QUARTER_XP_NODES[skill.ordinal()]);
     }
 
     public static boolean oneAndOneTenthXp(Permissible permissible, PrimarySkillType skill) { 
         return permissible.hasPermission("mcmmo.perks.xp.10percentboost.all")
-            || permissible.hasPermission("mcmmo.perks.xp.10percentboost." + skill.toString().toLowerCase(Locale.ENGLISH)); 
+            || permissible.hasPermission(ONE_AND_ONE_TENTH_XP_NODES[skill.ordinal()]); 
     }
 
     public static boolean customXpBoost(Permissible permissible, PrimarySkillType skill) {
         return permissible.hasPermission("mcmmo.perks.xp.customboost.all")
-            || permissible.hasPermission("mcmmo.perks.xp.customboost." + skill.toString().toLowerCase(Locale.ENGLISH));
+            || permissible.hasPermission(CUSTOM_XP_BOOST_NODES[skill.ordinal()]);
     }
 
 
@@ -164,8 +192,8 @@ public final class Permissions {
      * SKILLS
      */
 
-    public static boolean skillEnabled(Permissible permissible, PrimarySkillType skill) {return permissible.hasPermission("mcmmo.skills." + skill.toString().toLowerCase(Locale.ENGLISH)); }
-    public static boolean vanillaXpBoost(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission("mcmmo.ability." + skill.toString().toLowerCase(Locale.ENGLISH) + ".vanillaxpboost"); }
+    public static boolean skillEnabled(Permissible permissible, PrimarySkillType skill) {return permissible.hasPermission(SKILL_ENABLED_NODES[skill.ordinal()]); }
+    public static boolean vanillaXpBoost(Permissible permissible, PrimarySkillType skill) { return permissible.hasPermission(VANILLA_XP_BOOST_NODES[skill.ordinal()]); }
     public static boolean isSubSkillEnabled(Permissible permissible, SubSkillType subSkillType) { return permissible.hasPermission(subSkillType.getPermissionNodeAddress()); }
     public static boolean isSubSkillEnabled(Permissible permissible, AbstractSubSkill abstractSubSkill) { return permissible.hasPermission(abstractSubSkill.getPermissionNode()); }
 
@@ -11,6 +11,7 @@ import org.bukkit.Bukkit;
 import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Sound;
+import org.bukkit.World;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
@@ -18,18 +19,43 @@ import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
 
+/**
+ * Tracks the summons of Call of the Wild
+ * <p>
+ * Summons are indexed by the player that owns them, by their entity UUID and by the chunk they were last seen in, so
+ * looking up the summons of an unloading chunk only visits the summons of that chunk and its neighbours. Summons are
+ * moved to their new chunk when they teleport and every second by a
+ * {@link com.gmail.nossr50.runnables.skills.SummonChunkIndexTask} running on the summon's own scheduler.
+ */
 public class TransientEntityTracker {
-    //These two are updated in step with each other
+    //These are updated in step with each other
     private final @NotNull HashMap<UUID, HashMap<CallOfTheWildType, HashSet<TrackedTamingEntity>>> perPlayerTransientEntityMap;
-    private final @NotNull HashSet<LivingEntity> chunkLookupCache;
+    private final @NotNull HashMap<UUID, IndexedSummon> summonsByEntity;
+    private final @NotNull HashMap<UUID, HashMap<Long, HashSet<IndexedSummon>>> summonsByChunk; // World UID -> chunk key -> summons
+
+    // Reused for location lookups so checking a summon's chunk doesn't allocate, only used while holding the lock
+    private final @NotNull Location scratchLocation = new Location(null, 0, 0, 0);
 
     public TransientEntityTracker() {
         perPlayerTransientEntityMap = new HashMap<>();
-        chunkLookupCache = new HashSet<>();
+        summonsByEntity = new HashMap<>();
+        summonsByChunk = new HashMap<>();
     }
 
+    /**
+     * @return a copy of every tracked summon
+     * @deprecated summons are no longer kept in a single set, use {@link #isTransientSummon(LivingEntity)} or
+     * {@link #getAllTransientEntitiesInChunk(Chunk)} instead
+     */
+    @Deprecated
     public synchronized @NotNull HashSet<LivingEntity> getChunkLookupCache() {
-        return chunkLookupCache;
+        HashSet<LivingEntity> livingEntities = new HashSet<>();
+
+        for (IndexedSummon indexedSummon : summonsByEntity.values()) {
+            livingEntities.add(indexedSummon.trackedTamingEntity.getLivingEntity());
+        }
+
+        return livingEntities;
     }
 
     public synchronized @NotNull HashMap<UUID, HashMap<CallOfTheWildType, HashSet<TrackedTamingEntity>>> getPerPlayerTransientEntityMap() {
@@ -67,7 +93,7 @@ public class TransientEntityTracker {
      * @param playerUUID target player UUID
      */
     private void cleanPlayer(@Nullable Player player, @NotNull UUID playerUUID) {
-        cleanupAllSummons(player, player.getUniqueId());
+        cleanupAllSummons(player, playerUUID);
         removePlayerFromMap(playerUUID);
     }
 
@@ -111,7 +137,7 @@ public class TransientEntityTracker {
 
     /**
      * Registers an entity to a player
-     * This includes registration to our per-player map and our chunk lookup cache
+     * This includes registration to our per-player map and our chunk and entity indexes
      *
      * @param playerUUID target player's UUID
      * @param trackedTamingEntity target entity
@@ -120,8 +146,11 @@ public class TransientEntityTracker {
         //Add to map entry
         getTrackedEntities(playerUUID, trackedTamingEntity.getCallOfTheWildType()).add(trackedTamingEntity);
 
-        //Add to cache for chunk lookups
-        addToChunkLookupCache(trackedTamingEntity);
+        //Add to the indexes for entity and chunk lookups
+        LivingEntity livingEntity = trackedTamingEntity.getLivingEntity();
+        IndexedSummon indexedSummon = new IndexedSummon(trackedTamingEntity, playerUUID);
+        summonsByEntity.put(livingEntity.getUniqueId(), indexedSummon);
+        addToChunkIndex(indexedSummon, livingEntity.getLocation(scratchLocation));
     }
 
     /**
@@ -131,7 +160,7 @@ public class TransientEntityTracker {
      * @return true if target living entity is a summon
      */
     public synchronized boolean isTransientSummon(@NotNull LivingEntity livingEntity) {
-        return getChunkLookupCache().contains(livingEntity);
+        return summonsByEntity.containsKey(livingEntity.getUniqueId());
     }
 
     /**
@@ -151,61 +180,92 @@ public class TransientEntityTracker {
         return playerEntityMap.get(callOfTheWildType);
     }
 
-    /**
-     * Adds an entity to our chunk lookup cache
-     *
-     * @param trackedTamingEntity target tracked taming entity
-     */
-    private synchronized void addToChunkLookupCache(@NotNull TrackedTamingEntity trackedTamingEntity) {
-        getChunkLookupCache().add(trackedTamingEntity.getLivingEntity());
-    }
-
     /**
      * Removes an entity from our tracker
-     * This includes removal from our per-player map and our chunk lookup cache
+     * This includes removal from our per-player map and our chunk and entity indexes
      *
      * @param livingEntity target entity
      */
     private void unregisterEntity(@NotNull LivingEntity livingEntity) {
-        chunkLookupCacheCleanup(livingEntity);
-        perPlayerTransientMapCleanup(livingEntity);
+        IndexedSummon indexedSummon = summonsByEntity.remove(livingEntity.getUniqueId());
+
+        if (indexedSummon == null)
+            return;
+
+        removeFromChunkIndex(indexedSummon);
+
+        HashSet<TrackedTamingEntity> trackedEntities = getTrackedEntities(indexedSummon.ownerUUID, indexedSummon.trackedTamingEntity.getCallOfTheWildType());
+
+        if (trackedEntities != null)
+            trackedEntities.remove(indexedSummon.trackedTamingEntity);
+    }
+
+    private static long getChunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    private void addToChunkIndex(@NotNull IndexedSummon indexedSummon, @NotNull Location location) {
+        World world = location.getWorld();
+
+        if (world == null)
+            return;
+
+        indexedSummon.worldUID = world.getUID();
+        indexedSummon.chunkKey = getChunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4);
+        summonsByChunk.computeIfAbsent(indexedSummon.worldUID, key -> new HashMap<>())
+                .computeIfAbsent(indexedSummon.chunkKey, key -> new HashSet<>())
+                .add(indexedSummon);
+    }
+
+    private void removeFromChunkIndex(@NotNull IndexedSummon indexedSummon) {
+        if (indexedSummon.worldUID == null)
+            return;
+
+        HashMap<Long, HashSet<IndexedSummon>> worldSummons = summonsByChunk.get(indexedSummon.worldUID);
+
+        if (worldSummons != null) {
+            HashSet<IndexedSummon> chunkSummons = worldSummons.get(indexedSummon.chunkKey);
+
+            if (chunkSummons != null && chunkSummons.remove(indexedSummon) && chunkSummons.isEmpty()) {
+                worldSummons.remove(indexedSummon.chunkKey);
+
+                if (worldSummons.isEmpty())
+                    summonsByChunk.remove(indexedSummon.worldUID);
+            }
+        }
+
+        indexedSummon.worldUID = null;
     }
 
     /**
-     * Removes an entity from our chunk lookup cache
+     * Move a summon to the chunk of a location if it isn't indexed there already
      *
-     * @param livingEntity target entity
+     * @return true if the summon was moved
      */
-    private void chunkLookupCacheCleanup(@NotNull LivingEntity livingEntity) {
-        getChunkLookupCache().remove(livingEntity);
+    private boolean moveInChunkIndex(@NotNull IndexedSummon indexedSummon, @NotNull Location location) {
+        World world = location.getWorld();
+
+        if (world != null
+                && world.getUID().equals(indexedSummon.worldUID)
+                && getChunkKey(location.getBlockX() >> 4, location.getBlockZ() >> 4) == indexedSummon.chunkKey)
+            return false;
+
+        removeFromChunkIndex(indexedSummon);
+        addToChunkIndex(indexedSummon, location);
+        return true;
     }
 
     /**
-     * Clean a living entity from our tracker
-     * Iterates over all players and their registered entities
-     * Doesn't do any kind of failure checking, if it doesn't find any player with a registered entity nothing bad happens or is reported
-     * However it should never happen like that, so maybe we could consider adding some failure to execute checking in the future
+     * Update the chunk a summon is indexed in, called when a summon teleports
      *
-     * @param livingEntity
+     * @param livingEntity target entity
+     * @param location the location the entity is now at
      */
-    private void perPlayerTransientMapCleanup(@NotNull LivingEntity livingEntity) {
-        for(UUID uuid : getPerPlayerTransientEntityMap().keySet()) {
-            for(CallOfTheWildType callOfTheWildType : CallOfTheWildType.values()) {
+    public synchronized void updateSummonLocation(@NotNull LivingEntity livingEntity, @NotNull Location location) {
+        IndexedSummon indexedSummon = summonsByEntity.get(livingEntity.getUniqueId());
 
-                HashSet<TrackedTamingEntity> trackedEntities = getTrackedEntities(uuid, callOfTheWildType);
-
-                if(trackedEntities == null)
-                    continue;
-
-                Iterator<TrackedTamingEntity> iterator = trackedEntities.iterator();
-                while (iterator.hasNext()) {
-                    if(iterator.next().getLivingEntity().equals(livingEntity)) {
-                        iterator.remove();
-                        return;
-                    }
-                }
-            }
-        }
+        if (indexedSummon != null)
+            moveInChunkIndex(indexedSummon, location);
     }
 
     /**
@@ -216,16 +276,49 @@ public class TransientEntityTracker {
      */
     public synchronized @NotNull List<LivingEntity> getAllTransientEntitiesInChunk(@NotNull Chunk chunk) {
         ArrayList<LivingEntity> matchingEntities = new ArrayList<>();
+        UUID worldUID = chunk.getWorld().getUID();
+
+        // The index is updated once a second, a summon that just walked in can still be indexed in a neighbouring chunk
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                // Moving summons can drop and recreate the map of the world, so it is looked up again for every chunk
+                HashMap<Long, HashSet<IndexedSummon>> worldSummons = summonsByChunk.get(worldUID);
+
+                if (worldSummons == null)
+                    return matchingEntities;
 
-        for(LivingEntity livingEntity : getChunkLookupCache()) {
-            if(livingEntity.getLocation().getChunk().equals(chunk)) {
-                matchingEntities.add(livingEntity);
+                HashSet<IndexedSummon> chunkSummons = worldSummons.get(getChunkKey(chunk.getX() + dx, chunk.getZ() + dz));
+
+                if (chunkSummons == null)
+                    continue;
+
+                for (IndexedSummon indexedSummon : ImmutableSet.copyOf(chunkSummons)) {
+                    LivingEntity livingEntity = indexedSummon.trackedTamingEntity.getLivingEntity();
+                    Location location = livingEntity.getLocation(scratchLocation);
+
+                    if (isInChunk(location, worldUID, chunk)) {
+                        moveInChunkIndex(indexedSummon, location);
+                        matchingEntities.add(livingEntity);
+                    } else if (dx == 0 && dz == 0) {
+                        // Summons that left the chunk since they were indexed are moved to where they are now instead
+                        moveInChunkIndex(indexedSummon, location);
+                    }
+                }
             }
         }
 
         return matchingEntities;
     }
 
+    private static boolean isInChunk(@NotNull Location location, @NotNull UUID worldUID, @NotNull Chunk chunk) {
+        World world = location.getWorld();
+
+        return world != null
+                && world.getUID().equals(worldUID)
+                && location.getBlockX() >> 4 == chunk.getX()
+                && location.getBlockZ() >> 4 == chunk.getZ();
+    }
+
     /**
      * Get the amount of a summon currently active for a player
      *
@@ -244,7 +337,7 @@ public class TransientEntityTracker {
 
     /**
      * Kills a summon and removes its metadata
-     * Then it removes it from the tracker / chunk lookup cache
+     * Then it removes it from the tracker and its indexes
      *
      * @param livingEntity entity to remove
      * @param player associated player
@@ -313,4 +406,19 @@ public class TransientEntityTracker {
 
         }
     }
+
+    /**
+     * A summon with its owner and the chunk it is indexed in
+     */
+    private static final class IndexedSummon {
+        private final @NotNull TrackedTamingEntity trackedTamingEntity;
+        private final @NotNull UUID ownerUUID;
+        private @Nullable UUID worldUID;
+        private long chunkKey;
+
+        private IndexedSummon(@NotNull TrackedTamingEntity trackedTamingEntity, @NotNull UUID ownerUUID) {
+            this.trackedTamingEntity = trackedTamingEntity;
+            this.ownerUUID = ownerUUID;
+        }
+    }
 }
@@ -27,7 +27,7 @@ public class BitSetChunkStore implements ChunkStore {
         this(world.getUID(), world.getMinHeight(), world.getMaxHeight(), cx, cz);
     }
 
-    private BitSetChunkStore(@NotNull UUID worldUid, int worldMin, int worldMax, int cx, int cz) {
+    BitSetChunkStore(@NotNull UUID worldUid, int worldMin, int worldMax, int cx, int cz) {
         this.cx = cx;
         this.cz = cz;
         this.worldUid = worldUid;
@@ -226,12 +226,21 @@ public class BitSetChunkStore implements ChunkStore {
             {
                 return BitSetChunkStore.deserialize(inputStream);
             }
+            else if (magicNumber == SparseChunkStore.STREAM_MAGIC) // Sparse sections format
+            {
+                return SparseChunkStore.deserialize(inputStream);
+            }
             throw new IOException("Bad Data Format");
         }
 
         public static void writeChunkStore(@NotNull DataOutputStream outputStream, @NotNull ChunkStore chunkStore) throws IOException {
+            if (chunkStore instanceof SparseChunkStore sparseChunkStore) {
+                outputStream.writeShort(SparseChunkStore.STREAM_MAGIC);
+                sparseChunkStore.serialize(outputStream);
+                return;
+            }
             if (!(chunkStore instanceof BitSetChunkStore))
-                throw new InvalidClassException("ChunkStore must be instance of BitSetChunkStore");
+                throw new InvalidClassException("ChunkStore must be instance of BitSetChunkStore or SparseChunkStore");
             outputStream.writeShort(STREAM_MAGIC);
             ((BitSetChunkStore)chunkStore).serialize(outputStream);
         }
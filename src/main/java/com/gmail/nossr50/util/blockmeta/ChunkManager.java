@@ -5,6 +5,8 @@ import org.jetbrains.annotations.NotNull;
 
 public interface ChunkManager extends UserBlockTracker {
     void closeAll();
+    void chunkLoaded(int cx, int cz, @NotNull World world);
+    void chunkGenerated(int cx, int cz, @NotNull World world);
     void chunkUnloaded(int cx, int cz, @NotNull World world);
     void unloadWorld(@NotNull World world);
 }
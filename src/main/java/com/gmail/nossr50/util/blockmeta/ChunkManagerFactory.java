@@ -7,7 +7,8 @@ public class ChunkManagerFactory {
     public static @NotNull ChunkManager getChunkManager() {
 
         if (PersistentDataConfig.getInstance().useBlockTracker()) {
-            return new HashChunkManager();
+            PersistentDataConfig persistentDataConfig = PersistentDataConfig.getInstance();
+            return new HashChunkManager(persistentDataConfig.getChunkStoreFormat(), persistentDataConfig.getRegionFileBackend());
         }
 
         return new NullChunkManager();
@@ -0,0 +1,61 @@
+package com.gmail.nossr50.util.blockmeta;
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+
+/**
+ * The kind of {@link ChunkStore} kept in memory and written to the region files
+ */
+public enum ChunkStoreFormat {
+    /**
+     * One bit for every block of the chunk, see {@link BitSetChunkStore}
+     */
+    BITSET,
+    /**
+     * Only the sections with placed blocks, see {@link SparseChunkStore}
+     */
+    SPARSE;
+
+    public @NotNull ChunkStore createChunkStore(@NotNull World world, int cx, int cz) {
+        return this == SPARSE ? new SparseChunkStore(world, cx, cz) : new BitSetChunkStore(world, cx, cz);
+    }
+
+    /**
+     * Converts a chunkstore read from disk to this format, chunkstores stored in another format are marked dirty so
+     * they are written back in this format when they unload
+     *
+     * @param chunkStore the chunkstore read from disk
+     * @return the chunkstore itself if it already is in this format, otherwise a converted copy
+     */
+    public @NotNull ChunkStore convert(@NotNull ChunkStore chunkStore) {
+        if (this == SPARSE ? chunkStore instanceof SparseChunkStore : chunkStore instanceof BitSetChunkStore)
+            return chunkStore;
+
+        ChunkStore copy = this == SPARSE
+                ? new SparseChunkStore(chunkStore.getWorldId(), chunkStore.getChunkMin(), chunkStore.getChunkMax(), chunkStore.getChunkX(), chunkStore.getChunkZ())
+                : new BitSetChunkStore(chunkStore.getWorldId(), chunkStore.getChunkMin(), chunkStore.getChunkMax(), chunkStore.getChunkX(), chunkStore.getChunkZ());
+
+        if (!chunkStore.isEmpty()) {
+            for (int y = chunkStore.getChunkMin(); y < chunkStore.getChunkMax(); y++)
+                for (int z = 0; z < 16; z++)
+                    for (int x = 0; x < 16; x++)
+                        if (chunkStore.isTrue(x, y, z))
+                            copy.setTrue(x, y, z);
+        }
+
+        copy.setDirty(true);
+        return copy;
+    }
+
+    public static @Nullable ChunkStoreFormat getChunkStoreFormat(@NotNull String string) {
+        try {
+            return valueOf(string.toUpperCase(Locale.ENGLISH));
+        }
+        catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
@@ -7,278 +7,389 @@ import org.bukkit.block.BlockState;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
-import java.io.DataOutputStream;
-import java.io.File;
-import java.io.IOException;
-import java.util.*;
-
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Tracks chunk stores by region file
+ * <p>
+ * Chunks and regions are keyed by a long packing the world index and the chunk or region coordinates. The state is split
+ * into stripes by region so every chunk of a region file is guarded by the same lock, and threads working in different
+ * regions (such as Folia region threads) don't contend with each other.
+ * <p>
+ * Region files are only read and written by a {@link RegionFileWorker}. Chunks are read in the background when they load,
+ * and dirty chunks are written in the background when they unload.
+ */
 public class HashChunkManager implements ChunkManager {
-    private final HashMap<CoordinateKey, McMMOSimpleRegionFile> regionMap = new HashMap<>(); // Tracks active regions
-    private final HashMap<CoordinateKey, HashSet<CoordinateKey>> chunkUsageMap = new HashMap<>(); // Tracks active chunks by region
-    private final HashMap<CoordinateKey, ChunkStore> chunkMap = new HashMap<>(); // Tracks active chunks
-
-    @Override
-    public synchronized void closeAll() {
-        // Save all dirty chunkstores
-        for (ChunkStore chunkStore : chunkMap.values())
-        {
-            if (!chunkStore.isDirty())
-                continue;
-            World world = Bukkit.getWorld(chunkStore.getWorldId());
-            if (world == null)
-                continue; // Oh well
-            writeChunkStore(world, chunkStore);
-        }
-        // Clear in memory chunks
-        chunkMap.clear();
-        chunkUsageMap.clear();
-        // Close all region files
-        for (McMMOSimpleRegionFile rf : regionMap.values())
-            rf.close();
-        regionMap.clear();
+    private static final int STRIPE_COUNT = 64; // Must be a power of two
+    private static final int COORDINATE_BITS = 22; // Enough for chunk coordinates within the world border
+    private static final long COORDINATE_MASK = (1L << COORDINATE_BITS) - 1;
+
+    private final ConcurrentHashMap<UUID, Integer> worldIndices = new ConcurrentHashMap<>();
+    private final AtomicInteger nextWorldIndex = new AtomicInteger();
+    private final Stripe[] stripes = new Stripe[STRIPE_COUNT];
+    private final @NotNull ChunkStoreFormat chunkStoreFormat;
+    private final @NotNull RegionFileWorker regionFileWorker;
+
+    public HashChunkManager() {
+        this(ChunkStoreFormat.BITSET, RegionFileBackend.RANDOM_ACCESS);
     }
 
-    private synchronized @Nullable ChunkStore readChunkStore(@NotNull World world, int cx, int cz) throws IOException {
-        McMMOSimpleRegionFile rf = getReadableSimpleRegionFile(world, cx, cz);
-        if (rf == null)
-            return null; // If there is no region file, there can't be a chunk
-        try (DataInputStream in = rf.getInputStream(cx, cz)) { // Get input stream for chunk
-            if (in == null)
-                return null; // No chunk
-            return BitSetChunkStore.Serialization.readChunkStore(in); // Read in the chunkstore
-        }
+    public HashChunkManager(@NotNull ChunkStoreFormat chunkStoreFormat, @NotNull RegionFileBackend regionFileBackend) {
+        this.chunkStoreFormat = chunkStoreFormat;
+        this.regionFileWorker = new RegionFileWorker(regionFileBackend);
+
+        for (int i = 0; i < STRIPE_COUNT; i++)
+            stripes[i] = new Stripe();
     }
 
-    private synchronized void writeChunkStore(@NotNull World world, @NotNull ChunkStore data) {
-        if (!data.isDirty())
-            return; // Don't save unchanged data
-        try {
-            McMMOSimpleRegionFile rf = getWriteableSimpleRegionFile(world, data.getChunkX(), data.getChunkZ());
-            try (DataOutputStream out = rf.getOutputStream(data.getChunkX(), data.getChunkZ())) {
-                BitSetChunkStore.Serialization.writeChunkStore(out, data);
+    @Override
+    public void closeAll() {
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                // Save all dirty chunkstores
+                for (ChunkStore chunkStore : stripe.chunks.values()) {
+                    if (!chunkStore.isDirty())
+                        continue;
+                    World world = Bukkit.getWorld(chunkStore.getWorldId());
+                    if (world == null)
+                        continue; // Oh well
+                    regionFileWorker.write(world, toRegionKey(getWorldIndex(world), chunkStore.getChunkX(), chunkStore.getChunkZ()), chunkStore);
+                }
+                // Clear in memory chunks
+                stripe.chunks.clear();
+                stripe.untrackedChunks.clear();
+                stripe.pendingLoads.clear();
+                stripe.chunksInUse.clear();
+            } finally {
+                stripe.lock.unlock();
             }
-            data.setDirty(false);
-        }
-        catch (IOException e) {
-            throw new RuntimeException("Unable to write chunk meta data for " + data.getChunkX() + ", " + data.getChunkZ(), e);
         }
+        // Write everything out and close all region files
+        regionFileWorker.close();
     }
 
-    private synchronized @NotNull McMMOSimpleRegionFile getWriteableSimpleRegionFile(@NotNull World world, int cx, int cz) {
-        CoordinateKey regionKey = toRegionKey(world.getUID(), cx, cz);
+    /**
+     * Start reading a chunk in the background so it is ready by the time blocks in it are looked up
+     */
+    @Override
+    public void chunkLoaded(int cx, int cz, @NotNull World world) {
+        int worldIndex = getWorldIndex(world);
+        long chunkKey = toChunkKey(worldIndex, cx, cz);
+        long regionKey = toRegionKey(worldIndex, cx, cz);
+        Stripe stripe = getStripe(regionKey);
+
+        stripe.lock.lock();
+        try {
+            if (stripe.chunks.containsKey(chunkKey) || stripe.untrackedChunks.containsKey(chunkKey) || stripe.pendingLoads.containsKey(chunkKey))
+                return;
 
-        return regionMap.computeIfAbsent(regionKey, k -> {
-            File regionFile = getRegionFile(world, regionKey);
-            regionFile.getParentFile().mkdirs();
-            return new McMMOSimpleRegionFile(regionFile, regionKey.x, regionKey.z);
-        });
+            stripe.pendingLoads.put(chunkKey, regionFileWorker.read(world, regionKey, cx, cz));
+        } finally {
+            stripe.lock.unlock();
+        }
     }
 
-    private synchronized @Nullable McMMOSimpleRegionFile getReadableSimpleRegionFile(@NotNull World world, int cx, int cz) {
-        CoordinateKey regionKey = toRegionKey(world.getUID(), cx, cz);
+    /**
+     * A newly generated chunk can't have any placed blocks stored yet, so it is known to be empty without reading it
+     */
+    @Override
+    public void chunkGenerated(int cx, int cz, @NotNull World world) {
+        int worldIndex = getWorldIndex(world);
+        long chunkKey = toChunkKey(worldIndex, cx, cz);
+        Stripe stripe = getStripe(toRegionKey(worldIndex, cx, cz));
 
-        return regionMap.computeIfAbsent(regionKey, k -> {
-            File regionFile = getRegionFile(world, regionKey);
-            if (!regionFile.exists())
-                return null; // Don't create the file on read-only operations
-            return new McMMOSimpleRegionFile(regionFile, regionKey.x, regionKey.z);
-        });
-    }
+        stripe.lock.lock();
+        try {
+            if (stripe.chunks.containsKey(chunkKey) || stripe.pendingLoads.containsKey(chunkKey))
+                return;
 
-    private @NotNull File getRegionFile(@NotNull World world, @NotNull CoordinateKey regionKey) {
-        if (world.getUID() != regionKey.worldID)
-            throw new IllegalArgumentException();
-        return new File(new File(world.getWorldFolder(), "mcmmo_regions"), "mcmmo_" + regionKey.x + "_" + regionKey.z + "_.mcm");
+            stripe.untrackedChunks.put(chunkKey, Boolean.TRUE);
+        } finally {
+            stripe.lock.unlock();
+        }
     }
 
-    private @Nullable ChunkStore loadChunk(int cx, int cz, @NotNull World world) {
+    private @Nullable ChunkStore decodeChunkStore(@NotNull CompletableFuture<byte[]> read) {
         try {
-            return readChunkStore(world, cx, cz);
+            byte[] data = read.join();
+            if (data == null)
+                return null; // No chunk
+            try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+                ChunkStore chunkStore = BitSetChunkStore.Serialization.readChunkStore(in); // Read in the chunkstore
+                return chunkStore == null ? null : chunkStoreFormat.convert(chunkStore);
+            }
         }
         catch (Exception ignored) {}
 
         return null;
     }
 
-    private void unloadChunk(int cx, int cz, @NotNull World world) {
-        CoordinateKey chunkKey = toChunkKey(world.getUID(), cx, cz);
-        ChunkStore chunkStore = chunkMap.remove(chunkKey); // Remove from chunk map
-        if (chunkStore == null)
-            return;
+    /**
+     * Get the chunkstore of a chunk, loading it from its region file if necessary
+     * Must be called while holding the lock of the stripe once, the lock is released while waiting for the region file
+     *
+     * @param create whether to create an empty chunkstore when the chunk has no stored data
+     * @return the chunkstore, or null if the chunk has no stored data and create is false
+     */
+    private @Nullable ChunkStore getChunkStore(@NotNull Stripe stripe, @NotNull World world, long chunkKey, long regionKey, int cx, int cz, boolean create) {
+        ChunkStore chunkStore = stripe.chunks.get(chunkKey);
+
+        if (chunkStore != null)
+            return chunkStore;
+
+        // Fast path for chunks without any placed blocks, these have already been looked up on disk
+        boolean untracked = stripe.untrackedChunks.containsKey(chunkKey);
+        if (untracked && !create)
+            return null;
+
+        if (!untracked) {
+            CompletableFuture<byte[]> read = stripe.pendingLoads.get(chunkKey);
+            // Chunks that weren't prefetched (loaded before mcMMO was enabled for example) are read now
+            if (read == null) {
+                read = regionFileWorker.read(world, regionKey, cx, cz);
+                stripe.pendingLoads.put(chunkKey, read);
+            }
 
-        if (chunkStore.isDirty())
-            writeChunkStore(world, chunkStore);
+            if (!read.isDone()) {
+                // Don't hold up every other chunk of the stripe while waiting on the disk
+                stripe.lock.unlock();
+                try {
+                    read.exceptionally(e -> null).join();
+                } finally {
+                    stripe.lock.lock();
+                }
+                // The chunk may have been loaded, created or unloaded by another thread in the meantime
+                return getChunkStore(stripe, world, chunkKey, regionKey, cx, cz, create);
+            }
 
-        CoordinateKey regionKey = toRegionKey(world.getUID(), cx, cz);
-        HashSet<CoordinateKey> chunkKeys = chunkUsageMap.get(regionKey);
-        chunkKeys.remove(chunkKey); // remove from region file in-use set
-        if (chunkKeys.isEmpty()) // If it was last chunk in region, close the region file and remove it from memory
-        {
-            chunkUsageMap.remove(regionKey);
-            regionMap.remove(regionKey).close();
+            stripe.pendingLoads.remove(chunkKey);
+            chunkStore = decodeChunkStore(read);
         }
+
+        if (chunkStore == null) {
+            // If setting to false, no need to create an empty chunkstore
+            if (!create) {
+                stripe.untrackedChunks.put(chunkKey, Boolean.TRUE);
+                return null;
+            }
+            // Create a new chunkstore
+            chunkStore = chunkStoreFormat.createChunkStore(world, cx, cz);
+        }
+
+        stripe.untrackedChunks.remove(chunkKey);
+        stripe.chunks.put(chunkKey, chunkStore);
+        // Mark chunk in-use for region tracking
+        Integer inUse = stripe.chunksInUse.get(regionKey);
+        stripe.chunksInUse.put(regionKey, inUse == null ? 1 : inUse + 1);
+        return chunkStore;
+    }
+
+    private void unloadChunk(@NotNull Stripe stripe, long chunkKey, long regionKey, @NotNull World world) {
+        stripe.untrackedChunks.remove(chunkKey);
+        stripe.pendingLoads.remove(chunkKey);
+        ChunkStore chunkStore = stripe.chunks.remove(chunkKey); // Remove from chunk map
+        Integer inUse = stripe.chunksInUse.get(regionKey);
+
+        if (chunkStore != null) {
+            // Written in the background, nothing else references the chunkstore anymore
+            if (chunkStore.isDirty())
+                regionFileWorker.write(world, regionKey, chunkStore);
+
+            if (inUse != null && inUse > 1) {
+                stripe.chunksInUse.put(regionKey, inUse - 1);
+                return;
+            }
+        } else if (inUse != null) {
+            return;
+        }
+
+        // If it was last chunk in region, close the region file once it has been written
+        stripe.chunksInUse.remove(regionKey);
+        regionFileWorker.releaseRegion(regionKey);
     }
 
     @Override
-    public synchronized void chunkUnloaded(int cx, int cz, @NotNull World world) {
-        unloadChunk(cx, cz, world);
+    public void chunkUnloaded(int cx, int cz, @NotNull World world) {
+        int worldIndex = getWorldIndex(world);
+        long regionKey = toRegionKey(worldIndex, cx, cz);
+        Stripe stripe = getStripe(regionKey);
+
+        stripe.lock.lock();
+        try {
+            unloadChunk(stripe, toChunkKey(worldIndex, cx, cz), regionKey, world);
+        } finally {
+            stripe.lock.unlock();
+        }
     }
 
     @Override
-    public synchronized void unloadWorld(@NotNull World world) {
-        UUID wID = world.getUID();
-
-        // Save and remove all the chunks
-        List<CoordinateKey> chunkKeys = new ArrayList<>(chunkMap.keySet());
-        for (CoordinateKey chunkKey : chunkKeys) {
-            if (!wID.equals(chunkKey.worldID))
-                continue;
-            ChunkStore chunkStore = chunkMap.remove(chunkKey);
-            if (!chunkStore.isDirty())
-                continue;
+    public void unloadWorld(@NotNull World world) {
+        Integer worldIndex = worldIndices.get(world.getUID());
+        if (worldIndex == null)
+            return; // Nothing was ever tracked in this world
+
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
             try {
-                writeChunkStore(world, chunkStore);
+                // Save and remove all the chunks
+                for (long chunkKey : stripe.chunks.keys()) {
+                    if (getWorldIndex(chunkKey) != worldIndex)
+                        continue;
+                    ChunkStore chunkStore = stripe.chunks.remove(chunkKey);
+                    if (!chunkStore.isDirty())
+                        continue;
+                    regionFileWorker.write(world, toRegionKey(worldIndex, chunkStore.getChunkX(), chunkStore.getChunkZ()), chunkStore);
+                }
+                for (long chunkKey : stripe.untrackedChunks.keys()) {
+                    if (getWorldIndex(chunkKey) == worldIndex)
+                        stripe.untrackedChunks.remove(chunkKey);
+                }
+                for (long chunkKey : stripe.pendingLoads.keys()) {
+                    if (getWorldIndex(chunkKey) == worldIndex)
+                        stripe.pendingLoads.remove(chunkKey);
+                }
+                for (long regionKey : stripe.chunksInUse.keys()) {
+                    if (getWorldIndex(regionKey) == worldIndex)
+                        stripe.chunksInUse.remove(regionKey);
+                }
+            } finally {
+                stripe.lock.unlock();
             }
-            catch (Exception ignore) { }
         }
         // Clear all the region files
-        List<CoordinateKey> regionKeys = new ArrayList<>(regionMap.keySet());
-        for (CoordinateKey regionKey : regionKeys) {
-            if (!wID.equals(regionKey.worldID))
-                continue;
-            regionMap.remove(regionKey).close();
-            chunkUsageMap.remove(regionKey);
-        }
+        regionFileWorker.releaseWorld(worldIndex);
     }
 
-    private synchronized boolean isTrue(int x, int y, int z, @NotNull World world) {
-        CoordinateKey chunkKey = blockCoordinateToChunkKey(world.getUID(), x, y, z);
+    private boolean isTrue(int x, int y, int z, @NotNull World world) {
+        int cx = x >> 4;
+        int cz = z >> 4;
+        int worldIndex = getWorldIndex(world);
+        long regionKey = toRegionKey(worldIndex, cx, cz);
+        Stripe stripe = getStripe(regionKey);
 
-        // Get chunk, load from file if necessary
-        // Get/Load/Create chunkstore
-        ChunkStore check = chunkMap.computeIfAbsent(chunkKey, k -> {
-            // Load from file
-            ChunkStore loaded = loadChunk(chunkKey.x, chunkKey.z, world);
-            if (loaded == null)
-                return null;
-            // Mark chunk in-use for region tracking
-            chunkUsageMap.computeIfAbsent(toRegionKey(chunkKey.worldID, chunkKey.x, chunkKey.z), j -> new HashSet<>()).add(chunkKey);
-            return loaded;
-        });
+        stripe.lock.lock();
+        try {
+            long chunkKey = toChunkKey(worldIndex, cx, cz);
+            CompletableFuture<byte[]> read = stripe.pendingLoads.get(chunkKey);
+
+            // Rather than waiting for the chunk to be read from disk, treat its blocks as placed until it is
+            if (read != null && !read.isDone())
+                return true;
+
+            ChunkStore check = getChunkStore(stripe, world, chunkKey, regionKey, cx, cz, false);
 
-        // No chunk, return false
-        if (check == null)
-            return false;
+            // No chunk, return false
+            if (check == null)
+                return false;
 
-        int ix = Math.abs(x) % 16;
-        int iz = Math.abs(z) % 16;
+            int ix = Math.abs(x) % 16;
+            int iz = Math.abs(z) % 16;
 
-        return check.isTrue(ix, y, iz);
+            return check.isTrue(ix, y, iz);
+        } finally {
+            stripe.lock.unlock();
+        }
     }
 
     @Override
-    public synchronized boolean isTrue(@NotNull Block block) {
+    public boolean isTrue(@NotNull Block block) {
         return isTrue(block.getX(), block.getY(), block.getZ(), block.getWorld());
     }
 
     @Override
-    public synchronized boolean isTrue(@NotNull BlockState blockState) {
+    public boolean isTrue(@NotNull BlockState blockState) {
         return isTrue(blockState.getX(), blockState.getY(), blockState.getZ(), blockState.getWorld());
     }
 
     @Override
-    public synchronized void setTrue(@NotNull Block block) {
+    public void setTrue(@NotNull Block block) {
         set(block.getX(), block.getY(), block.getZ(), block.getWorld(), true);
     }
 
     @Override
-    public synchronized void setTrue(@NotNull BlockState blockState) {
+    public void setTrue(@NotNull BlockState blockState) {
         set(blockState.getX(), blockState.getY(), blockState.getZ(), blockState.getWorld(), true);
     }
 
     @Override
-    public synchronized void setFalse(@NotNull Block block) {
+    public void setFalse(@NotNull Block block) {
         set(block.getX(), block.getY(), block.getZ(), block.getWorld(), false);
     }
 
     @Override
-    public synchronized void setFalse(@NotNull BlockState blockState) {
+    public void setFalse(@NotNull BlockState blockState) {
         set(blockState.getX(), blockState.getY(), blockState.getZ(), blockState.getWorld(), false);
     }
 
-    private synchronized void set(int x, int y, int z, @NotNull World world, boolean value){
-        CoordinateKey chunkKey = blockCoordinateToChunkKey(world.getUID(), x, y, z);
-
-        // Get/Load/Create chunkstore
-        ChunkStore cStore = chunkMap.computeIfAbsent(chunkKey, k -> {
-            // Load from file
-            ChunkStore loaded = loadChunk(chunkKey.x, chunkKey.z, world);
-            if (loaded != null)
-            {
-                chunkUsageMap.computeIfAbsent(toRegionKey(chunkKey.worldID, chunkKey.x, chunkKey.z), j -> new HashSet<>()).add(chunkKey);
-                return loaded;
-            }
-            // If setting to false, no need to create an empty chunkstore
-            if (!value)
-                return null;
-            // Mark chunk in-use for region tracking
-            chunkUsageMap.computeIfAbsent(toRegionKey(chunkKey.worldID, chunkKey.x, chunkKey.z), j -> new HashSet<>()).add(chunkKey);
-            // Create a new chunkstore
-            return new BitSetChunkStore(world, chunkKey.x, chunkKey.z);
-        });
+    private void set(int x, int y, int z, @NotNull World world, boolean value){
+        int cx = x >> 4;
+        int cz = z >> 4;
+        int worldIndex = getWorldIndex(world);
+        long regionKey = toRegionKey(worldIndex, cx, cz);
+        Stripe stripe = getStripe(regionKey);
 
-        // Indicates setting false on empty chunkstore
-        if (cStore == null)
-            return;
+        stripe.lock.lock();
+        try {
+            // Get/Load/Create chunkstore
+            ChunkStore cStore = getChunkStore(stripe, world, toChunkKey(worldIndex, cx, cz), regionKey, cx, cz, value);
+
+            // Indicates setting false on empty chunkstore
+            if (cStore == null)
+                return;
+
+            // Get block offset (offset from chunk corner)
+            int ix = Math.abs(x) % 16;
+            int iz = Math.abs(z) % 16;
+
+            // Set chunk store value
+            cStore.set(ix, y, iz, value);
+        } finally {
+            stripe.lock.unlock();
+        }
+    }
+
+    private int getWorldIndex(@NotNull World world) {
+        UUID worldUid = world.getUID();
+        Integer worldIndex = worldIndices.get(worldUid);
 
-        // Get block offset (offset from chunk corner)
-        int ix = Math.abs(x) % 16;
-        int iz = Math.abs(z) % 16;
+        if (worldIndex == null)
+            worldIndex = worldIndices.computeIfAbsent(worldUid, k -> nextWorldIndex.getAndIncrement());
 
-        // Set chunk store value
-        cStore.set(ix, y, iz, value);
+        return worldIndex;
     }
 
-    private @NotNull CoordinateKey blockCoordinateToChunkKey(@NotNull UUID worldUid, int x, int y, int z) {
-        return toChunkKey(worldUid, x >> 4, z >> 4);
+    static int getWorldIndex(long key) {
+        return (int) (key >>> (COORDINATE_BITS * 2));
     }
 
-    private @NotNull CoordinateKey toChunkKey(@NotNull UUID worldUid, int cx, int cz){
-        return new CoordinateKey(worldUid, cx, cz);
+    private @NotNull Stripe getStripe(long regionKey) {
+        return stripes[(int) LongHashMap.mix(regionKey) & (STRIPE_COUNT - 1)];
     }
 
-    private @NotNull CoordinateKey toRegionKey(@NotNull UUID worldUid, int cx, int cz) {
+    private static long toChunkKey(int worldIndex, int cx, int cz) {
+        return ((long) worldIndex << (COORDINATE_BITS * 2)) | ((cx & COORDINATE_MASK) << COORDINATE_BITS) | (cz & COORDINATE_MASK);
+    }
+
+    private static long toRegionKey(int worldIndex, int cx, int cz) {
         // Compute region index (32x32 chunk regions)
         int rx = cx >> 5;
         int rz = cz >> 5;
-        return new CoordinateKey(worldUid, rx, rz);
+        return toChunkKey(worldIndex, rx, rz);
     }
 
-    private static final class CoordinateKey {
-        public final @NotNull UUID worldID;
-        public final int x;
-        public final int z;
-
-        private CoordinateKey(@NotNull UUID worldID, int x, int z) {
-            this.worldID = worldID;
-            this.x = x;
-            this.z = z;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            CoordinateKey coordinateKey = (CoordinateKey) o;
-            return x == coordinateKey.x &&
-                    z == coordinateKey.z &&
-                    worldID.equals(coordinateKey.worldID);
-        }
-
-        @Override
-        public int hashCode() {
-            return Objects.hash(worldID, x, z);
-        }
+    private static final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LongHashMap<Integer> chunksInUse = new LongHashMap<>(); // Tracks the number of active chunks by region
+        private final LongHashMap<ChunkStore> chunks = new LongHashMap<>(); // Tracks active chunks
+        private final LongHashMap<Boolean> untrackedChunks = new LongHashMap<>(); // Chunks known to have no stored data
+        private final LongHashMap<CompletableFuture<byte[]>> pendingLoads = new LongHashMap<>(); // Chunks being read in the background
     }
 }
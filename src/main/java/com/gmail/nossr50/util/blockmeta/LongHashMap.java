@@ -0,0 +1,183 @@
+package com.gmail.nossr50.util.blockmeta;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Open addressing hash map from primitive long keys to non-null values
+ * Lookups don't allocate or box the key, this class is not thread safe
+ */
+final class LongHashMap<V> {
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+
+    LongHashMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    static long mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    private int slot(long key) {
+        return (int) mix(key) & mask;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable V get(long key) {
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key)
+                return (V) values[i];
+        }
+
+        return null;
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable V put(long key, @NotNull V value) {
+        int i = slot(key);
+
+        for (; values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+
+        keys[i] = key;
+        values[i] = value;
+
+        // Keep the table at most half full so probe sequences stay short
+        if (++size > (mask + 1) >> 1)
+            resize(keys.length << 1);
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable V remove(long key) {
+        for (int i = slot(key); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                shiftKeys(i);
+                size--;
+                return previous;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Backward shift deletion, moves following entries of the probe sequence into the freed slot
+     */
+    private void shiftKeys(int pos) {
+        while (true) {
+            int last = pos;
+            pos = (pos + 1) & mask;
+
+            while (true) {
+                if (values[pos] == null) {
+                    values[last] = null;
+                    return;
+                }
+
+                int slot = slot(keys[pos]);
+
+                if (last <= pos ? last >= slot || slot > pos : last >= slot && slot > pos)
+                    break;
+
+                pos = (pos + 1) & mask;
+            }
+
+            keys[last] = keys[pos];
+            values[last] = values[pos];
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null)
+                continue;
+
+            int slot = slot(oldKeys[i]);
+            while (values[slot] != null)
+                slot = (slot + 1) & mask;
+
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * @return a copy of the keys currently in the map
+     */
+    long @NotNull [] keys() {
+        long[] result = new long[size];
+        int index = 0;
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null)
+                result[index++] = keys[i];
+        }
+
+        return result;
+    }
+
+    /**
+     * @return a copy of the values currently in the map
+     */
+    @SuppressWarnings("unchecked")
+    @NotNull List<V> values() {
+        List<V> result = new ArrayList<>(size);
+
+        for (Object value : values) {
+            if (value != null)
+                result.add((V) value);
+        }
+
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        if (keys.length > MIN_CAPACITY) {
+            allocate(MIN_CAPACITY);
+        } else {
+            Arrays.fill(values, null);
+        }
+
+        size = 0;
+    }
+}
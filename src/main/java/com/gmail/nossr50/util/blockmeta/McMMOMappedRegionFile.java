@@ -0,0 +1,66 @@
+package com.gmail.nossr50.util.blockmeta;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Region file that reads and writes chunk data through a memory mapping of the file instead of seeking and writing
+ * through the {@link java.io.RandomAccessFile}
+ * The file format is the same as {@link McMMOSimpleRegionFile}, files can be opened by either.
+ */
+public class McMMOMappedRegionFile extends McMMOSimpleRegionFile {
+    // The mapping grows in steps so appending chunks doesn't remap the file every time
+    private static final int MAPPING_GROWTH_BYTES = 64 * 1024;
+
+    private final @NotNull FileChannel channel;
+    private @NotNull MappedByteBuffer buffer;
+
+    public McMMOMappedRegionFile(@NotNull File f, int rx, int rz) {
+        super(f, rx, rz);
+        this.channel = getFile().getChannel();
+
+        try {
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Unable to map region file " + f, e);
+        }
+    }
+
+    @Override
+    protected synchronized void writeBytes(long position, byte @NotNull [] data, int length) throws IOException {
+        long end = position + length;
+
+        // Extends the file when mapped past its end
+        if (end > buffer.capacity())
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(end, buffer.capacity() + MAPPING_GROWTH_BYTES));
+
+        buffer.put((int) position, data, 0, length);
+    }
+
+    @Override
+    protected synchronized void readBytes(long position, byte @NotNull [] data) throws IOException {
+        if (position + data.length > buffer.capacity())
+            throw new IOException("Chunk data is past the end of the region file");
+
+        buffer.get((int) position, data);
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            // Like writes through the RandomAccessFile, mapped writes are left to the OS until the file is closed
+            flushHeader();
+            buffer.force();
+        }
+        catch (IOException e) {
+            throw new RuntimeException("Unable to close file", e);
+        }
+
+        super.close();
+    }
+}
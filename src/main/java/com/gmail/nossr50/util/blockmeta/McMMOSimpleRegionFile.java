@@ -23,6 +23,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.io.*;
+import java.nio.ByteBuffer;
 import java.util.BitSet;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
@@ -49,8 +50,14 @@ public class McMMOSimpleRegionFile {
     private final int[] chunkNumBytes = new int[NUM_CHUNKS];
     private final int[] chunkNumSegments = new int[NUM_CHUNKS];
 
+    // Range of chunk indices whose info has changed since the header was last written, empty if min > max
+    private int dirtyMin = NUM_CHUNKS;
+    private int dirtyMax = -1;
+    private final BitSet dirtyChunks = new BitSet(NUM_CHUNKS);
+
     // Segments
     private final BitSet segments = new BitSet(); // Used to denote which segments are in use or not
+    private final BitSet movedFromSegments = new BitSet(); // Left by moved chunks, the header on disk still points at them
 
     // Segment size/mask
     private final int segmentExponent;
@@ -130,24 +137,91 @@ public class McMMOSimpleRegionFile {
 
     private synchronized void write(int index, byte[] buffer, int size) throws IOException {
         int oldSegmentIndex = chunkSegmentIndex[index]; // Get current segment index
+        int oldNumSegments = chunkNumBytes[index] == 0 ? 0 : chunkNumSegments[index];
         markChunkSegments(index, false); // Clear our old segments
+
+        // The header on disk points at the old segments until it is flushed, so data it points at isn't overwritten
+        // Chunks written again before the flush can reuse their own segments, nothing on disk points at those
+        if (oldNumSegments > 0 && !dirtyChunks.get(index)) {
+            segments.set(oldSegmentIndex, oldSegmentIndex + oldNumSegments, true);
+            movedFromSegments.set(oldSegmentIndex, oldSegmentIndex + oldNumSegments, true);
+        }
+
         int newSegmentIndex = findContiguousSegments(oldSegmentIndex, size); // Find contiguous segments to save to
-        file.seek((long) newSegmentIndex << segmentExponent); // Seek to file location
-        file.write(buffer, 0, size); // Write data
+
+        writeBytes((long) newSegmentIndex << segmentExponent, buffer, size); // Write data
         // update in memory info
         chunkSegmentIndex[index] = newSegmentIndex;
         chunkNumBytes[index] = size;
         chunkNumSegments[index] = bytesToSegments(size);
         // Mark segments in use
         markChunkSegments(index, true);
-        // Update header info
-        file.seek(SEEK_CHUNK_SEGMENT_INDICES + (4L * index));
-        file.writeInt(chunkSegmentIndex[index]);
-        file.seek(SEEK_CHUNK_BYTE_LENGTHS + (4L * index));
-        file.writeInt(chunkNumBytes[index]);
+        // Header info is written by flushHeader
+        dirtyChunks.set(index);
+        dirtyMin = Math.min(dirtyMin, index);
+        dirtyMax = Math.max(dirtyMax, index);
+    }
+
+    /**
+     * Writes the chunk segment indices and byte lengths of every chunk written since the last flush
+     * Only the range of entries that changed is written, one write per table
+     */
+    public synchronized void flushHeader() throws IOException {
+        if (dirtyMin > dirtyMax)
+            return;
+
+        int count = dirtyMax - dirtyMin + 1;
+        ByteBuffer entries = ByteBuffer.allocate(count * Integer.BYTES);
+        entries.asIntBuffer().put(chunkSegmentIndex, dirtyMin, count);
+        writeBytes(SEEK_CHUNK_SEGMENT_INDICES + (long) dirtyMin * Integer.BYTES, entries.array(), entries.capacity());
+        entries.clear();
+        entries.asIntBuffer().put(chunkNumBytes, dirtyMin, count);
+        writeBytes(SEEK_CHUNK_BYTE_LENGTHS + (long) dirtyMin * Integer.BYTES, entries.array(), entries.capacity());
+
+        dirtyMin = NUM_CHUNKS;
+        dirtyMax = -1;
+        dirtyChunks.clear();
+        // Nothing on disk points at the old segments of moved chunks anymore
+        segments.andNot(movedFromSegments);
+        movedFromSegments.clear();
+    }
+
+    /**
+     * Write bytes to the file at the given position, extending the file if needed
+     */
+    protected synchronized void writeBytes(long position, byte @NotNull [] buffer, int length) throws IOException {
+        file.seek(position); // Seek to file location
+        file.write(buffer, 0, length);
+    }
+
+    /**
+     * Fill the buffer with the bytes of the file at the given position
+     */
+    protected synchronized void readBytes(long position, byte @NotNull [] buffer) throws IOException {
+        file.seek(position); // Seek to file location
+        file.readFully(buffer);
+    }
+
+    protected @NotNull RandomAccessFile getFile() {
+        return file;
     }
 
     public synchronized @Nullable DataInputStream getInputStream(int x, int z) throws IOException {
+        byte[] data = readChunkData(x, z);
+
+        // No bytes
+        if (data == null)
+            return null;
+
+        return new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)));
+    }
+
+    /**
+     * Reads the compressed data of a chunk without inflating it
+     *
+     * @return the compressed chunk data, or null if the chunk has no data
+     */
+    public synchronized byte @Nullable [] readChunkData(int x, int z) throws IOException {
         int index = getChunkIndex(x, z); // Get chunk index
         int byteLength = chunkNumBytes[index]; // Get byte length of data
 
@@ -157,13 +231,13 @@ public class McMMOSimpleRegionFile {
 
         byte[] data = new byte[byteLength];
 
-        file.seek((long) chunkSegmentIndex[index] << segmentExponent); // Seek to file location
-        file.readFully(data); // Read in the data
-        return new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)));
+        readBytes((long) chunkSegmentIndex[index] << segmentExponent, data); // Read in the data
+        return data;
     }
 
     public synchronized void close() {
         try {
+            flushHeader();
             file.close();
             segments.clear();
         }
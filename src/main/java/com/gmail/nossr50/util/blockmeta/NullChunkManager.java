@@ -10,6 +10,12 @@ public class NullChunkManager implements ChunkManager {
     @Override
     public void closeAll() {}
 
+    @Override
+    public void chunkLoaded(int cx, int cz, @NotNull World world) {}
+
+    @Override
+    public void chunkGenerated(int cx, int cz, @NotNull World world) {}
+
     @Override
     public void chunkUnloaded(int cx, int cz, @NotNull World world) {}
 
@@ -0,0 +1,34 @@
+package com.gmail.nossr50.util.blockmeta;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * How region files are read and written, both backends use the same file format
+ */
+public enum RegionFileBackend {
+    /**
+     * Seeks and writes through a RandomAccessFile, see {@link McMMOSimpleRegionFile}
+     */
+    RANDOM_ACCESS,
+    /**
+     * Reads and writes through a memory mapping of the file, see {@link McMMOMappedRegionFile}
+     */
+    MEMORY_MAPPED;
+
+    public @NotNull McMMOSimpleRegionFile openRegionFile(@NotNull File file, int rx, int rz) {
+        return this == MEMORY_MAPPED ? new McMMOMappedRegionFile(file, rx, rz) : new McMMOSimpleRegionFile(file, rx, rz);
+    }
+
+    public static @Nullable RegionFileBackend getRegionFileBackend(@NotNull String string) {
+        try {
+            return valueOf(string.toUpperCase(Locale.ENGLISH));
+        }
+        catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
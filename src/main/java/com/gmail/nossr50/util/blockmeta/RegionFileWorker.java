@@ -0,0 +1,253 @@
+package com.gmail.nossr50.util.blockmeta;
+
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background thread that owns the region files of a {@link HashChunkManager}
+ * <p>
+ * Everything runs on a single thread. Reads first write whatever is queued for their own region, so a read always sees
+ * the chunks written before it without waiting on writes to other regions, and a drain of queued writes steps aside
+ * whenever a read is waiting. The header entries of the chunks written are flushed once at the end of every batch,
+ * and the region file keeps the old segments of moved chunks from being reused until then, so a crash in between only
+ * loses the chunks of that batch and never leaves the header pointing at another chunk's data.
+ */
+final class RegionFileWorker {
+    private final @NotNull RegionFileBackend regionFileBackend;
+    private final LongHashMap<McMMOSimpleRegionFile> regions = new LongHashMap<>(); // Only accessed by the worker thread
+    private final ConcurrentLinkedQueue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicInteger waitingReads = new AtomicInteger();
+    private @Nullable ExecutorService executor;
+
+    RegionFileWorker(@NotNull RegionFileBackend regionFileBackend) {
+        this.regionFileBackend = regionFileBackend;
+    }
+
+    private synchronized @NotNull ExecutorService getExecutor() {
+        if (executor == null || executor.isShutdown()) {
+            executor = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "mcMMO Region File I/O");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        return executor;
+    }
+
+    /**
+     * Read the compressed data of a chunk
+     *
+     * @return a future completed with the compressed chunk data, or with null if the chunk has no data
+     */
+    @NotNull CompletableFuture<byte[]> read(@NotNull World world, long regionKey, int cx, int cz) {
+        waitingReads.incrementAndGet();
+        return CompletableFuture.supplyAsync(() -> {
+            waitingReads.decrementAndGet();
+            writeQueued(regionKey);
+
+            try {
+                McMMOSimpleRegionFile rf = getReadableRegionFile(world, regionKey, cx >> 5, cz >> 5);
+                if (rf == null)
+                    return null; // If there is no region file, there can't be a chunk
+                return rf.readChunkData(cx, cz);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, getExecutor());
+    }
+
+    /**
+     * Queue a chunkstore to be written, the chunkstore must no longer be modified by the caller
+     */
+    void write(@NotNull World world, long regionKey, @NotNull ChunkStore chunkStore) {
+        pendingWrites.add(new PendingWrite(world, regionKey, chunkStore));
+
+        if (drainScheduled.compareAndSet(false, true))
+            getExecutor().execute(this::drainWrites);
+    }
+
+    /**
+     * Close a region file once everything queued before has been written
+     */
+    void releaseRegion(long regionKey) {
+        getExecutor().execute(() -> {
+            writeQueued(regionKey);
+            McMMOSimpleRegionFile rf = regions.remove(regionKey);
+            if (rf != null)
+                rf.close();
+        });
+    }
+
+    /**
+     * Close every region file of a world once everything queued before has been written
+     */
+    void releaseWorld(int worldIndex) {
+        getExecutor().execute(() -> {
+            writeAll();
+            for (long regionKey : regions.keys()) {
+                if (HashChunkManager.getWorldIndex(regionKey) == worldIndex)
+                    regions.remove(regionKey).close();
+            }
+        });
+    }
+
+    /**
+     * Write everything that is queued, close all region files and stop the worker thread
+     * Blocks until done
+     */
+    void close() {
+        ExecutorService executorService = getExecutor();
+
+        try {
+            executorService.submit(() -> {
+                writeAll();
+                for (McMMOSimpleRegionFile rf : regions.values())
+                    rf.close();
+                regions.clear();
+            }).get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+        finally {
+            executorService.shutdown();
+        }
+    }
+
+    /**
+     * Write queued chunks until a read is waiting, the rest is written after the read
+     */
+    private void drainWrites() {
+        drainScheduled.set(false);
+
+        PendingWrite pendingWrite;
+        while ((pendingWrite = pendingWrites.poll()) != null) {
+            writeChunk(pendingWrite);
+
+            if (waitingReads.get() > 0) {
+                if (!pendingWrites.isEmpty() && drainScheduled.compareAndSet(false, true))
+                    getExecutor().execute(this::drainWrites);
+                break;
+            }
+        }
+
+        flushHeaders();
+    }
+
+    private void writeAll() {
+        PendingWrite pendingWrite;
+        while ((pendingWrite = pendingWrites.poll()) != null)
+            writeChunk(pendingWrite);
+
+        flushHeaders();
+    }
+
+    /**
+     * Write the queued chunks of one region, in the order they were queued
+     */
+    private void writeQueued(long regionKey) {
+        Iterator<PendingWrite> iterator = pendingWrites.iterator();
+
+        while (iterator.hasNext()) {
+            PendingWrite pendingWrite = iterator.next();
+            if (pendingWrite.regionKey == regionKey) {
+                iterator.remove();
+                writeChunk(pendingWrite);
+            }
+        }
+
+        McMMOSimpleRegionFile rf = regions.get(regionKey);
+        if (rf != null)
+            flushHeader(rf);
+    }
+
+    /**
+     * Write the header entries of every chunk written since the last flush, does nothing for untouched region files
+     */
+    private void flushHeaders() {
+        for (McMMOSimpleRegionFile rf : regions.values())
+            flushHeader(rf);
+    }
+
+    private void flushHeader(@NotNull McMMOSimpleRegionFile rf) {
+        try {
+            rf.flushHeader();
+        }
+        catch (IOException e) {
+            new RuntimeException("Unable to write the header of a region file", e).printStackTrace();
+        }
+    }
+
+    private void writeChunk(@NotNull PendingWrite pendingWrite) {
+        ChunkStore data = pendingWrite.chunkStore;
+        try {
+            McMMOSimpleRegionFile rf = getWriteableRegionFile(pendingWrite.world, pendingWrite.regionKey, data.getChunkX() >> 5, data.getChunkZ() >> 5);
+            try (DataOutputStream out = rf.getOutputStream(data.getChunkX(), data.getChunkZ())) {
+                BitSetChunkStore.Serialization.writeChunkStore(out, data);
+            }
+            data.setDirty(false);
+        }
+        catch (Exception e) {
+            new RuntimeException("Unable to write chunk meta data for " + data.getChunkX() + ", " + data.getChunkZ(), e).printStackTrace();
+        }
+    }
+
+    private @NotNull McMMOSimpleRegionFile getWriteableRegionFile(@NotNull World world, long regionKey, int rx, int rz) {
+        McMMOSimpleRegionFile rf = regions.get(regionKey);
+
+        if (rf == null) {
+            File regionFile = getRegionFile(world, rx, rz);
+            regionFile.getParentFile().mkdirs();
+            rf = regionFileBackend.openRegionFile(regionFile, rx, rz);
+            regions.put(regionKey, rf);
+        }
+
+        return rf;
+    }
+
+    private @Nullable McMMOSimpleRegionFile getReadableRegionFile(@NotNull World world, long regionKey, int rx, int rz) {
+        McMMOSimpleRegionFile rf = regions.get(regionKey);
+
+        if (rf == null) {
+            File regionFile = getRegionFile(world, rx, rz);
+            if (!regionFile.exists())
+                return null; // Don't create the file on read-only operations
+            rf = regionFileBackend.openRegionFile(regionFile, rx, rz);
+            regions.put(regionKey, rf);
+        }
+
+        return rf;
+    }
+
+    private @NotNull File getRegionFile(@NotNull World world, int rx, int rz) {
+        return new File(new File(world.getWorldFolder(), "mcmmo_regions"), "mcmmo_" + rx + "_" + rz + "_.mcm");
+    }
+
+    private static final class PendingWrite {
+        private final @NotNull World world;
+        private final long regionKey;
+        private final @NotNull ChunkStore chunkStore;
+
+        private PendingWrite(@NotNull World world, long regionKey, @NotNull ChunkStore chunkStore) {
+            this.world = world;
+            this.regionKey = regionKey;
+            this.chunkStore = chunkStore;
+        }
+    }
+}
@@ -0,0 +1,361 @@
+package com.gmail.nossr50.util.blockmeta;
+
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * ChunkStore that only allocates memory for the sections (16x16x16 blocks) that contain placed blocks
+ * <p>
+ * A section with a few placed blocks stores their sorted indices in a short array, once it holds more than
+ * {@link #SPARSE_SECTION_LIMIT} blocks it switches to a 4096 bit bitmap, and back again when it empties out. Sections
+ * without any placed blocks take no memory, and a chunk without any placed blocks doesn't allocate its section table.
+ */
+public class SparseChunkStore implements ChunkStore {
+    static final short STREAM_MAGIC = (short) 0xACDE;
+    private static final int CURRENT_VERSION = 1;
+    private static final int MAGIC_NUMBER = 0xEA5EDEBB;
+
+    private static final int SECTION_BLOCKS = 16 * 16 * 16;
+    private static final int BITMAP_WORDS = SECTION_BLOCKS / Long.SIZE;
+    // A short array of this many indices takes as much memory as a bitmap
+    private static final int SPARSE_SECTION_LIMIT = SECTION_BLOCKS / Short.SIZE;
+    // Bitmaps go back to short arrays below this, lower than the limit so a section doesn't keep switching
+    private static final int BITMAP_SECTION_MIN = SPARSE_SECTION_LIMIT / 2;
+
+    private static final byte SECTION_SPARSE = 0;
+    private static final byte SECTION_BITMAP = 1;
+
+    private final int cx;
+    private final int cz;
+    private final int worldMin;
+    private final int worldMax;
+    private final @NotNull UUID worldUid;
+    // Each section is null, a sorted short[] of block indices or a long[] bitmap, indices are the same as in BitSetChunkStore
+    private Object @Nullable [] sections;
+
+    private transient boolean dirty = false;
+
+    public SparseChunkStore(@NotNull World world, int cx, int cz) {
+        this(world.getUID(), world.getMinHeight(), world.getMaxHeight(), cx, cz);
+    }
+
+    SparseChunkStore(@NotNull UUID worldUid, int worldMin, int worldMax, int cx, int cz) {
+        this.cx = cx;
+        this.cz = cz;
+        this.worldUid = worldUid;
+        this.worldMin = worldMin;
+        this.worldMax = worldMax;
+    }
+
+    @Override
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    @Override
+    public void setDirty(boolean dirty) {
+        this.dirty = dirty;
+    }
+
+    @Override
+    public int getChunkX() {
+        return cx;
+    }
+
+    @Override
+    public int getChunkZ() {
+        return cz;
+    }
+
+    @Override
+    public int getChunkMin() {
+        return worldMin;
+    }
+
+    @Override
+    public int getChunkMax() {
+        return worldMax;
+    }
+
+    @Override
+    public @NotNull UUID getWorldId() {
+        return worldUid;
+    }
+
+    @Override
+    public boolean isTrue(int x, int y, int z) {
+        int index = coordToIndex(x, y, z);
+
+        if (sections == null)
+            return false;
+
+        Object section = sections[index / SECTION_BLOCKS];
+        int sectionIndex = index % SECTION_BLOCKS;
+
+        if (section instanceof short[] sparse)
+            return Arrays.binarySearch(sparse, (short) sectionIndex) >= 0;
+
+        if (section instanceof long[] bitmap)
+            return (bitmap[sectionIndex >> 6] & (1L << sectionIndex)) != 0;
+
+        return false;
+    }
+
+    @Override
+    public void setTrue(int x, int y, int z) {
+        set(x, y, z, true);
+    }
+
+    @Override
+    public void setFalse(int x, int y, int z) {
+        set(x, y, z, false);
+    }
+
+    @Override
+    public void set(int x, int y, int z, boolean value) {
+        int index = coordToIndex(x, y, z);
+        dirty = true;
+
+        if (sections == null) {
+            if (!value)
+                return;
+            sections = new Object[(worldMax - worldMin + 15) / 16];
+        }
+
+        int sectionNumber = index / SECTION_BLOCKS;
+        sections[sectionNumber] = value
+                ? setTrue(sections[sectionNumber], index % SECTION_BLOCKS)
+                : setFalse(sections[sectionNumber], index % SECTION_BLOCKS);
+    }
+
+    private static @NotNull Object setTrue(@Nullable Object section, int sectionIndex) {
+        if (section instanceof long[] bitmap) {
+            bitmap[sectionIndex >> 6] |= 1L << sectionIndex;
+            return bitmap;
+        }
+
+        short[] sparse = section == null ? new short[0] : (short[]) section;
+        int position = Arrays.binarySearch(sparse, (short) sectionIndex);
+
+        if (position >= 0)
+            return sparse; // Already set
+
+        if (sparse.length >= SPARSE_SECTION_LIMIT) {
+            long[] bitmap = toBitmap(sparse);
+            bitmap[sectionIndex >> 6] |= 1L << sectionIndex;
+            return bitmap;
+        }
+
+        int insertAt = -position - 1;
+        short[] grown = new short[sparse.length + 1];
+        System.arraycopy(sparse, 0, grown, 0, insertAt);
+        grown[insertAt] = (short) sectionIndex;
+        System.arraycopy(sparse, insertAt, grown, insertAt + 1, sparse.length - insertAt);
+        return grown;
+    }
+
+    private static @Nullable Object setFalse(@Nullable Object section, int sectionIndex) {
+        if (section instanceof long[] bitmap) {
+            bitmap[sectionIndex >> 6] &= ~(1L << sectionIndex);
+            return bitCount(bitmap) < BITMAP_SECTION_MIN ? toSparse(bitmap) : bitmap;
+        }
+
+        if (section == null)
+            return null;
+
+        short[] sparse = (short[]) section;
+        int position = Arrays.binarySearch(sparse, (short) sectionIndex);
+
+        if (position < 0)
+            return sparse; // Already unset
+
+        if (sparse.length == 1)
+            return null;
+
+        short[] shrunk = new short[sparse.length - 1];
+        System.arraycopy(sparse, 0, shrunk, 0, position);
+        System.arraycopy(sparse, position + 1, shrunk, position, sparse.length - position - 1);
+        return shrunk;
+    }
+
+    private static long @NotNull [] toBitmap(short @NotNull [] sparse) {
+        long[] bitmap = new long[BITMAP_WORDS];
+
+        for (short sectionIndex : sparse)
+            bitmap[sectionIndex >> 6] |= 1L << sectionIndex;
+
+        return bitmap;
+    }
+
+    private static @Nullable Object toSparse(long @NotNull [] bitmap) {
+        int count = bitCount(bitmap);
+
+        if (count == 0)
+            return null;
+
+        short[] sparse = new short[count];
+        int position = 0;
+
+        // Bits are visited in ascending order so the array comes out sorted
+        for (int word = 0; word < BITMAP_WORDS; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                sparse[position++] = (short) ((word << 6) + Long.numberOfTrailingZeros(bits));
+                bits &= bits - 1;
+            }
+        }
+
+        return sparse;
+    }
+
+    private static int bitCount(long @NotNull [] bitmap) {
+        int count = 0;
+
+        for (long word : bitmap)
+            count += Long.bitCount(word);
+
+        return count;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        if (sections == null)
+            return true;
+
+        for (Object section : sections) {
+            if (section != null)
+                return false;
+        }
+
+        return true;
+    }
+
+    private int coordToIndex(int x, int y, int z) {
+        if (x < 0 || x >= 16 || y < worldMin || y >= worldMax || z < 0 || z >= 16)
+            throw new IndexOutOfBoundsException(String.format("x: %d y: %d z: %d World Min: %d World Max: %d", x, y, z, worldMin, worldMax));
+        return (z * 16 + x) + (256 * (y - worldMin));
+    }
+
+    void serialize(@NotNull DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC_NUMBER);
+        out.writeInt(CURRENT_VERSION);
+
+        out.writeLong(worldUid.getLeastSignificantBits());
+        out.writeLong(worldUid.getMostSignificantBits());
+        out.writeInt(cx);
+        out.writeInt(cz);
+        out.writeInt(worldMin);
+        out.writeInt(worldMax);
+
+        int sectionCount = 0;
+        if (sections != null) {
+            for (Object section : sections) {
+                if (section != null)
+                    sectionCount++;
+            }
+        }
+        out.writeInt(sectionCount);
+
+        for (int sectionNumber = 0; sectionCount > 0 && sectionNumber < sections.length; sectionNumber++) {
+            Object section = sections[sectionNumber];
+
+            if (section instanceof short[] sparse) {
+                out.writeShort(sectionNumber);
+                out.writeByte(SECTION_SPARSE);
+                out.writeShort(sparse.length);
+                for (short sectionIndex : sparse)
+                    out.writeShort(sectionIndex);
+            } else if (section instanceof long[] bitmap) {
+                out.writeShort(sectionNumber);
+                out.writeByte(SECTION_BITMAP);
+                for (long word : bitmap)
+                    out.writeLong(word);
+            }
+        }
+
+        dirty = false;
+    }
+
+    static @NotNull SparseChunkStore deserialize(@NotNull DataInputStream in) throws IOException {
+        int magic = in.readInt();
+        int fileVersionNumber = in.readInt();
+
+        if (magic != MAGIC_NUMBER || fileVersionNumber != CURRENT_VERSION)
+            throw new IOException();
+
+        long lsb = in.readLong();
+        long msb = in.readLong();
+        UUID worldUid = new UUID(msb, lsb);
+        int cx = in.readInt();
+        int cz = in.readInt();
+        int worldMin = in.readInt();
+        int worldMax = in.readInt();
+
+        World world = Bukkit.getWorld(worldUid);
+        // Not sure how this case could come up, but might as well handle it gracefully.  Loading a chunkstore for an unloaded world?
+        if (world == null)
+            throw new RuntimeException("Cannot grab the world height for an unloaded world");
+
+        int currentWorldMin = world.getMinHeight();
+        int currentWorldMax = world.getMaxHeight();
+        SparseChunkStore chunkStore = new SparseChunkStore(worldUid, currentWorldMin, currentWorldMax, cx, cz);
+
+        int sectionCount = in.readInt();
+        for (int i = 0; i < sectionCount; i++) {
+            int sectionNumber = in.readShort();
+            byte type = in.readByte();
+            Object section;
+
+            if (type == SECTION_SPARSE) {
+                short[] sparse = new short[in.readShort()];
+                for (int j = 0; j < sparse.length; j++)
+                    sparse[j] = in.readShort();
+                section = sparse;
+            } else if (type == SECTION_BITMAP) {
+                long[] bitmap = new long[BITMAP_WORDS];
+                for (int j = 0; j < BITMAP_WORDS; j++)
+                    bitmap[j] = in.readLong();
+                section = bitmap;
+            } else {
+                throw new IOException("Bad section type " + type);
+            }
+
+            chunkStore.loadSection(sectionNumber, section, worldMin);
+        }
+
+        chunkStore.dirty = currentWorldMin != worldMin || currentWorldMax != worldMax;
+
+        return chunkStore;
+    }
+
+    /**
+     * Load a stored section, blocks are kept at the same height if the height of the world has changed since it was saved
+     */
+    private void loadSection(int sectionNumber, @NotNull Object section, int storedWorldMin) {
+        if (storedWorldMin == worldMin) {
+            if (sections == null)
+                sections = new Object[(worldMax - worldMin + 15) / 16];
+            if (sectionNumber < sections.length)
+                sections[sectionNumber] = section;
+            return;
+        }
+
+        short[] sparse = section instanceof long[] bitmap ? (short[]) toSparse(bitmap) : (short[]) section;
+        if (sparse == null)
+            return;
+
+        for (short sectionIndex : sparse) {
+            int y = storedWorldMin + sectionNumber * 16 + (sectionIndex >> 8);
+            if (y >= worldMin && y < worldMax)
+                set(sectionIndex & 15, y, (sectionIndex >> 4) & 15, true);
+        }
+    }
+}
@@ -5,25 +5,30 @@ import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.runnables.skills.ExperienceBarHideTask;
-import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.player.NotificationManager;
+import com.gmail.nossr50.util.tick.TickCategory;
 import org.bukkit.plugin.Plugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
 /**
  * ExperienceBarManager handles displaying and updating mcMMO experience bars for players
  * Each ExperienceBarManager only manages a single player
+ * <p>
+ * XP gains only mark a bar as needing an update and push back when it hides, a single {@link ExperienceBarHideTask}
+ * runs every tick while bars are waiting and applies both, so a player gaining XP several times a tick doesn't update
+ * the bar or schedule a task every time.
  */
 public class ExperienceBarManager {
     private final McMMOPlayer mcMMOPlayer;
     int delaySeconds = 3;
 
     private HashMap<PrimarySkillType, ExperienceBarWrapper> experienceBars;
-    private HashMap<PrimarySkillType, ExperienceBarHideTask> experienceBarHideTaskHashMap;
+    private @Nullable ExperienceBarHideTask experienceBarHideTask; // Running while bars are waiting to be updated or hidden
 
     private HashSet<PrimarySkillType> alwaysVisible;
     private HashSet<PrimarySkillType> disabledBars;
@@ -37,7 +42,6 @@ public class ExperienceBarManager {
     public void init() {
         //Init maps
         experienceBars = new HashMap<>();
-        experienceBarHideTaskHashMap = new HashMap<>();
 
         //Init sets
         alwaysVisible = new HashSet<>();
@@ -58,28 +62,51 @@ public class ExperienceBarManager {
         //Get Bar
         ExperienceBarWrapper experienceBarWrapper = experienceBars.get(primarySkillType);
 
-        //Update Progress
-        experienceBarWrapper.setProgress(mcMMOPlayer.getProgressInCurrentSkillLevel(primarySkillType));
+        //Queue the progress update and push back the hide deadline
+        experienceBarWrapper.markUpdatePending();
+        experienceBarWrapper.setHideDeadline(alwaysVisible.contains(primarySkillType) ? 0 : System.currentTimeMillis() + delaySeconds * 1000L);
 
-        //Show Bar
-        experienceBarWrapper.showExperienceBar();
+        scheduleHideTask();
+    }
 
-        //Setup Hide Bar Task
-        if(experienceBarHideTaskHashMap.get(primarySkillType) != null)
-        {
-            experienceBarHideTaskHashMap.get(primarySkillType).cancel();
-        }
+    private void scheduleHideTask() {
+        if(experienceBarHideTask != null && !experienceBarHideTask.isCancelled())
+            return;
 
-        scheduleHideTask(primarySkillType, plugin);
+        experienceBarHideTask = new ExperienceBarHideTask(this, mcMMOPlayer);
+        mcMMO.getTickEngine().schedule(TickCategory.EXPERIENCE_BAR, mcMMOPlayer.getPlayer(), experienceBarHideTask, 1, 1);
     }
 
-    private void scheduleHideTask(PrimarySkillType primarySkillType, Plugin plugin) {
-        if(alwaysVisible.contains(primarySkillType))
-            return;
+    /**
+     * Apply queued updates and hide the bars whose deadline has passed, called every tick by {@link ExperienceBarHideTask}
+     *
+     * @param now the current time in milliseconds
+     * @return true if bars are still waiting to be updated or hidden
+     */
+    public boolean tickExperienceBars(long now) {
+        boolean waiting = false;
+
+        for(Map.Entry<PrimarySkillType, ExperienceBarWrapper> entry : experienceBars.entrySet()) {
+            ExperienceBarWrapper experienceBarWrapper = entry.getValue();
+
+            if(experienceBarWrapper.isUpdatePending())
+                experienceBarWrapper.applyPendingUpdate(mcMMOPlayer.getProgressInCurrentSkillLevel(entry.getKey()));
+
+            long hideDeadline = experienceBarWrapper.getHideDeadline();
+
+            if(hideDeadline == 0)
+                continue;
 
-        ExperienceBarHideTask experienceBarHideTask = new ExperienceBarHideTask(this, mcMMOPlayer, primarySkillType);
-        mcMMO.p.getFoliaLib().getImpl().runAtEntityLater(mcMMOPlayer.getPlayer(), experienceBarHideTask, (long) delaySeconds * Misc.TICK_CONVERSION_FACTOR);
-        experienceBarHideTaskHashMap.put(primarySkillType, experienceBarHideTask);
+            if(now >= hideDeadline)
+                experienceBarWrapper.hideExperienceBar();
+            else
+                waiting = true;
+        }
+
+        if(!waiting)
+            experienceBarHideTask = null;
+
+        return waiting;
     }
 
     public void hideExperienceBar(PrimarySkillType primarySkillType)
@@ -88,11 +115,6 @@ public class ExperienceBarManager {
             experienceBars.get(primarySkillType).hideExperienceBar();
     }
 
-    public void clearTask(PrimarySkillType primarySkillType)
-    {
-        experienceBarHideTaskHashMap.remove(primarySkillType);
-    }
-
     public void disableAllBars() {
         for(PrimarySkillType primarySkillType : PrimarySkillType.values()) {
             xpBarSettingToggle(XPBarSettingTarget.HIDE, primarySkillType);
@@ -107,22 +129,12 @@ public class ExperienceBarManager {
                 disabledBars.remove(skillType);
                 alwaysVisible.add(skillType);
 
-                //Remove lingering tasks
-                if(experienceBarHideTaskHashMap.containsKey(skillType)) {
-                    experienceBarHideTaskHashMap.get(skillType).cancel();
-                }
-
                 updateExperienceBar(skillType, mcMMO.p);
                 break;
             case HIDE:
                 alwaysVisible.remove(skillType);
                 disabledBars.add(skillType);
 
-                //Remove lingering tasks
-                if(experienceBarHideTaskHashMap.containsKey(skillType)) {
-                    experienceBarHideTaskHashMap.get(skillType).cancel();
-                }
-
                 hideExperienceBar(skillType);
                 break;
             case RESET:
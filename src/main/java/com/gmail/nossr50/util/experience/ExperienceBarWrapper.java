@@ -22,6 +22,8 @@ public class ExperienceBarWrapper {
     private BossBar bossBar;
     protected final McMMOPlayer mcMMOPlayer;
     private int lastLevelUpdated;
+    private boolean updatePending;
+    private long hideDeadline; // When the bar should be hidden in milliseconds, 0 if it isn't waiting to be hidden
 
     /*
      * This is stored to help optimize updating the title
@@ -136,9 +138,41 @@ public class ExperienceBarWrapper {
 
     public void hideExperienceBar()
     {
+        updatePending = false;
+        hideDeadline = 0;
         bossBar.setVisible(false);
     }
 
+    /**
+     * Queue a progress update, several XP gains before the next experience bar tick only update the bar once
+     */
+    public void markUpdatePending() {
+        updatePending = true;
+    }
+
+    public boolean isUpdatePending() {
+        return updatePending;
+    }
+
+    /**
+     * Send the queued progress update and show the bar
+     *
+     * @param progress progress in the current skill level
+     */
+    public void applyPendingUpdate(double progress) {
+        updatePending = false;
+        setProgress(progress);
+        showExperienceBar();
+    }
+
+    public long getHideDeadline() {
+        return hideDeadline;
+    }
+
+    public void setHideDeadline(long hideDeadline) {
+        this.hideDeadline = hideDeadline;
+    }
+
     public void showExperienceBar()
     {
         bossBar.setVisible(true);
@@ -12,13 +12,14 @@ import org.bukkit.metadata.FixedMetadataValue;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.HashSet;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public final class UserManager {
 
     private static HashSet<McMMOPlayer> playerDataSet; //Used to track players for sync saves on shutdown
+    // Loaded players by UUID, metadata lookups build a list and synchronize on every call so this is what mcMMO reads
+    private static final Map<UUID, McMMOPlayer> playerRegistry = new ConcurrentHashMap<>();
 
     private UserManager() {}
 
@@ -28,6 +29,8 @@ public final class UserManager {
      * @param mcMMOPlayer the player profile to start tracking
      */
     public static void track(@NotNull McMMOPlayer mcMMOPlayer) {
+        playerRegistry.put(mcMMOPlayer.getPlayer().getUniqueId(), mcMMOPlayer);
+        // Kept for other plugins that look up mcMMO players through metadata
         mcMMOPlayer.getPlayer().setMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA, new FixedMetadataValue(mcMMO.p, mcMMOPlayer));
 
         if(playerDataSet == null)
@@ -53,8 +56,13 @@ public final class UserManager {
             return;
 
         mcMMOPlayer.cleanup();
+        playerRegistry.remove(player.getUniqueId(), mcMMOPlayer);
         player.removeMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA, mcMMO.p);
 
+        if (mcMMO.getPlayerRankCache() != null) {
+            mcMMO.getPlayerRankCache().remove(player.getUniqueId());
+        }
+
         if(playerDataSet != null) {
             playerDataSet.remove(mcMMOPlayer); //Clear sync save tracking
         }
@@ -70,6 +78,8 @@ public final class UserManager {
 
         if(playerDataSet != null)
             playerDataSet.clear(); //Clear sync save tracking
+
+        playerRegistry.clear();
     }
 
     /**
@@ -87,7 +97,12 @@ public final class UserManager {
             try
             {
                 LogUtils.debug(mcMMO.p.getLogger(), "Saving data for player: "+playerData.getPlayerName());
-                playerData.getProfile().save(true);
+
+                if (mcMMO.getProfileSavePipeline() != null) {
+                    mcMMO.getProfileSavePipeline().enqueue(playerData.getProfile());
+                } else {
+                    playerData.getProfile().save(true);
+                }
             }
             catch (Exception e)
             {
@@ -95,19 +110,16 @@ public final class UserManager {
             }
         }
 
+        // Write everything queued so far on this thread, including saves queued by players logging out
+        if (mcMMO.getProfileSavePipeline() != null) {
+            mcMMO.getProfileSavePipeline().flush();
+        }
+
         mcMMO.p.getLogger().info("Finished save operation for "+trackedSyncData.size()+" players!");
     }
 
     public static @NotNull Collection<McMMOPlayer> getPlayers() {
-        Collection<McMMOPlayer> playerCollection = new ArrayList<>();
-
-        for (Player player : mcMMO.p.getServer().getOnlinePlayers()) {
-            if (hasPlayerDataKey(player)) {
-                playerCollection.add(getPlayer(player));
-            }
-        }
-
-        return playerCollection;
+        return new ArrayList<>(playerRegistry.values());
     }
 
     /**
@@ -138,11 +150,19 @@ public final class UserManager {
      * @return McMMOPlayer object for this player, null if Player has not been loaded
      */
     public static @Nullable McMMOPlayer getPlayer(@Nullable Player player) {
-        //Avoid Array Index out of bounds
-        if(player != null && player.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA))
-            return (McMMOPlayer) player.getMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA).get(0).value();
-        else
+        if(player == null)
             return null;
+
+        return playerRegistry.get(player.getUniqueId());
+    }
+
+    /**
+     * Gets the McMMOPlayer object for a player by UUID, this can be null if the player has not yet been loaded.
+     * @param uuid UUID of the target player
+     * @return McMMOPlayer object for this player, null if the player is not online or has not been loaded
+     */
+    public static @Nullable McMMOPlayer getPlayer(@NotNull UUID uuid) {
+        return playerRegistry.get(uuid);
     }
 
     private static @Nullable McMMOPlayer retrieveMcMMOPlayer(@Nullable String playerName, boolean offlineValid) {
@@ -163,6 +183,6 @@ public final class UserManager {
     }
 
     public static boolean hasPlayerDataKey(@Nullable Entity entity) {
-        return entity != null && entity.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA);
+        return entity instanceof Player && playerRegistry.containsKey(entity.getUniqueId());
     }
 }
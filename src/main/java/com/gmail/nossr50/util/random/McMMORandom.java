@@ -0,0 +1,156 @@
+package com.gmail.nossr50.util.random;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Random numbers for mcMMO
+ * <p>
+ * Every thread draws from its own {@link SplittableRandom}, split off a shared root the first time the thread needs
+ * one, so region threads never contend over a single generator. After {@link #setSeed(long)} the root is seeded and
+ * every thread splits a fresh stream from it, which makes the numbers of a single threaded run reproducible for tests
+ * and simulations.
+ */
+public final class McMMORandom {
+    private static final ThreadLocal<ThreadStream> threadStream = ThreadLocal.withInitial(ThreadStream::new);
+    private static @NotNull SplittableRandom root = new SplittableRandom();
+    private static volatile int generation;
+
+    private McMMORandom() {}
+
+    /**
+     * Seed the random numbers, streams split off after this point are the same for the same seed
+     *
+     * @param seed the seed
+     */
+    public static synchronized void setSeed(long seed) {
+        root = new SplittableRandom(seed);
+        generation++;
+    }
+
+    /**
+     * Go back to random numbers that aren't seeded
+     */
+    public static synchronized void clearSeed() {
+        root = new SplittableRandom();
+        generation++;
+    }
+
+    private static synchronized @NotNull SplittableRandom split() {
+        return root.split();
+    }
+
+    /**
+     * @return the random number stream of the current thread
+     */
+    public static @NotNull SplittableRandom current() {
+        ThreadStream stream = threadStream.get();
+        int currentGeneration = generation;
+
+        if (stream.random == null || stream.generation != currentGeneration) {
+            stream.random = split();
+            stream.generation = currentGeneration;
+        }
+
+        return stream.random;
+    }
+
+    /**
+     * @param bound the upper bound (exclusive), must be positive
+     * @return a random int from 0 to bound
+     */
+    public static int nextInt(int bound) {
+        return current().nextInt(bound);
+    }
+
+    /**
+     * @param origin the lowest value (inclusive)
+     * @param bound the upper bound (exclusive), must be greater than origin
+     * @return a random int from origin to bound
+     */
+    public static int nextInt(int origin, int bound) {
+        return current().nextInt(origin, bound);
+    }
+
+    /**
+     * @return a random double from 0 (inclusive) to 1 (exclusive)
+     */
+    public static double nextDouble() {
+        return current().nextDouble();
+    }
+
+    /**
+     * @return a random float from 0 (inclusive) to 1 (exclusive)
+     */
+    public static float nextFloat() {
+        return (current().nextInt() >>> 8) * 0x1.0p-24F;
+    }
+
+    public static boolean nextBoolean() {
+        return current().nextBoolean();
+    }
+
+    /**
+     * Shuffle a list in place, like {@link java.util.Collections#shuffle(List)}
+     *
+     * @param list the list to shuffle
+     */
+    public static void shuffle(@NotNull List<?> list) {
+        SplittableRandom random = current();
+
+        for (int i = list.size() - 1; i > 0; i--) {
+            swap(list, i, random.nextInt(i + 1));
+        }
+    }
+
+    private static <T> void swap(@NotNull List<T> list, int first, int second) {
+        list.set(first, list.set(second, list.get(first)));
+    }
+
+    /**
+     * Turn a chance into the number of rolls out of bound that succeed, so the roll itself needs no floating point math.
+     * A roll out of bound succeeds when the chance is greater than the roll times the result modifier.
+     *
+     * @param chanceOfSuccess the chance, on a scale from 0 to bound
+     * @param bound the number of possible rolls
+     * @param resultModifier what every roll is multiplied by before comparing it to the chance
+     * @return how many of the rolls from 0 to bound succeed
+     */
+    public static int toThreshold(double chanceOfSuccess, int bound, double resultModifier) {
+        if (!(chanceOfSuccess > 0)) {
+            return 0;
+        }
+
+        if (resultModifier <= 0) {
+            return bound;
+        }
+
+        // The rolls that succeed are the whole numbers below chance / modifier
+        double threshold = Math.ceil(chanceOfSuccess / resultModifier);
+        return threshold >= bound ? bound : (int) threshold;
+    }
+
+    /**
+     * @param threshold how many of the rolls succeed, see {@link #toThreshold(double, int, double)}
+     * @param bound the number of possible rolls
+     * @return true if the roll succeeded
+     */
+    public static boolean rollThreshold(int threshold, int bound) {
+        if (threshold <= 0) {
+            return false;
+        }
+
+        if (threshold >= bound) {
+            return true;
+        }
+
+        return current().nextInt(bound) < threshold;
+    }
+
+    private static final class ThreadStream {
+        private SplittableRandom random;
+        private int generation;
+    }
+}
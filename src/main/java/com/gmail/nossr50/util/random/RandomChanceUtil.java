@@ -13,7 +13,6 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.text.DecimalFormat;
-import java.util.concurrent.ThreadLocalRandom;
 
 public class RandomChanceUtil {
     public static final @NotNull DecimalFormat percent = new DecimalFormat("##0.00%");
@@ -78,8 +77,15 @@ public class RandomChanceUtil {
         return rollDice(chanceOfSuccess, bound, 1.0F);
     }
 
+    /**
+     * Whole number chances are already the number of rolls that succeed, so they are rolled without converting them
+     */
+    public static boolean rollDice(int chanceOfSuccess, int bound) {
+        return McMMORandom.rollThreshold(chanceOfSuccess, bound);
+    }
+
     public static boolean rollDice(double chanceOfSuccess, int bound, double resultModifier) {
-        return chanceOfSuccess > (ThreadLocalRandom.current().nextInt(bound) * resultModifier);
+        return McMMORandom.rollThreshold(McMMORandom.toThreshold(chanceOfSuccess, bound, resultModifier), bound);
     }
 
     /**
@@ -0,0 +1,107 @@
+package com.gmail.nossr50.util.scoreboards;
+
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
+import com.gmail.nossr50.util.player.UserManager;
+import org.bukkit.scoreboard.Objective;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Sends power level changes to the below name objective of every mcMMO scoreboard
+ * <p>
+ * Players whose power level may have changed are marked dirty, and their power level is resolved once per heartbeat
+ * no matter how many times they leveled up. Resolved changes are sent board by board, each board only gets the scores
+ * that differ from what it shows, and at most a budget of scores is sent per tick so a lot of players leveling up at
+ * the same time is spread over a few ticks.
+ */
+final class PowerLevelUpdateScheduler {
+    private final Set<String> dirtyPlayers = new LinkedHashSet<>();
+    // Resolved power levels waiting for the current batch to finish
+    private final Map<String, Integer> queuedPowerLevels = new LinkedHashMap<>();
+    // The batch being sent and the boards it hasn't reached yet
+    private Map<String, Integer> batchPowerLevels = Collections.emptyMap();
+    private final ArrayDeque<ScoreboardWrapper> batchWrappers = new ArrayDeque<>();
+
+    void markDirty(@NotNull String playerName) {
+        dirtyPlayers.add(playerName);
+    }
+
+    /**
+     * Resolve the power level of every dirty player, update the main scoreboard and queue the change for the boards
+     * of every player
+     *
+     * @param mainObjective the power level objective of the main scoreboard
+     */
+    void resolveDirtyPlayers(@NotNull Objective mainObjective) {
+        for (String playerName : dirtyPlayers) {
+            McMMOPlayer mcMMOPlayer = UserManager.getPlayer(playerName);
+
+            if (mcMMOPlayer == null) {
+                continue;
+            }
+
+            int power = mcMMOPlayer.getPowerLevel();
+
+            mainObjective.getScore(playerName).setScore(power);
+            queuedPowerLevels.put(playerName, power);
+        }
+
+        dirtyPlayers.clear();
+    }
+
+    /**
+     * Send queued changes to the scoreboards
+     *
+     * @param wrappers every scoreboard that shows power levels
+     * @param budget how many scores can be sent, 0 for no limit
+     */
+    void sendUpdates(@NotNull Collection<ScoreboardWrapper> wrappers, int budget) {
+        if (batchWrappers.isEmpty()) {
+            if (queuedPowerLevels.isEmpty()) {
+                return;
+            }
+
+            // Start a new batch, changes queued while it's being sent wait for the next one
+            batchPowerLevels = new HashMap<>(queuedPowerLevels);
+            queuedPowerLevels.clear();
+            batchWrappers.addAll(wrappers);
+        }
+
+        int sent = 0;
+
+        // A board is always finished once started, so the budget can be passed by the size of one batch
+        while (!batchWrappers.isEmpty() && (budget == 0 || sent < budget)) {
+            ScoreboardWrapper wrapper = batchWrappers.poll();
+
+            for (Map.Entry<String, Integer> entry : batchPowerLevels.entrySet()) {
+                if (wrapper.updatePowerLevel(entry.getKey(), entry.getValue())) {
+                    sent++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drop every pending change for a player that left
+     */
+    void forgetPlayer(@NotNull String playerName) {
+        dirtyPlayers.remove(playerName);
+        queuedPowerLevels.remove(playerName);
+        batchPowerLevels.remove(playerName);
+    }
+
+    /**
+     * Stop sending changes to a board that was torn down
+     */
+    void removeBoard(@NotNull ScoreboardWrapper wrapper) {
+        batchWrappers.remove(wrapper);
+    }
+
+    void clear() {
+        dirtyPlayers.clear();
+        queuedPowerLevels.clear();
+        batchWrappers.clear();
+        batchPowerLevels = Collections.emptyMap();
+    }
+}
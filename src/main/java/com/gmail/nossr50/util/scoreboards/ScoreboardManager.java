@@ -12,6 +12,7 @@ import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.LogUtils;
 import com.gmail.nossr50.util.Misc;
 import com.gmail.nossr50.util.player.UserManager;
+import com.gmail.nossr50.util.random.McMMORandom;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
@@ -31,6 +32,8 @@ import java.util.*;
  */
 public class ScoreboardManager {
     static final Map<String, ScoreboardWrapper> PLAYER_SCOREBOARDS = new HashMap<>();
+    // Boards by the name of the player they are about (inspect and rank boards), so a level up only touches its viewers
+    private static final Map<String, Set<ScoreboardWrapper>> BOARDS_BY_TARGET = new HashMap<>();
 
     // do not localize; these are internal identifiers
     static final String SIDEBAR_OBJECTIVE = "mcmmo_sidebar";
@@ -89,7 +92,7 @@ public class ScoreboardManager {
                     ChatColor.DARK_GREEN,
                     ChatColor.DARK_BLUE);
 
-            Collections.shuffle(colors, Misc.getRandom());
+            McMMORandom.shuffle(colors);
 
             int i = 0;
             for (PrimarySkillType primarySkillType : PrimarySkillType.values()) {
@@ -137,7 +140,10 @@ public class ScoreboardManager {
         abilityLabelsSkill = abilityLabelSkillBuilder.build();
     }
 
-    private static final List<String> dirtyPowerLevels = new ArrayList<>();
+    private static final PowerLevelUpdateScheduler powerLevelUpdates = new PowerLevelUpdateScheduler();
+    // Power levels of dirty players are resolved this often, queued changes are sent every tick
+    private static final int POWER_LEVEL_RESOLVE_TICKS = 2 * Misc.TICK_CONVERSION_FACTOR;
+    private static int ticksUntilPowerLevelResolve = 0;
 
     public enum SidebarType {
         NONE,
@@ -180,7 +186,7 @@ public class ScoreboardManager {
         teardownPlayer(player);
 
         PLAYER_SCOREBOARDS.put(player.getName(), makeNewScoreboard(player));
-        dirtyPowerLevels.add(player.getName());
+        powerLevelUpdates.markDirty(player.getName());
     }
 
     // Called by PlayerQuitEvent listener and OnPlayerTeleport under certain circumstances
@@ -196,9 +202,18 @@ public class ScoreboardManager {
 
         if(getWrapper(player) != null) {
             ScoreboardWrapper wrapper = PLAYER_SCOREBOARDS.remove(player.getName());
+            updateTargetIndex(wrapper, wrapper.targetPlayer, null);
             if(wrapper.revertTask != null) {
                 wrapper.revertTask.cancel();
             }
+            wrapper.clearPowerLevels();
+            powerLevelUpdates.removeBoard(wrapper);
+        }
+
+        // The other boards don't need to remember the power level they show for this player anymore
+        powerLevelUpdates.forgetPlayer(player.getName());
+        for (ScoreboardWrapper wrapper : PLAYER_SCOREBOARDS.values()) {
+            wrapper.forgetPowerLevel(player.getName());
         }
     }
 
@@ -209,15 +224,22 @@ public class ScoreboardManager {
         for (Player player : onlinePlayers) {
             teardownPlayer(player);
         }
+
+        BOARDS_BY_TARGET.clear();
+        powerLevelUpdates.clear();
     }
 
     // Called by ScoreboardWrapper when its Player logs off and an action tries to be performed
     public static void cleanup(ScoreboardWrapper wrapper) {
         PLAYER_SCOREBOARDS.remove(wrapper.playerName);
+        updateTargetIndex(wrapper, wrapper.targetPlayer, null);
 
         if (wrapper.revertTask != null) {
             wrapper.revertTask.cancel();
         }
+
+        wrapper.clearPowerLevels();
+        powerLevelUpdates.removeBoard(wrapper);
     }
 
     // Called by internal level-up event listener
@@ -238,14 +260,18 @@ public class ScoreboardManager {
             // Otherboards
             String playerName = player.getName();
 
-            for (ScoreboardWrapper iWrapper : PLAYER_SCOREBOARDS.values()) {
-                if (iWrapper.isStatsScoreboard() && playerName.equals(iWrapper.targetPlayer) && wrapper.isBoardShown()) {
-                    wrapper.doSidebarUpdateSoon();
+            Set<ScoreboardWrapper> viewers = BOARDS_BY_TARGET.get(playerName);
+
+            if (viewers != null) {
+                for (ScoreboardWrapper iWrapper : viewers) {
+                    if (iWrapper.isStatsScoreboard() && iWrapper.isBoardShown()) {
+                        iWrapper.doSidebarUpdateSoon();
+                    }
                 }
             }
 
-            if (mcMMO.p.getGeneralConfig().getPowerLevelTagsEnabled() && !dirtyPowerLevels.contains(playerName)) {
-                dirtyPowerLevels.add(playerName);
+            if (mcMMO.p.getGeneralConfig().getPowerLevelTagsEnabled()) {
+                powerLevelUpdates.markDirty(playerName);
             }
 
             if (mcMMO.p.getGeneralConfig().getSkillLevelUpBoard()) {
@@ -487,25 +513,38 @@ public class ScoreboardManager {
             return false; // indicates
         }
 
-        for (String playerName : dirtyPowerLevels) {
-            McMMOPlayer mcMMOPlayer = UserManager.getPlayer(playerName);
+        if (--ticksUntilPowerLevelResolve <= 0) {
+            ticksUntilPowerLevelResolve = POWER_LEVEL_RESOLVE_TICKS;
+            powerLevelUpdates.resolveDirtyPlayers(mainObjective);
+        }
 
-            if (mcMMOPlayer == null) {
-                continue;
-            }
+        powerLevelUpdates.sendUpdates(PLAYER_SCOREBOARDS.values(), mcMMO.p.getGeneralConfig().getPowerLevelTagsUpdatesPerTick());
+        return true;
+    }
 
-            Player player = mcMMOPlayer.getPlayer();
-            int power = mcMMOPlayer.getPowerLevel();
+    /**
+     * Move a board in the index of boards by target player, called when the target of a board changes
+     *
+     * @param wrapper the board
+     * @param oldTarget the player the board was about, or null
+     * @param newTarget the player the board is now about, or null
+     */
+    static void updateTargetIndex(@NotNull ScoreboardWrapper wrapper, @Nullable String oldTarget, @Nullable String newTarget) {
+        if (Objects.equals(oldTarget, newTarget)) {
+            return;
+        }
 
-            mainObjective.getScore(playerName).setScore(power);
+        if (oldTarget != null) {
+            Set<ScoreboardWrapper> viewers = BOARDS_BY_TARGET.get(oldTarget);
 
-            for (ScoreboardWrapper wrapper : PLAYER_SCOREBOARDS.values()) {
-                wrapper.updatePowerLevel(player, power);
+            if (viewers != null && viewers.remove(wrapper) && viewers.isEmpty()) {
+                BOARDS_BY_TARGET.remove(oldTarget);
             }
         }
 
-        dirtyPowerLevels.clear();
-        return true;
+        if (newTarget != null) {
+            BOARDS_BY_TARGET.computeIfAbsent(newTarget, key -> new HashSet<>()).add(wrapper);
+        }
     }
 
     /**
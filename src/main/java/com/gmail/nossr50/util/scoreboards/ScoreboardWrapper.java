@@ -27,7 +27,9 @@ import org.bukkit.scoreboard.Objective;
 import org.bukkit.scoreboard.Score;
 import org.bukkit.scoreboard.Scoreboard;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -45,6 +47,8 @@ public class ScoreboardWrapper {
     private SidebarType sidebarType;
     private Objective sidebarObjective;
     private Objective powerObjective;
+    // Power levels last sent to powerObjective, so scores that haven't changed aren't sent again
+    private final Map<String, Integer> shownPowerLevels = new HashMap<>();
 
     // Parameter variables (May be null / invalid)
     private Scoreboard oldBoard = null;
@@ -79,7 +83,7 @@ public class ScoreboardWrapper {
             powerObjective.setDisplaySlot(DisplaySlot.BELOW_NAME);
 
             for (McMMOPlayer mcMMOPlayer : UserManager.getPlayers()) {
-                powerObjective.getScore(mcMMOPlayer.getProfile().getPlayerName()).setScore(mcMMOPlayer.getPowerLevel());
+                updatePowerLevel(mcMMOPlayer.getProfile().getPlayerName(), mcMMOPlayer.getPowerLevel());
             }
         }
     }
@@ -266,7 +270,7 @@ public class ScoreboardWrapper {
         cancelRevert();
 
         sidebarType = SidebarType.NONE;
-        targetPlayer = null;
+        setTargetPlayer(null);
         targetSkill = null;
         targetProfile = null;
         leaderboardPage = -1;
@@ -297,7 +301,7 @@ public class ScoreboardWrapper {
     public void setTypeNone() {
         this.sidebarType = SidebarType.NONE;
 
-        targetPlayer = null;
+        setTargetPlayer(null);
         targetSkill = null;
         targetProfile = null;
         leaderboardPage = -1;
@@ -309,7 +313,7 @@ public class ScoreboardWrapper {
         this.sidebarType = SidebarType.SKILL_BOARD;
         targetSkill = skill;
 
-        targetPlayer = null;
+        setTargetPlayer(null);
         targetProfile = null;
         leaderboardPage = -1;
 
@@ -319,7 +323,7 @@ public class ScoreboardWrapper {
     public void setTypeSelfStats() {
         this.sidebarType = SidebarType.STATS_BOARD;
 
-        targetPlayer = null;
+        setTargetPlayer(null);
         targetSkill = null;
         targetProfile = null;
         leaderboardPage = -1;
@@ -329,7 +333,7 @@ public class ScoreboardWrapper {
 
     public void setTypeInspectStats(PlayerProfile profile) {
         this.sidebarType = SidebarType.STATS_BOARD;
-        targetPlayer = profile.getPlayerName();
+        setTargetPlayer(profile.getPlayerName());
         targetProfile = profile;
 
         targetSkill = null;
@@ -340,7 +344,7 @@ public class ScoreboardWrapper {
 
     public void setTypeInspectStats(@NotNull McMMOPlayer mcMMOPlayer) {
         this.sidebarType = SidebarType.STATS_BOARD;
-        targetPlayer = mcMMOPlayer.getPlayer().getName();
+        setTargetPlayer(mcMMOPlayer.getPlayer().getName());
         targetProfile = mcMMOPlayer.getProfile();
 
         targetSkill = null;
@@ -352,7 +356,7 @@ public class ScoreboardWrapper {
     public void setTypeCooldowns() {
         this.sidebarType = SidebarType.COOLDOWNS_BOARD;
 
-        targetPlayer = null;
+        setTargetPlayer(null);
         targetSkill = null;
         targetProfile = null;
         leaderboardPage = -1;
@@ -362,7 +366,7 @@ public class ScoreboardWrapper {
 
     public void setTypeSelfRank() {
         this.sidebarType = SidebarType.RANK_BOARD;
-        targetPlayer = null;
+        setTargetPlayer(null);
 
         targetSkill = null;
         targetProfile = null;
@@ -373,7 +377,7 @@ public class ScoreboardWrapper {
 
     public void setTypeInspectRank(String otherPlayer) {
         this.sidebarType = SidebarType.RANK_BOARD;
-        targetPlayer = otherPlayer;
+        setTargetPlayer(otherPlayer);
 
         targetSkill = null;
         targetProfile = null;
@@ -387,7 +391,7 @@ public class ScoreboardWrapper {
         leaderboardPage = page;
         targetSkill = null;
 
-        targetPlayer = null;
+        setTargetPlayer(null);
         targetProfile = null;
 
         int endPosition = page * 10;
@@ -400,7 +404,7 @@ public class ScoreboardWrapper {
         leaderboardPage = page;
         targetSkill = skill;
 
-        targetPlayer = null;
+        setTargetPlayer(null);
         targetProfile = null;
 
         int endPosition = page * 10;
@@ -638,6 +642,44 @@ public class ScoreboardWrapper {
     }
 
     public void updatePowerLevel(Player player, int newPowerLevel) {
-        powerObjective.getScore(player.getName()).setScore(newPowerLevel);
+        updatePowerLevel(player.getName(), newPowerLevel);
+    }
+
+    /**
+     * Show a power level below the name of a player, unless this board already shows it
+     *
+     * @return true if the score was sent
+     */
+    boolean updatePowerLevel(String targetName, int newPowerLevel) {
+        Integer shownPowerLevel = shownPowerLevels.put(targetName, newPowerLevel);
+
+        if (shownPowerLevel != null && shownPowerLevel == newPowerLevel) {
+            return false;
+        }
+
+        powerObjective.getScore(targetName).setScore(newPowerLevel);
+        return true;
+    }
+
+    /**
+     * Forget the power level shown for a player that left, it is sent again if they come back
+     */
+    void forgetPowerLevel(String targetName) {
+        shownPowerLevels.remove(targetName);
+    }
+
+    /**
+     * Forget every power level shown, called when the board is torn down
+     */
+    void clearPowerLevels() {
+        shownPowerLevels.clear();
+    }
+
+    /**
+     * Set the player this board is about, keeping {@link ScoreboardManager}'s index of boards by target up to date
+     */
+    private void setTargetPlayer(@Nullable String newTargetPlayer) {
+        ScoreboardManager.updateTargetIndex(this, targetPlayer, newTargetPlayer);
+        targetPlayer = newTargetPlayer;
     }
 }
@@ -504,7 +504,7 @@ public final class CombatUtils {
      * @return the armor quality of a specific Item Stack
      */
     private static int getArmorQuality(@NotNull ItemStack itemStack) {
-        return mcMMO.getMaterialMapStore().getTier(itemStack.getType().getKey().getKey());
+        return mcMMO.getMaterialMapStore().getTier(itemStack.getType());
     }
 
     /**
@@ -940,7 +940,7 @@ public final class CombatUtils {
             return;
         }
 
-        if (!player.hasMetadata(MetadataConstants.METADATA_KEY_PLAYER_DATA)) {
+        if (!UserManager.hasPlayerDataKey(player)) {
             return;
         }
 
@@ -1,9 +1,9 @@
 package com.gmail.nossr50.util.skills;
 
 import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.random.McMMORandom;
 import com.gmail.nossr50.util.sounds.SoundManager;
 import com.gmail.nossr50.util.sounds.SoundType;
-import org.apache.commons.lang.math.RandomUtils;
 import org.bukkit.Effect;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -42,7 +42,7 @@ public final class ParticleEffectUtils {
 
         double offSetVal = 0.3D;
 
-        switch(RandomUtils.nextInt(10)) {
+        switch(McMMORandom.nextInt(10)) {
 
             case 0:
                 return new Location(world, x - offSetVal, y, z);
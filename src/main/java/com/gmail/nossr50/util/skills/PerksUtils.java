@@ -1,6 +1,8 @@
 package com.gmail.nossr50.util.skills;
 
 import com.gmail.nossr50.config.experience.ExperienceConfig;
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
+import com.gmail.nossr50.datatypes.player.PermissionSnapshot;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.events.skills.SkillActivationPerkEvent;
 import com.gmail.nossr50.util.Permissions;
@@ -16,7 +18,12 @@ public final class PerksUtils {
     private PerksUtils() {}
 
     public static int handleCooldownPerks(Player player, int cooldown) {
-        if (Permissions.halvedCooldowns(player)) {
+        McMMOPlayer mmoPlayer = UserManager.getPlayer(player);
+
+        if (mmoPlayer != null) {
+            cooldown *= mmoPlayer.getPermissionSnapshot().getCooldownMultiplier();
+        }
+        else if (Permissions.halvedCooldowns(player)) {
             cooldown *= 0.5;
         }
         else if (Permissions.thirdedCooldowns(player)) {
@@ -34,7 +41,12 @@ public final class PerksUtils {
             ticks = Math.min(ticks, maxTicks);
         }
 
-        if (Permissions.twelveSecondActivationBoost(player)) {
+        McMMOPlayer mmoPlayer = UserManager.getPlayer(player);
+
+        if (mmoPlayer != null) {
+            ticks += mmoPlayer.getPermissionSnapshot().getActivationBonusTicks();
+        }
+        else if (Permissions.twelveSecondActivationBoost(player)) {
             ticks += 12;
         }
         else if (Permissions.eightSecondActivationBoost(player)) {
@@ -50,46 +62,69 @@ public final class PerksUtils {
     }
 
     public static float handleXpPerks(Player player, float xp, PrimarySkillType skill) {
-        double modifier = 1.0F;
+        McMMOPlayer mmoPlayer = UserManager.getPlayer(player);
 
-        if (Permissions.customXpBoost(player, skill)) {
-            if(UserManager.getPlayer(player) != null && UserManager.getPlayer(player).isDebugMode()) {
+        if (mmoPlayer != null) {
+            return handleXpPerks(mmoPlayer, xp, skill);
+        }
+
+        return (float) (xp * getXpPerkMultiplier(player, skill));
+    }
+
+    public static float handleXpPerks(McMMOPlayer mmoPlayer, float xp, PrimarySkillType skill) {
+        PermissionSnapshot permissions = mmoPlayer.getPermissionSnapshot();
+        double modifier = permissions.getXpPerkMultiplier(skill);
+        float modifiedXP = (float) (xp * modifier);
+
+        if (mmoPlayer.isDebugMode()) {
+            Player player = mmoPlayer.getPlayer();
+
+            if (permissions.hasCustomXpBoost(skill)) {
                 player.sendMessage(ChatColor.GOLD + "[DEBUG] " + ChatColor.DARK_GRAY + "XP Perk Multiplier IS CUSTOM! ");
             }
 
-             modifier = ExperienceConfig.getInstance().getCustomXpPerkBoost();
+            player.sendMessage(ChatColor.GOLD + "[DEBUG] " + ChatColor.RESET + "XP Perk Multiplier - " + ChatColor.GOLD + modifier);
+            player.sendMessage(ChatColor.GOLD + "[DEBUG] " + ChatColor.RESET + "Original XP before perk boosts " + ChatColor.RED + (double) xp);
+            player.sendMessage(ChatColor.GOLD + "[DEBUG] " + ChatColor.RESET + "XP AFTER PERKS " + ChatColor.DARK_RED + modifiedXP);
+        }
+
+        return modifiedXP;
+    }
+
+    /**
+     * Resolve the XP perk multiplier of a player without a {@link PermissionSnapshot}
+     *
+     * @param player Player to check the perks of
+     * @param skill PrimarySkillType to check the perks for
+     * @return the XP multiplier from perks
+     */
+    public static double getXpPerkMultiplier(Player player, PrimarySkillType skill) {
+        if (Permissions.customXpBoost(player, skill)) {
+            return ExperienceConfig.getInstance().getCustomXpPerkBoost();
         }
         else if (Permissions.quadrupleXp(player, skill)) {
-            modifier = 4;
+            return 4;
         }
         else if (Permissions.tripleXp(player, skill)) {
-            modifier = 3;
+            return 3;
         }
         else if (Permissions.doubleAndOneHalfXp(player, skill)) {
-            modifier = 2.5;
+            return 2.5;
         }
         else if (Permissions.doubleXp(player, skill)) {
-            modifier = 2;
+            return 2;
         }
         else if (Permissions.oneAndOneHalfXp(player, skill)) {
-            modifier = 1.5;
+            return 1.5;
         }
         else if (Permissions.oneAndAQuarterXp(player, skill)) {
-            modifier = 1.25;
+            return 1.25;
         }
         else if (Permissions.oneAndOneTenthXp(player, skill)) {
-            modifier = 1.1;
-        }
-
-        float modifiedXP = (float) (xp * modifier);
-
-        if(UserManager.getPlayer(player) != null && UserManager.getPlayer(player).isDebugMode()) {
-            player.sendMessage(ChatColor.GOLD + "[DEBUG] " + ChatColor.RESET + "XP Perk Multiplier - " + ChatColor.GOLD + modifier);
-            player.sendMessage(ChatColor.GOLD + "[DEBUG] " + ChatColor.RESET + "Original XP before perk boosts " + ChatColor.RED + (double) xp);
-            player.sendMessage(ChatColor.GOLD + "[DEBUG] " + ChatColor.RESET + "XP AFTER PERKS " + ChatColor.DARK_RED + modifiedXP);
+            return 1.1;
         }
 
-        return modifiedXP;
+        return 1.0;
     }
 
     /**
@@ -100,7 +135,10 @@ public final class PerksUtils {
      * @return the activation chance with "lucky perk" accounted for
      */
     public static int handleLuckyPerks(Player player, PrimarySkillType skill) {
-        if (Permissions.lucky(player, skill)) {
+        McMMOPlayer mmoPlayer = UserManager.getPlayer(player);
+        boolean lucky = mmoPlayer != null ? mmoPlayer.getPermissionSnapshot().isLucky(skill) : Permissions.lucky(player, skill);
+
+        if (lucky) {
             return LUCKY_SKILL_ACTIVATION_CHANCE;
         }
 
@@ -189,11 +189,13 @@ public class RankUtils {
         //Get our rank map
         HashMap<Integer, Integer> rankMap = subSkillRanks.get(skillName);
 
-        if(UserManager.getPlayer(player) == null)
+        McMMOPlayer mmoPlayer = UserManager.getPlayer(player);
+
+        if(mmoPlayer == null)
             return 0;
 
         //Skill level of parent skill
-        int currentSkillLevel = UserManager.getPlayer(player).getSkillLevel(subSkillType.getParentSkill());
+        int currentSkillLevel = mmoPlayer.getSkillLevel(subSkillType.getParentSkill());
 
         for(int i = 0; i < numRanks; i++)
         {
@@ -236,11 +238,13 @@ public class RankUtils {
         //Get our rank map
         HashMap<Integer, Integer> rankMap = subSkillRanks.get(skillName);
 
-        if(UserManager.getPlayer(player) == null)
+        McMMOPlayer mmoPlayer = UserManager.getPlayer(player);
+
+        if(mmoPlayer == null)
             return 0;
 
         //Skill level of parent skill
-        int currentSkillLevel = UserManager.getPlayer(player).getSkillLevel(abstractSubSkill.getPrimarySkill());
+        int currentSkillLevel = mmoPlayer.getSkillLevel(abstractSubSkill.getPrimarySkill());
 
         for(int i = 0; i < numRanks; i++)
         {
@@ -2,6 +2,7 @@ package com.gmail.nossr50.util.skills;
 
 import com.gmail.nossr50.api.exceptions.InvalidSkillException;
 import com.gmail.nossr50.config.experience.ExperienceConfig;
+import com.gmail.nossr50.datatypes.player.McMMOPlayer;
 import com.gmail.nossr50.datatypes.skills.PrimarySkillType;
 import com.gmail.nossr50.datatypes.skills.SubSkillType;
 import com.gmail.nossr50.datatypes.skills.SuperAbilityType;
@@ -9,6 +10,7 @@ import com.gmail.nossr50.datatypes.skills.ToolType;
 import com.gmail.nossr50.locale.LocaleLoader;
 import com.gmail.nossr50.mcMMO;
 import com.gmail.nossr50.util.Permissions;
+import com.gmail.nossr50.util.player.UserManager;
 import com.gmail.nossr50.util.text.StringUtils;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
@@ -350,6 +352,11 @@ public class SkillTools {
     }
 
     public boolean doesPlayerHaveSkillPermission(Player player, PrimarySkillType primarySkillType) {
+        McMMOPlayer mmoPlayer = UserManager.getPlayer(player);
+
+        if (mmoPlayer != null)
+            return mmoPlayer.getPermissionSnapshot().isSkillEnabled(primarySkillType);
+
         return Permissions.skillEnabled(player, primarySkillType);
     }
 
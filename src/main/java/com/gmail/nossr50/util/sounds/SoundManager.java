@@ -1,7 +1,7 @@
 package com.gmail.nossr50.util.sounds;
 
 import com.gmail.nossr50.config.SoundConfig;
-import com.gmail.nossr50.util.Misc;
+import com.gmail.nossr50.util.random.McMMORandom;
 import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.SoundCategory;
@@ -85,14 +85,14 @@ public class SoundManager {
     }
 
     public static float getFizzPitch() {
-        return 2.6F + (Misc.getRandom().nextFloat() - Misc.getRandom().nextFloat()) * 0.8F;
+        return 2.6F + (McMMORandom.nextFloat() - McMMORandom.nextFloat()) * 0.8F;
     }
 
     public static float getPopPitch() {
-        return ((Misc.getRandom().nextFloat() - Misc.getRandom().nextFloat()) * 0.7F + 1.0F) * 2.0F;
+        return ((McMMORandom.nextFloat() - McMMORandom.nextFloat()) * 0.7F + 1.0F) * 2.0F;
     }
 
     public static float getKrakenPitch() {
-        return (Misc.getRandom().nextFloat() - Misc.getRandom().nextFloat()) * 0.2F + 1.0F;
+        return (McMMORandom.nextFloat() - McMMORandom.nextFloat()) * 0.2F + 1.0F;
     }
 }
@@ -101,23 +101,33 @@ public class StringUtils {
     }
 
     public static String getFriendlyConfigBlockDataString(BlockData data) {
-        switch(data.getMaterial()){
+        if (hasAgeConfigVariants(data.getMaterial())) {
+            if (data instanceof Ageable ageData) {
+                if (ageData.getAge() == ageData.getMaximumAge()) {
+                    return getPrettyItemString(data.getMaterial()).replace(" ", "_") + "_Ripe";
+                }
+            }
+            return getPrettyItemString(data.getMaterial()).replace(" ", "_") + "_Ungrown";
+        }
+        return getPrettyItemString(data.getMaterial()).replace(" ", "_");
+    }
+
+    /**
+     * Whether the config entries for this material can be split into _Ripe and _Ungrown variants
+     */
+    public static boolean hasAgeConfigVariants(Material data) {
+        switch(data){
             case CHORUS_FLOWER:
             case COCOA:
             case WHEAT:
             case BEETROOTS:
             case CARROTS:
             case POTATOES:
-            case NETHER_WART: {
-                if (data instanceof Ageable ageData) {
-                    if (ageData.getAge() == ageData.getMaximumAge()) {
-                        return getPrettyItemString(data.getMaterial()).replace(" ", "_") + "_Ripe";
-                    }
-                }
-                return getPrettyItemString(data.getMaterial()).replace(" ", "_") + "_Ungrown";
-            }
+            case NETHER_WART:
+                return true;
+            default:
+                return false;
         }
-        return getPrettyItemString(data.getMaterial()).replace(" ", "_");
     }
 
     public static String getFriendlyConfigMaterialString(Material data) {
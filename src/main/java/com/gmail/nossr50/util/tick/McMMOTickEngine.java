@@ -0,0 +1,251 @@
+package com.gmail.nossr50.util.tick;
+
+import com.gmail.nossr50.util.CancellableRunnable;
+import com.tcoded.folialib.FoliaLib;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.logging.Logger;
+
+/**
+ * Runs short lived and periodic mcMMO tasks, like Rupture or brewing, from a few shared timers instead of giving each
+ * of them a scheduler task of its own
+ * <p>
+ * Tasks are grouped by where they have to run and each group is driven by a single timer that visits its tasks in a
+ * timing wheel. Without Folia everything runs on the main thread so there is one group for all tasks. With Folia a task
+ * anchored to an entity shares a group with the other tasks of that entity, and a task anchored to a location shares a
+ * group with the tasks close enough to always be in the same region. A group stops its timer once it runs out of tasks.
+ * <p>
+ * Cancelling a task is done through {@link CancellableRunnable#cancel()}, it is dropped the next time it is due.
+ */
+public final class McMMOTickEngine {
+    // Tasks anchored to locations in the same 8x8 chunk area are grouped, Folia never splits an area this small
+    private static final int LOCATION_GROUP_SHIFT = 3;
+    // A Folia entity timer stops silently when its entity is removed, such a group is dropped once it hasn't ticked for this long
+    private static final long STALE_GROUP_MILLIS = 10000;
+    private static final long STALE_SWEEP_INTERVAL_TICKS = 20 * 30;
+    private static final Object GLOBAL_KEY = new Object();
+
+    private final @NotNull FoliaLib foliaLib;
+    private final @NotNull Logger logger;
+    private final boolean regionized;
+    private final Map<Object, TickGroup> groups = new HashMap<>(); // Guarded by itself
+    private final Map<TickGroup, Long> staleGroups = new HashMap<>(); // Only accessed by the sweep task
+    private final EnumMap<TickCategory, TickTimings> timings = new EnumMap<>(TickCategory.class);
+    private long timingsSince = System.currentTimeMillis();
+
+    public McMMOTickEngine(@NotNull FoliaLib foliaLib, @NotNull Logger logger) {
+        this.foliaLib = foliaLib;
+        this.logger = logger;
+        this.regionized = foliaLib.isFolia();
+
+        for (TickCategory category : TickCategory.values()) {
+            timings.put(category, new TickTimings());
+        }
+
+        if (regionized) {
+            foliaLib.getImpl().runTimer(new StaleGroupSweepTask(), STALE_SWEEP_INTERVAL_TICKS, STALE_SWEEP_INTERVAL_TICKS);
+        }
+    }
+
+    /**
+     * Run a task on the thread that owns an entity
+     *
+     * @param category what the task is for
+     * @param entity the entity the task works on
+     * @param task the task
+     * @param delay ticks before the first run
+     * @param period ticks between runs, 0 to only run once
+     */
+    public void schedule(@NotNull TickCategory category, @NotNull Entity entity, @NotNull CancellableRunnable task, long delay, long period) {
+        schedule(category, regionized ? entity : GLOBAL_KEY, entity, null, task, delay, period);
+    }
+
+    /**
+     * Run a task on the thread that owns a location
+     *
+     * @param category what the task is for
+     * @param location the location the task works on
+     * @param task the task
+     * @param delay ticks before the first run
+     * @param period ticks between runs, 0 to only run once
+     */
+    public void schedule(@NotNull TickCategory category, @NotNull Location location, @NotNull CancellableRunnable task, long delay, long period) {
+        Object key = GLOBAL_KEY;
+
+        if (regionized) {
+            key = new LocationGroupKey(Objects.requireNonNull(location.getWorld()).getUID(),
+                    (location.getBlockX() >> 4) >> LOCATION_GROUP_SHIFT, (location.getBlockZ() >> 4) >> LOCATION_GROUP_SHIFT);
+        }
+
+        schedule(category, key, null, location, task, delay, period);
+    }
+
+    /**
+     * Run a task on the global thread
+     *
+     * @param category what the task is for
+     * @param task the task
+     * @param delay ticks before the first run
+     * @param period ticks between runs, 0 to only run once
+     */
+    public void schedule(@NotNull TickCategory category, @NotNull CancellableRunnable task, long delay, long period) {
+        schedule(category, GLOBAL_KEY, null, null, task, delay, period);
+    }
+
+    private void schedule(@NotNull TickCategory category, @NotNull Object key, @Nullable Entity entity, @Nullable Location location,
+                          @NotNull CancellableRunnable task, long delay, long period) {
+        TickGroup group;
+        boolean start = false;
+
+        synchronized (groups) {
+            group = groups.get(key);
+
+            if (group == null || group.retired) {
+                group = new TickGroup(this, key);
+                groups.put(key, group);
+                start = true;
+            }
+
+            group.add(new TickGroup.ScheduledTick(category, task, delay, period));
+            timings.get(category).taskAdded();
+        }
+
+        if (start) {
+            // The shared group isn't tied to the entity or location of the task that happened to start it
+            if (key == GLOBAL_KEY) {
+                foliaLib.getImpl().runTimer(group, 1, 1);
+            }
+            else if (entity != null) {
+                foliaLib.getImpl().runAtEntityTimer(entity, group, 1, 1);
+            }
+            else {
+                foliaLib.getImpl().runAtLocationTimer(Objects.requireNonNull(location), group, 1, 1);
+            }
+        }
+    }
+
+    /**
+     * Called by a group that ran out of tasks, the group is dropped unless a task was handed to it in the meantime
+     */
+    void retire(@NotNull TickGroup group, @NotNull WrappedTask wrappedTask) {
+        synchronized (groups) {
+            if (group.hasIncoming()) {
+                return;
+            }
+
+            group.retired = true;
+            groups.remove(group.getKey(), group);
+        }
+
+        wrappedTask.cancel();
+    }
+
+    private void sweepStaleGroups() {
+        // Groups found stale last time are discarded if they still haven't ticked, one that did discarded itself
+        for (Map.Entry<TickGroup, Long> entry : staleGroups.entrySet()) {
+            if (entry.getKey().getLastTickMillis() == entry.getValue()) {
+                entry.getKey().discard();
+            }
+        }
+
+        staleGroups.clear();
+        long staleBefore = System.currentTimeMillis() - STALE_GROUP_MILLIS;
+
+        synchronized (groups) {
+            Iterator<TickGroup> iterator = groups.values().iterator();
+
+            while (iterator.hasNext()) {
+                TickGroup group = iterator.next();
+                long lastTickMillis = group.getLastTickMillis();
+
+                // Only entity timers stop on their own, a lagging region is left alone as long as the entity is there
+                if (lastTickMillis < staleBefore && group.getKey() instanceof Entity entity && !entity.isValid()) {
+                    group.retired = true;
+                    iterator.remove();
+                    staleGroups.put(group, lastTickMillis);
+                }
+            }
+        }
+    }
+
+    /**
+     * Forget every group, their timers are expected to be cancelled along with the other tasks of the plugin
+     */
+    public void shutdown() {
+        synchronized (groups) {
+            for (TickGroup group : groups.values()) {
+                group.retired = true;
+            }
+
+            groups.clear();
+        }
+    }
+
+    public @NotNull TickTimings getTimings(@NotNull TickCategory category) {
+        return timings.get(category);
+    }
+
+    /**
+     * @return how many groups currently have a timer running
+     */
+    public int getGroupCount() {
+        synchronized (groups) {
+            return groups.size();
+        }
+    }
+
+    /**
+     * @return when the run counters were last reset, in milliseconds
+     */
+    public long getTimingsSince() {
+        return timingsSince;
+    }
+
+    public void resetTimings() {
+        for (TickTimings tickTimings : timings.values()) {
+            tickTimings.reset();
+        }
+
+        timingsSince = System.currentTimeMillis();
+    }
+
+    @NotNull Logger getLogger() {
+        return logger;
+    }
+
+    private final class StaleGroupSweepTask extends CancellableRunnable {
+        @Override
+        public void run() {
+            sweepStaleGroups();
+        }
+    }
+
+    private static final class LocationGroupKey {
+        private final @NotNull UUID worldId;
+        private final int x;
+        private final int z;
+
+        private LocationGroupKey(@NotNull UUID worldId, int x, int z) {
+            this.worldId = worldId;
+            this.x = x;
+            this.z = z;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof LocationGroupKey other)) return false;
+            return x == other.x && z == other.z && worldId.equals(other.worldId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * worldId.hashCode() + x) + z;
+        }
+    }
+}
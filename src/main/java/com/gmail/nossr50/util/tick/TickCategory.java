@@ -0,0 +1,14 @@
+package com.gmail.nossr50.util.tick;
+
+/**
+ * What a task driven by the {@link McMMOTickEngine} is for, timings are kept per category
+ */
+public enum TickCategory {
+    RUPTURE,
+    ALCHEMY_BREWING,
+    ABILITY_DISABLE,
+    EXPERIENCE_BAR,
+    METADATA_CLEANUP,
+    TREE_FELLER,
+    SUMMON_CHUNK_INDEX
+}
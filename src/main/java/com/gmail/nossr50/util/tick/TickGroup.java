@@ -0,0 +1,174 @@
+package com.gmail.nossr50.util.tick;
+
+import com.gmail.nossr50.util.CancellableRunnable;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Tasks that share one scheduler timer, kept in a timing wheel
+ * <p>
+ * The wheel has a slot per tick for the next {@link #WHEEL_SIZE} ticks, a task waiting longer sits in its slot for
+ * extra rounds. Every tick only the slot of that tick is visited, so tasks that aren't due cost nothing. Tasks are
+ * handed over through a queue since they can be scheduled from any thread, everything else is only touched by the
+ * thread running the group.
+ */
+final class TickGroup implements Consumer<WrappedTask> {
+    static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+
+    private final @NotNull McMMOTickEngine engine;
+    private final @NotNull Object key;
+    private final ConcurrentLinkedQueue<ScheduledTick> incoming = new ConcurrentLinkedQueue<>();
+    @SuppressWarnings("unchecked")
+    private final ArrayList<ScheduledTick>[] slots = new ArrayList[WHEEL_SIZE];
+    private ArrayList<ScheduledTick> spareSlot = new ArrayList<>();
+    private long currentTick;
+    private int size;
+    private volatile long lastTickMillis;
+    volatile boolean retired; // Set by the engine while holding its lock
+
+    TickGroup(@NotNull McMMOTickEngine engine, @NotNull Object key) {
+        this.engine = engine;
+        this.key = key;
+        this.lastTickMillis = System.currentTimeMillis();
+
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            slots[i] = new ArrayList<>();
+        }
+    }
+
+    @NotNull Object getKey() {
+        return key;
+    }
+
+    long getLastTickMillis() {
+        return lastTickMillis;
+    }
+
+    void add(@NotNull ScheduledTick scheduledTick) {
+        incoming.add(scheduledTick);
+    }
+
+    boolean hasIncoming() {
+        return !incoming.isEmpty();
+    }
+
+    @Override
+    public void accept(WrappedTask wrappedTask) {
+        lastTickMillis = System.currentTimeMillis();
+
+        if (retired) {
+            // Dropped by the engine after being thought dead, the tasks left are abandoned like the engine expected
+            discard();
+            wrappedTask.cancel();
+            return;
+        }
+
+        ScheduledTick scheduledTick;
+        while ((scheduledTick = incoming.poll()) != null) {
+            place(scheduledTick, scheduledTick.delay);
+            size++;
+        }
+
+        currentTick++;
+        int slotIndex = (int) (currentTick & WHEEL_MASK);
+        ArrayList<ScheduledTick> due = slots[slotIndex];
+
+        if (!due.isEmpty()) {
+            // Tasks rescheduled a full wheel ahead land in the fresh list instead of the one being visited
+            slots[slotIndex] = spareSlot;
+
+            for (ScheduledTick tick : due) {
+                visit(tick);
+            }
+
+            due.clear();
+            spareSlot = due;
+        }
+
+        if (size == 0) {
+            engine.retire(this, wrappedTask);
+        }
+    }
+
+    private void visit(@NotNull ScheduledTick tick) {
+        if (tick.rounds > 0) {
+            tick.rounds--;
+            slots[(int) (currentTick & WHEEL_MASK)].add(tick);
+            return;
+        }
+
+        CancellableRunnable task = tick.task;
+
+        if (!task.isCancelled()) {
+            long start = System.nanoTime();
+
+            try {
+                task.run();
+            }
+            catch (RuntimeException e) {
+                // Same as the scheduler, a failing task is dropped without taking the others with it
+                Logger logger = engine.getLogger();
+                logger.log(Level.SEVERE, "Tick task of category " + tick.category + " threw an exception", e);
+                task.cancel();
+            }
+
+            engine.getTimings(tick.category).recordRun(System.nanoTime() - start);
+        }
+
+        if (task.isCancelled() || tick.period <= 0) {
+            size--;
+            engine.getTimings(tick.category).taskRemoved();
+        }
+        else {
+            place(tick, tick.period);
+        }
+    }
+
+    private void place(@NotNull ScheduledTick tick, long delay) {
+        delay = Math.max(1, delay);
+        tick.rounds = (delay - 1) / WHEEL_SIZE;
+        slots[(int) ((currentTick + delay) & WHEEL_MASK)].add(tick);
+    }
+
+    /**
+     * Drop every task of the group, called by the group itself or by the engine once the timer of the group is gone
+     */
+    void discard() {
+        ScheduledTick scheduledTick;
+        while ((scheduledTick = incoming.poll()) != null) {
+            engine.getTimings(scheduledTick.category).taskRemoved();
+        }
+
+        for (ArrayList<ScheduledTick> slot : slots) {
+            for (ScheduledTick tick : slot) {
+                engine.getTimings(tick.category).taskRemoved();
+            }
+
+            slot.clear();
+        }
+
+        size = 0;
+    }
+
+    static final class ScheduledTick {
+        private final @NotNull TickCategory category;
+        private final @NotNull CancellableRunnable task;
+        private final long delay;
+        private final long period;
+        private long rounds;
+
+        ScheduledTick(@NotNull TickCategory category, @NotNull CancellableRunnable task, long delay, long period) {
+            this.category = category;
+            this.task = task;
+            this.delay = delay;
+            this.period = period;
+        }
+    }
+}
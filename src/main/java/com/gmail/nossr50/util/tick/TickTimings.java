@@ -0,0 +1,66 @@
+package com.gmail.nossr50.util.tick;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for one {@link TickCategory}, updated by every group that runs tasks of that category
+ */
+public final class TickTimings {
+    private final LongAdder active = new LongAdder();
+    private final LongAdder scheduled = new LongAdder();
+    private final LongAdder runs = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void taskAdded() {
+        active.increment();
+        scheduled.increment();
+    }
+
+    void taskRemoved() {
+        active.decrement();
+    }
+
+    void recordRun(long nanos) {
+        runs.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * @return how many tasks of this category are scheduled right now
+     */
+    public long getActive() {
+        return active.sum();
+    }
+
+    /**
+     * @return how many tasks of this category were handed to the engine
+     */
+    public long getScheduled() {
+        return scheduled.sum();
+    }
+
+    public long getRuns() {
+        return runs.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    /**
+     * Reset the scheduling and run counters, the active count is left alone since it describes what is scheduled
+     */
+    void reset() {
+        scheduled.reset();
+        runs.reset();
+        totalNanos.reset();
+        maxNanos.set(0);
+    }
+}
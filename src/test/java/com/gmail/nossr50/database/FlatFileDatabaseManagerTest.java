@@ -1,5 +1,6 @@
 package com.gmail.nossr50.database;
 
+import com.gmail.nossr50.api.exceptions.InvalidSkillException;
 import com.gmail.nossr50.database.flatfile.LeaderboardStatus;
 import com.gmail.nossr50.datatypes.database.DatabaseType;
 import com.gmail.nossr50.datatypes.player.PlayerProfile;
@@ -193,6 +194,136 @@ class FlatFileDatabaseManagerTest {
         assertEquals(alteredName, retrievedFromData.getPlayerName());
     }
 
+    @Test
+    void testSaveUsers() {
+        assertNotNull(db);
+        UUID existingUUID = new UUID(0, 1);
+        assertTrue(db.saveUser(new PlayerProfile("nossr50", existingUUID, 0)));
+
+        //One rewrite should update the existing user and add the new ones
+        List<PlayerProfile> batch = List.of(
+                new PlayerProfile("changedmyname", existingUUID, 0),
+                new PlayerProfile("disco", new UUID(0, 2), 0),
+                new PlayerProfile("dingus", new UUID(0, 3), 0));
+        assertTrue(db.saveUsers(batch).isEmpty());
+
+        assertEquals(4, getSplitDataFromFile(db.getUsersFile()).size()); //Comment line plus three users
+        assertEquals("changedmyname", db.loadPlayerProfile(existingUUID).getPlayerName());
+        assertTrue(db.loadPlayerProfile(new UUID(0, 2)).isLoaded());
+        assertTrue(db.loadPlayerProfile(new UUID(0, 3)).isLoaded());
+    }
+
+    @Test
+    void testSaveUserWithJournal() {
+        UUID uuid = UUID.fromString("588fe472-1c82-4c4e-9aa1-7eefccb277e3");
+        String playerName = "nossr50";
+        db = new FlatFileDatabaseManager(new File(getTemporaryUserFilePath()), logger, PURGE_TIME, 0, true, true);
+        assertTrue(db.isJournalEnabled());
+
+        //Saves go to the journal and leave the users file untouched until the journal is merged
+        assertTrue(db.saveUser(new PlayerProfile(playerName, uuid, 0)));
+        assertTrue(db.saveUser(new PlayerProfile("changedmyname", uuid, 0)));
+        assertEquals(1, getSplitDataFromFile(db.getUsersFile()).size()); //Just the comment line
+
+        PlayerProfile retrievedFromData = db.loadPlayerProfile(uuid);
+        assertTrue(retrievedFromData.isLoaded());
+        assertEquals("changedmyname", retrievedFromData.getPlayerName());
+        assertTrue(db.loadPlayerProfile("changedmyname").isLoaded());
+        assertFalse(db.loadPlayerProfile(playerName).isLoaded());
+
+        //Only the newest record for the user makes it into the users file
+        assertEquals(1, db.compactJournal());
+        ArrayList<String[]> dataFromFile = getSplitDataFromFile(db.getUsersFile());
+        assertEquals(2, dataFromFile.size());
+        assertEquals("changedmyname", dataFromFile.get(1)[FlatFileDatabaseManager.USERNAME_INDEX]);
+        assertEquals(0, db.compactJournal());
+
+        db.onDisable();
+    }
+
+    @Test
+    void testForEachUserWithJournal() {
+        db = new FlatFileDatabaseManager(new File(getTemporaryUserFilePath()), logger, PURGE_TIME, 0, true, true);
+        assertTrue(db.saveUsers(List.of(
+                new PlayerProfile("nossr50", new UUID(0, 1), 0),
+                new PlayerProfile("disco", new UUID(0, 2), 0))).isEmpty());
+
+        //Users still waiting in the journal are read as well
+        List<String> visited = new ArrayList<>();
+        db.forEachUser(profile -> visited.add(profile.getPlayerName()));
+        assertEquals(List.of("nossr50", "disco"), visited);
+
+        db.onDisable();
+    }
+
+    @Test
+    void testConvertUsersInPlace() {
+        assertTrue(db.saveUsers(List.of(
+                new PlayerProfile("nossr50", new UUID(0, 1), 0),
+                new PlayerProfile("disco", new UUID(0, 2), 0),
+                new PlayerProfile("dingus", new UUID(0, 3), 0))).isEmpty());
+
+        //Without the journal the whole file is rewritten once, users the conversion leaves out are kept as they are
+        long converted = new UserConversion(db, db, profile -> profile.getPlayerName().equals("disco") ? null
+                : new PlayerProfile(profile.getPlayerName() + "2", profile.getUniqueId(), 0), 1, logger).run();
+
+        assertEquals(2, converted);
+        assertEquals(4, getSplitDataFromFile(db.getUsersFile()).size()); //Comment line plus three users
+        assertEquals("nossr502", db.loadPlayerProfile(new UUID(0, 1)).getPlayerName());
+        assertEquals("disco", db.loadPlayerProfile(new UUID(0, 2)).getPlayerName());
+        assertEquals("dingus2", db.loadPlayerProfile(new UUID(0, 3)).getPlayerName());
+    }
+
+    @Test
+    void testConversionResumesAfterCheckpointedUser() throws IOException {
+        assertTrue(db.saveUsers(List.of(
+                new PlayerProfile("nossr50", new UUID(0, 1), 0),
+                new PlayerProfile("disco", new UUID(0, 2), 0),
+                new PlayerProfile("dingus", new UUID(0, 3), 0))).isEmpty());
+
+        File checkpointFile = new File(tempDir, UserConversion.CHECKPOINT_FILE_NAME);
+        try (FileWriter writer = new FileWriter(checkpointFile)) {
+            writer.write("test\n" + new UUID(0, 1) + "\n");
+        }
+
+        List<String> written = new ArrayList<>();
+        DatabaseManager destination = mock(DatabaseManager.class);
+        Mockito.when(destination.saveUsers(Mockito.anyCollection())).thenAnswer(invocation -> {
+            for (Object profile : invocation.getArgument(0, java.util.Collection.class)) {
+                written.add(((PlayerProfile) profile).getPlayerName());
+            }
+            return new ArrayList<>();
+        });
+
+        long converted = new UserConversion(db, destination, profile -> profile, 1, logger)
+                .withCheckpoint(checkpointFile, "test")
+                .run();
+
+        assertEquals(2, converted);
+        assertEquals(List.of("disco", "dingus"), written);
+        assertFalse(checkpointFile.exists());
+    }
+
+    @Test
+    void testConversionKeepsCheckpointOfMissingUser() throws IOException {
+        assertTrue(db.saveUser(new PlayerProfile("nossr50", new UUID(0, 1), 0)));
+
+        File checkpointFile = new File(tempDir, UserConversion.CHECKPOINT_FILE_NAME);
+        try (FileWriter writer = new FileWriter(checkpointFile)) {
+            writer.write("test\n" + new UUID(0, 9) + "\n");
+        }
+
+        DatabaseManager destination = mock(DatabaseManager.class);
+        long converted = new UserConversion(db, destination, profile -> profile, 1, logger)
+                .withCheckpoint(checkpointFile, "test")
+                .run();
+
+        //Nothing can be converted without knowing where the conversion stopped
+        assertEquals(0, converted);
+        Mockito.verify(destination, Mockito.never()).saveUsers(Mockito.anyCollection());
+        assertTrue(checkpointFile.exists());
+    }
+
     @Test
     void testAddedMissingLastLoginValues() {
         File dbFile = prepareDatabaseTestResource(DB_MISSING_LAST_LOGIN);
@@ -673,6 +804,35 @@ class FlatFileDatabaseManagerTest {
         assertEquals(2, db.readRank(rankBoyName).get(null)); //Boy should be position 2
     }
 
+    @Test
+    void testReadRankAfterLevelChange() throws InvalidSkillException {
+        assertNotNull(db);
+        String rankBoyName = "rankBoy";
+        UUID rankBoyUUID = new UUID(1337, 1337);
+        String rankGirlName = "rankGirl";
+        UUID rankGirlUUID = new UUID(7331, 7331);
+
+        addPlayerProfileWithLevelsAndSave(rankGirlName, rankGirlUUID, 100);
+        PlayerProfile rankBoyProfile = addPlayerProfileWithLevelsAndSave(rankBoyName, rankBoyUUID, 10);
+
+        assertEquals(LeaderboardStatus.UPDATED, db.updateLeaderboards());
+        assertEquals(2, db.readRank(rankBoyName).get(null));
+
+        //Leaderboards should move the player on save without being reloaded from the file
+        rankBoyProfile.modifySkill(PrimarySkillType.MINING, 2000);
+        db.saveUser(rankBoyProfile);
+
+        assertEquals(LeaderboardStatus.TOO_SOON_TO_UPDATE, db.updateLeaderboards());
+        assertEquals(1, db.readRank(rankBoyName).get(PrimarySkillType.MINING));
+        assertEquals(2, db.readRank(rankGirlName).get(PrimarySkillType.MINING));
+        assertEquals(2, db.readRank(rankBoyName).get(PrimarySkillType.WOODCUTTING));
+        assertEquals(1, db.readRank(rankBoyName).get(null));
+
+        assertEquals(rankBoyName, db.readLeaderboard(PrimarySkillType.MINING, 1, 10).get(0).name);
+        assertEquals(rankGirlName, db.readLeaderboard(PrimarySkillType.MINING, 2, 1).get(0).name);
+        assertTrue(db.readLeaderboard(PrimarySkillType.MINING, 3, 1).isEmpty());
+    }
+
     @Test
     void testLoadFromFile() {
         ClassLoader classLoader = getClass().getClassLoader();
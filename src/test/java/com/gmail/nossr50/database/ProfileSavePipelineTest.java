@@ -0,0 +1,77 @@
+package com.gmail.nossr50.database;
+
+import com.gmail.nossr50.datatypes.player.PlayerProfile;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+
+class ProfileSavePipelineTest {
+    private static final Logger logger = Logger.getLogger(ProfileSavePipelineTest.class.getName());
+
+    @Test
+    void testAwaitPendingSaveWaitsForBatchBeingWritten() throws Exception {
+        CountDownLatch writeStarted = new CountDownLatch(1);
+        CountDownLatch releaseWrite = new CountDownLatch(1);
+        AtomicBoolean written = new AtomicBoolean();
+
+        DatabaseManager databaseManager = mock(DatabaseManager.class);
+        Mockito.when(databaseManager.saveUsers(anyCollection())).thenAnswer(invocation -> {
+            writeStarted.countDown();
+            assertTrue(releaseWrite.await(10, TimeUnit.SECONDS));
+            written.set(true);
+            return Collections.emptyList();
+        });
+
+        ProfileSavePipeline pipeline = new ProfileSavePipeline(logger, 10, () -> databaseManager);
+        UUID uuid = UUID.randomUUID();
+        PlayerProfile profile = new PlayerProfile("nossr50", uuid, true, 0);
+        profile.markProfileDirty();
+        pipeline.enqueue(profile);
+
+        Thread flushThread = new Thread(pipeline::flush);
+        flushThread.start();
+        assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+
+        // The batch is off the queue now, but still being written
+        assertEquals(0, pipeline.getQueueDepth());
+
+        AtomicBoolean writtenBeforeLoad = new AtomicBoolean();
+        Thread loadThread = new Thread(() -> {
+            pipeline.awaitPendingSave(uuid);
+            writtenBeforeLoad.set(written.get());
+        });
+        loadThread.start();
+
+        loadThread.join(200);
+        assertTrue(loadThread.isAlive(), "The load did not wait for the save being written");
+
+        releaseWrite.countDown();
+        loadThread.join(10000);
+        flushThread.join(10000);
+
+        assertFalse(loadThread.isAlive());
+        assertTrue(writtenBeforeLoad.get());
+        assertEquals(1, pipeline.getTotalSaved());
+    }
+
+    @Test
+    void testAwaitPendingSaveWithoutQueuedSave() {
+        DatabaseManager databaseManager = mock(DatabaseManager.class);
+        ProfileSavePipeline pipeline = new ProfileSavePipeline(logger, 10, () -> databaseManager);
+
+        pipeline.awaitPendingSave(UUID.randomUUID());
+        pipeline.awaitPendingSave(null);
+
+        Mockito.verify(databaseManager, Mockito.never()).saveUsers(anyCollection());
+    }
+}
@@ -0,0 +1,192 @@
+package com.gmail.nossr50.datatypes.treasure;
+
+import com.gmail.nossr50.util.random.McMMORandom;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Rolls millions of drops from the compiled loot tables and compares them to the way treasures used to be rolled
+ */
+class LootTableSimulationTest {
+    private static final int ROLLS = 2_000_000;
+    private static final double TOLERANCE = 0.002;
+    private static final Object NOTHING = new Object();
+
+    @BeforeEach
+    void setUp() {
+        McMMORandom.setSeed(20221017L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        McMMORandom.clearSeed();
+    }
+
+    @Test
+    void testAliasTableMatchesWeights() {
+        List<String> outcomes = Arrays.asList("a", "b", "c", "d", null);
+        double[] weights = {1, 2, 3, 0, 4};
+        AliasTable<String> aliasTable = new AliasTable<>(outcomes, weights);
+        Map<Object, Integer> counts = roll(aliasTable::sample);
+
+        Assertions.assertFalse(counts.containsKey("d"));
+        assertFrequency(0.1, counts.get("a"));
+        assertFrequency(0.2, counts.get("b"));
+        assertFrequency(0.3, counts.get("c"));
+        assertFrequency(0.4, counts.get(NOTHING));
+    }
+
+    @Test
+    void testAliasTableRejectsInvalidWeights() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable<>(Arrays.asList("a", "b"), new double[] {0, 0}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable<>(Arrays.asList("a", "b"), new double[] {1, -1}));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AliasTable<>(Collections.singletonList("a"), new double[] {1, 1}));
+    }
+
+    @Test
+    void testFishingLootTableMatchesRarityWalk() {
+        Map<Rarity, List<FishingTreasure>> fishingRewards = new EnumMap<>(Rarity.class);
+        fishingRewards.put(Rarity.MYTHIC, Collections.emptyList());
+        fishingRewards.put(Rarity.LEGENDARY, Collections.singletonList(new FishingTreasure(null, 1)));
+        fishingRewards.put(Rarity.EPIC, Arrays.asList(new FishingTreasure(null, 2), new FishingTreasure(null, 3)));
+        fishingRewards.put(Rarity.RARE, Collections.singletonList(new FishingTreasure(null, 4)));
+        fishingRewards.put(Rarity.UNCOMMON, Arrays.asList(new FishingTreasure(null, 5), new FishingTreasure(null, 6), new FishingTreasure(null, 7)));
+        fishingRewards.put(Rarity.COMMON, Collections.singletonList(new FishingTreasure(null, 8)));
+
+        double[][] itemDropRates = {
+                {0, 0, 0, 0, 0, 0},
+                {0.5, 1.5, 3, 10, 20, 40},
+        };
+        double lureModifier = 4.0;
+        FishingLootTable lootTable = new FishingLootTable(fishingRewards, new EnumMap<>(Rarity.class), itemDropRates, itemDropRates, lureModifier);
+
+        for (int tier = 0; tier <= 2; tier++) {
+            // Luck above 3 isn't precompiled and 30 scales the roll below 0
+            for (int luck : new int[] {0, 3, 10, 30}) {
+                int currentTier = tier;
+                Map<Object, Integer> expected = roll(() -> walkRarities(fishingRewards, itemDropRates, lureModifier, currentTier, luck));
+                Map<Object, Integer> actual = roll(() -> lootTable.sampleTreasure(currentTier, luck));
+
+                assertSameDistribution(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void testHylianLootTableMatchesFirstSuccess() {
+        List<HylianTreasure> treasures = Arrays.asList(
+                new HylianTreasure(null, 0, 20.5, 0),
+                new HylianTreasure(null, 0, 57, 100),
+                new HylianTreasure(null, 0, 10, 0),
+                new HylianTreasure(null, 0, 90, 250));
+        HylianLootTable lootTable = new HylianLootTable(treasures, 1.333D);
+
+        for (int skillLevel : new int[] {-1, 0, 99, 100, 500}) {
+            for (boolean lucky : new boolean[] {false, true}) {
+                Map<Object, Integer> expected = roll(() -> findFirstSuccess(treasures, skillLevel, lucky ? 1.333D : 1.0D));
+                Map<Object, Integer> actual = roll(() -> lootTable.sample(skillLevel, lucky));
+
+                assertSameDistribution(expected, actual);
+            }
+        }
+    }
+
+    @Test
+    void testExcavationLootTableBrackets() {
+        ExcavationTreasure common = new ExcavationTreasure(null, 0, 50, 0);
+        ExcavationTreasure rare = new ExcavationTreasure(null, 0, 0.05, 350);
+        ExcavationLootTable lootTable = new ExcavationLootTable(Arrays.asList(rare, common), 1.333D);
+
+        Assertions.assertNull(lootTable.getBracket(-1));
+        Assertions.assertEquals(1, lootTable.getBracket(349).size());
+        Assertions.assertSame(common, lootTable.getBracket(349).getTreasure(0));
+        Assertions.assertEquals(2, lootTable.getBracket(1000).size());
+        // Config order is kept
+        Assertions.assertSame(rare, lootTable.getBracket(1000).getTreasure(0));
+
+        ExcavationLootTable.Bracket bracket = lootTable.getBracket(1000);
+        int found = 0;
+
+        for (int i = 0; i < ROLLS; i++) {
+            if (bracket.roll(1, false)) {
+                found++;
+            }
+        }
+
+        assertFrequency(0.5, found);
+    }
+
+    /**
+     * How fishing treasures used to be rolled
+     */
+    private static FishingTreasure walkRarities(Map<Rarity, List<FishingTreasure>> fishingRewards, double[][] itemDropRates,
+                                                double lureModifier, int tier, int luck) {
+        double diceRoll = McMMORandom.nextDouble() * 100;
+        diceRoll *= (1.0 - luck * lureModifier / 100);
+
+        for (Rarity rarity : Rarity.values()) {
+            double dropRate = tier < itemDropRates.length ? itemDropRates[tier][rarity.ordinal()] : 0;
+
+            if (diceRoll <= dropRate) {
+                List<FishingTreasure> fishingTreasures = fishingRewards.get(rarity);
+
+                if (fishingTreasures.isEmpty()) {
+                    return null;
+                }
+
+                return fishingTreasures.get(McMMORandom.nextInt(fishingTreasures.size()));
+            }
+
+            diceRoll -= dropRate;
+        }
+
+        return null;
+    }
+
+    /**
+     * How Hylian Luck treasures used to be rolled
+     */
+    private static HylianTreasure findFirstSuccess(List<HylianTreasure> treasures, int skillLevel, double luckModifier) {
+        for (HylianTreasure treasure : treasures) {
+            double chance = (int) (100 * (treasure.getDropChance() / 100)) * luckModifier;
+
+            if (skillLevel >= treasure.getDropLevel() && McMMORandom.nextInt(100) < chance) {
+                return treasure;
+            }
+        }
+
+        return null;
+    }
+
+    private static Map<Object, Integer> roll(Supplier<?> sampler) {
+        Map<Object, Integer> counts = new HashMap<>();
+
+        for (int i = 0; i < ROLLS; i++) {
+            Object outcome = sampler.get();
+            counts.merge(outcome == null ? NOTHING : outcome, 1, Integer::sum);
+        }
+
+        return counts;
+    }
+
+    private static void assertSameDistribution(Map<Object, Integer> expected, Map<Object, Integer> actual) {
+        Set<Object> outcomes = new HashSet<>(expected.keySet());
+        outcomes.addAll(actual.keySet());
+
+        for (Object outcome : outcomes) {
+            double expectedFrequency = expected.getOrDefault(outcome, 0) / (double) ROLLS;
+            double actualFrequency = actual.getOrDefault(outcome, 0) / (double) ROLLS;
+            Assertions.assertEquals(expectedFrequency, actualFrequency, TOLERANCE);
+        }
+    }
+
+    private static void assertFrequency(double expected, Integer count) {
+        Assertions.assertNotNull(count);
+        Assertions.assertEquals(expected, count / (double) ROLLS, TOLERANCE);
+    }
+}
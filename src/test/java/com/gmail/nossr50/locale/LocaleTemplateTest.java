@@ -0,0 +1,198 @@
+package com.gmail.nossr50.locale;
+
+import org.bukkit.ChatColor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.*;
+
+/**
+ * Renders every string of the bundled locale files and compares it to the way locale strings used to be formatted
+ */
+class LocaleTemplateTest {
+    private static final Object[][] ARGUMENT_SETS = {
+            null,
+            {},
+            {"nossr50"},
+            {"nossr50", 12, 3.5D, 1234567L, -0.25F},
+            {12345.678D, "Mining", 100, "Woodcutting", 42, "Herbalism", 7, "Swords", 0, "Axes", 1},
+            // Color codes in arguments, and arguments that finish color codes of the text around them
+            {"&aGreen", "[[RED]]Red", "&", "[", "]", "[[", "]]", "&&", "a", "RED]]"},
+            {new Date(0), "text", 5},
+            {null, new StringBuilder("builder"), 'c', true},
+    };
+
+    private static final String[][] OLD_COLOR_CODES = {
+            {"[[BLACK]]", ChatColor.BLACK.toString()},
+            {"[[DARK_BLUE]]", ChatColor.DARK_BLUE.toString()},
+            {"[[DARK_GREEN]]", ChatColor.DARK_GREEN.toString()},
+            {"[[DARK_AQUA]]", ChatColor.DARK_AQUA.toString()},
+            {"[[DARK_RED]]", ChatColor.DARK_RED.toString()},
+            {"[[DARK_PURPLE]]", ChatColor.DARK_PURPLE.toString()},
+            {"[[GOLD]]", ChatColor.GOLD.toString()},
+            {"[[GRAY]]", ChatColor.GRAY.toString()},
+            {"[[DARK_GRAY]]", ChatColor.DARK_GRAY.toString()},
+            {"[[BLUE]]", ChatColor.BLUE.toString()},
+            {"[[GREEN]]", ChatColor.GREEN.toString()},
+            {"[[AQUA]]", ChatColor.AQUA.toString()},
+            {"[[RED]]", ChatColor.RED.toString()},
+            {"[[LIGHT_PURPLE]]", ChatColor.LIGHT_PURPLE.toString()},
+            {"[[YELLOW]]", ChatColor.YELLOW.toString()},
+            {"[[WHITE]]", ChatColor.WHITE.toString()},
+            {"[[BOLD]]", ChatColor.BOLD.toString()},
+            {"[[UNDERLINE]]", ChatColor.UNDERLINE.toString()},
+            {"[[ITALIC]]", ChatColor.ITALIC.toString()},
+            {"[[STRIKE]]", ChatColor.STRIKETHROUGH.toString()},
+            {"[[MAGIC]]", ChatColor.MAGIC.toString()},
+            {"[[RESET]]", ChatColor.RESET.toString()},
+            {"&0", ChatColor.BLACK.toString()},
+            {"&1", ChatColor.DARK_BLUE.toString()},
+            {"&2", ChatColor.DARK_GREEN.toString()},
+            {"&3", ChatColor.DARK_AQUA.toString()},
+            {"&4", ChatColor.DARK_RED.toString()},
+            {"&5", ChatColor.DARK_PURPLE.toString()},
+            {"&6", ChatColor.GOLD.toString()},
+            {"&7", ChatColor.GRAY.toString()},
+            {"&8", ChatColor.DARK_GRAY.toString()},
+            {"&9", ChatColor.BLUE.toString()},
+            {"&a", ChatColor.GREEN.toString()},
+            {"&b", ChatColor.AQUA.toString()},
+            {"&c", ChatColor.RED.toString()},
+            {"&d", ChatColor.LIGHT_PURPLE.toString()},
+            {"&e", ChatColor.YELLOW.toString()},
+            {"&f", ChatColor.WHITE.toString()},
+            {"&l", ChatColor.BOLD.toString()},
+            {"&n", ChatColor.UNDERLINE.toString()},
+            {"&o", ChatColor.ITALIC.toString()},
+            {"&m", ChatColor.STRIKETHROUGH.toString()},
+            {"&?", ChatColor.MAGIC.toString()},
+            {"&r", ChatColor.RESET.toString()},
+    };
+
+    @Test
+    void testBundledLocalesMatchMessageFormat() throws IOException, URISyntaxException {
+        int compared = 0;
+
+        for (Map.Entry<String, Properties> locale : loadBundledLocales().entrySet()) {
+            Properties properties = locale.getValue();
+
+            for (String key : properties.stringPropertyNames()) {
+                String raw = properties.getProperty(key);
+                LocaleTemplate template = LocaleTemplate.compile(raw);
+
+                for (Object[] arguments : ARGUMENT_SETS) {
+                    assertSameAsMessageFormat(locale.getKey() + " " + key, template, raw, arguments);
+                    compared++;
+                }
+            }
+        }
+
+        Assertions.assertTrue(compared > 0);
+    }
+
+    @Test
+    void testColorCodesAroundArguments() {
+        String[] patterns = {
+                "&{0}", "[[{0}]]", "[{0}RED]]", "[[{0}", "{0}]]", "&a{0}&{1}", "{0}{1}{0}", "[[RED]]{0}&r",
+                "&&{0}", "'{0}'", "It's {0}", "{0} } {", "{1000}", "{10000}", "{0,number,#.##}", "{ 0 }", "{a}",
+                "[[UNKNOWN]]{0}", "&z{0}&", "", "{", "}",
+        };
+        Object[][] argumentSets = {
+                {"a"}, {"RED"}, {"c", "a"}, {"&"}, {"["}, {"]"}, {"[["}, {"]]"}, {1.5D, "&"}, {new Date(0)}, {},
+        };
+
+        for (String pattern : patterns) {
+            LocaleTemplate template = LocaleTemplate.compile(pattern);
+
+            for (Object[] arguments : argumentSets) {
+                assertSameAsMessageFormat(pattern, template, pattern, arguments);
+            }
+        }
+    }
+
+    @Test
+    void testPlainArgumentsSkipMessageFormat() {
+        LocaleTemplate template = LocaleTemplate.compile("[[GREEN]]{0} &7reached {1}");
+
+        Assertions.assertEquals(ChatColor.GREEN + "nossr50 " + ChatColor.GRAY + "reached 1,000",
+                template.render(new Object[] {"nossr50", 1000}));
+        Assertions.assertEquals("[[GREEN]]nossr50 &7reached {1}", template.renderUncolored(new Object[] {"nossr50"}));
+        Assertions.assertEquals(ChatColor.GREEN + "{0} " + ChatColor.GRAY + "reached {1}", template.render(null));
+    }
+
+    private static void assertSameAsMessageFormat(String name, LocaleTemplate template, String raw, Object[] arguments) {
+        String message = name + " with " + Arrays.toString(arguments);
+        String expected;
+        String expectedUncolored;
+
+        try {
+            expected = oldFormatString(raw, arguments);
+            expectedUncolored = oldFormatUncolored(raw, arguments);
+        }
+        catch (IllegalArgumentException e) {
+            // Strings MessageFormat can't parse still can't be formatted
+            Assertions.assertThrows(IllegalArgumentException.class, () -> template.render(arguments), message);
+            Assertions.assertThrows(IllegalArgumentException.class, () -> template.renderUncolored(arguments), message);
+            return;
+        }
+
+        Assertions.assertEquals(expected, template.render(arguments), message);
+        Assertions.assertEquals(expectedUncolored, template.renderUncolored(arguments), message);
+    }
+
+    /**
+     * How {@link LocaleLoader#formatString(String, Object...)} used to format strings
+     */
+    private static String oldFormatString(String string, Object[] arguments) {
+        return oldAddColors(oldFormatUncolored(string, arguments));
+    }
+
+    private static String oldFormatUncolored(String string, Object[] arguments) {
+        if (arguments != null) {
+            MessageFormat formatter = new MessageFormat("");
+            formatter.applyPattern(string.replace("'", "''"));
+            string = formatter.format(arguments);
+        }
+
+        return string;
+    }
+
+    /**
+     * How {@link LocaleLoader#addColors(String)} used to translate color codes, one replacement after another
+     */
+    private static String oldAddColors(String input) {
+        for (String[] colorCode : OLD_COLOR_CODES) {
+            input = input.replace(colorCode[0], colorCode[1]);
+        }
+
+        return input;
+    }
+
+    private static Map<String, Properties> loadBundledLocales() throws IOException, URISyntaxException {
+        Path directory = Paths.get(LocaleTemplateTest.class.getResource("locale_en_US.properties").toURI()).getParent();
+        Map<String, Properties> locales = new TreeMap<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "locale_*.properties")) {
+            for (Path file : files) {
+                Properties properties = new Properties();
+
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    properties.load(reader);
+                }
+
+                locales.put(file.getFileName().toString(), properties);
+            }
+        }
+
+        return locales;
+    }
+}
@@ -0,0 +1,160 @@
+package com.gmail.nossr50.skills.woodcutting;
+
+import com.gmail.nossr50.mcMMO;
+import com.gmail.nossr50.util.BlockUtils;
+import com.gmail.nossr50.util.blockmeta.ChunkManager;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.inventory.ItemStack;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+class TreeFellerTreeTest {
+    private final Map<Long, Material> placedBlocks = new HashMap<>();
+    private World mockWorld;
+    private ItemStack tool;
+    private MockedStatic<mcMMO> mcMMOMock;
+    private MockedStatic<BlockUtils> blockUtilsMock;
+
+    @BeforeEach
+    void setUp() {
+        placedBlocks.clear();
+        tool = Mockito.mock(ItemStack.class);
+
+        mockWorld = Mockito.mock(World.class);
+        Mockito.when(mockWorld.getMinHeight()).thenReturn(-64);
+        Mockito.when(mockWorld.getMaxHeight()).thenReturn(320);
+        Mockito.when(mockWorld.getBlockAt(ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt(), ArgumentMatchers.anyInt())).thenAnswer(invocation ->
+                mockBlock(invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+
+        mcMMOMock = Mockito.mockStatic(mcMMO.class);
+        mcMMOMock.when(mcMMO::getPlaceStore).thenReturn(Mockito.mock(ChunkManager.class));
+
+        blockUtilsMock = Mockito.mockStatic(BlockUtils.class);
+        blockUtilsMock.when(() -> BlockUtils.hasWoodcuttingXP(ArgumentMatchers.any(Block.class), ArgumentMatchers.any(Material.class)))
+                .thenAnswer(invocation -> invocation.getArgument(1) == Material.OAK_LOG);
+        blockUtilsMock.when(() -> BlockUtils.isNonWoodPartOfTree(ArgumentMatchers.any(Material.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0) == Material.OAK_LEAVES);
+    }
+
+    @AfterEach
+    void tearDown() {
+        mcMMOMock.close();
+        blockUtilsMock.close();
+    }
+
+    @Test
+    void testPackRoundTrip() {
+        int[] horizontal = {0, 1, -1, 15, -16, 1337, -1337, 29_999_984, -29_999_984};
+        int[] vertical = {0, 1, -1, -64, 319, 2047, -2048};
+
+        for (int x : horizontal) {
+            for (int y : vertical) {
+                for (int z : horizontal) {
+                    long position = TreeFellerTree.pack(x, y, z);
+                    Assertions.assertEquals(x, TreeFellerTree.unpackX(position));
+                    Assertions.assertEquals(y, TreeFellerTree.unpackY(position));
+                    Assertions.assertEquals(z, TreeFellerTree.unpackZ(position));
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSearchFindsTrunkAndCrown() {
+        // The log at the origin is broken by the player, the trunk above it has a crown of leaves and a branch
+        for (int y = 64; y <= 70; y++) {
+            place(1000, y, -1000, Material.OAK_LOG);
+        }
+        for (int x = 998; x <= 1002; x++) {
+            for (int z = -1002; z <= -998; z++) {
+                if (x != 1000 || z != -1000) {
+                    place(x, 70, z, Material.OAK_LEAVES);
+                }
+            }
+        }
+        place(1001, 68, -1000, Material.OAK_LOG);
+        // Too far away to be part of the tree
+        place(1005, 65, -1000, Material.OAK_LOG);
+
+        TreeFellerTree tree = TreeFellerTree.search(mockBlock(1000, 64, -1000), 1000, tool);
+
+        Assertions.assertSame(tool, tree.getTool());
+        Assertions.assertFalse(tree.hasReachedThreshold());
+        Assertions.assertEquals(7, tree.getLogCount());
+        // The corners of the crown are outside of the search cylinder
+        Assertions.assertEquals(7 + 20, tree.size());
+        Assertions.assertEquals(tree.getLogCount(), tree.getLogCount(0, tree.size()));
+        // The trunk is found bottom up before anything else
+        Assertions.assertEquals(65, tree.getBlock(0).getY());
+        Assertions.assertEquals(Material.OAK_LOG, tree.getType(0));
+
+        Set<Long> found = new HashSet<>();
+        int logs = 0;
+        for (int i = 0; i < tree.size(); i++) {
+            Block block = tree.getBlock(i);
+            long position = TreeFellerTree.pack(block.getX(), block.getY(), block.getZ());
+            Assertions.assertTrue(found.add(position), "Found a block twice");
+            Assertions.assertEquals(placedBlocks.get(position), tree.getType(i));
+            if (tree.getType(i) == Material.OAK_LOG) {
+                logs++;
+            }
+            Assertions.assertEquals(logs, tree.getLogCount(0, i + 1));
+        }
+
+        Assertions.assertFalse(found.contains(TreeFellerTree.pack(1000, 64, -1000)));
+        Assertions.assertFalse(found.contains(TreeFellerTree.pack(1005, 65, -1000)));
+    }
+
+    @Test
+    void testSearchStopsAtThreshold() {
+        for (int y = 0; y < 100; y++) {
+            place(0, y, 0, Material.OAK_LOG);
+        }
+
+        TreeFellerTree tree = TreeFellerTree.search(mockBlock(0, 0, 0), 10, tool);
+
+        Assertions.assertTrue(tree.hasReachedThreshold());
+        Assertions.assertEquals(11, tree.size());
+    }
+
+    @Test
+    void testNextIndex() {
+        place(0, 1, 0, Material.OAK_LOG);
+        place(0, 2, 0, Material.OAK_LOG);
+
+        TreeFellerTree tree = TreeFellerTree.search(mockBlock(0, 0, 0), 1000, tool);
+        Assertions.assertFalse(tree.isFinished());
+        Assertions.assertEquals(1, tree.getLogCount(1, 2));
+
+        tree.setNextIndex(tree.size());
+        Assertions.assertTrue(tree.isFinished());
+    }
+
+    private void place(int x, int y, int z, Material material) {
+        placedBlocks.put(TreeFellerTree.pack(x, y, z), material);
+    }
+
+    private Block mockBlock(int x, int y, int z) {
+        Block block = Mockito.mock(Block.class);
+        Mockito.when(block.getX()).thenReturn(x);
+        Mockito.when(block.getY()).thenReturn(y);
+        Mockito.when(block.getZ()).thenReturn(z);
+        Mockito.when(block.getWorld()).thenReturn(mockWorld);
+        Mockito.when(block.getLocation()).thenReturn(new Location(mockWorld, x, y, z));
+        Mockito.when(block.getType()).thenReturn(placedBlocks.getOrDefault(TreeFellerTree.pack(x, y, z), Material.AIR));
+        return block;
+    }
+}
@@ -13,7 +13,12 @@ import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Could be a lot better. But some tests are better than none! Tests the major things, still kinda unit-testy. Verifies
@@ -152,6 +157,71 @@ class ChunkStoreTest {
         assertEqual(original, deserialized);
     }
 
+    @Test
+    void testSparseRoundTrip() throws IOException {
+        Mockito.when(mockWorld.getMinHeight()).thenReturn(-64);
+
+        SparseChunkStore original = new SparseChunkStore(mockWorld, 1, 2);
+        original.setTrue(14, -64, 12);
+        original.setTrue(14, 90, 12);
+        // Enough blocks in one section for it to switch to a bitmap
+        for (int y = 0; y < 16; y++)
+            for (int x = 0; x < 16; x++)
+                original.setTrue(x, y, 3);
+        byte[] serializedBytes = serializeChunkstore(original);
+        ChunkStore deserialized = BitSetChunkStore.Serialization.readChunkStore(new DataInputStream(new ByteArrayInputStream(serializedBytes)));
+        Assertions.assertTrue(deserialized instanceof SparseChunkStore);
+        assertEqual(original, deserialized);
+
+        // Clearing the section should switch it back and empty the chunk
+        for (int y = 0; y < 16; y++)
+            for (int x = 0; x < 16; x++)
+                original.setFalse(x, y, 3);
+        original.setFalse(14, -64, 12);
+        original.setFalse(14, 90, 12);
+        Assertions.assertTrue(original.isEmpty());
+    }
+
+    @Test
+    void testChunkStoreFormatConversion() {
+        BitSetChunkStore original = new BitSetChunkStore(mockWorld, 1, 2);
+        original.setTrue(14, 89, 12);
+        original.setTrue(0, 0, 0);
+
+        ChunkStore converted = ChunkStoreFormat.SPARSE.convert(original);
+        Assertions.assertTrue(converted instanceof SparseChunkStore);
+        Assertions.assertTrue(converted.isDirty());
+        assertEqual(original, converted);
+
+        ChunkStore convertedBack = ChunkStoreFormat.BITSET.convert(converted);
+        Assertions.assertTrue(convertedBack instanceof BitSetChunkStore);
+        assertEqual(original, convertedBack);
+        Assertions.assertSame(convertedBack, ChunkStoreFormat.BITSET.convert(convertedBack));
+    }
+
+    @Test
+    void testMappedRegionRoundtrip() throws IOException {
+        BitSetChunkStore original = new BitSetChunkStore(mockWorld, 12, 12);
+        original.setTrue(14, 89, 12);
+        original.setTrue(13, 89, 12);
+        File file = new File(tempDir, "MappedRegionRoundTrip.region");
+        McMMOSimpleRegionFile region = new McMMOMappedRegionFile(file, 0, 0);
+        try (DataOutputStream outputStream = region.getOutputStream(12, 12)) {
+            outputStream.write(serializeChunkstore(original));
+        }
+        region.close();
+        // Both backends share the file format
+        region = new McMMOSimpleRegionFile(file, 0, 0);
+        try (DataInputStream is = region.getInputStream(original.getChunkX(), original.getChunkZ())) {
+            Assertions.assertNotNull(is);
+            ChunkStore deserialized = BitSetChunkStore.Serialization.readChunkStore(is);
+            assert deserialized != null;
+            assertEqual(original, deserialized);
+        }
+        region.close();
+        file.delete();
+    }
+
     @Test
     void testNegativeWorldMinUpgrade() throws IOException {
         BitSetChunkStore original = new BitSetChunkStore(mockWorld, 1, 2);
@@ -210,6 +280,37 @@ class ChunkStoreTest {
         file.delete();
     }
 
+    @Test
+    void testRegionHeaderOnDiskStaysConsistentUntilFlush() throws IOException {
+        File file = new File(tempDir, "HeaderFlush.region");
+        File copy = new File(tempDir, "HeaderFlushCopy.region");
+        McMMOSimpleRegionFile region = new McMMOSimpleRegionFile(file, 0, 0);
+        byte[] first = new byte[3000];
+        byte[] second = new byte[500];
+        Arrays.fill(first, (byte) 1);
+        Arrays.fill(second, (byte) 2);
+
+        writeRegionChunk(region, 1, 1, first);
+        region.flushHeader();
+        // Rewritten and joined by another chunk without flushing, the header on disk still points at the first write
+        writeRegionChunk(region, 1, 1, second);
+        writeRegionChunk(region, 2, 2, first);
+        java.nio.file.Files.copy(file.toPath(), copy.toPath());
+
+        McMMOSimpleRegionFile crashed = new McMMOSimpleRegionFile(copy, 0, 0);
+        Assertions.assertArrayEquals(first, readRegionChunk(crashed, 1, 1));
+        Assertions.assertNull(crashed.getInputStream(2, 2));
+        crashed.close();
+
+        region.close();
+        region = new McMMOSimpleRegionFile(file, 0, 0);
+        Assertions.assertArrayEquals(second, readRegionChunk(region, 1, 1));
+        Assertions.assertArrayEquals(first, readRegionChunk(region, 2, 2));
+        region.close();
+        file.delete();
+        copy.delete();
+    }
+
     @Test
     void testSimpleRegionRejectsOutOfBounds() {
         File file = new File(tempDir, "SimpleRegionRoundTrip.region");
@@ -251,6 +352,152 @@ class ChunkStoreTest {
         Assertions.assertTrue(chunkManager.isTrue(mockBlockA));
     }
 
+    @Test
+    void testConcurrentSetTrue() throws Exception {
+        File worldFolder = new File(tempDir, "concurrent");
+        Mockito.when(mockWorld.getWorldFolder()).thenReturn(worldFolder);
+        HashChunkManager hashChunkManager = new HashChunkManager();
+        int threadCount = 8;
+        int width = 48; // Each thread spans several chunks, neighbouring threads share chunks and region files
+
+        // Mocks are created up front, stubbing is not thread safe
+        Block[][] blocks = new Block[threadCount][width * width];
+        for (int t = 0; t < threadCount; t++) {
+            for (int i = 0; i < width * width; i++) {
+                blocks[t][i] = initMockBlock(t * (width / 2) + i % width - 512, 64 + t, i / width - 512);
+            }
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+        for (int t = 0; t < threadCount; t++) {
+            Block[] threadBlocks = blocks[t];
+            Thread thread = new Thread(() -> {
+                try {
+                    for (Block block : threadBlocks) {
+                        Assertions.assertFalse(hashChunkManager.isTrue(block));
+                        hashChunkManager.setTrue(block);
+                        Assertions.assertTrue(hashChunkManager.isTrue(block));
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assertions.assertTrue(failures.isEmpty(), () -> failures.get(0).toString());
+
+        // Everything should survive being written to and read back from the region files
+        hashChunkManager.closeAll();
+        HashChunkManager reloaded = new HashChunkManager();
+        for (Block[] threadBlocks : blocks) {
+            for (Block block : threadBlocks) {
+                Assertions.assertTrue(reloaded.isTrue(block));
+            }
+        }
+        Assertions.assertFalse(reloaded.isTrue(initMockBlock(-512, 63, -512)));
+        reloaded.closeAll();
+    }
+
+    @Test
+    void testReloadedChunkSeesQueuedWrite() {
+        File worldFolder = new File(tempDir, "reload");
+        Mockito.when(mockWorld.getWorldFolder()).thenReturn(worldFolder);
+        HashChunkManager hashChunkManager = new HashChunkManager();
+
+        for (int i = 0; i < 64; i++) {
+            // Spread over several region files so writes to other regions are queued as well
+            Block placed = initMockBlock(i * 100, 64, i * 100);
+            Block other = initMockBlock(i * 100 + 1, 64, i * 100);
+            int cx = placed.getX() >> 4;
+            int cz = placed.getZ() >> 4;
+
+            hashChunkManager.setTrue(placed);
+            hashChunkManager.chunkUnloaded(cx, cz, mockWorld);
+            hashChunkManager.chunkLoaded(cx, cz, mockWorld);
+
+            // Setting false waits for the chunk to be read, it has to be read after its write
+            hashChunkManager.setFalse(other);
+            Assertions.assertTrue(hashChunkManager.isTrue(placed));
+            Assertions.assertFalse(hashChunkManager.isTrue(other));
+        }
+
+        hashChunkManager.closeAll();
+    }
+
+    @Test
+    void testGeneratedChunkIsNotRead() {
+        File worldFolder = new File(tempDir, "generated");
+        Mockito.when(mockWorld.getWorldFolder()).thenReturn(worldFolder);
+        Block placed = initMockBlock(40, 64, 40);
+        Block other = initMockBlock(41, 64, 40);
+
+        HashChunkManager hashChunkManager = new HashChunkManager();
+        hashChunkManager.setTrue(placed);
+        hashChunkManager.closeAll();
+
+        // The stored data is left alone, a generated chunk is known to be empty
+        HashChunkManager generated = new HashChunkManager();
+        generated.chunkGenerated(2, 2, mockWorld);
+        Assertions.assertFalse(generated.isTrue(placed));
+        generated.setTrue(other);
+        Assertions.assertTrue(generated.isTrue(other));
+        generated.closeAll();
+
+        HashChunkManager reloaded = new HashChunkManager();
+        Assertions.assertFalse(reloaded.isTrue(placed));
+        Assertions.assertTrue(reloaded.isTrue(other));
+        reloaded.closeAll();
+    }
+
+    @Test
+    void testRegionFileWorkerReadsLatestWrite() throws IOException {
+        File worldFolder = new File(tempDir, "worker");
+        Mockito.when(mockWorld.getWorldFolder()).thenReturn(worldFolder);
+        RegionFileWorker regionFileWorker = new RegionFileWorker(RegionFileBackend.RANDOM_ACCESS);
+
+        BitSetChunkStore first = new BitSetChunkStore(mockWorld, 3, 4);
+        first.setTrue(1, 2, 3);
+        BitSetChunkStore second = new BitSetChunkStore(mockWorld, 3, 4);
+        second.setTrue(4, 5, 6);
+
+        regionFileWorker.write(mockWorld, 0, first);
+        for (int rx = 1; rx < 16; rx++)
+            regionFileWorker.write(mockWorld, rx, new BitSetChunkStore(mockWorld, rx << 5, 0));
+        regionFileWorker.write(mockWorld, 0, second);
+
+        byte[] data = regionFileWorker.read(mockWorld, 0, 3, 4).join();
+        Assertions.assertNotNull(data);
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            assertEqual(second, BitSetChunkStore.Serialization.readChunkStore(in));
+        }
+        Assertions.assertNull(regionFileWorker.read(mockWorld, 0, 5, 5).join());
+        Assertions.assertNull(regionFileWorker.read(mockWorld, 99, 99 << 5, 0).join());
+
+        regionFileWorker.close();
+        Assertions.assertFalse(second.isDirty());
+        // Every region written before the close has its chunk
+        for (int rx = 1; rx < 16; rx++)
+            Assertions.assertTrue(new File(new File(worldFolder, "mcmmo_regions"), "mcmmo_" + rx + "_0_.mcm").exists());
+    }
+
+    private static void writeRegionChunk(McMMOSimpleRegionFile region, int x, int z, byte[] data) throws IOException {
+        try (DataOutputStream outputStream = region.getOutputStream(x, z)) {
+            outputStream.write(data);
+        }
+    }
+
+    private static byte[] readRegionChunk(McMMOSimpleRegionFile region, int x, int z) throws IOException {
+        try (DataInputStream is = region.getInputStream(x, z)) {
+            Assertions.assertNotNull(is);
+            return is.readAllBytes();
+        }
+    }
+
     private void assertEqual(ChunkStore expected, ChunkStore actual) {
         Assertions.assertEquals(expected.getChunkMin(), actual.getChunkMin());
         Assertions.assertEquals(expected.getChunkMax(), actual.getChunkMax());
@@ -272,7 +519,7 @@ class ChunkStoreTest {
 
     private static byte[] serializeChunkstore(@NotNull ChunkStore chunkStore) throws IOException {
         ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
-        if (chunkStore instanceof BitSetChunkStore)
+        if (chunkStore instanceof BitSetChunkStore || chunkStore instanceof SparseChunkStore)
             BitSetChunkStore.Serialization.writeChunkStore(new DataOutputStream(byteArrayOutputStream), chunkStore);
         else
             new UnitTestObjectOutputStream(byteArrayOutputStream).writeObject(chunkStore); // Serializes the class as if
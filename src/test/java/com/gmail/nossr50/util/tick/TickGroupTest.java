@@ -0,0 +1,173 @@
+package com.gmail.nossr50.util.tick;
+
+import com.gmail.nossr50.util.CancellableRunnable;
+import com.tcoded.folialib.FoliaLib;
+import com.tcoded.folialib.wrapper.task.WrappedTask;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+class TickGroupTest {
+    private McMMOTickEngine engine;
+    private TickGroup group;
+    private WrappedTask wrappedTask;
+    private int currentTick;
+
+    @BeforeEach
+    void setUp() {
+        FoliaLib foliaLib = Mockito.mock(FoliaLib.class);
+        engine = new McMMOTickEngine(foliaLib, Logger.getLogger(TickGroupTest.class.getName()));
+        group = new TickGroup(engine, new Object());
+        wrappedTask = Mockito.mock(WrappedTask.class);
+        currentTick = 0;
+    }
+
+    @Test
+    void testDelaysWithinOneRevolution() {
+        RecordingTask once = schedule(5, 0);
+        RecordingTask immediate = schedule(0, 0);
+        RecordingTask last = schedule(TickGroup.WHEEL_SIZE - 1, 0);
+
+        tick(TickGroup.WHEEL_SIZE + 10);
+
+        Assertions.assertEquals(List.of(5), once.runs);
+        // A task is never run in the tick it was scheduled in
+        Assertions.assertEquals(List.of(1), immediate.runs);
+        Assertions.assertEquals(List.of(TickGroup.WHEEL_SIZE - 1), last.runs);
+    }
+
+    @Test
+    void testSlotWrap() {
+        RecordingTask keepAlive = schedule(1, 1);
+        tick(250);
+        // Lands in a slot before the current one once the wheel comes around
+        RecordingTask task = schedule(10, 0);
+
+        tick(20);
+
+        Assertions.assertEquals(List.of(260), task.runs);
+        Assertions.assertEquals(270, keepAlive.runs.size());
+    }
+
+    @Test
+    void testMultiRevolutionDelay() {
+        RecordingTask fullWheel = schedule(TickGroup.WHEEL_SIZE, 0);
+        RecordingTask twoWheels = schedule(2 * TickGroup.WHEEL_SIZE + 7, 0);
+        RecordingTask manyWheels = schedule(10 * TickGroup.WHEEL_SIZE + 1, 0);
+
+        tick(11 * TickGroup.WHEEL_SIZE);
+
+        Assertions.assertEquals(List.of(TickGroup.WHEEL_SIZE), fullWheel.runs);
+        Assertions.assertEquals(List.of(2 * TickGroup.WHEEL_SIZE + 7), twoWheels.runs);
+        Assertions.assertEquals(List.of(10 * TickGroup.WHEEL_SIZE + 1), manyWheels.runs);
+    }
+
+    @Test
+    void testReschedule() {
+        RecordingTask everyTick = schedule(1, 1);
+        RecordingTask everyHundred = schedule(100, 100);
+        // Rescheduled into the very slot that is being visited
+        RecordingTask everyWheel = schedule(TickGroup.WHEEL_SIZE, TickGroup.WHEEL_SIZE);
+        RecordingTask longPeriod = schedule(1, 3 * TickGroup.WHEEL_SIZE + 1);
+
+        tick(4 * TickGroup.WHEEL_SIZE);
+
+        Assertions.assertEquals(4 * TickGroup.WHEEL_SIZE, everyTick.runs.size());
+        Assertions.assertEquals(List.of(100, 200, 300, 400, 500, 600, 700, 800, 900, 1000), everyHundred.runs);
+        Assertions.assertEquals(List.of(256, 512, 768, 1024), everyWheel.runs);
+        Assertions.assertEquals(List.of(1, 3 * TickGroup.WHEEL_SIZE + 2), longPeriod.runs);
+        Assertions.assertEquals(4, engine.getTimings(TickCategory.ALCHEMY_BREWING).getActive());
+    }
+
+    @Test
+    void testCancel() {
+        RecordingTask cancelledEarly = schedule(10, 1);
+        RecordingTask cancelsItself = schedule(1, 1);
+        cancelsItself.cancelAfter = 3;
+        RecordingTask other = schedule(2 * TickGroup.WHEEL_SIZE, 0);
+
+        tick(5);
+        cancelledEarly.cancel();
+        tick(2 * TickGroup.WHEEL_SIZE);
+
+        Assertions.assertTrue(cancelledEarly.runs.isEmpty());
+        Assertions.assertEquals(List.of(1, 2, 3), cancelsItself.runs);
+        Assertions.assertEquals(List.of(2 * TickGroup.WHEEL_SIZE), other.runs);
+
+        // Out of tasks, the group stops its timer
+        Assertions.assertEquals(0, engine.getTimings(TickCategory.ALCHEMY_BREWING).getActive());
+        Mockito.verify(wrappedTask, Mockito.atLeastOnce()).cancel();
+        Assertions.assertTrue(group.retired);
+    }
+
+    @Test
+    void testFailingTaskIsDropped() {
+        RecordingTask failing = schedule(1, 1);
+        failing.failAt = 2;
+        RecordingTask other = schedule(1, 1);
+
+        tick(5);
+
+        Assertions.assertEquals(List.of(1, 2), failing.runs);
+        Assertions.assertEquals(List.of(1, 2, 3, 4, 5), other.runs);
+        Assertions.assertEquals(1, engine.getTimings(TickCategory.ALCHEMY_BREWING).getActive());
+    }
+
+    @Test
+    void testGlobalGroupUsesGlobalTimer() {
+        FoliaLib foliaLib = Mockito.mock(FoliaLib.class, Mockito.RETURNS_DEEP_STUBS);
+        McMMOTickEngine spigotEngine = new McMMOTickEngine(foliaLib, Logger.getLogger(TickGroupTest.class.getName()));
+
+        // Without regions every task shares one group, whichever task comes first must not pin it to an entity
+        spigotEngine.schedule(TickCategory.ALCHEMY_BREWING, Mockito.mock(Entity.class), new RecordingTask(), 1, 1);
+        spigotEngine.schedule(TickCategory.ALCHEMY_BREWING, Mockito.mock(Location.class), new RecordingTask(), 1, 1);
+        spigotEngine.schedule(TickCategory.ALCHEMY_BREWING, new RecordingTask(), 1, 1);
+
+        Assertions.assertEquals(1, spigotEngine.getGroupCount());
+        Mockito.verify(foliaLib.getImpl()).runTimer(Mockito.any(TickGroup.class), Mockito.eq(1L), Mockito.eq(1L));
+        Mockito.verify(foliaLib.getImpl(), Mockito.never())
+                .runAtEntityTimer(Mockito.any(Entity.class), Mockito.any(TickGroup.class), Mockito.anyLong(), Mockito.anyLong());
+        Mockito.verify(foliaLib.getImpl(), Mockito.never())
+                .runAtLocationTimer(Mockito.any(Location.class), Mockito.any(TickGroup.class), Mockito.anyLong(), Mockito.anyLong());
+    }
+
+    private RecordingTask schedule(long delay, long period) {
+        RecordingTask task = new RecordingTask();
+        engine.getTimings(TickCategory.ALCHEMY_BREWING).taskAdded();
+        group.add(new TickGroup.ScheduledTick(TickCategory.ALCHEMY_BREWING, task, delay, period));
+        return task;
+    }
+
+    private void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            currentTick++;
+            group.accept(wrappedTask);
+        }
+    }
+
+    private final class RecordingTask extends CancellableRunnable {
+        private final List<Integer> runs = new ArrayList<>();
+        private int cancelAfter = -1;
+        private int failAt = -1;
+
+        @Override
+        public void run() {
+            runs.add(currentTick);
+
+            if (currentTick == failAt) {
+                throw new IllegalStateException("Failing on purpose");
+            }
+
+            if (runs.size() == cancelAfter) {
+                cancel();
+            }
+        }
+    }
+}